@@ -0,0 +1,86 @@
+package evaluation.benchmarks;
+
+import core.CoreConstants;
+import core.components.Card;
+import core.components.Deck;
+import core.components.PartialObservableDeck;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmarks of the basic Deck operations that the forward models of card games spend their time in:
+ * drawing from and adding to the top (and bottom) of a deck, iterating over it, indexed access, and copying it
+ * (which is done for every deck on every copy of a game state).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    @Param({"10", "60", "500"})
+    public int size;
+
+    @Param({"Deck", "PartialObservableDeck"})
+    public String deckType;
+
+    Deck<Card> deck;
+    Random rnd;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (deckType.equals("Deck"))
+            deck = new Deck<>("Benchmark", -1, CoreConstants.VisibilityMode.HIDDEN_TO_ALL);
+        else
+            deck = new PartialObservableDeck<>("Benchmark", -1, new boolean[]{true, false, false, false});
+        for (int i = 0; i < size; i++)
+            deck.add(new Card("Card " + i));
+        rnd = new Random(42);
+    }
+
+    @Benchmark
+    public Card drawAndAddToTop() {
+        Card card = deck.draw();
+        deck.add(card);
+        return card;
+    }
+
+    @Benchmark
+    public Card pickLastAndAddToBottom() {
+        Card card = deck.pickLast();
+        deck.addToBottom(card);
+        return card;
+    }
+
+    @Benchmark
+    public Card pickRandomAndAddToTop() {
+        Card card = deck.pick(rnd);
+        deck.add(card);
+        return card;
+    }
+
+    @Benchmark
+    public int iterate() {
+        int total = 0;
+        for (Card card : deck)
+            total += card.getComponentID();
+        return total;
+    }
+
+    @Benchmark
+    public int indexedAccess() {
+        int total = 0;
+        for (int i = 0; i < deck.getSize(); i++)
+            total += deck.get(i).getComponentID();
+        return total;
+    }
+
+    @Benchmark
+    public Deck<Card> copy() {
+        return deck.copy();
+    }
+}
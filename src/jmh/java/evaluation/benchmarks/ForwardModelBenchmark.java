@@ -0,0 +1,167 @@
+package evaluation.benchmarks;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the core forward model API of every GameType (as gameType has no listed values, JMH runs all of
+ * them; use -p gameType=Dominion,Catan to pick some), each with max(2, minPlayers) players:
+ * - setupGame: setting up (a copy of) the initial state of a game
+ * - computeAvailableActions, copy (for the current player) and getHeuristicScore: each on a cycle of states seen
+ * during a random game, so that they are typical of the whole game, and not just of its start
+ * - next: applying a random action to one of those states
+ * - randomPlayout: a full game from the initial state with random actions
+ * <p>
+ * This is meant to be run with JSON output (which the jmh profile writes to target/jmh-result.json by default), so
+ * that results can be compared per game and per method between releases.
+ * <p>
+ * Some games never end with random play (or not within a sensible time), so a playout stops after MAX_PLAYOUT_ACTIONS.
+ * A playout also stops if a game has no available actions in a non-terminal state, or if its forward model throws
+ * (as TerraformingMars can with random play); these are bugs in that game, but should not stop the rest of the
+ * games being measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ForwardModelBenchmark {
+
+    // the maximum number of states kept from the random game
+    static final int SAMPLE_STATES = 64;
+    static final int MAX_PLAYOUT_ACTIONS = 10000;
+
+    @Param
+    public GameType gameType;
+
+    AbstractForwardModel forwardModel;
+    AbstractGameState initialState;
+    List<AbstractGameState> states;
+    Random rnd;
+    int sampleIndex;
+
+    /**
+     * The state (and action) for the next() benchmark, which needs a new copy before each call. This is a separate
+     * State, so that only next() pays for the per-invocation setup.
+     */
+    @State(Scope.Thread)
+    public static class NextState {
+        AbstractGameState state;
+        AbstractAction action;
+
+        @Setup(Level.Invocation)
+        public void setup(ForwardModelBenchmark benchmark) {
+            state = benchmark.nextSample().copy();
+            List<AbstractAction> actions = benchmark.forwardModel.computeAvailableActions(state);
+            action = actions.isEmpty() ? null : actions.get(benchmark.rnd.nextInt(actions.size()));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int nPlayers = Math.min(gameType.getMaxPlayers(), Math.max(2, gameType.getMinPlayers()));
+        Game game = gameType.createGameInstance(nPlayers, 42);
+        forwardModel = game.getForwardModel();
+        initialState = game.getGameState().copy();
+        rnd = new Random(42);
+
+        // we keep an evenly spread sample of the states in one random game; each time the sample is full we drop
+        // every other state, and keep states half as often from then on
+        states = new ArrayList<>();
+        AbstractGameState state = initialState.copy();
+        int step = 1;
+        for (int actionCount = 0; state.isNotTerminal() && actionCount < MAX_PLAYOUT_ACTIONS; actionCount++) {
+            if (actionCount % step == 0) {
+                if (states.size() == SAMPLE_STATES) {
+                    for (int i = 0; i < SAMPLE_STATES / 2; i++)
+                        states.set(i, states.get(2 * i));
+                    states.subList(SAMPLE_STATES / 2, SAMPLE_STATES).clear();
+                    step *= 2;
+                }
+                if (actionCount % step == 0)
+                    states.add(state.copy());
+            }
+            if (!randomMove(state))
+                break;
+        }
+        if (states.isEmpty())
+            states.add(initialState.copy());
+    }
+
+    /**
+     * Applies a random action to the state.
+     * @return false if this was not possible, because there are no actions or the forward model failed
+     */
+    private boolean randomMove(AbstractGameState state) {
+        List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+        if (actions.isEmpty())
+            return false;
+        try {
+            forwardModel.next(state, actions.get(rnd.nextInt(actions.size())));
+            return true;
+        } catch (RuntimeException | AssertionError e) {
+            return false;
+        }
+    }
+
+    private AbstractGameState nextSample() {
+        sampleIndex = (sampleIndex + 1) % states.size();
+        return states.get(sampleIndex);
+    }
+
+    @Benchmark
+    public AbstractGameState setupGame() {
+        AbstractGameState state = initialState.copy();
+        forwardModel.setup(state);
+        return state;
+    }
+
+    @Benchmark
+    public List<AbstractAction> computeAvailableActions() {
+        return forwardModel.computeAvailableActions(nextSample());
+    }
+
+    @Benchmark
+    public AbstractGameState next(NextState next) {
+        // Level.Invocation adds a little timing overhead to each call, which matters only for the very fastest games
+        if (next.action != null) {
+            try {
+                forwardModel.next(next.state, next.action);
+            } catch (RuntimeException | AssertionError e) {
+                // as in randomMove()
+            }
+        }
+        return next.state;
+    }
+
+    @Benchmark
+    public AbstractGameState copy() {
+        AbstractGameState state = nextSample();
+        return state.copy(state.getCurrentPlayer());
+    }
+
+    @Benchmark
+    public double getHeuristicScore() {
+        AbstractGameState state = nextSample();
+        return state.getHeuristicScore(state.getCurrentPlayer());
+    }
+
+    @Benchmark
+    public int randomPlayout() {
+        AbstractGameState state = initialState.copy();
+        int actionCount = 0;
+        while (state.isNotTerminal() && actionCount < MAX_PLAYOUT_ACTIONS && randomMove(state))
+            actionCount++;
+        return actionCount;
+    }
+}
@@ -0,0 +1,76 @@
+package evaluation.benchmarks;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.CoreParameters;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the forward model throughput (calls to next() per second) of random playouts under each
+ * CoreParameters.HistoryPolicy. The difference between FULL and NONE is the cost search algorithms avoid
+ * by switching history off on their copies of the game state.
+ * <p>
+ * The 'nextCalls' secondary result is the number of FM calls per second; the primary result is playouts per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoryPolicyBenchmark {
+
+    // playouts are capped so that games with very long (or unbounded) random play do not dominate
+    static final int MAX_STEPS = 1000;
+
+    @Param({"TicTacToe", "Connect4", "LoveLetter", "SushiGo", "Dominion", "Catan"})
+    public String gameName;
+
+    @Param({"FULL", "ACTIONS_ONLY", "NONE"})
+    public CoreParameters.HistoryPolicy historyPolicy;
+
+    AbstractForwardModel forwardModel;
+    AbstractGameState startState;
+    Random rnd;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class FMCalls {
+        public long nextCalls;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            nextCalls = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameType gameType = GameType.valueOf(gameName);
+        Game game = gameType.createGameInstance(Math.max(2, gameType.getMinPlayers()), 42);
+        forwardModel = game.getForwardModel();
+        startState = game.getGameState().copy();
+        startState.setHistoryPolicy(historyPolicy);
+        rnd = new Random(42);
+    }
+
+    @Benchmark
+    public AbstractGameState randomPlayout(FMCalls calls) {
+        AbstractGameState state = startState.copy();
+        int steps = 0;
+        while (state.isNotTerminal() && steps < MAX_STEPS) {
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(state);
+            forwardModel.next(state, actions.get(rnd.nextInt(actions.size())));
+            steps++;
+        }
+        calls.nextCalls += steps;
+        return state;
+    }
+}
@@ -0,0 +1,80 @@
+package evaluation.benchmarks;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.openjdk.jmh.annotations.*;
+import players.PlayerConstants;
+import players.mcts.MCTSParams;
+import players.mcts.MCTSPlayer;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures MCTS iterations per second with long random rollouts (and a shallow tree), from a mid-game state,
+ * so that most of the time is spent in the rollouts. With many game classes involved this takes a while to warm up.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class MCTSRolloutBenchmark {
+
+    // number of random moves played from the initial state before we search, to get a more typical state
+    static final int OPENING_MOVES = 10;
+    static final int ITERATIONS = 100;
+
+    @Param({"Dominion", "SushiGo", "Catan"})
+    public String gameName;
+
+    @Param({"50"})
+    public int rolloutLength;
+
+    MCTSPlayer player;
+    AbstractGameState state;
+    List<AbstractAction> actions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MCTSParams params = new MCTSParams();
+        params.setRandomSeed(42);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_ITERATIONS);
+        params.setParameterValue("budget", ITERATIONS);
+        params.setParameterValue("rolloutLength", rolloutLength);
+        params.setParameterValue("maxTreeDepth", 3);
+        player = new MCTSPlayer(params);
+
+        GameType gameType = GameType.valueOf(gameName);
+        int nPlayers = Math.max(3, gameType.getMinPlayers());
+        Game game = gameType.createGameInstance(nPlayers, 42);
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(player);
+        for (int p = 1; p < nPlayers; p++)
+            players.add(new RandomPlayer());
+        game.reset(players);
+        state = game.getGameState();
+        RandomPlayer opening = new RandomPlayer(new Random(42));
+        for (int move = 0; move < OPENING_MOVES && state.isNotTerminal(); move++) {
+            List<AbstractAction> available = game.getForwardModel().computeAvailableActions(state);
+            game.getForwardModel().next(state, opening._getAction(state, available));
+        }
+        player.setForwardModel(game.getForwardModel());
+        actions = game.getForwardModel().computeAvailableActions(state);
+    }
+
+    /**
+     * One decision is ITERATIONS iterations, so multiply the score by this for iterations per second.
+     */
+    @Benchmark
+    public AbstractAction decision() {
+        return player._getAction(state, actions);
+    }
+}
@@ -0,0 +1,82 @@
+package evaluation.benchmarks;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.openjdk.jmh.annotations.*;
+import players.PlayerConstants;
+import players.mcts.MCTSEnums;
+import players.mcts.MCTSParams;
+import players.mcts.MCTSPlayer;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a single MCTS decision with a fixed iteration budget, from a mid-game state.
+ * With a short rollout most of the time is spent in the tree (selection, expansion and backup), which is what
+ * this is intended to measure. Run with '-prof gc' to see the allocation rate per decision.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class MCTSSearchBenchmark {
+
+    // number of random moves played from the initial state before we search, to get a more typical branching factor
+    static final int OPENING_MOVES = 4;
+
+    @Param({"TicTacToe", "Connect4", "Dominion", "Catan"})
+    public String gameName;
+
+    @Param({"Open_Loop", "Information_Set"})
+    public MCTSEnums.Information information;
+
+    @Param({"2000"})
+    public int iterations;
+
+    MCTSPlayer player;
+    AbstractGameState state;
+    List<AbstractAction> actions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MCTSParams params = new MCTSParams();
+        params.setRandomSeed(42);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_ITERATIONS);
+        params.setParameterValue("budget", iterations);
+        params.setParameterValue("rolloutLength", 3);
+        params.setParameterValue("maxTreeDepth", 20);
+        params.setParameterValue("information", information);
+        player = new MCTSPlayer(params);
+
+        GameType gameType = GameType.valueOf(gameName);
+        int nPlayers = Math.max(2, gameType.getMinPlayers());
+        Game game = gameType.createGameInstance(nPlayers, 42);
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(player);
+        for (int p = 1; p < nPlayers; p++)
+            players.add(new RandomPlayer());
+        game.reset(players);
+        state = game.getGameState();
+        RandomPlayer opening = new RandomPlayer();
+        for (int move = 0; move < OPENING_MOVES && state.isNotTerminal(); move++) {
+            List<AbstractAction> available = game.getForwardModel().computeAvailableActions(state);
+            game.getForwardModel().next(state, opening._getAction(state, available));
+        }
+        // we search for whoever is to move, so that the tree is always rooted at a real decision
+        player.setForwardModel(game.getForwardModel());
+        actions = game.getForwardModel().computeAvailableActions(state);
+    }
+
+    @Benchmark
+    public AbstractAction decision() {
+        return player._getAction(state, actions);
+    }
+}
@@ -0,0 +1,87 @@
+package evaluation.benchmarks;
+
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import core.interfaces.IStateKey;
+import evaluation.features.ZobristStateKey;
+import games.GameType;
+import games.dotsboxes.DBEdgeAndScoreKey;
+import org.openjdk.jmh.annotations.*;
+import players.PlayerConstants;
+import players.search.MaxNSearchParameters;
+import players.search.MaxNSearchPlayer;
+import players.simple.RandomPlayer;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time for a MaxNSearchPlayer decision to a fixed depth (with a time budget large enough never to be
+ * reached), from a mid-game state. The less time a search to a given depth takes, the deeper the player will
+ * get within a fixed BUDGET_TIME.
+ * - MaxN: a plain depth-first search straight to the depth (as the player used to do)
+ * - AlphaBeta: iterative deepening with alpha-beta pruning
+ * - AlphaBetaTT: as AlphaBeta, with a transposition table
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class MaxNSearchBenchmark {
+
+    static final int OPENING_MOVES = 4;
+
+    @Param({"Connect4", "DotsAndBoxes", "Stratego"})
+    public String gameName;
+
+    @Param({"MaxN", "AlphaBeta", "AlphaBetaTT"})
+    public String search;
+
+    MaxNSearchPlayer player;
+    AbstractGameState state;
+    List<AbstractAction> actions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameType gameType = GameType.valueOf(gameName);
+        int depth = switch (gameType) {
+            case Connect4 -> 6;
+            case DotsAndBoxes -> 3;
+            default -> 3;
+        };
+        IStateKey key = gameType == GameType.DotsAndBoxes ? new DBEdgeAndScoreKey() : new ZobristStateKey();
+
+        MaxNSearchParameters params = new MaxNSearchParameters();
+        params.setRandomSeed(42);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_TIME);
+        params.setParameterValue("budget", 1000000);
+        params.setParameterValue("searchDepth", depth);
+        params.setParameterValue("alphaBeta", !search.equals("MaxN"));
+        params.setParameterValue("iterativeDeepening", !search.equals("MaxN"));
+        if (search.equals("AlphaBetaTT"))
+            params.setParameterValue("stateKey", key);
+        player = new MaxNSearchPlayer(params);
+
+        Game game = gameType.createGameInstance(2, 42);
+        game.reset(List.of(player, new RandomPlayer()));
+        state = game.getGameState();
+        RandomPlayer opening = new RandomPlayer(new Random(42));
+        for (int move = 0; move < OPENING_MOVES && state.isNotTerminal(); move++) {
+            List<AbstractAction> available = game.getForwardModel().computeAvailableActions(state);
+            game.getForwardModel().next(state, opening._getAction(state, available));
+        }
+        player.setForwardModel(game.getForwardModel());
+        actions = game.getForwardModel().computeAvailableActions(state);
+    }
+
+    @Benchmark
+    public AbstractAction decision() {
+        // we start each decision with an empty transposition table
+        player.initializePlayer(state);
+        return player._getAction(state, actions);
+    }
+}
@@ -0,0 +1,74 @@
+package evaluation.benchmarks;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.openjdk.jmh.annotations.*;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of copying a mid-game state, which Game does before every decision, and MCTS does on every
+ * iteration. 'copyAndMove' also applies one random action to the copy, so that any copy-on-write components
+ * that are written to are charged for their deferred copy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateCopyBenchmark {
+
+    // number of random moves played from the initial state before we copy, to get a more typical state
+    static final int OPENING_MOVES = 40;
+
+    @Param({"Dominion", "Catan"})
+    public String gameName;
+
+    Game game;
+    AbstractGameState state;
+    RandomPlayer randomPlayer;
+    List<AbstractAction> actions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameType gameType = GameType.valueOf(gameName);
+        int nPlayers = Math.max(2, gameType.getMinPlayers());
+        game = gameType.createGameInstance(nPlayers, 42);
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < nPlayers; p++)
+            players.add(new RandomPlayer());
+        game.reset(players);
+        state = game.getGameState();
+        randomPlayer = new RandomPlayer();
+        for (int move = 0; move < OPENING_MOVES && state.isNotTerminal(); move++) {
+            List<AbstractAction> available = game.getForwardModel().computeAvailableActions(state);
+            game.getForwardModel().next(state, randomPlayer._getAction(state, available));
+        }
+        actions = game.getForwardModel().computeAvailableActions(state);
+    }
+
+    @Benchmark
+    public AbstractGameState copy() {
+        return state.copy();
+    }
+
+    @Benchmark
+    public AbstractGameState copyForPlayer() {
+        return state.copy(state.getCurrentPlayer());
+    }
+
+    @Benchmark
+    public AbstractGameState copyAndMove() {
+        AbstractGameState copy = state.copy(state.getCurrentPlayer());
+        AbstractAction action = actions.get(copy.getRnd().nextInt(actions.size()));
+        game.getForwardModel().next(copy, action.copy());
+        return copy;
+    }
+}
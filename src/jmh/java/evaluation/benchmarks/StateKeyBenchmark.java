@@ -0,0 +1,107 @@
+package evaluation.benchmarks;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import core.interfaces.IStateFeatureVector;
+import core.interfaces.IStateKey;
+import evaluation.features.StateKeyFromFeatureVector;
+import evaluation.features.ZobristStateKey;
+import games.GameType;
+import games.connect4.Connect4StateVector;
+import games.stratego.StrategoFeatures;
+import games.tictactoe.TicTacToeStateVector;
+import org.openjdk.jmh.annotations.*;
+import players.PlayerConstants;
+import players.mcts.MCTSEnums;
+import players.mcts.MCTSParams;
+import players.mcts.MCTSPlayer;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Zobrist state key with a key built from the game's feature vector (the usual alternative for
+ * MCGS), both on its own, and in an MCGS decision with a fixed iteration budget.
+ * <p>
+ * Stratego is only used for getKey(). The Zobrist key covers the hidden pieces, so it is not a usable MCGS key
+ * for a game with hidden information (each redeterminisation of the root would give a different key).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateKeyBenchmark {
+
+    static final int OPENING_MOVES = 4;
+
+    @Param({"TicTacToe", "Connect4", "Stratego"})
+    public String gameName;
+
+    @Param({"FeatureVector", "Zobrist"})
+    public String keyType;
+
+    AbstractGameState state;
+    IStateKey key;
+    MCTSPlayer player;
+    List<AbstractAction> actions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameType gameType = GameType.valueOf(gameName);
+        if (keyType.equals("Zobrist")) {
+            key = new ZobristStateKey();
+        } else {
+            IStateFeatureVector features = switch (gameType) {
+                case TicTacToe -> new TicTacToeStateVector();
+                case Connect4 -> new Connect4StateVector();
+                case Stratego -> new StrategoFeatures();
+                default -> throw new IllegalArgumentException("No feature vector for " + gameType);
+            };
+            key = new StateKeyFromFeatureVector(features);
+        }
+
+        MCTSParams params = new MCTSParams();
+        params.setRandomSeed(42);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_ITERATIONS);
+        params.setParameterValue("budget", 1000);
+        params.setParameterValue("opponentTreePolicy", MCTSEnums.OpponentTreePolicy.MCGS);
+        params.setParameterValue("MCGSStateKey", key);
+        params.setParameterValue("rolloutLength", 3);
+        // MCGS needs a key that does not depend on the hidden information
+        player = gameType == GameType.Stratego ? null : new MCTSPlayer(params);
+
+        Game game = gameType.createGameInstance(2, 42);
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(player == null ? new RandomPlayer() : player);
+        players.add(new RandomPlayer());
+        game.reset(players);
+        state = game.getGameState();
+        RandomPlayer opening = new RandomPlayer();
+        for (int move = 0; move < OPENING_MOVES && state.isNotTerminal(); move++) {
+            List<AbstractAction> available = game.getForwardModel().computeAvailableActions(state);
+            game.getForwardModel().next(state, opening._getAction(state, available));
+        }
+        if (player != null)
+            player.setForwardModel(game.getForwardModel());
+        actions = game.getForwardModel().computeAvailableActions(state);
+    }
+
+    @Benchmark
+    public Object getKey() {
+        return key.getKey(state);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public AbstractAction mcgsDecision() {
+        if (player == null)
+            throw new IllegalStateException("MCGS is not benchmarked for " + gameName);
+        return player._getAction(state, actions);
+    }
+}
@@ -92,6 +92,19 @@ public abstract class AbstractForwardModel {
         return _computeAvailableActions(gameState);
     }
 
+    /**
+     * Chooses one of the actions that _computeAvailableActions() would return, uniformly at random.
+     * Games can override this when they can do so without creating every available action, which is what a random
+     * rollout needs at each step. Only called when there is no action in progress, and with the default ActionSpace.
+     *
+     * @param rnd - the random number generator to use for the choice.
+     * @return - the chosen action, or null if there are no actions available.
+     */
+    protected AbstractAction _sampleAvailableAction(AbstractGameState gameState, Random rnd) {
+        List<AbstractAction> actions = _computeAvailableActions(gameState);
+        return actions.isEmpty() ? null : actions.get(rnd.nextInt(actions.size()));
+    }
+
     /**
      * Gets a copy of the FM with a new random number generator.
      *
@@ -192,6 +205,31 @@ public abstract class AbstractForwardModel {
         return retValue;
     }
 
+    /**
+     * Chooses one of the actions that computeAvailableActions() would return, uniformly at random.
+     * This can be much cheaper than computing them all, if the game implements _sampleAvailableAction().
+     *
+     * @param gameState   - game state to choose an action in.
+     * @param actionSpace - the action space to use, as for computeAvailableActions().
+     * @param rnd         - the random number generator to use for the choice.
+     * @return - the chosen action, or null if there are no actions available.
+     */
+    public final AbstractAction sampleAvailableAction(AbstractGameState gameState, ActionSpace actionSpace, Random rnd) {
+        boolean decorated = false;
+        for (IPlayerDecorator decorator : decorators) {
+            if (!decorator.decisionPlayerOnly() || gameState.getCurrentPlayer() == decisionPlayerID) {
+                decorated = true;
+                break;
+            }
+        }
+        // anything other than the game's own default actions we have to compute in full first
+        if (decorated || gameState.isActionInProgress() || (actionSpace != null && !actionSpace.isDefault())) {
+            List<AbstractAction> actions = computeAvailableActions(gameState, actionSpace);
+            return actions.isEmpty() ? null : actions.get(rnd.nextInt(actions.size()));
+        }
+        return _sampleAvailableAction(gameState, rnd);
+    }
+
     /**
      * Performs any end of game computations, as needed.
      * This should not normally need to be overriden - but can be. For example if a game is purely co-operative
@@ -14,6 +14,7 @@ import evaluation.metrics.Event;
 import games.GameType;
 import utilities.ElapsedCpuChessTimer;
 import utilities.Pair;
+import utilities.Zobrist;
 
 import java.util.*;
 import java.util.function.BiFunction;
@@ -64,7 +65,7 @@ public abstract class AbstractGameState {
     // Current game phase
     protected IGamePhase gamePhase;
     // Stack for extended actions
-    protected Stack<IExtendedSequence> actionsInProgress = new Stack<>();
+    protected ActionStack actionsInProgress = new ActionStack();
     CoreParameters coreGameParameters;
     private int gameID;
     // rnd is used for all random number generation in the game - for events within the game
@@ -104,13 +105,14 @@ public abstract class AbstractGameState {
         firstPlayer = 0;
         actionsInProgress.clear();
         rnd = new Random(gameParameters.randomSeed);
+        gameParameters.discardFrozenCopy();
     }
 
     /**
      * Resets variables initialised for this game state.
      */
     void reset(long seed) {
-        gameParameters.randomSeed = seed;
+        gameParameters.setRandomSeed(seed);
         reset();
     }
 
@@ -306,12 +308,14 @@ public abstract class AbstractGameState {
         s.turnCounter = turnCounter;
         s.turnOwner = turnOwner;
         s.firstPlayer = firstPlayer;
+        s.gameID = gameID;
         // If we are copying from a player's perspective, then we branch the RNG so that the master copy
         // is not called an arbitrary number of times. This is to ensure that all shuffles in the main game are
         // the same if we start with the same seed
         s.rnd = playerId == -1 ? rnd : new Random(System.currentTimeMillis());
 
-        if (!coreGameParameters.competitionMode) {
+        // If no history is being recorded (usually a copy used for search), then we do not copy the old history either
+        if (!coreGameParameters.competitionMode && coreGameParameters.historyPolicy != CoreParameters.HistoryPolicy.NONE) {
             s.history = new ArrayList<>(history);
             s.historyText = new ArrayList<>(historyText);
             // we do not copy individual actions in history, as these are now dead and should not change
@@ -322,18 +326,16 @@ public abstract class AbstractGameState {
             // be incorporated in the game-specific data in GameState where the correct hiding protocols can be enforced.
         }
 
-        s.actionsInProgress = new Stack<>();
-        actionsInProgress.forEach(
-                a -> s.actionsInProgress.push(a.copy())
-        );
+        s.actionsInProgress = actionsInProgress.copy();
 
         s.playerTimer = new ElapsedCpuChessTimer[getNPlayers()];
         for (int i = 0; i < getNPlayers(); i++) {
             s.playerTimer[i] = playerTimer[i].copy();
         }
 
-        // Update the list of components for ID matching in actions.
-        s.addAllComponents();
+        // The list of components for ID matching in actions is left empty, and filled in by the first call to
+        // getComponentById(). Many copies (MCTS rollouts, for example) never need it, and building it would also
+        // force any copy-on-write components to take their own copies.
         return s;
     }
 
@@ -343,8 +345,28 @@ public abstract class AbstractGameState {
      * @param action The action that has just been applied (or is about to be applied) to the game state
      */
     protected final void recordAction(AbstractAction action, int player) {
-        history.add(new Pair<>(player, action.copy()));
-        historyText.add("Player " + player + " : " + action.getString(this));
+        switch (coreGameParameters.historyPolicy) {
+            case FULL:
+                history.add(new Pair<>(player, action.copy()));
+                historyText.add("Player " + player + " : " + action.getString(this));
+                break;
+            case ACTIONS_ONLY:
+                history.add(new Pair<>(player, action.copy()));
+                break;
+            case NONE:
+                break;
+        }
+    }
+
+    /**
+     * Changes how much history this state (and any subsequent copies of it) records from now on.
+     * Search algorithms call this on their own copies of the game state, so that the history of rollouts is not
+     * recorded. Any state this was copied from is unaffected.
+     *
+     * @param policy - the new history policy
+     */
+    public final void setHistoryPolicy(CoreParameters.HistoryPolicy policy) {
+        coreGameParameters = coreGameParameters.withHistoryPolicy(policy);
     }
 
 
@@ -403,7 +425,7 @@ public abstract class AbstractGameState {
             actionsInProgress.pop();
         }
     }
-    public final Stack<IExtendedSequence> getActionsInProgress() {
+    public final ActionStack getActionsInProgress() {
         return actionsInProgress;
     }
 
@@ -607,6 +629,40 @@ public abstract class AbstractGameState {
         return retValue;
     }
 
+    /**
+     * A 64-bit Zobrist hash of this state, for use as a cheap key in transposition tables (see ZobristStateKey).
+     * Unlike hashCode() this is not worked out from scratch each time: the game's part of it comes from
+     * _getZobristHash(), which is built from the Zobrist hashes of its components (Deck, GridBoard, Counter), and
+     * these are kept up to date as the components are changed. To that we add the current player, the game phase
+     * and status, and any action in progress.
+     * <p>
+     * This covers the whole state, including anything hidden from the current player. So it is only suitable as a
+     * key for perfect information games, or for states that have already been redeterminised.
+     *
+     * @return the Zobrist hash of this state.
+     * @throws UnsupportedOperationException if the game does not support Zobrist hashing
+     */
+    public final long getZobristHash() {
+        long retValue = _getZobristHash();
+        retValue ^= Zobrist.key(-1, getCurrentPlayer());
+        retValue ^= Zobrist.key(-2, gamePhase.toString().hashCode());
+        retValue ^= Zobrist.key(-3, gameStatus.ordinal());
+        if (!actionsInProgress.isEmpty())
+            retValue ^= Zobrist.key(-4, actionsInProgress.peek().hashCode());
+        return retValue;
+    }
+
+    /**
+     * Override this to support Zobrist hashing of the state (see getZobristHash()). It should combine (by XOR) the
+     * getZobristHash() of each component in the state, plus Zobrist.key() for any other state variables, and be
+     * cheap to call.
+     *
+     * @return the Zobrist hash of the game-specific part of the state.
+     */
+    protected long _getZobristHash() {
+        throw new UnsupportedOperationException(getGameType() + " does not support Zobrist hashing");
+    }
+
     /**
      * The equals method is final, but is left here so it is next to hashcode, which is not final
      */
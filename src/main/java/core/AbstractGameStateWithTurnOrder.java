@@ -17,6 +17,9 @@ import evaluation.listeners.IGameListener;
 public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
 
     protected TurnOrder turnOrder;
+    // Where this game is in the rule graph of an AbstractRuleBasedForwardModel (see core.rules.CompiledRuleGraph):
+    // the index of the rule executed last (-1 if none yet), and of the node to execute next (the root is 0)
+    private int lastRule = -1, nextRule = 0;
 
     /**
      * Constructor. Initialises some generic game state variables.
@@ -38,6 +41,8 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     protected void reset() {
         super.reset();
         turnOrder.reset();
+        lastRule = -1;
+        nextRule = 0;
     }
 
     public final TurnOrder getTurnOrder() {
@@ -61,6 +66,12 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     public final void setTurnOrder(TurnOrder turnOrder) {
         this.turnOrder = turnOrder;
     }
+    public final int getLastRule() {return lastRule;}
+    public final int getNextRule() {return nextRule;}
+    public final void setRulePosition(int lastRule, int nextRule) {
+        this.lastRule = lastRule;
+        this.nextRule = nextRule;
+    }
 
 
     public void addListener(IGameListener listener) {
@@ -80,6 +91,8 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     protected  AbstractGameStateWithTurnOrder _copy(int playerId) {
         AbstractGameStateWithTurnOrder retValue = __copy(playerId);
         retValue.turnOrder = turnOrder.copy();
+        retValue.lastRule = lastRule;
+        retValue.nextRule = nextRule;
         return retValue;
     }
 
@@ -24,6 +24,10 @@ public abstract class AbstractParameters {
     // Increment in seconds, added after a custom milestone (to be added manually in game implementation). Default 0.
     long incrementMilestoneS = 0;
 
+    // Set by freeze(), after which these parameters may be shared by many game states, and may not be changed
+    private boolean frozen;
+    // The frozen copy of these parameters given to copies of a game state, until these are next changed
+    private volatile AbstractParameters frozenCopy;
 
     public AbstractParameters() {
         this.setRandomSeed(System.currentTimeMillis());
@@ -59,17 +63,21 @@ public abstract class AbstractParameters {
     }
 
     public void setRandomSeed(long randomSeed) {
+        beforeChange();
         this.randomSeed = randomSeed;
     }
 
     public void setThinkingTimeMins(long thinkingTimeMins) {
+        beforeChange();
         this.thinkingTimeMins = thinkingTimeMins;
     }
 
     public void setMaxRounds(int max) {
+        beforeChange();
         maxRounds = max;
     }
     public void setTimeoutRounds(int max) {
+        beforeChange();
         timeoutRounds = max;
     }
 
@@ -149,10 +157,65 @@ public abstract class AbstractParameters {
         return copy;
     }
 
+    /**
+     * Returns a frozen copy of these parameters, to be shared by reference between game states. This is what game
+     * states should pass to their copies, as it is only made once, however many copies there are, and not again
+     * until these parameters change. If these parameters are already frozen, they are returned as they are.
+     * <p>
+     * The frozen copy has a random seed of its own, as copy() does. Game state copies that need random numbers
+     * should use their rnd (or redeterminisationRnd), which AbstractGameState.copy() branches, rather than this seed.
+     *
+     * @return - frozen parameters object, with the same parameters as this one.
+     */
+    public final AbstractParameters frozenCopy() {
+        if (frozen) return this;
+        AbstractParameters retValue = frozenCopy;
+        if (retValue == null) {
+            retValue = copy();
+            retValue.freeze();
+            frozenCopy = retValue;
+        }
+        return retValue;
+    }
+
+    /**
+     * Makes this parameters object immutable: any later attempt to change it throws an IllegalStateException.
+     * Sub-classes with parameters objects of their own inside should freeze those too.
+     */
+    protected void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * @return true if these parameters are frozen, and may be shared between game states
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * This must be called before anything in these parameters is changed. It fails fast if they are frozen (as
+     * they may be shared by many game states), and otherwise discards the frozen copy, which would now be out of date.
+     */
+    protected final void beforeChange() {
+        if (frozen)
+            throw new IllegalStateException("Frozen parameters may be shared between game states, and cannot be changed: change a copy() of them instead");
+        frozenCopy = null;
+    }
+
+    /**
+     * Discards the frozen copy of these parameters, so that the next call to frozenCopy() makes a new one. This is
+     * done at the start of each game, in case any fields were changed directly (for example during setup).
+     */
+    void discardFrozenCopy() {
+        frozenCopy = null;
+    }
+
     /**
      * Randomizes the set of parameters, if this is a class that implements the TunableParameters interface.
      */
     public void randomize() {
+        beforeChange();
         if (this instanceof ITunableParameters params) {
             Random rnd = new Random(randomSeed);
             params.getParameterNames().forEach(name -> {
@@ -172,6 +235,7 @@ public abstract class AbstractParameters {
      * interface.
      */
     public void reset() {
+        beforeChange();
         if (this instanceof ITunableParameters) {
             Map<String, Object> defaultValues = ((ITunableParameters) this).getDefaultParameterValues();
             ((ITunableParameters) this).setParameterValues(defaultValues);
@@ -175,4 +175,15 @@ public abstract class AbstractPlayer {
     public Random getRnd() {
         return rnd;
     }
+
+    /**
+     * Restarts this player's random number generator from the given seed. Tournaments call this at the start of
+     * each game, so that the game is played the same way by this player or by a copy of it.
+     * Players with other sources of randomness (for example a rollout policy) should override this to reseed those too.
+     *
+     * @param seed - the new random seed
+     */
+    public void setSeed(long seed) {
+        rnd = new Random(seed);
+    }
 }
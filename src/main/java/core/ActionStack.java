@@ -0,0 +1,101 @@
+package core;
+
+import core.interfaces.IExtendedSequence;
+
+import java.util.*;
+
+/**
+ * The stack of IExtendedSequence actions in progress on a game state, with the most recent on top.
+ * <p>
+ * A game state is only used by one thread at a time, but this stack is checked several times for every action
+ * (by getCurrentPlayer(), for one). So unlike java.util.Stack it takes no lock, which was a large part of the cost of
+ * a rollout in some games. Iteration and get(i) run from the bottom of the stack (index 0) to the top.
+ */
+public final class ActionStack implements Iterable<IExtendedSequence> {
+
+    private IExtendedSequence[] elements = new IExtendedSequence[4];
+    private int size;
+
+    public void push(IExtendedSequence action) {
+        if (size == elements.length)
+            elements = Arrays.copyOf(elements, size * 2);
+        elements[size++] = action;
+    }
+
+    public IExtendedSequence pop() {
+        if (size == 0)
+            throw new EmptyStackException();
+        IExtendedSequence retValue = elements[--size];
+        elements[size] = null;
+        return retValue;
+    }
+
+    public IExtendedSequence peek() {
+        if (size == 0)
+            throw new EmptyStackException();
+        return elements[size - 1];
+    }
+
+    /**
+     * @param index - position from the bottom of the stack, so that get(size() - 1) is the top
+     */
+    public IExtendedSequence get(int index) {
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean empty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * @return a new stack with a copy of each action in progress, in the same order
+     */
+    public ActionStack copy() {
+        ActionStack retValue = new ActionStack();
+        retValue.elements = new IExtendedSequence[Math.max(4, size)];
+        for (int i = 0; i < size; i++)
+            retValue.elements[i] = elements[i].copy();
+        retValue.size = size;
+        return retValue;
+    }
+
+    @Override
+    public Iterator<IExtendedSequence> iterator() {
+        return Arrays.asList(elements).subList(0, size).iterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ActionStack other)) return false;
+        return Arrays.equals(elements, 0, size, other.elements, 0, other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        // the same as List.hashCode(), as when this was a java.util.Stack
+        int result = 1;
+        for (int i = 0; i < size; i++)
+            result = 31 * result + Objects.hashCode(elements[i]);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(elements, size));
+    }
+}
@@ -5,10 +5,27 @@ import core.actions.ActionSpace;
 
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class CoreParameters extends TunableParameters {
+
+    /**
+     * How much of the game history is recorded by AbstractForwardModel.next()
+     * FULL - a copy of every action, plus the text description of each action (the default)
+     * ACTIONS_ONLY - a copy of every action, but no text
+     * NONE - nothing is recorded. This is intended for the internal copies used by search algorithms,
+     *        where nobody ever reads the history of a rollout
+     */
+    public enum HistoryPolicy {
+        FULL, ACTIONS_ONLY, NONE
+    }
+
+    // These fields (and actionSpace) can be set directly, but only before the parameters are first used by a game: the versions made by
+    // withHistoryPolicy() are cached, and are only made again after setParameterValue() (via _reset()). A field
+    // written directly after that is not seen by the cached versions, which copies of the game state use.
     public boolean verbose = false;
     public boolean recordEventHistory = true;  // include in history text game events
+    public HistoryPolicy historyPolicy = HistoryPolicy.FULL;
     public boolean partialObservable = true;
     public boolean competitionMode = false;
     public boolean disqualifyPlayerOnIllegalActionPlayed = false;
@@ -17,12 +34,17 @@ public class CoreParameters extends TunableParameters {
     public boolean alwaysDisplayCurrentPlayer = false;
     public long frameSleepMS = 100L;
 
+    // lazily created versions of this with a different history policy, see withHistoryPolicy()
+    // (these parameters are shared by copies of a game state, which parallel search threads create at the same time)
+    private final AtomicReferenceArray<CoreParameters> historyVariants = new AtomicReferenceArray<>(HistoryPolicy.values().length);
+
     // Action space type for this game
     public ActionSpace actionSpace = new ActionSpace(ActionSpace.Structure.Flat, ActionSpace.Flexibility.Default, ActionSpace.Context.Dependent);
 
     public CoreParameters() {
         addTunableParameter("verbose", verbose, Arrays.asList(false, true));
         addTunableParameter("recordEventHistory", recordEventHistory, Arrays.asList(false, true));
+        addTunableParameter("historyPolicy", historyPolicy, Arrays.asList(HistoryPolicy.values()));
         addTunableParameter("partial observable", partialObservable, Arrays.asList(false, true));
         addTunableParameter("competition mode", competitionMode, Arrays.asList(false, true));
         addTunableParameter("disqualify player on illegal action played", disqualifyPlayerOnIllegalActionPlayed, Arrays.asList(false, true));
@@ -35,6 +57,43 @@ public class CoreParameters extends TunableParameters {
         addTunableParameter("actionSpaceContext", ActionSpace.Context.Default, Arrays.asList(ActionSpace.Context.values()));
     }
 
+    /**
+     * Returns a version of these parameters with the given history policy (and no event history unless FULL).
+     * This is cached, so that all copies of a game state can share the same instance cheaply - which is important
+     * as search algorithms switch off the history on every state they copy.
+     *
+     * @param policy - the history policy required
+     * @return - this, if the policy is unchanged, otherwise a (cached) copy with the new policy
+     */
+    public CoreParameters withHistoryPolicy(HistoryPolicy policy) {
+        if (policy == historyPolicy)
+            return this;
+        CoreParameters retValue = historyVariants.get(policy.ordinal());
+        if (retValue == null) {
+            retValue = (CoreParameters) copy();
+            retValue.resetOn = false;
+            retValue.setParameterValue("historyPolicy", policy);
+            retValue.setParameterValue("recordEventHistory", recordEventHistory && policy == HistoryPolicy.FULL);
+            retValue.resetOn = true;
+            // the fields are copied directly, as they are often set without going through setParameterValue()
+            retValue.verbose = verbose;
+            retValue.recordEventHistory = recordEventHistory && policy == HistoryPolicy.FULL;
+            retValue.historyPolicy = policy;
+            retValue.partialObservable = partialObservable;
+            retValue.competitionMode = competitionMode;
+            retValue.disqualifyPlayerOnIllegalActionPlayed = disqualifyPlayerOnIllegalActionPlayed;
+            retValue.disqualifyPlayerOnTimeout = disqualifyPlayerOnTimeout;
+            retValue.alwaysDisplayFullObservable = alwaysDisplayFullObservable;
+            retValue.alwaysDisplayCurrentPlayer = alwaysDisplayCurrentPlayer;
+            retValue.frameSleepMS = frameSleepMS;
+            retValue.actionSpace = actionSpace;
+            // if another thread got there first, we use its copy so that there is only ever one
+            if (!historyVariants.compareAndSet(policy.ordinal(), null, retValue))
+                retValue = historyVariants.get(policy.ordinal());
+        }
+        return retValue;
+    }
+
     @Override
     protected AbstractParameters _copy() {
         return new CoreParameters();
@@ -46,12 +105,12 @@ public class CoreParameters extends TunableParameters {
         if (!(o instanceof CoreParameters)) return false;
         if (!super.equals(o)) return false;
         CoreParameters that = (CoreParameters) o;
-        return verbose == that.verbose && recordEventHistory == that.recordEventHistory && partialObservable == that.partialObservable && competitionMode == that.competitionMode && disqualifyPlayerOnIllegalActionPlayed == that.disqualifyPlayerOnIllegalActionPlayed && disqualifyPlayerOnTimeout == that.disqualifyPlayerOnTimeout && alwaysDisplayFullObservable == that.alwaysDisplayFullObservable && alwaysDisplayCurrentPlayer == that.alwaysDisplayCurrentPlayer && frameSleepMS == that.frameSleepMS && Objects.equals(actionSpace, that.actionSpace);
+        return verbose == that.verbose && recordEventHistory == that.recordEventHistory && historyPolicy == that.historyPolicy && partialObservable == that.partialObservable && competitionMode == that.competitionMode && disqualifyPlayerOnIllegalActionPlayed == that.disqualifyPlayerOnIllegalActionPlayed && disqualifyPlayerOnTimeout == that.disqualifyPlayerOnTimeout && alwaysDisplayFullObservable == that.alwaysDisplayFullObservable && alwaysDisplayCurrentPlayer == that.alwaysDisplayCurrentPlayer && frameSleepMS == that.frameSleepMS && Objects.equals(actionSpace, that.actionSpace);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), verbose, recordEventHistory, partialObservable, competitionMode, disqualifyPlayerOnIllegalActionPlayed, disqualifyPlayerOnTimeout, alwaysDisplayFullObservable, alwaysDisplayCurrentPlayer, frameSleepMS, actionSpace);
+        return Objects.hash(super.hashCode(), verbose, recordEventHistory, historyPolicy, partialObservable, competitionMode, disqualifyPlayerOnIllegalActionPlayed, disqualifyPlayerOnTimeout, alwaysDisplayFullObservable, alwaysDisplayCurrentPlayer, frameSleepMS, actionSpace);
     }
 
     @Override
@@ -63,6 +122,9 @@ public class CoreParameters extends TunableParameters {
     public void _reset() {
         verbose = (boolean) getParameterValue("verbose");
         recordEventHistory = (boolean) getParameterValue("recordEventHistory");
+        historyPolicy = (HistoryPolicy) getParameterValue("historyPolicy");
+        for (int i = 0; i < historyVariants.length(); i++)
+            historyVariants.set(i, null);
         partialObservable = (boolean) getParameterValue("partial observable");
         competitionMode = (boolean) getParameterValue("competition mode");
         disqualifyPlayerOnIllegalActionPlayed = (boolean) getParameterValue("disqualify player on illegal action played");
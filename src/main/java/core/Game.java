@@ -531,7 +531,7 @@ public class Game {
         s = System.nanoTime();
         List<AbstractAction> observedActions = forwardModel.computeAvailableActions(observation, currentPlayer.getParameters().actionSpace);
         if (observedActions.isEmpty()) {
-            Stack<IExtendedSequence> actionsInProgress = gameState.getActionsInProgress();
+            ActionStack actionsInProgress = gameState.getActionsInProgress();
             IExtendedSequence topOfStack = null;
             AbstractAction lastAction = null;
             if (!actionsInProgress.isEmpty()) {
@@ -620,8 +620,11 @@ public class Game {
 
         // We publish an ACTION_TAKEN message once the action is taken so that observers can record the result of the action
         // (such as the next player)
-        AbstractAction finalAction1 = action;
-        listeners.forEach(l -> l.onEvent(Event.createEvent(Event.GameEvent.ACTION_TAKEN, gameState, finalAction1.copy(), activePlayer)));
+        // (with one copy of the action for all of them, rather than one each)
+        if (!listeners.isEmpty()) {
+            Event actionTaken = Event.createEvent(Event.GameEvent.ACTION_TAKEN, gameState, action.copy(), activePlayer);
+            listeners.forEach(l -> l.onEvent(actionTaken));
+        }
 
         if (debug) System.out.printf("Finishing oneAction for player %s%n", activePlayer);
         return action;
@@ -21,6 +21,12 @@ import utilities.ActionTreeNode;
 import games.explodingkittens.*;
 
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -69,6 +75,11 @@ enum FeatureExtractors {
 }
 
 public class PyTAG {
+    /* Layout of the shared buffer (see openSharedBuffer()), in bytes from its start: a header of ints, the reward as a
+    * double, then the observation vector as doubles and the action mask as ints. All in the native byte order. */
+    public static final int SHARED_PLAYER = 0, SHARED_DONE = 4, SHARED_TICK = 8, SHARED_OBS_SIZE = 12,
+            SHARED_MASK_SIZE = 16, SHARED_REWARD = 24, SHARED_OBS = 32;
+
     private Game game;
     // root of the action tree
     private ActionTreeNode root;
@@ -89,6 +100,10 @@ public class PyTAG {
     private Random seedRandom; // Random used for setting the seed for each episode
     private long lastSeed;
 
+    // When open, the observation, action mask and reward are written here after each reset and stepShared()
+    private ByteBuffer sharedBuffer;
+    private AbstractGameState lastObservation; // the copy of the state seen by the current player
+
     public static String getSupportedGames(){
         /* returns the supported games with the corresponding feature extractors */
         String supportedGames = "";
@@ -190,9 +205,11 @@ public class PyTAG {
 
     // Gets the action mask as a boolean array
     public int[] getActionMask() {
-        return leaves.stream()
-                .mapToInt(ActionTreeNode::getValue)
-                .toArray();
+        int[] mask = new int[leaves.size()];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = leaves.get(i).getValue();
+        }
+        return mask;
     }
 
     // gets the whole action tree as an array (tree can be reconstructed using the getTreeShape() function)
@@ -215,6 +232,90 @@ public class PyTAG {
         else throw new Exception("Function is not implemented");
     }
 
+    // --Shared buffer--
+    // Instead of asking for the observation, mask and reward after each step (each a new array or string passed to
+    // python), they can be written into one buffer that python maps once and then reads in place.
+
+    // Size in bytes of the shared buffer, which is fixed once the environment has been reset
+    public int getSharedBufferSize() throws Exception {
+        if (leaves == null){
+            throw new Exception("Need to reset the environment before opening the shared buffer");
+        }
+        return SHARED_OBS + 8 * getObservationSpace() + 4 * leaves.size();
+    }
+
+    // Opens the shared buffer in (direct) memory outside the Java heap, and writes the current observation to it
+    public ByteBuffer openSharedBuffer() throws Exception {
+        return openSharedBuffer(ByteBuffer.allocateDirect(getSharedBufferSize()));
+    }
+
+    // Opens the shared buffer as a file mapped into memory, which python can also map (e.g. with numpy.memmap)
+    public ByteBuffer openSharedBuffer(String fileName) throws Exception {
+        int size = getSharedBufferSize();
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid once the channel is closed
+            return openSharedBuffer(channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        } catch (IOException e) {
+            throw new Exception("Could not map the shared buffer to " + fileName, e);
+        }
+    }
+
+    private ByteBuffer openSharedBuffer(ByteBuffer buffer) {
+        sharedBuffer = buffer.order(ByteOrder.nativeOrder());
+        writeSharedBuffer();
+        return sharedBuffer;
+    }
+
+    public void closeSharedBuffer() {
+        sharedBuffer = null;
+    }
+
+    // Steps the environment as step() does, writing the result to the shared buffer instead of returning it
+    public void stepShared(int actionId) throws Exception {
+        if (sharedBuffer == null){
+            throw new Exception("Need to open the shared buffer before calling stepShared");
+        }
+        step(actionId);
+        writeSharedBuffer();
+    }
+
+    // Writes the observation vector of the current player into out from offset, as the shared buffer does
+    void writeObservationVector(double[] out, int offset) {
+        if (stateVectoriser != null) {
+            double[] obs = stateVectoriser.featureVector(lastObservation, lastObservation.getCurrentPlayer());
+            System.arraycopy(obs, 0, out, offset, obs.length);
+        }
+    }
+
+    // Writes the action mask into out from offset, as getActionMask() returns it
+    void writeActionMask(int[] out, int offset) {
+        for (int i = 0; i < leaves.size(); i++) {
+            out[offset + i] = leaves.get(i).getValue();
+        }
+    }
+
+    private void writeSharedBuffer() {
+        ByteBuffer buffer = sharedBuffer;
+        int obsSize = getObservationSpace();
+        buffer.putInt(SHARED_PLAYER, gameState.getCurrentPlayer());
+        buffer.putInt(SHARED_DONE, isDone() ? 1 : 0);
+        buffer.putInt(SHARED_TICK, tick);
+        buffer.putInt(SHARED_OBS_SIZE, obsSize);
+        buffer.putInt(SHARED_MASK_SIZE, leaves.size());
+        buffer.putDouble(SHARED_REWARD, getReward());
+        buffer.position(SHARED_OBS);
+        if (obsSize > 0) {
+            // from the observation already made by the step, rather than a new copy of the state
+            double[] obs = stateVectoriser.featureVector(lastObservation, lastObservation.getCurrentPlayer());
+            for (double v : obs) {
+                buffer.putDouble(v);
+            }
+        }
+        root.writeLeafMask(buffer);
+        buffer.position(0);
+    }
+
     // --End of Wrapper Functions--
 
 
@@ -240,9 +341,11 @@ public class PyTAG {
         // update with initial actions
         // Compute the updated available actions and the action tree
         AbstractGameState observation = gameState.copy(gameState.getCurrentPlayer());
+        this.lastObservation = observation;
         this.availableActions = forwardModel.computeAvailableActions(observation);
         this.root = ((ITreeActionSpace)this.forwardModel).updateActionTree(this.root, this.gameState);
         this.leaves = root.getLeafNodes();
+        if (sharedBuffer != null) writeSharedBuffer();
     }
 
     public int getPlayerID(){
@@ -327,18 +430,21 @@ public class PyTAG {
         if (isDone()){
             // check if the game has just ended
             // game is over
-            return gameState.copy(gameState.getCurrentPlayer());
+            lastObservation = gameState.copy(gameState.getCurrentPlayer());
+            return lastObservation;
         }
 
         // update game until RL agent is required to make a decision - if game is over in the mean time returns isTerminal
         boolean isTerminal = nextDecision();
         if (isTerminal){
             // game is over
-            return gameState.copy(gameState.getCurrentPlayer());
+            lastObservation = gameState.copy(gameState.getCurrentPlayer());
+            return lastObservation;
         }
 
         int activePlayer = gameState.getCurrentPlayer();
         AbstractGameState observation = gameState.copy(activePlayer);
+        lastObservation = observation;
 
         // Compute the updated available actions and the action tree
         this.availableActions = forwardModel.computeAvailableActions(observation);
@@ -387,20 +493,34 @@ public class PyTAG {
         int episodes = 0;
 
         boolean done = false;
-        int MAX_EPISODES = 100;
+        // optional arguments: game, observation type ("vector", "json" or "shared") and number of episodes
+        String gameName = args.length > 0 ? args[0] : "TicTacToe";
+        String obsType = args.length > 1 ? args[1] : "json";
+        int MAX_EPISODES = args.length > 2 ? Integer.parseInt(args[2]) : 100;
         int steps = 0;
-        String obsType = "json";
+        long totalSteps = 0;
+        long startTime = System.nanoTime();
 
         try {
             // Initialise the game
-            PyTAG env = new PyTAG(GameType.valueOf("TicTacToe"), null, players, 343, true);
+            PyTAG env = new PyTAG(GameType.valueOf(gameName), null, players, 343, true);
             if (!usePyTAG) env.game.getCoreParameters().actionSpace = new ActionSpace(ActionSpace.Structure.Default);
 
             // reset is always required before starting a new episode
             env.reset();
+            ByteBuffer shared = obsType.equals("shared") ? env.openSharedBuffer() : null;
+            int[] mask = new int[env.getActionSpace()];
+            double sharedReward = 0.0;
             while (!done){
 
-                if (usePyTAG){
+                if (shared != null){
+                    // read the mask where the environment wrote it, as python would, step in place, and read the reward
+                    for (int i = 0; i < mask.length; i++) {
+                        mask[i] = shared.getInt(SHARED_OBS + 8 * shared.getInt(SHARED_OBS_SIZE) + 4 * i);
+                    }
+                    env.stepShared(env.sampleRNDAction(mask, rnd));
+                    sharedReward = shared.getDouble(SHARED_REWARD);
+                } else if (usePyTAG){
 
                     // get action mask and sample random action
                     int randomAction = env.sampleRNDAction(env.getActionMask(), rnd);
@@ -433,10 +553,12 @@ public class PyTAG {
 
                 // update stats
                 steps += 1;
+                totalSteps += 1;
                 done = env.isDone();
                 if (done){
                     episodes += 1;
-                    System.out.println("episodes " + episodes + " is done in " + steps + " ; outcome:  " + env.getPlayerResults()[0].value);
+                    if (MAX_EPISODES <= 100) System.out.println("episodes " + episodes + " is done in " + steps + " ; outcome:  " + env.getPlayerResults()[0].value
+                            + (shared != null ? " ; final reward: " + sharedReward : ""));
                     if (env.getPlayerResults()[0] == CoreConstants.GameResult.WIN_GAME)wins += 1;
                     if (episodes == MAX_EPISODES)break;
                     env.reset();
@@ -448,6 +570,8 @@ public class PyTAG {
             System.out.println("Exception during game initialisation" + e);
         }
         System.out.println("Run finished won " + wins + " out of " + episodes);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.printf("%d steps in %.2f s : %.0f steps per second%n", totalSteps, seconds, totalSteps / seconds);
 
 
     }
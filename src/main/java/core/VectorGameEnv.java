@@ -0,0 +1,207 @@
+package core;
+
+import games.GameType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A number of independent PyTAG environments of the same game, stepped together. Each step takes one action per
+ * environment and plays them in parallel on a fork-join pool. Environments whose episode ends are reset straight away,
+ * so there is always a decision to make in each of them.
+ * <p>
+ * The results are stacked into primitive arrays, indexed by environment: observations and action masks are flat, with
+ * the row for environment i starting at i * getObservationSpace() and i * getActionSpace() respectively. These arrays
+ * are reused, and overwritten by the next step or reset.
+ * <p>
+ * After a step, the reward and done flag of an environment are those of the step just played, while its observation
+ * and mask are those of the decision now to make, which is the start of a new episode if it was done.
+ */
+public class VectorGameEnv implements AutoCloseable {
+
+    private final PyTAG[] envs;
+    private final ForkJoinPool pool;
+    private final List<Callable<Void>> stepTasks = new ArrayList<>();
+    private final List<Callable<Void>> resetTasks = new ArrayList<>();
+    private final int obsSize, maskSize;
+
+    private int[] actions;
+    private final double[] observations;
+    private final int[] masks;
+    private final double[] rewards;
+    private final boolean[] dones;
+    private final int[] playerIDs;
+    private final int[] episodes;
+
+    /**
+     * @param gameToPlay          - game to play in all environments
+     * @param parameterConfigFile - game parameters, or null for the defaults
+     * @param players             - players of each game, with a PythonAgent for each place where actions are given to
+     *                            step(). Each environment plays with copies of these.
+     * @param nEnvs               - number of environments
+     * @param nThreads            - number of threads to step them with
+     * @param seed                - seed for the environments, each of which is given a different one from this
+     * @param isNormalized        - whether observations are normalized
+     */
+    public VectorGameEnv(GameType gameToPlay, String parameterConfigFile, List<AbstractPlayer> players, int nEnvs,
+                         int nThreads, long seed, boolean isNormalized) throws Exception {
+        if (nEnvs < 1)
+            throw new IllegalArgumentException("Need at least one environment");
+        Random seeds = new Random(seed);
+        envs = new PyTAG[nEnvs];
+        for (int i = 0; i < nEnvs; i++) {
+            List<AbstractPlayer> envPlayers = new ArrayList<>();
+            for (AbstractPlayer player : players)
+                envPlayers.add(player.copy());
+            envs[i] = new PyTAG(gameToPlay, parameterConfigFile, envPlayers, seeds.nextLong(), isNormalized);
+            int env = i;
+            stepTasks.add(() -> {
+                step(env);
+                return null;
+            });
+            resetTasks.add(() -> {
+                envs[env].reset();
+                write(env);
+                return null;
+            });
+        }
+        pool = new ForkJoinPool(nThreads);
+
+        obsSize = envs[0].getObservationSpace();
+        observations = new double[nEnvs * obsSize];
+        rewards = new double[nEnvs];
+        dones = new boolean[nEnvs];
+        playerIDs = new int[nEnvs];
+        episodes = new int[nEnvs];
+        // the action space is only known once the action tree is made, in reset, so the first environment is reset
+        // on its own and then the others
+        envs[0].reset();
+        maskSize = envs[0].getActionSpace();
+        masks = new int[nEnvs * maskSize];
+        write(0);
+        run(resetTasks.subList(1, nEnvs));
+    }
+
+    /**
+     * Resets all environments to the start of a new episode.
+     */
+    public void reset() throws Exception {
+        Arrays.fill(rewards, 0.0);
+        Arrays.fill(dones, false);
+        run(resetTasks);
+    }
+
+    /**
+     * Plays one action in each environment, resetting those where the episode ends.
+     *
+     * @param actionIds - index of the action (in the action mask) to play in each environment
+     */
+    public void step(int[] actionIds) throws Exception {
+        if (actionIds.length != envs.length)
+            throw new IllegalArgumentException("Need one action for each of the " + envs.length + " environments");
+        actions = actionIds;
+        run(stepTasks);
+    }
+
+    private void step(int env) throws Exception {
+        PyTAG pyTAG = envs[env];
+        pyTAG.step(actions[env]);
+        rewards[env] = pyTAG.getReward();
+        dones[env] = pyTAG.isDone();
+        if (dones[env]) {
+            episodes[env]++;
+            pyTAG.reset();
+        }
+        write(env);
+    }
+
+    private void write(int env) {
+        PyTAG pyTAG = envs[env];
+        playerIDs[env] = pyTAG.getPlayerID();
+        pyTAG.writeObservationVector(observations, env * obsSize);
+        pyTAG.writeActionMask(masks, env * maskSize);
+    }
+
+    // Runs one task per environment on the pool, and waits for all of them
+    private void run(List<Callable<Void>> tasks) throws Exception {
+        for (Future<Void> result : pool.invokeAll(tasks)) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+    }
+
+    /**
+     * @return the observations of all environments as JSON, one string per environment
+     */
+    public String[] getObservationsJson() throws Exception {
+        String[] json = new String[envs.length];
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < envs.length; i++) {
+            int env = i;
+            tasks.add(() -> {
+                json[env] = envs[env].getObservationJson();
+                return null;
+            });
+        }
+        run(tasks);
+        return json;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    public int getNumEnvs() {
+        return envs.length;
+    }
+
+    public int getObservationSpace() {
+        return obsSize;
+    }
+
+    public int getActionSpace() {
+        return maskSize;
+    }
+
+    public double[] getObservations() {
+        return observations;
+    }
+
+    public int[] getActionMasks() {
+        return masks;
+    }
+
+    public double[] getRewards() {
+        return rewards;
+    }
+
+    public boolean[] getDones() {
+        return dones;
+    }
+
+    public int[] getPlayerIDs() {
+        return playerIDs;
+    }
+
+    /**
+     * @return the number of episodes finished in each environment since it was made
+     */
+    public int[] getEpisodes() {
+        return episodes;
+    }
+
+    // The environment itself, for tests
+    PyTAG getEnv(int env) {
+        return envs[env];
+    }
+}
@@ -4,11 +4,13 @@ import core.properties.*;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import core.CoreConstants.ComponentType;
+import utilities.Zobrist;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class Component {
-    private static int ID = 0;  // All components receive a unique and final ID from this always increasing counter
+    private static final AtomicInteger ID = new AtomicInteger();  // All components receive a unique and final ID from this always increasing counter
 
     protected transient final int componentID;  // Unique ID of this component
     protected final ComponentType type;  // Type of this component
@@ -17,14 +19,14 @@ public abstract class Component {
     protected String componentName;  // Name of this component
 
     public Component(ComponentType type, String name) {
-        this.componentID = ID++;
+        this.componentID = ID.getAndIncrement();
         this.type = type;
         this.componentName = name;
         this.properties = new HashMap<>();
     }
 
     public Component(ComponentType type) {
-        this.componentID = ID++;
+        this.componentID = ID.getAndIncrement();
         this.type = type;
         this.componentName = type.toString();
         this.properties = new HashMap<>();
@@ -51,6 +53,17 @@ public abstract class Component {
     public abstract Component copy();
     public Component copy(int playerId) { return copy(); }
 
+    /**
+     * The key of this component in the Zobrist hash of a Deck or GridBoard that holds it. Components that are
+     * interchangeable in play (two Coppers in Dominion, say) should have the same key, and the key must not change
+     * while the component is in a Deck or GridBoard. By default this is taken from the name of the component.
+     *
+     * @return the key of this component, for Zobrist hashing.
+     */
+    public long getZobristKey() {
+        return Zobrist.mix(Objects.hashCode(componentName));
+    }
+
     /**
      * Get and set the type of this component.
      */
@@ -5,6 +5,7 @@ import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
+import utilities.Zobrist;
 
 import java.io.FileReader;
 import java.io.IOException;
@@ -51,7 +52,8 @@ public class Counter extends Component {
     }
 
     public Counter copy() {
-        Counter copy = new Counter(values != null? values.clone() : null, valueIdx, minimum, maximum, componentName, componentID);
+        // the values array never changes, so copies share it
+        Counter copy = new Counter(values, valueIdx, minimum, maximum, componentName, componentID);
         copyComponentTo(copy);
         return copy;
     }
@@ -140,7 +142,14 @@ public class Counter extends Component {
     }
 
     /**
-     * @return the value array of this counter.
+     * @return a Zobrist hash of this counter, which changes with its value.
+     */
+    public long getZobristHash() {
+        return Zobrist.key(componentID, valueIdx);
+    }
+
+    /**
+     * @return the value array of this counter. This is shared with all copies of the counter, so must not be changed.
      */
     public int[] getValues() {
         return values;
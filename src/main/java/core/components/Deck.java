@@ -7,10 +7,12 @@ import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
+import utilities.Zobrist;
 
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
+import java.util.function.ToLongFunction;
 
 import static core.CoreConstants.VisibilityMode;
 
@@ -24,9 +26,13 @@ import static core.CoreConstants.VisibilityMode;
  */
 public class Deck<T extends Component> extends Component implements IComponentContainer<T>, Iterable<T> {
 
+    // the key function of every deck's components, so that adding one deck to another can just add its content hash
+    static final ToLongFunction<Component> ZOBRIST_KEY = Component::getZobristKey;
+
     protected int capacity;  // Capacity of the deck (maximum number of elements)
-    protected List<T> components;  // List of components in this deck
+    protected List<T> components;  // List of components in this deck (always a RingBufferList)
     protected VisibilityMode visibility;
+    protected boolean copyOnWrite;  // if true, copies share their components with this deck (see setCopyOnWrite)
 
     public Deck(String name, VisibilityMode visibility) {
         this(name, -1, visibility);
@@ -34,7 +40,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     public Deck(String name, int ownerId, VisibilityMode visibility) {
         super(CoreConstants.ComponentType.DECK, name);
-        this.components = new LinkedList<>();   // we always add new components to element 0...so an ArrayList is inefficient
+        this.components = new RingBufferList<>(ZOBRIST_KEY);   // we always add new components to element 0...so an ArrayList is inefficient
         this.ownerId = ownerId;
         this.capacity = -1;
         this.visibility = visibility;
@@ -42,7 +48,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     protected Deck(String name, int ownerId, int ID, VisibilityMode visibility) {
         super(CoreConstants.ComponentType.DECK, name, ID);
-        this.components = new LinkedList<>();
+        this.components = new RingBufferList<>(ZOBRIST_KEY);
         this.capacity = -1;
         this.ownerId = ownerId;
         this.visibility = visibility;
@@ -331,7 +337,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * Shuffles the deck with a specific random object.
      */
     public void shuffle(Random rnd) {
-        Collections.shuffle(components, rnd);
+        ((RingBufferList<T>) components).shuffle(0, components.size(), rnd);
     }
 
     /**
@@ -342,13 +348,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @param rnd       - random number generator used for shuffling
      */
     public void shuffle(int fromIndex, int toIndex, Random rnd) {
-        List<T> subList = components.subList(fromIndex, toIndex);
-        Collections.shuffle(subList, rnd);
-        int i = 0;
-        for (T component : subList) {
-            components.set(fromIndex + i, component);
-            i++;
-        }
+        ((RingBufferList<T>) components).shuffle(fromIndex, toIndex, rnd);
     }
 
     /**
@@ -360,17 +360,30 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     }
 
     /**
-     * Set the components in this deck.
+     * Set the components in this deck. The deck takes a copy of the list, so later changes to the list passed in
+     * do not change the deck.
      *
      * @param components - new components for the deck, overrides old content.
      */
     public void setComponents(List<T> components) {
-        this.components = components;
+        this.components = new RingBufferList<>(components, ZOBRIST_KEY);
         for (T comp : components) {
             comp.setOwnerId(ownerId);
         }
     }
 
+    /**
+     * A Zobrist hash of the contents of this deck, which is kept up to date as components are added and removed.
+     * This depends only on which components are in the deck (by their getZobristKey()), and not on their order,
+     * as that is usually hidden or irrelevant; nor on the visibility of the components in a PartialObservableDeck.
+     *
+     * @return the Zobrist hash of this deck.
+     */
+    @SuppressWarnings("unchecked")
+    public long getZobristHash() {
+        return Zobrist.key(componentID, ((RingBufferList<T>) components).contentHash());
+    }
+
     /**
      * Maximum number of components this deck may contain.
      */
@@ -385,6 +398,26 @@ public class Deck<T extends Component> extends Component implements IComponentCo
         this.capacity = capacity;
     }
 
+    /**
+     * If set, copies of this deck (and of those copies) do not copy the components. Instead they share the
+     * components, and the list that holds them, with this deck until either deck is changed; at that point the
+     * changed deck takes its own copy of the list (but still not of the components).
+     * <p>
+     * This is only safe if the components are never changed while in the deck, as a change to one would be seen
+     * in every copy of the deck. For example, it is used for Dominion cards, which are immutable. If a component
+     * needs to change, take a copy of it first, and put that in the deck instead. (The one exception is the owner
+     * of a component, which the deck still sets as it is added and removed; so this should not be relied on.)
+     *
+     * @param copyOnWrite - true to share components with copies of this deck, false (the default) to copy them.
+     */
+    public void setCopyOnWrite(boolean copyOnWrite) {
+        this.copyOnWrite = copyOnWrite;
+    }
+
+    public boolean isCopyOnWrite() {
+        return copyOnWrite;
+    }
+
     /**
      * Checks if this game is over capacity.
      *
@@ -437,12 +470,17 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     @SuppressWarnings("unchecked")
     protected void copyTo(Deck<T> deck) {
-        List<T> newComponents = new LinkedList<>();
-        for (T c : components) {
-            newComponents.add((T) c.copy());
+        if (copyOnWrite) {
+            deck.components = ((RingBufferList<T>) components).sharedCopy();
+        } else {
+            RingBufferList<T> newComponents = ((RingBufferList<T>) components).shallowCopy();
+            for (int i = 0; i < newComponents.size(); i++) {
+                newComponents.set(i, (T) newComponents.get(i).copy());
+            }
+            deck.components = newComponents;
         }
-        deck.components = newComponents;
         deck.capacity = capacity;
+        deck.copyOnWrite = copyOnWrite;
 
         //copy type and component.
         copyComponentTo(deck);
@@ -451,12 +489,17 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     @SuppressWarnings("unchecked")
     protected void copyTo(Deck<T> deck, int playerId) {
-        List<T> newComponents = new LinkedList<>();
-        for (T c : components) {
-            newComponents.add((T) c.copy(playerId));
+        if (copyOnWrite) {
+            deck.components = ((RingBufferList<T>) components).sharedCopy();
+        } else {
+            RingBufferList<T> newComponents = ((RingBufferList<T>) components).shallowCopy();
+            for (int i = 0; i < newComponents.size(); i++) {
+                newComponents.set(i, (T) newComponents.get(i).copy(playerId));
+            }
+            deck.components = newComponents;
         }
-        deck.components = newComponents;
         deck.capacity = capacity;
+        deck.copyOnWrite = copyOnWrite;
 
         //copy type and component.
         copyComponentTo(deck);
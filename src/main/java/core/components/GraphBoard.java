@@ -20,6 +20,12 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
 
     // List of nodes in the board graph, mapping component ID to object reference
     protected Map<Integer, BoardNode> boardNodes;
+    protected boolean copyOnWrite;  // if true, copies share nodes with this board until used (see setCopyOnWrite)
+    private boolean shared;  // true if boardNodes may also be in use by a copy of this board
+    // For each string property looked up so far (by property ID), the component ID of the node with each value
+    // (see getNodeByStringProperty). Each of these maps is never changed once made, so copies can share them; they
+    // are all dropped when nodes are added to or removed from the board (see nodesChanged).
+    private Map<Integer, Map<String, Integer>> propertyIndex = new HashMap<>();
 
     public GraphBoard(String name)
     {
@@ -47,21 +53,66 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
 
     /**
      * Copy method, to be implemented by all subclasses.
-     * @return - a new instance of this Board, deep copy.
+     * @return - a new instance of this Board, deep copy (which may be deferred, see setCopyOnWrite).
      */
     @Override
     public GraphBoard copy()
     {
         GraphBoard b = new GraphBoard(componentName, componentID);
+        if (copyOnWrite) {
+            b.boardNodes = boardNodes;
+            b.copyOnWrite = true;
+            b.shared = true;
+            shared = true;
+        } else {
+            b.boardNodes = copyNodes(boardNodes);
+        }
+        b.propertyIndex = new HashMap<>(propertyIndex);
+        // Copy properties
+        copyComponentTo(b);
+        return b;
+    }
+
+    /**
+     * If set, a copy of this board (or of a copy) does not copy the nodes straight away. Instead the two boards
+     * share them, and each board makes its own deep copy of the nodes the first time that they are asked for,
+     * or the connections between them changed. The nodes are mutable, so any method that gives access to them counts
+     * as a use; only equals() and hashCode() do not.
+     * <p>
+     * This saves the whole copy for a board (copy or original) that is discarded without its nodes being used.
+     *
+     * @param copyOnWrite - true to defer copying the nodes until they are used, false (the default) to copy them
+     *                    with the board.
+     */
+    public void setCopyOnWrite(boolean copyOnWrite) {
+        this.copyOnWrite = copyOnWrite;
+    }
+
+    public boolean isCopyOnWrite() {
+        return copyOnWrite;
+    }
+
+    /**
+     * @return the nodes of this board, first taking our own copy of them if they are shared with another board.
+     */
+    private Map<Integer, BoardNode> nodes() {
+        if (shared) {
+            boardNodes = copyNodes(boardNodes);
+            shared = false;
+        }
+        return boardNodes;
+    }
+
+    private static Map<Integer, BoardNode> copyNodes(Map<Integer, BoardNode> nodes) {
         HashMap<Integer, BoardNode> nodeCopies = new HashMap<>();
         // Copy board nodes
-        for (BoardNode bn: boardNodes.values()) {
+        for (BoardNode bn: nodes.values()) {
             BoardNode bnCopy = new BoardNode(bn.getMaxNeighbours(), "", bn.getComponentID());
             bn.copyComponentTo(bnCopy);
             nodeCopies.put(bn.getComponentID(), bnCopy);
         }
         // Assign neighbours
-        for (BoardNode bn: boardNodes.values()) {
+        for (BoardNode bn: nodes.values()) {
             BoardNode bnCopy = nodeCopies.get(bn.getComponentID());
             for (BoardNode neighbour: bn.getNeighbours()) {
                 bnCopy.addNeighbour(nodeCopies.get(neighbour.getComponentID()));
@@ -70,11 +121,7 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
                 bnCopy.addNeighbour(nodeCopies.get(e.getKey().componentID), e.getValue());
             }
         }
-        // Assign new neighbours
-        b.setBoardNodes(new ArrayList<>(nodeCopies.values()));
-        // Copy properties
-        copyComponentTo(b);
-        return b;
+        return nodeCopies;
     }
 
     /**
@@ -84,7 +131,9 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
      * @return - node matching property.
      */
     public BoardNode getNodeByProperty(int prop_id, Property p) {
-        for (BoardNode n : boardNodes.values()) {
+        if (p instanceof PropertyString ps)
+            return getNodeByStringProperty(prop_id, ps.value);
+        for (BoardNode n : nodes().values()) {
             Property prop = n.getProperty(prop_id);
             if(prop != null)
             {
@@ -96,21 +145,55 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
     }
 
     /**
-     * Returns the node in the list which matches the given string property
+     * Returns the node in the list which matches the given string property. The nodes are indexed by the values of
+     * the property the first time that it is looked up, so after that this is a map lookup rather than a search.
+     * The index is made again when nodes are added to or removed from the board, or if the node found no longer has
+     * the value. A value that is not in the index is not searched for, so this assumes that the property is not
+     * changed to a new value on a node already on the board (as for the names of the nodes); use
+     * getNodeByProperty() with a non-string Property to search every node.
      * @param prop_id - ID of the property to look for.
      * @param value - String value for the property.
-     * @return - node matching property
+     * @return - node matching property (if more than one matches, any one of them)
      */
     public BoardNode getNodeByStringProperty(int prop_id, String value)
     {
-        return getNodeByProperty(prop_id, new PropertyString(value));
+        if (value == null) return null;
+        Map<Integer, BoardNode> nodes = nodes();
+        Map<String, Integer> index = propertyIndex.get(prop_id);
+        if (index != null) {
+            Integer id = index.get(value);
+            if (id == null) return null;
+            BoardNode n = checkStringProperty(nodes.get(id), prop_id, value);
+            if (n != null) return n;
+        }
+        index = new HashMap<>();
+        for (BoardNode n : nodes.values()) {
+            if (n.getProperty(prop_id) instanceof PropertyString prop && prop.value != null)
+                index.putIfAbsent(prop.value, n.getComponentID());
+        }
+        propertyIndex.put(prop_id, index);
+        return checkStringProperty(nodes.get(index.get(value)), prop_id, value);
+    }
+
+    /**
+     * To be called whenever nodes are added to or removed from the board, as the property indexes may then be wrong.
+     */
+    private void nodesChanged() {
+        if (!propertyIndex.isEmpty())
+            propertyIndex = new HashMap<>();
+    }
+
+    private static BoardNode checkStringProperty(BoardNode n, int prop_id, String value) {
+        if (n != null && n.getProperty(prop_id) instanceof PropertyString prop && value.equals(prop.value))
+            return n;
+        return null;
     }
 
     /**
      * @return the list of board nodes
      */
     public Collection<BoardNode> getBoardNodes() {
-        return boardNodes.values();
+        return nodes().values();
     }
 
     /**
@@ -119,7 +202,7 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
      * @return - node matching ID.
      */
     public BoardNode getNodeByID(int id) {
-        return boardNodes.get(id);
+        return nodes().get(id);
     }
 
     /**
@@ -128,19 +211,24 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
      */
     public void setBoardNodes(List<BoardNode> boardNodes) {
         for (BoardNode bn: boardNodes) {
-            this.boardNodes.put(bn.componentID, bn);
+            nodes().put(bn.componentID, bn);
         }
+        nodesChanged();
     }
     public void setBoardNodes(Map<Integer, BoardNode> boardNodes) {
         this.boardNodes = boardNodes;
+        shared = false;
+        nodesChanged();
     }
 
     public void addBoardNode(BoardNode bn) {
-        this.boardNodes.put(bn.getComponentID(), bn);
+        nodes().put(bn.getComponentID(), bn);
+        nodesChanged();
     }
 
     public void removeBoardNode(BoardNode bn) {
-        this.boardNodes.remove(bn.getComponentID());
+        nodes().remove(bn.getComponentID());
+        nodesChanged();
     }
 
     public void breakConnection(BoardNode bn1, BoardNode bn2) {
@@ -150,54 +238,57 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
         // Check if they have at least 1 more neighbour on this board. If not, remove node from this board
         boolean inBoard = false;
         for (BoardNode n: bn1.getNeighbours()) {
-            if (boardNodes.containsKey(n.componentID)) {
+            if (nodes().containsKey(n.componentID)) {
                 inBoard = true;
                 break;
             }
         }
-        if (!inBoard) boardNodes.remove(bn1.componentID);
+        if (!inBoard) nodes().remove(bn1.componentID);
 
         inBoard = false;
         for (BoardNode n: bn2.getNeighbours()) {
-            if (boardNodes.containsKey(n.componentID)) {
+            if (nodes().containsKey(n.componentID)) {
                 inBoard = true;
                 break;
             }
         }
-        if (!inBoard) boardNodes.remove(bn2.componentID);
+        if (!inBoard) nodes().remove(bn2.componentID);
+        nodesChanged();
     }
 
     public void addConnection(BoardNode bn1, BoardNode bn2) {
         bn1.addNeighbour(bn2);
         bn2.addNeighbour(bn1);
-        if (!boardNodes.containsKey(bn1.componentID)) {
-            boardNodes.put(bn1.componentID, bn1);
+        if (!nodes().containsKey(bn1.componentID)) {
+            nodes().put(bn1.componentID, bn1);
         }
-        if (!boardNodes.containsKey(bn2.componentID)) {
-            boardNodes.put(bn1.componentID, bn2);
+        if (!nodes().containsKey(bn2.componentID)) {
+            nodes().put(bn1.componentID, bn2);
         }
+        nodesChanged();
     }
 
     public void addConnection(BoardNode bn1, BoardNode bn2, int edgeValue) {
         bn1.addNeighbour(bn2, edgeValue);
         bn2.addNeighbour(bn1, edgeValue);
-        if (!boardNodes.containsKey(bn1.componentID)) {
-            boardNodes.put(bn1.componentID, bn1);
+        if (!nodes().containsKey(bn1.componentID)) {
+            nodes().put(bn1.componentID, bn1);
         }
-        if (!boardNodes.containsKey(bn2.componentID)) {
-            boardNodes.put(bn1.componentID, bn2);
+        if (!nodes().containsKey(bn2.componentID)) {
+            nodes().put(bn1.componentID, bn2);
         }
+        nodesChanged();
     }
 
     public void addConnection(int bn1id, int bn2id) {
-        BoardNode bn1 = boardNodes.get(bn1id);
-        BoardNode bn2 = boardNodes.get(bn2id);
+        BoardNode bn1 = nodes().get(bn1id);
+        BoardNode bn2 = nodes().get(bn2id);
         addConnection(bn1, bn2);
     }
 
     public void addConnection(int bn1id, int bn2id, int edgeValue) {
-        BoardNode bn1 = boardNodes.get(bn1id);
-        BoardNode bn2 = boardNodes.get(bn2id);
+        BoardNode bn1 = nodes().get(bn1id);
+        BoardNode bn2 = nodes().get(bn2id);
         addConnection(bn1, bn2, edgeValue);
     }
 
@@ -252,13 +343,14 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
             newBN.loadBoardNode(node);
             newBN.setComponentName(((PropertyString)newBN.getProperty(nameHash)).value);
             newBN.setMaxNeighbours(maxNeighbours);
-            boardNodes.put(newBN.componentID, newBN);
+            nodes().put(newBN.componentID, newBN);
         }
+        nodesChanged();
 
         int _hash_neighbours_ = Hash.GetInstance().hash(neighboursKey);
         int _hash_vertices_ = Hash.GetInstance().hash(verticesKey);
 
-        for (BoardNode bn : boardNodes.values()) {
+        for (BoardNode bn : nodes().values()) {
             Property p = bn.getProperty(_hash_neighbours_);
             if (p instanceof PropertyStringArray) {
                 PropertyStringArray psa = (PropertyStringArray) p;
@@ -293,7 +385,7 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
     }
 
     public Map<Integer, BoardNode> getBoardNodeMap() {
-        return boardNodes;
+        return nodes();
     }
 
     @Override
@@ -8,6 +8,8 @@ public class GraphBoardWithEdges extends Component implements IComponentContaine
 
     // List of nodes in the board graph, mapping component ID to object reference
     protected Map<Integer, BoardNodeWithEdges> boardNodes;
+    protected boolean copyOnWrite;  // if true, copies share nodes with this board until used (see setCopyOnWrite)
+    private boolean shared;  // true if boardNodes may also be in use by a copy of this board
 
     public GraphBoardWithEdges(String name)
     {
@@ -35,16 +37,60 @@ public class GraphBoardWithEdges extends Component implements IComponentContaine
 
     /**
      * Copy method, to be implemented by all subclasses.
-     * @return - a new instance of this Board, deep copy.
+     * @return - a new instance of this Board, deep copy (which may be deferred, see setCopyOnWrite).
      */
     @Override
     public GraphBoardWithEdges copy()
     {
         GraphBoardWithEdges b = new GraphBoardWithEdges(componentName, componentID);
+        if (copyOnWrite) {
+            b.boardNodes = boardNodes;
+            b.copyOnWrite = true;
+            b.shared = true;
+            shared = true;
+        } else {
+            b.boardNodes = copyNodes(boardNodes);
+        }
+        // Copy properties
+        copyComponentTo(b);
+        return b;
+    }
+
+    /**
+     * If set, a copy of this board (or of a copy) does not copy the nodes straight away. Instead the two boards
+     * share them, and each board makes its own deep copy of the nodes the first time that they are asked for,
+     * or the connections between them changed. The nodes are mutable, so any method that gives access to them counts
+     * as a use; only equals() and hashCode() do not.
+     * <p>
+     * This saves the whole copy for a board (copy or original) that is discarded without its nodes being used.
+     *
+     * @param copyOnWrite - true to defer copying the nodes until they are used, false (the default) to copy them
+     *                    with the board.
+     */
+    public void setCopyOnWrite(boolean copyOnWrite) {
+        this.copyOnWrite = copyOnWrite;
+    }
+
+    public boolean isCopyOnWrite() {
+        return copyOnWrite;
+    }
+
+    /**
+     * @return the nodes of this board, first taking our own copy of them if they are shared with another board.
+     */
+    private Map<Integer, BoardNodeWithEdges> nodes() {
+        if (shared) {
+            boardNodes = copyNodes(boardNodes);
+            shared = false;
+        }
+        return boardNodes;
+    }
+
+    private static Map<Integer, BoardNodeWithEdges> copyNodes(Map<Integer, BoardNodeWithEdges> nodes) {
         HashMap<Integer, BoardNodeWithEdges> nodeCopies = new HashMap<>();
         HashMap<Integer, Edge> edgeCopies = new HashMap<>();
         // Copy board nodes
-        for (BoardNodeWithEdges bn: boardNodes.values()) {
+        for (BoardNodeWithEdges bn: nodes.values()) {
             BoardNodeWithEdges bnCopy = bn.copy();
             if (bnCopy == null) bnCopy = new BoardNodeWithEdges(bn.ownerId, bn.getComponentID());
             bn.copyComponentTo(bnCopy);
@@ -55,26 +101,21 @@ public class GraphBoardWithEdges extends Component implements IComponentContaine
             }
         }
         // Assign neighbours and edges
-        for (BoardNodeWithEdges bn: boardNodes.values()) {
+        for (BoardNodeWithEdges bn: nodes.values()) {
             BoardNodeWithEdges bnCopy = nodeCopies.get(bn.getComponentID());
             for (Map.Entry<Edge, BoardNodeWithEdges> e: bn.neighbourEdgeMapping.entrySet()) {
                 bnCopy.addNeighbour(nodeCopies.get(e.getValue().getComponentID()), edgeCopies.get(e.getKey().componentID));
             }
         }
 
-        // Assign new neighbours
-        b.setBoardNodes(nodeCopies);
-
-        // Copy properties
-        copyComponentTo(b);
-        return b;
+        return nodeCopies;
     }
 
     /**
      * @return the list of board nodes
      */
     public Collection<BoardNodeWithEdges> getBoardNodes() {
-        return boardNodes.values();
+        return nodes().values();
     }
 
     /**
@@ -83,7 +124,7 @@ public class GraphBoardWithEdges extends Component implements IComponentContaine
      * @return - node matching ID.
      */
     public BoardNodeWithEdges getNodeByID(int id) {
-        return boardNodes.get(id);
+        return nodes().get(id);
     }
 
     /**
@@ -92,19 +133,20 @@ public class GraphBoardWithEdges extends Component implements IComponentContaine
      */
     public void setBoardNodes(List<BoardNodeWithEdges> boardNodes) {
         for (BoardNodeWithEdges bn: boardNodes) {
-            this.boardNodes.put(bn.getComponentID(), bn);
+            nodes().put(bn.getComponentID(), bn);
         }
     }
     public void setBoardNodes(Map<Integer, BoardNodeWithEdges> boardNodes) {
         this.boardNodes = boardNodes;
+        shared = false;
     }
 
     public void addBoardNode(BoardNodeWithEdges bn) {
-        this.boardNodes.put(bn.getComponentID(), bn);
+        nodes().put(bn.getComponentID(), bn);
     }
 
     public void removeBoardNode(BoardNodeWithEdges bn) {
-        this.boardNodes.remove(bn.getComponentID());
+        nodes().remove(bn.getComponentID());
     }
 
     public void breakConnection(BoardNodeWithEdges bn1, BoardNodeWithEdges bn2, Edge edge) {
@@ -114,21 +156,21 @@ public class GraphBoardWithEdges extends Component implements IComponentContaine
         // Check if they have at least 1 more neighbour on this board. If not, remove node from this board
         boolean inBoard = false;
         for (BoardNodeWithEdges n: bn1.getNeighbours()) {
-            if (boardNodes.containsKey(n.getComponentID())) {
+            if (nodes().containsKey(n.getComponentID())) {
                 inBoard = true;
                 break;
             }
         }
-        if (!inBoard) boardNodes.remove(bn1.getComponentID());
+        if (!inBoard) nodes().remove(bn1.getComponentID());
 
         inBoard = false;
         for (BoardNodeWithEdges n: bn2.getNeighbours()) {
-            if (boardNodes.containsKey(n.getComponentID())) {
+            if (nodes().containsKey(n.getComponentID())) {
                 inBoard = true;
                 break;
             }
         }
-        if (!inBoard) boardNodes.remove(bn2.getComponentID());
+        if (!inBoard) nodes().remove(bn2.getComponentID());
     }
 
     public Edge addConnection(BoardNodeWithEdges bn1, BoardNodeWithEdges bn2) {
@@ -138,8 +180,8 @@ public class GraphBoardWithEdges extends Component implements IComponentContaine
     }
 
     public Edge addConnection(int bn1id, int bn2id) {
-        BoardNodeWithEdges bn1 = boardNodes.get(bn1id);
-        BoardNodeWithEdges bn2 = boardNodes.get(bn2id);
+        BoardNodeWithEdges bn1 = nodes().get(bn1id);
+        BoardNodeWithEdges bn2 = nodes().get(bn2id);
         Edge edge = new Edge();
         addConnection(bn1, bn2, edge);
         return edge;
@@ -170,7 +212,7 @@ public class GraphBoardWithEdges extends Component implements IComponentContaine
     }
 
     public Map<Integer, BoardNodeWithEdges> getBoardNodeMap() {
-        return boardNodes;
+        return nodes();
     }
 
     @Override
@@ -10,6 +10,7 @@ import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import utilities.Pair;
 import utilities.Vector2D;
+import utilities.Zobrist;
 
 import java.io.FileReader;
 import java.io.IOException;
@@ -26,6 +27,17 @@ public class GridBoard<T extends Component> extends Component implements ICompon
 
     private Component[][] grid;  // 2D grid representation of this board
 
+    // Copies share the grid with the original until one of them changes it (the elements themselves are always
+    // shared, as in any copy of the grid). gridShared is true if the outer array may be in use by another board, and
+    // sharedRows[y] is true if row y may be (null if no rows are shared).
+    private boolean gridShared;
+    private boolean[] sharedRows;
+
+    // Zobrist hash of the elements, kept up to date by setElement(). If the grid is changed by other means, this is
+    // marked as stale, and worked out again when next asked for.
+    private long zobristHash;
+    private boolean zobristStale = true;
+
     protected GridBoard() {
         super(CoreConstants.ComponentType.BOARD);
     }
@@ -122,6 +134,27 @@ public class GridBoard<T extends Component> extends Component implements ICompon
             if (w >= 0) System.arraycopy(this.grid[i], 0, grid[i + offsetY], offsetX, w);
         }
         this.grid = grid;
+        gridShared = false;
+        sharedRows = null;
+        zobristStale = true;
+    }
+
+    /**
+     * Returns row y of the grid, ready to be changed. If it is shared with a copy of this board, then we take our
+     * own copy of it first.
+     */
+    private Component[] writableRow(int y) {
+        if (gridShared) {
+            grid = grid.clone();
+            sharedRows = new boolean[grid.length];
+            Arrays.fill(sharedRows, true);
+            gridShared = false;
+        }
+        if (sharedRows != null && sharedRows[y]) {
+            grid[y] = grid[y].clone();
+            sharedRows[y] = false;
+        }
+        return grid[y];
     }
 
     /**
@@ -134,7 +167,10 @@ public class GridBoard<T extends Component> extends Component implements ICompon
      */
     public boolean setElement(int x, int y, T value) {
         if (x >= 0 && x < width && y >= 0 && y < height) {
-            grid[y][x] = value;
+            Component[] row = writableRow(y);
+            if (!zobristStale)
+                zobristHash ^= cellKey(x, y, row[x]) ^ cellKey(x, y, value);
+            row[x] = value;
             return true;
         } else
             return false;
@@ -162,14 +198,41 @@ public class GridBoard<T extends Component> extends Component implements ICompon
     }
 
     /**
-     * Retrieves the grid.
+     * Retrieves the grid. This may be changed by the caller, so is first unshared from any copies of this board, and
+     * the Zobrist hash is worked out again from scratch the next time it is needed.
      *
      * @return - 2D grid.
      */
     public Component[][] getGridValues() {
+        zobristStale = true;
+        if (gridShared || sharedRows != null) {
+            for (int y = 0; y < grid.length; y++)
+                writableRow(y);
+            sharedRows = null;
+        }
         return grid;
     }
 
+    /**
+     * A Zobrist hash of the contents of the grid, which setElement() keeps up to date.
+     *
+     * @return the Zobrist hash of this board.
+     */
+    public long getZobristHash() {
+        if (zobristStale) {
+            zobristHash = 0;
+            for (int y = 0; y < height; y++)
+                for (int x = 0; x < width; x++)
+                    zobristHash ^= cellKey(x, y, grid[y][x]);
+            zobristStale = false;
+        }
+        return Zobrist.key(componentID, zobristHash);
+    }
+
+    private static long cellKey(int x, int y, Component element) {
+        return element == null ? 0L : Zobrist.key(((long) y << 32) | x, element.getZobristKey());
+    }
+
     public List<Vector2D> getEmptyCells(T defaultElement) {
         List<Vector2D> emptyCells = new ArrayList<>();
         for (int i = 0; i < height; i++) {
@@ -192,9 +255,9 @@ public class GridBoard<T extends Component> extends Component implements ICompon
         GridBoard<T> copy = copy();
         orientation %= 4;  // Maximum 4 sides to a grid
         for (int i = 0; i < orientation; i++) {
-            copy.grid = rotateClockWise(copy.grid);
+            copy.grid = rotateClockWise(copy.getGridValues());
         }
-        return copy.grid;
+        return copy.getGridValues();
     }
 
     /**
@@ -231,11 +294,11 @@ public class GridBoard<T extends Component> extends Component implements ICompon
 
     @Override
     public GridBoard<T> copy() {
-        Component[][] gridCopy = new Component[getHeight()][getWidth()];
-        for (int i = 0; i < height; i++) {
-            if (width >= 0) System.arraycopy(grid[i], 0, gridCopy[i], 0, width);
-        }
-        GridBoard<T> g = new GridBoard<>(gridCopy, componentID);
+        GridBoard<T> g = new GridBoard<>(grid, componentID);
+        g.gridShared = true;
+        gridShared = true;
+        g.zobristHash = zobristHash;
+        g.zobristStale = zobristStale;
         copyComponentTo(g);
         return g;
     }
@@ -302,6 +365,9 @@ public class GridBoard<T extends Component> extends Component implements ICompon
         }
 
         this.grid = new Component[height][width];
+        gridShared = false;
+        sharedRows = null;
+        zobristStale = true;
 
         JSONArray grids = (JSONArray) board.get("grid");
         int y = 0;
@@ -4,7 +4,6 @@ import core.AbstractGameState;
 import core.CoreConstants.VisibilityMode;
 import org.jetbrains.annotations.NotNull;
 import utilities.DeterminisationUtilities;
-import utilities.Pair;
 
 import java.util.*;
 
@@ -14,25 +13,55 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     // (true if player can see the deck, false otherwise)
     protected boolean[] deckVisibility;
 
-    // Visibility of each component in the deck, order corresponds to order of elements in the deck;
-    protected List<boolean[]> elementVisibility = new LinkedList<>();
+    // The visibility of each component in the deck is held with the component, in the flags of the RingBufferList
+    // of components: bit p is set if player p can see the component. This is why we can have at most 64 players.
 
     public boolean getVisibilityForPlayer(int elementIdx, int playerID) {
-        return elementVisibility.get(elementIdx)[playerID];
+        return (visibility().getFlags(elementIdx) & (1L << playerID)) != 0;
     }
 
+    /**
+     * @return a new array with the visibility of the component to each player
+     */
     public boolean[] getVisibilityOfComponent(int elementIdx) {
-        return elementVisibility.get(elementIdx);
+        return toArray(visibility().getFlags(elementIdx));
+    }
+
+    @SuppressWarnings("unchecked")
+    private RingBufferList<T> visibility() {
+        return (RingBufferList<T>) components;
+    }
+
+    private long toMask(boolean[] visibilityPerPlayer) {
+        long retValue = 0L;
+        for (int p = 0; p < visibilityPerPlayer.length; p++)
+            if (visibilityPerPlayer[p])
+                retValue |= 1L << p;
+        return retValue;
+    }
+
+    private boolean[] toArray(long mask) {
+        boolean[] retValue = new boolean[deckVisibility.length];
+        for (int p = 0; p < retValue.length; p++)
+            retValue[p] = (mask & (1L << p)) != 0;
+        return retValue;
+    }
+
+    private static void checkPlayerCount(int nPlayers) {
+        if (nPlayers > Long.SIZE)
+            throw new IllegalArgumentException("PartialObservableDeck supports at most " + Long.SIZE + " players, not " + nPlayers);
     }
 
 
     public PartialObservableDeck(String id, int ownerID, boolean[] defaultVisibility) {
         super(id, ownerID, VisibilityMode.MIXED_VISIBILITY);
+        checkPlayerCount(defaultVisibility.length);
         this.deckVisibility = defaultVisibility;
     }
 
     public PartialObservableDeck(String id, int ownerID, int nPlayers, VisibilityMode visibilityMode) {
         super(id, ownerID, visibilityMode);
+        checkPlayerCount(nPlayers);
         deckVisibility = new boolean[nPlayers];
         switch (visibilityMode) {
             case VISIBLE_TO_ALL:
@@ -65,13 +94,14 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
         if (playerID < 0 || playerID >= deckVisibility.length)
             throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
 
-        List<T> visibleComponents = new ArrayList<>(components.size());
-        for (int i = 0; i < components.size(); i++) {
-            boolean[] b = elementVisibility.get(i);
-            if (b[playerID])
-                visibleComponents.add(i, components.get(i));
+        RingBufferList<T> ring = visibility();
+        long playerBit = 1L << playerID;
+        List<T> visibleComponents = new ArrayList<>(ring.size());
+        for (int i = 0; i < ring.size(); i++) {
+            if ((ring.getFlags(i) & playerBit) != 0)
+                visibleComponents.add(ring.get(i));
             else
-                visibleComponents.add(i, null);
+                visibleComponents.add(null);
         }
         return visibleComponents;
     }
@@ -86,7 +116,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public boolean isComponentVisible(int idx, int playerID) {
         if (playerID < 0 || playerID >= deckVisibility.length)
             throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
-        return elementVisibility.get(idx)[playerID];
+        return getVisibilityForPlayer(idx, playerID);
     }
 
 
@@ -106,7 +136,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     public void setComponents(List<T> components, List<boolean[]> visibilityPerPlayer) {
         super.setComponents(components);
-        this.elementVisibility = visibilityPerPlayer;
+        setVisibility(visibilityPerPlayer);
     }
 
 
@@ -120,17 +150,21 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
             if (b.length != this.deckVisibility.length)
                 throw new IllegalArgumentException("All entries of visibility need to have length " + deckVisibility.length +
                         " but at least one entry is of length " + b.length);
-        this.elementVisibility = visibility;
+        if (visibility.size() != components.size())
+            throw new IllegalArgumentException("Visibility is needed for each of the " + components.size() + " components, not " + visibility.size());
+        for (int i = 0; i < visibility.size(); i++)
+            visibility().setFlags(i, toMask(visibility.get(i)));
     }
+
     private void applyVisibilityMode() {
+        long allPlayers = deckVisibility.length == Long.SIZE ? -1L : (1L << deckVisibility.length) - 1;
         if (getVisibilityMode() == VisibilityMode.TOP_VISIBLE_TO_ALL)
-            for (int j = 0; j < deckVisibility.length; j++)
-                elementVisibility.get(0)[j] = true;
+            visibility().setFlags(0, allPlayers);
         if (getVisibilityMode() == VisibilityMode.BOTTOM_VISIBLE_TO_ALL)
-            for (int j = 0; j < deckVisibility.length; j++)
-                elementVisibility.get(components.size() - 1)[j] = true;
+            visibility().setFlags(components.size() - 1, allPlayers);
     }
 
+
     /**
      * Updates the visibility of one component for one player.
      *
@@ -139,10 +173,11 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visibility - true if player can see this component, false otherwise.
      */
     public void setVisibilityOfComponent(int index, int playerID, boolean visibility) {
-        if (index >= 0 && index < elementVisibility.size()) {
-            if (playerID >= 0 && playerID < deckVisibility.length)
-                this.elementVisibility.get(index)[playerID] = visibility;
-            else
+        if (index >= 0 && index < components.size()) {
+            if (playerID >= 0 && playerID < deckVisibility.length) {
+                long flags = visibility().getFlags(index);
+                visibility().setFlags(index, visibility ? flags | (1L << playerID) : flags & ~(1L << playerID));
+            } else
                 throw new IllegalArgumentException("playerID " + playerID + "needs to be in range [0," + (deckVisibility.length - 1) + "]");
         } else {
             throw new IllegalArgumentException("component index " + index + " needs to be in range [0," + (components.size() - 1) + "]");
@@ -156,8 +191,8 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visibility - true if player can see this component, false otherwise.
      */
     public void setVisibilityOfComponent(int index, boolean[] visibility) {
-        if (index >= 0 && index < elementVisibility.size() && visibility.length == deckVisibility.length) {
-            this.elementVisibility.set(index, visibility.clone());
+        if (index >= 0 && index < components.size() && visibility.length == deckVisibility.length) {
+            visibility().setFlags(index, toMask(visibility));
         } else {
             throw new IllegalArgumentException("component index " + index + " needs to be in range [0," + components.size() + "]");
         }
@@ -185,8 +220,8 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @return true if not over capacity, false otherwise.
      */
     public boolean add(T c, int index, boolean[] visibilityPerPlayer) {
-        this.elementVisibility.add(index, visibilityPerPlayer.clone());
         boolean retValue = super.add(c, index);
+        visibility().setFlags(index, toMask(visibilityPerPlayer));
         applyVisibilityMode();
         return retValue;
     }
@@ -200,29 +235,29 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     @Override
     public boolean add(Deck<T> d, int index) {
+        // take the visibility of the other deck before we add anything, in case d is this deck
+        int length = d.components.size();
+        long[] added = new long[length];
         if (d instanceof PartialObservableDeck<T> pod) {
-            int length = d.components.size();
-            for (int i = 0; i < length; i++) {
-                // Add in reverse order to keep the order of the deck
-                // this is to ties up with addAll() of components in super.add() a few lines down
-                this.elementVisibility.add(index, pod.elementVisibility.get(length - i - 1).clone());
-            }
+            for (int i = 0; i < length; i++)
+                added[i] = pod.visibility().getFlags(i);
         } else {
-            for (int i = 0; i < d.components.size(); i++) {
-                this.elementVisibility.add(index, deckVisibility.clone());
-            }
+            Arrays.fill(added, toMask(deckVisibility));
         }
         boolean retValue = super.add(d, index);
+        for (int i = 0; i < length; i++)
+            visibility().setFlags(index + i, added[i]);
         applyVisibilityMode();
         return retValue;
     }
 
     @Override
     public boolean add(Collection<T> d, int index) {
-        for (int i = 0; i < d.size(); i++) {
-            this.elementVisibility.add(index, deckVisibility.clone());
-        }
-        return super.add(d, index);
+        boolean retValue = super.add(d, index);
+        long defaultVisibility = toMask(deckVisibility);
+        for (int i = 0; i < d.size(); i++)
+            visibility().setFlags(index + i, defaultVisibility);
+        return retValue;
     }
 
     @Override
@@ -233,23 +268,10 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     @Override
     public void setComponents(List<T> components) {
         super.setComponents(components);
-        elementVisibility.clear();
-        for (int i = 0; i < components.size(); i++) {
-            elementVisibility.add(deckVisibility.clone());
-        }
+        visibility().setAllFlags(toMask(deckVisibility));
         applyVisibilityMode();
     }
 
-    @Override
-    public T pick(int idx) {
-        T el = super.pick(idx);
-        if (el != null) {
-            elementVisibility.remove(idx);
-            return el;
-        }
-        return null;
-    }
-
     @Override
     public boolean add(T c, int index) {
         return add(c, index, deckVisibility);
@@ -267,20 +289,6 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
         return add(c, deckVisibility);
     }
 
-    @Override
-    public boolean remove(int idx) {
-        if (super.remove(idx)) {
-            elementVisibility.remove(idx);
-            return true;
-        }
-        return false;
-    }
-
-    @Override
-    public void clear() {
-        super.clear();
-        elementVisibility.clear();
-    }
 
     /**
      * Shuffles the deck, and updates the visibility of the components accordingly.
@@ -290,7 +298,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     @Override
     public void shuffle(Random rnd) {
-        elementVisibility.replaceAll(ignored -> deckVisibility.clone());
+        visibility().setAllFlags(toMask(deckVisibility));
         super.shuffle(rnd);
         applyVisibilityMode();
     }
@@ -301,37 +309,19 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param rnd random number generator to be used in shuffling.
      */
     public void shuffleAndKeepVisibility(Random rnd) {
-        Pair<List<T>, List<boolean[]>> shuffled = shuffleLists(components, elementVisibility, rnd);
-        components = shuffled.a;
-        elementVisibility = shuffled.b;
-        applyVisibilityMode();
-    }
-
-
-    /**
-     * Shuffles a list of components and associated visibility
-     *
-     * @param comps - list of components
-     * @param vis   - associated visibility
-     * @param rnd   - random number generator to be used in shuffling.
-     * @return - both lists shuffled, keeping the mapping from component to visibility at the same index.
-     */
-    private Pair<List<T>, List<boolean[]>> shuffleLists(List<T> comps, List<boolean[]> vis, Random rnd) {
-        List<T> tmp_components = new LinkedList<>();
-        List<boolean[]> tmp_visibility = new LinkedList<>();
-
-        List<Integer> indexList = new ArrayList<>(comps.size());
-        for (int i = 0; i < comps.size(); i++)
+        RingBufferList<T> ring = visibility();
+        List<Integer> indexList = new ArrayList<>(ring.size());
+        for (int i = 0; i < ring.size(); i++)
             indexList.add(i);
         Collections.shuffle(indexList, rnd);
 
+        RingBufferList<T> original = ring.shallowCopy();
         for (int targetIndex = 0; targetIndex < indexList.size(); targetIndex++) {
             int sourceIndex = indexList.get(targetIndex);
-            tmp_components.add(targetIndex, comps.get(sourceIndex));
-            tmp_visibility.add(targetIndex, vis.get(sourceIndex));
+            ring.set(targetIndex, original.get(sourceIndex));
+            ring.setFlags(targetIndex, original.getFlags(sourceIndex));
         }
-
-        return new Pair<>(tmp_components, tmp_visibility);
+        applyVisibilityMode();
     }
 
     /**
@@ -365,14 +355,8 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
 
     @NotNull
     private PartialObservableDeck<T> commonCopy(PartialObservableDeck<T> dp) {
+        // the visibility of each component is copied with the components
         dp.deckVisibility = deckVisibility.clone();
-
-        ArrayList<boolean[]> newVisibility = new ArrayList<>();
-        for (boolean[] visibility : elementVisibility) {
-            newVisibility.add(visibility.clone());
-        }
-        dp.elementVisibility = newVisibility;
-
         return dp;
     }
 
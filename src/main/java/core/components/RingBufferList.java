@@ -0,0 +1,326 @@
+package core.components;
+
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+/**
+ * The backing store of a Deck. This is a List held in a circular array, so that adding or removing at either
+ * end (the top of a deck is element 0) is O(1), as is get(i). Adding or removing in the middle moves whichever
+ * side of the index is shorter.
+ * <p>
+ * Each element also carries a long of flags, which stay with the element as it moves. PartialObservableDeck uses
+ * these for the visibility of the element, with bit p set if player p can see it. Elements added through the List
+ * methods have no flags set.
+ * <p>
+ * sharedCopy() gives a copy-on-write copy: the two lists share their arrays until either of them is next changed,
+ * at which point that one takes its own copy of them.
+ * <p>
+ * If given a key function, the list also keeps the sum of the keys of its elements up to date as they are added,
+ * removed and replaced. This is the (order-independent) content hash that Deck uses for its Zobrist hash.
+ */
+final class RingBufferList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final Object[] EMPTY = new Object[0];
+    private static final long[] NO_FLAGS = new long[0];
+
+    private Object[] elements;
+    private long[] flags;
+    private int head;  // position in elements of element 0
+    private int size;
+    private boolean shared;  // true if elements and flags may also be in use by another list
+    private ToLongFunction<? super T> keyFunction;  // null if we do not keep a content hash
+    private long contentHash;  // sum of the keys of all elements
+
+    RingBufferList() {
+        elements = EMPTY;
+        flags = NO_FLAGS;
+    }
+
+    RingBufferList(ToLongFunction<? super T> keyFunction) {
+        this();
+        this.keyFunction = keyFunction;
+    }
+
+    RingBufferList(int initialCapacity) {
+        elements = initialCapacity == 0 ? EMPTY : new Object[initialCapacity];
+        flags = initialCapacity == 0 ? NO_FLAGS : new long[initialCapacity];
+    }
+
+    RingBufferList(Collection<? extends T> contents) {
+        this(contents, null);
+    }
+
+    RingBufferList(Collection<? extends T> contents, ToLongFunction<? super T> keyFunction) {
+        this(contents.size());
+        this.keyFunction = keyFunction;
+        for (T element : contents) {
+            elements[size++] = element;
+            contentHash += key(element);
+        }
+    }
+
+    /**
+     * A shallow copy; the elements are shared, the flags are not.
+     */
+    RingBufferList<T> shallowCopy() {
+        RingBufferList<T> retValue = new RingBufferList<>();
+        retValue.elements = elements.clone();
+        retValue.flags = flags.clone();
+        retValue.head = head;
+        retValue.size = size;
+        retValue.keyFunction = keyFunction;
+        retValue.contentHash = contentHash;
+        return retValue;
+    }
+
+    /**
+     * A copy that shares the arrays of this list until either list is changed (the elements are shared too).
+     */
+    RingBufferList<T> sharedCopy() {
+        RingBufferList<T> retValue = new RingBufferList<>();
+        retValue.elements = elements;
+        retValue.flags = flags;
+        retValue.head = head;
+        retValue.size = size;
+        retValue.keyFunction = keyFunction;
+        retValue.contentHash = contentHash;
+        retValue.shared = true;
+        shared = true;
+        return retValue;
+    }
+
+    // called before any change to the arrays, to take our own copy of them if they are shared
+    private void unshare() {
+        if (shared) {
+            elements = elements.clone();
+            flags = flags.clone();
+            shared = false;
+        }
+    }
+
+    /**
+     * @return the sum of the keys of the elements, or 0 if this list has no key function.
+     */
+    long contentHash() {
+        return contentHash;
+    }
+
+    private long key(T element) {
+        return keyFunction == null || element == null ? 0L : keyFunction.applyAsLong(element);
+    }
+
+    private int position(int index) {
+        int position = head + index;
+        return position >= elements.length ? position - elements.length : position;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) elements[position(index)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T element) {
+        checkIndex(index);
+        unshare();
+        int position = position(index);
+        T previous = (T) elements[position];
+        elements[position] = element;
+        contentHash += key(element) - key(previous);
+        return previous;
+    }
+
+    long getFlags(int index) {
+        checkIndex(index);
+        return flags[position(index)];
+    }
+
+    void setFlags(int index, long value) {
+        checkIndex(index);
+        unshare();
+        flags[position(index)] = value;
+    }
+
+    void setAllFlags(long value) {
+        unshare();
+        for (int i = 0; i < size; i++)
+            flags[position(i)] = value;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        openGap(index, 1);
+        int position = position(index);
+        elements[position] = element;
+        flags[position] = 0L;
+        contentHash += key(element);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(int index, Collection<? extends T> c) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        // take a copy first, in case c is (a view of) this list
+        Object[] toAdd = c.toArray();
+        if (toAdd.length == 0)
+            return false;
+        // if c keeps the same content hash as we do, we can just add that rather than the keys of all its elements
+        boolean sameKeys = c instanceof RingBufferList<?> other && keyFunction != null && other.keyFunction == keyFunction;
+        long addedHash = sameKeys ? ((RingBufferList<?>) c).contentHash : 0L;
+        openGap(index, toAdd.length);
+        for (int i = 0; i < toAdd.length; i++) {
+            int position = position(index + i);
+            elements[position] = toAdd[i];
+            flags[position] = 0L;
+            if (!sameKeys)
+                addedHash += key((T) toAdd[i]);
+        }
+        contentHash += addedHash;
+        return true;
+    }
+
+    /**
+     * Shuffles the elements from fromIndex (inclusive) to toIndex (exclusive) in place. This makes exactly the same
+     * swaps as Collections.shuffle() would with the same Random, so gives the same order; but as the content hash
+     * cannot change, we do not update it for each swap. As with Collections.shuffle() (which uses set()), the flags
+     * stay at their positions rather than moving with the elements.
+     */
+    void shuffle(int fromIndex, int toIndex, Random rnd) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+        if (toIndex - fromIndex < 2)
+            return;
+        unshare();
+        for (int i = toIndex - fromIndex; i > 1; i--) {
+            int a = position(fromIndex + i - 1);
+            int b = position(fromIndex + rnd.nextInt(i));
+            Object swap = elements[a];
+            elements[a] = elements[b];
+            elements[b] = swap;
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return addAll(size, c);
+    }
+
+    @Override
+    public T remove(int index) {
+        T retValue = get(index);
+        closeGap(index, 1);
+        return retValue;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (toIndex > fromIndex)
+            closeGap(fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            // no need to copy what we are about to discard
+            elements = new Object[elements.length];
+            flags = new long[flags.length];
+            shared = false;
+        } else {
+            for (int i = 0; i < size; i++)
+                elements[position(i)] = null;
+        }
+        head = 0;
+        size = 0;
+        contentHash = 0L;
+        modCount++;
+    }
+
+    /**
+     * Makes room for count new elements at index, moving whichever of the elements before or after index are fewer.
+     */
+    private void openGap(int index, int count) {
+        if (size + count > elements.length)
+            grow(size + count);
+        else
+            unshare();
+        if (index < size - index) {
+            // move the first index elements back by count
+            head -= count;
+            if (head < 0) head += elements.length;
+            for (int i = 0; i < index; i++)
+                move(i + count, i);
+        } else {
+            // move the last (size - index) elements on by count
+            for (int i = size - 1; i >= index; i--)
+                move(i, i + count);
+        }
+        size += count;
+        modCount++;
+    }
+
+    /**
+     * Removes the count elements starting at index, moving whichever of the elements before or after them are fewer.
+     */
+    private void closeGap(int index, int count) {
+        unshare();
+        if (keyFunction != null)
+            for (int i = index; i < index + count; i++)
+                contentHash -= key(get(i));
+        int after = size - index - count;
+        if (index < after) {
+            // move the first index elements on by count
+            for (int i = index - 1; i >= 0; i--)
+                move(i, i + count);
+            for (int i = 0; i < count; i++)
+                elements[position(i)] = null;
+            head = position(count);
+        } else {
+            for (int i = index + count; i < size; i++)
+                move(i, i - count);
+            for (int i = size - count; i < size; i++)
+                elements[position(i)] = null;
+        }
+        size -= count;
+        modCount++;
+    }
+
+    // copies element (and flags) at index 'from' to index 'to', in the current layout of the array
+    private void move(int from, int to) {
+        int source = position(from);
+        int target = position(to);
+        elements[target] = elements[source];
+        flags[target] = flags[source];
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, Math.max(8, elements.length * 2));
+        Object[] newElements = new Object[capacity];
+        long[] newFlags = new long[capacity];
+        // unwrap so that element 0 is at position 0
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, newElements, 0, firstPart);
+        System.arraycopy(elements, 0, newElements, firstPart, size - firstPart);
+        System.arraycopy(flags, head, newFlags, 0, firstPart);
+        System.arraycopy(flags, 0, newFlags, firstPart, size - firstPart);
+        elements = newElements;
+        flags = newFlags;
+        head = 0;
+        shared = false;
+    }
+}
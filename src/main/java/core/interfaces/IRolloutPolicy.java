@@ -0,0 +1,24 @@
+package core.interfaces;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+
+/**
+ * A policy for the actions in a rollout (as used by MCTS), that is given the forward model rather than the list of
+ * available actions. This means it need not compute every available action, if it does not need them all to choose
+ * one; for example a random policy can use AbstractForwardModel.sampleAvailableAction().
+ * <p>
+ * An AbstractPlayer used as a rollout policy or opponent model can implement this to be used in this way.
+ */
+public interface IRolloutPolicy {
+
+    /**
+     * @param state        - the state in which to act (which will not be changed).
+     * @param forwardModel - the forward model to use to find the actions available.
+     * @param actionSpace  - the action space to use, as for AbstractForwardModel.computeAvailableActions().
+     * @return - the action to take, or null if there are no actions available.
+     */
+    AbstractAction sampleAction(AbstractGameState state, AbstractForwardModel forwardModel, ActionSpace actionSpace);
+}
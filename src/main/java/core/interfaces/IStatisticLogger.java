@@ -1,5 +1,7 @@
 package core.interfaces;
 
+import evaluation.loggers.BinaryStatsLogger;
+import evaluation.loggers.FileStatsLogger;
 import evaluation.loggers.SummaryLogger;
 import evaluation.summarisers.TAGStatSummary;
 
@@ -40,6 +42,16 @@ public interface IStatisticLogger {
     Map<String, TAGStatSummary> summary();
     IStatisticLogger emptyCopy(String id);
 
+    /**
+     * @return a logger that writes rows of data to this file: a BinaryStatsLogger if the file name ends with
+     * BinaryStatsLogger.EXTENSION, and otherwise a (tab-separated text) FileStatsLogger
+     */
+    static IStatisticLogger createFileLogger(String fileName, boolean append) {
+        if (fileName.endsWith(BinaryStatsLogger.EXTENSION))
+            return new BinaryStatsLogger(fileName, append);
+        return new FileStatsLogger(fileName, "\t", append);
+    }
+
     static IStatisticLogger createLogger(String loggerClass, String logFile) {
         if (logFile.isEmpty())
             throw new IllegalArgumentException("Must specify logFile");
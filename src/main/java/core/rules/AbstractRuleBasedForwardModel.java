@@ -5,16 +5,13 @@ import core.AbstractGameState;
 import core.AbstractGameStateWithTurnOrder;
 import core.CoreConstants;
 import core.actions.AbstractAction;
-import core.rules.nodetypes.BranchingRuleNode;
-import core.rules.nodetypes.ConditionNode;
-import core.rules.nodetypes.RuleNode;
-
-import java.util.HashMap;
 
 public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel {
 
-    // Rule executed last, rule to be executed next, and first rule to be executed in a turn (root)
-    protected Node lastRule, nextRule, root;
+    // First rule to be executed in a turn (root), with the graph of rules built from it
+    protected Node root;
+    // The rule graph in compiled form, made from root when first needed and then shared by all copies of this model
+    private CompiledRuleGraph rules;
 
     /**
      * Default constructor. Any classes extending this should initialise the root node variable to the first rule
@@ -30,6 +27,10 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
      *      - Use core.rules.rulenodes.ForceAllPlayerReaction.java type rules to force all players to react (if using
      *      a ReactiveTurnOrder).
      *
+     * The graph is compiled (see CompiledRuleGraph) the first time the model is used, so it must not be changed after
+     * that. Where a game is in the graph is kept in its game state, so one model (or copy) can be used with any
+     * number of states.
+     *
      * Can use utilities.GameFlowDiagram.java class to visualise game flow, given a root node (and all children assigned)
      */
     protected AbstractRuleBasedForwardModel() {}
@@ -40,7 +41,28 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
      */
     protected AbstractRuleBasedForwardModel(Node root) {
         this.root = root;
-        this.nextRule = root;
+    }
+
+    /**
+     * Copy constructor, sharing the compiled rule graph of another model.
+     * @param rules - compiled rule graph.
+     */
+    protected AbstractRuleBasedForwardModel(CompiledRuleGraph rules) {
+        this.rules = rules;
+        this.root = rules.getNode(0);
+    }
+
+    /**
+     * @return the rule graph in compiled form (compiling it from root if not done yet). Copies of this model should
+     * be made with this, using the copy constructor.
+     */
+    protected final CompiledRuleGraph getRules() {
+        if (rules == null) {
+            if (root == null)
+                throw new AssertionError("Rules Based Forward Model has no root rule");
+            rules = new CompiledRuleGraph(root);
+        }
+        return rules;
     }
 
     /**
@@ -49,8 +71,8 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
      */
     protected void abstractSetup(AbstractGameState firstState) {
         super.abstractSetup(firstState);
-        nextRule = root;
-        lastRule = null;
+        if (firstState instanceof AbstractGameStateWithTurnOrder state)
+            state.setRulePosition(CompiledRuleGraph.NONE, 0);
     }
 
     /**
@@ -64,77 +86,6 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
         if (!(state instanceof AbstractGameStateWithTurnOrder))
             throw new AssertionError("Rules Based Forward Model is only usable with AbstractGameStateWithTurnOrder");
 
-        AbstractGameStateWithTurnOrder currentState = (AbstractGameStateWithTurnOrder) state;
-        if (nextRule == null) {
-            nextRule = lastRule.getNext();  // Go back to parent, skip it and go to next rule
-            if (nextRule == null) nextRule = root;
-            return;
-        }
-
-        do {
-            if (nextRule.requireAction()) {
-                if (action != null) {
-                    nextRule.setAction(action);
-                    action = null;
-                } else {
-                    return;  // Wait for action to be sent to execute this rule requiring action
-                }
-            }
-            lastRule = nextRule;
-            nextRule = nextRule.execute(currentState);
-        } while (nextRule != null);
-
-        nextRule = lastRule.getNext();  // Go back to parent, skip it and go to next rule
-    }
-
-    /**
-     * Copy root node with rule graph.
-     * @return - New copy of root
-     */
-    protected Node copyRoot() {
-        return copyNodeGraph(new HashMap<>(), root);
-    }
-
-    /**
-     * Recursive copy of nodes in rule graph
-     * @param visitedNodes - Map keeping track of visited nodes
-     * @param node - Original node
-     * @return - Node with copy of rule graph
-     */
-    private Node copyNodeGraph(HashMap<Integer, Node> visitedNodes, Node node) {
-
-        if(node == null) {
-            throw new AssertionError("Can't copy rule graph containing null nodes!");
-        }
-        if(visitedNodes.containsKey(node.getId())) {
-            return visitedNodes.get(node.getId());
-        }
-
-        Node copy = node.copy();
-        visitedNodes.put(node.getId(), copy);
-
-        if(node instanceof RuleNode) {
-            if(node instanceof BranchingRuleNode) {
-                Node[] children = ((BranchingRuleNode) node).getChildren();
-                Node[] copies = new Node[children.length];
-                for (int j = 0; j < copies.length; j++) {
-                    copies[j] = copyNodeGraph(visitedNodes, children[j].getNext());
-                    if (children[j].parent != null) copies[j].setParent(copy);
-                }
-                ((BranchingRuleNode) copy).setNext(copies);
-            } else {
-                Node child = copyNodeGraph(visitedNodes, node.getNext());
-                if (node.getNext().parent != null) child.setParent(copy);
-                ((RuleNode) copy).setNext(child);
-            }
-
-        } else if(node instanceof ConditionNode) {
-            Node childYes = copyNodeGraph(visitedNodes, ((ConditionNode) node).getYesNo()[0]);
-            Node childNo = copyNodeGraph(visitedNodes, ((ConditionNode) node).getYesNo()[1]);
-            if (((ConditionNode) node).getYesNo()[0].parent != null) childYes.setParent(copy);
-            if (((ConditionNode) node).getYesNo()[1].parent != null) childNo.setParent(copy);
-            ((ConditionNode) copy).setYesNo(childYes, childNo);
-        }
-        return copy;
+        getRules().next((AbstractGameStateWithTurnOrder) state, action);
     }
 }
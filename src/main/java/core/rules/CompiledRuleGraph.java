@@ -0,0 +1,141 @@
+package core.rules;
+
+import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
+import core.rules.nodetypes.ConditionNode;
+import core.rules.nodetypes.RuleNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rule graph of an AbstractRuleBasedForwardModel in compiled form: a table of the nodes reachable from the root,
+ * with the links between them as indices into the table. The root is at index 0.
+ * <p>
+ * This is never changed once made, and the nodes are only used through RuleNode.execute(gs, action) and
+ * ConditionNode.evaluate(gs), which do not record anything in the nodes. So one graph is shared by a forward model
+ * and all its copies, and where a game is in the graph is kept in each game state instead (see
+ * AbstractGameStateWithTurnOrder.getNextRule()).
+ * <p>
+ * The node classes (in core.rules.nodetypes and core.rules.rulenodes) are still used to write the rules of a game;
+ * this is made from them the first time the forward model is used.
+ */
+public final class CompiledRuleGraph {
+
+    public static final int NONE = -1;
+
+    private final Node[] nodes;
+    private final RuleNode[] rules;  // null for conditions
+    private final ConditionNode[] conditions;  // null for rules
+    private final boolean[] requiresAction;
+    private final int[] next;  // for rules, the index of the node to execute next (or NONE)
+    private final int[] yes, no;  // for conditions, the index of the node to execute next if the test passes or not
+
+    public CompiledRuleGraph(Node root) {
+        List<Node> order = new ArrayList<>();
+        Map<Integer, Integer> index = new HashMap<>();  // by node ID
+        index(root, order, index);
+
+        int n = order.size();
+        nodes = order.toArray(new Node[0]);
+        rules = new RuleNode[n];
+        conditions = new ConditionNode[n];
+        requiresAction = new boolean[n];
+        next = new int[n];
+        yes = new int[n];
+        no = new int[n];
+        for (int i = 0; i < n; i++) {
+            Node node = nodes[i];
+            requiresAction[i] = node.requireAction();
+            next[i] = yes[i] = no[i] = NONE;
+            if (node instanceof RuleNode rule) {
+                rules[i] = rule;
+                next[i] = indexOf(rule.getNext(), index);
+            } else if (node instanceof ConditionNode condition) {
+                conditions[i] = condition;
+                Node[] yesNo = condition.getYesNo();
+                yes[i] = indexOf(yesNo[0], index);
+                no[i] = indexOf(yesNo[1], index);
+            } else {
+                throw new AssertionError("Unknown type of rule graph node : " + node.getClass());
+            }
+        }
+    }
+
+    // Numbers the nodes in the order they are first reached from the root (following the links that execute() does)
+    private static void index(Node root, List<Node> order, Map<Integer, Integer> index) {
+        List<Node> toVisit = new ArrayList<>();
+        toVisit.add(root);
+        while (!toVisit.isEmpty()) {
+            Node node = toVisit.remove(toVisit.size() - 1);
+            if (node == null || index.containsKey(node.getId())) continue;
+            index.put(node.getId(), order.size());
+            order.add(node);
+            if (node instanceof ConditionNode condition) {
+                Node[] yesNo = condition.getYesNo();
+                toVisit.add(yesNo[1]);
+                toVisit.add(yesNo[0]);
+            } else {
+                toVisit.add(node.getNext());
+            }
+        }
+    }
+
+    private static int indexOf(Node node, Map<Integer, Integer> index) {
+        return node == null ? NONE : index.get(node.getId());
+    }
+
+    /**
+     * Executes the rules from where the game state is in the graph, as far as they go without (another) action, and
+     * records in the state where it is then. This is the game loop of AbstractRuleBasedForwardModel.
+     *
+     * @param gs     - game state to apply the rules to.
+     * @param action - action for the first rule that requires one, or null.
+     */
+    public void next(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
+        int last = gs.getLastRule(), current = gs.getNextRule();
+        if (current == NONE) {
+            // Go back to parent, skip it and go to next rule
+            current = last == NONE ? NONE : next[last];
+            gs.setRulePosition(last, current == NONE ? 0 : current);
+            return;
+        }
+
+        while (current != NONE) {
+            if (requiresAction[current] && action == null) {
+                gs.setRulePosition(last, current);  // Wait for action to be sent to execute this rule requiring action
+                return;
+            }
+            last = current;
+            if (conditions[current] != null) {
+                current = conditions[current].evaluate(gs) ? yes[current] : no[current];
+            } else {
+                AbstractAction nodeAction = null;
+                if (requiresAction[current]) {
+                    nodeAction = action;
+                    action = null;
+                }
+                current = rules[current].execute(gs, nodeAction) == null ? NONE : next[current];
+            }
+        }
+
+        // Go back to parent, skip it and go to next rule
+        gs.setRulePosition(last, next[last]);
+    }
+
+    /**
+     * @return the number of nodes in the graph.
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * @return the node at the given index (the root is at 0).
+     */
+    public Node getNode(int index) {
+        return nodes[index];
+    }
+}
@@ -38,6 +38,16 @@ public abstract class ConditionNode extends Node {
      */
     protected abstract boolean test(AbstractGameState gs);
 
+    /**
+     * Tests the condition without recording the result in this node (as execute() does), so that it can be shared
+     * by several forward models (see core.rules.CompiledRuleGraph).
+     * @param gs - game state to test condition in.
+     * @return - boolean, the result of the condition test.
+     */
+    public final boolean evaluate(AbstractGameState gs) {
+        return test(gs);
+    }
+
     @Override
     public final Node execute(AbstractGameStateWithTurnOrder gs) {
         passed = test(gs);
@@ -2,6 +2,7 @@ package core.rules.nodetypes;
 
 import core.AbstractGameStateWithTurnOrder;
 import core.CoreConstants;
+import core.actions.AbstractAction;
 import core.rules.GameOverCondition;
 import core.rules.Node;
 
@@ -52,6 +53,18 @@ public abstract class RuleNode extends Node {
      */
     protected abstract boolean run(AbstractGameStateWithTurnOrder gs);
 
+    /**
+     * Apply the functionality of the rule in the given game state, with the action given rather than the one set in
+     * this node. Rules that use an action should override this, so that they can be shared by several forward models
+     * (see core.rules.CompiledRuleGraph); by default this ignores the action and calls run(gs).
+     * @param gs - game state to modify.
+     * @param action - action to execute, if this rule requires one.
+     * @return - true if successfully executed, false if not and game loop should be interrupted after the execution.
+     */
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
+        return run(gs);
+    }
+
     /**
      * Adds a new game over condition to this node.
      * @param condition - game over condition to add.
@@ -68,9 +81,19 @@ public abstract class RuleNode extends Node {
      * requirements for execution are not met, or the game is over).
      */
     public final Node execute(AbstractGameStateWithTurnOrder gs) {
+        return execute(gs, action);
+    }
+
+    /**
+     * As execute(gs), but with the action given rather than the one set in this node (which is not changed).
+     * @param gs - game state to apply functionality in.
+     * @param action - action to execute, if this rule requires one.
+     * @return - the next child to execute if the rule did not request an interruption, or null otherwise.
+     */
+    public final Node execute(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
         if (requireAction() && action == null) return null;
 
-        boolean interrupted = !run(gs);
+        boolean interrupted = !run(gs, action);
         if (gameOverConditions != null && gameOverConditions.size() > 0) {
             for (GameOverCondition goc: gameOverConditions) {  // TODO: this triggers first condition, maybe order matters/loss first
                 CoreConstants.GameResult result = goc.test(gs);
@@ -22,6 +22,11 @@ public enum RunArg {
             "\t This may be useful if you want to use the same destDir for multiple experiments.",
             false,
             new Usage[]{Usage.RunGames}),
+    batchSize("The number of settings NTBEA proposes at a time, before it is told the results of any of them.\n" +
+            "\t The games for these are then played in parallel (with nThreads > 1). Defaults to 1, which is standard NTBEA.\n" +
+            "\t Larger batches make better use of many cores, at the cost of each proposal using slightly older information.",
+            1,
+            new Usage[]{Usage.ParameterSearch}),
     budget("The budget to be used by all agent (if they support the IAnyTime interface). \n" +
             "\t If non-zero then this will override the value in any JSON definitions.\n",
             0,
@@ -121,6 +126,15 @@ public enum RunArg {
     nPlayers("The number of players in each game. Overrides playerRange.",
             -1,
             new Usage[]{Usage.ParameterSearch, Usage.RunGames}),
+    nThreads("The number of worker threads used to play the games of a tournament. Defaults to 1 (sequential).\n" +
+            "\t If greater than 1, then each game is played in parallel on its own Game instance with copies of the agents.\n" +
+            "\t Results are merged in the same order as a sequential run, so a given seed or seedFile produces the\n" +
+            "\t same win/ordinal statistics. Agents are reseeded at the start of every game in either case, but any other\n" +
+            "\t state they carry over from one game to the next (such as learnt statistics) is not in the copies.\n" +
+            "\t In ParameterSearch the NTBEA repeats are run in parallel, as are the games of a batch (see batchSize)\n" +
+            "\t and of the final tournament.",
+            1,
+            new Usage[]{Usage.RunGames, Usage.ParameterSearch}),
     neighbourhood("The size of neighbourhood to look at in NTBEA. Default is min(50, |searchSpace|/100) ",
             50,
             new Usage[]{Usage.ParameterSearch}),
@@ -0,0 +1,19 @@
+package evaluation.features;
+
+import core.AbstractGameState;
+import core.interfaces.IStateKey;
+
+/**
+ * A state key from the incremental Zobrist hash of the state (AbstractGameState.getZobristHash()), for games that
+ * support it. This is much cheaper than a key built from a feature vector, as nothing needs to be walked over.
+ * <p>
+ * The key covers the full state, including anything hidden from the player, so the player is ignored. It is only
+ * suitable for perfect information games: with hidden information each redeterminisation of a state has its own key.
+ */
+public class ZobristStateKey implements IStateKey {
+
+    @Override
+    public Long getKey(AbstractGameState state, int playerId) {
+        return state.getZobristHash();
+    }
+}
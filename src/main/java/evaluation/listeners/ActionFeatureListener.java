@@ -4,7 +4,7 @@ import core.AbstractGameState;
 import core.actions.AbstractAction;
 import core.interfaces.IActionFeatureVector;
 import core.interfaces.IStateFeatureVector;
-import evaluation.loggers.FileStatsLogger;
+import core.interfaces.IStatisticLogger;
 import evaluation.metrics.Event;
 
 import java.util.HashMap;
@@ -35,7 +35,7 @@ public class ActionFeatureListener extends FeatureListener {
         this.psiFn = psi;
         this.phiFn = phi;
         this.includeActionsNotTaken = includeActionsNotTaken;
-        logger = new FileStatsLogger(fileName);
+        logger = IStatisticLogger.createFileLogger(fileName, true);
     }
 
     @Override
@@ -3,6 +3,7 @@ package evaluation.listeners;
 import core.*;
 import core.actions.AbstractAction;
 import core.interfaces.IStatisticLogger;
+import evaluation.loggers.BinaryStatsLogger;
 import evaluation.loggers.FileStatsLogger;
 import evaluation.metrics.Event;
 import utilities.Utils;
@@ -59,6 +60,8 @@ public abstract class FeatureListener implements IGameListener {
 
         if (logger instanceof FileStatsLogger fileLogger) {
             fileLogger.setOutPutDirectory(nestedDirectories);
+        } else if (logger instanceof BinaryStatsLogger binaryLogger) {
+            binaryLogger.setOutPutDirectory(nestedDirectories);
         }
         return true;
     }
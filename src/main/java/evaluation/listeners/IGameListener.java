@@ -1,6 +1,7 @@
 package evaluation.listeners;
 
 import core.Game;
+import core.interfaces.IGameEvent;
 import evaluation.metrics.AbstractMetric;
 import evaluation.metrics.Event;
 import evaluation.metrics.GameMetrics;
@@ -63,6 +64,17 @@ public interface IGameListener {
         return listener;
     }
 
+    /**
+     * Whether this listener does anything with events of the given type. Tournaments that play games on other
+     * threads use this to record only the events (and copies of the state) that their listeners need.
+     *
+     * @param type - type of the event
+     * @return - true by default, for all events
+     */
+    default boolean listensTo(IGameEvent type) {
+        return true;
+    }
+
     default void reset() {
     }
 
@@ -24,6 +24,10 @@ import static evaluation.metrics.IDataLogger.ReportType.*;
  * set up a metrics class that implements the interface {@link IMetricsCollection}, check this for more information.
  * See {@link games.sushigo.metrics.SushiGoMetrics} for an example of a metric collection.
  * See {@link games.terraformingmars.stats.TMStatsVisualiser} for an example of a visualiser of metrics.
+ * ---
+ * Metrics are run on the game thread when an event occurs, but the data they record is added to their data loggers
+ * on a background thread (see {@link MetricsPipeline}). All data for a game has been added by the time its
+ * GAME_OVER event has been handled.
  */
 public class MetricsGameListener implements IGameListener {
 
@@ -45,6 +49,9 @@ public class MetricsGameListener implements IGameListener {
     // Destination directory for the reports
     String destDir = "metrics/out/"; //by default
 
+    // Adds the data recorded by the metrics to their loggers
+    final MetricsPipeline pipeline = new MetricsPipeline();
+
     public MetricsGameListener() {
     }
 
@@ -75,21 +82,25 @@ public class MetricsGameListener implements IGameListener {
      *              It's not guaranteed that the data fields are different to null, so a check is necessary.
      */
     public void onEvent(Event event) {
-        if (!eventsOfInterest.contains(event.type))
+        if (!listensTo(event.type))
             return;
 
         // Use of LinkedHashMap so that data is stored in the same order it is listed in the json config file
 
-        for (String attrStr : metrics.keySet()) {
-            AbstractMetric metric = metrics.get(attrStr);
+        for (AbstractMetric metric : metrics.values()) {
             if (metric.listens(event.type)) {
-                // Apply metric
-                metric.run(this, event);
+                // Apply metric, and queue the data it records
+                Object[] row = metric.snapshot(this, event);
+                if (row != null)
+                    pipeline.add(metric.getDataLogger(), metric.getRowColumns(), row);
             }
 
             if (event.type == GAME_OVER)
                 metric.notifyGameOver();
         }
+
+        if (event.type == GAME_OVER)
+            pipeline.flush();
     }
 
     @Override
@@ -105,6 +116,11 @@ public class MetricsGameListener implements IGameListener {
         return success;
     }
 
+    @Override
+    public boolean listensTo(IGameEvent type) {
+        return eventsOfInterest.contains(type);
+    }
+
     /**
      * This is called when all processing is finished, for example after running a sequence of games
      * As such, no state is provided.
@@ -112,6 +128,7 @@ public class MetricsGameListener implements IGameListener {
      * This is useful for Listeners that are just interested in aggregate data across many runs
      */
     public void report() {
+        pipeline.flush();
         boolean success = true;
 
         if (reportDestinations.contains(ToFile) || reportDestinations.contains(ToBoth)) {
@@ -175,6 +192,7 @@ public class MetricsGameListener implements IGameListener {
     }
 
     public void reset() {
+        pipeline.flush();
         for (AbstractMetric metric : metrics.values()) {
             metric.reset();
         }
@@ -183,6 +201,7 @@ public class MetricsGameListener implements IGameListener {
     @Override
     public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
         this.game = game;
+        pipeline.flush();
 
         for (AbstractMetric metric : metrics.values()) {
             metric.init(game, nPlayersPerGame, playerNames);
@@ -0,0 +1,109 @@
+package evaluation.listeners;
+
+import evaluation.metrics.IDataLogger;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Writes the rows recorded by the metrics of a MetricsGameListener to their data loggers on a background thread,
+ * so that the game thread only has to take a snapshot of the values for each event.
+ * <p>
+ * Rows are handed over in batches of BATCH_SIZE. There is a single consumer, which writes the batches in the order
+ * they were added, and the rows of each logger within a batch in order too; so every logger ends up with exactly the
+ * rows it would have had if they were written straight away. The consumer writes all the rows of a logger in a batch
+ * with one call to addRows(), which lets it add them a column at a time.
+ * <p>
+ * Anyone reading the loggers must first call flush(), which waits for all the rows added so far to be written.
+ */
+class MetricsPipeline {
+
+    static final int BATCH_SIZE = 256;
+
+    private record Row(IDataLogger logger, String[] columns, Object[] values) {
+    }
+
+    private List<Row> batch = new ArrayList<>(BATCH_SIZE);
+    private ExecutorService consumer;
+    private Future<?> lastBatch;
+    private volatile Throwable failure;  // the first error from the consumer, reported by the next flush()
+
+    /**
+     * Adds a row to be written to a logger.
+     *
+     * @param columns - the names of the columns, in the order of values
+     * @param values  - the values of the row (null for a missing value); these must not be changed afterwards
+     */
+    void add(IDataLogger logger, String[] columns, Object[] values) {
+        batch.add(new Row(logger, columns, values));
+        if (batch.size() >= BATCH_SIZE)
+            submitBatch();
+    }
+
+    /**
+     * Waits until all the rows added so far have been written to their loggers.
+     */
+    void flush() {
+        submitBatch();
+        if (lastBatch != null) {
+            // there is only one consumer, so once the last batch is written all the others are too
+            try {
+                lastBatch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for metrics to be recorded", e);
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            }
+            lastBatch = null;
+        }
+        if (failure != null) {
+            Throwable error = failure;
+            failure = null;
+            if (error instanceof Error e)
+                throw e;
+            throw new RuntimeException("Error recording metrics", error);
+        }
+    }
+
+    private void submitBatch() {
+        if (batch.isEmpty())
+            return;
+        List<Row> rows = batch;
+        batch = new ArrayList<>(BATCH_SIZE);
+        if (consumer == null) {
+            // the thread ends when idle, so that listeners that are no longer used do not keep one each
+            consumer = new ThreadPoolExecutor(0, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "Metrics-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        lastBatch = consumer.submit(() -> write(rows));
+    }
+
+    private void write(List<Row> rows) {
+        try {
+            Map<IDataLogger, List<Row>> byLogger = new LinkedHashMap<>();
+            for (Row row : rows)
+                byLogger.computeIfAbsent(row.logger, l -> new ArrayList<>()).add(row);
+            List<Object[]> values = new ArrayList<>();
+            for (List<Row> loggerRows : byLogger.values()) {
+                // the columns of a metric only change when it is reset, so this is nearly always a single run
+                int start = 0;
+                for (int i = 1; i <= loggerRows.size(); i++) {
+                    if (i == loggerRows.size() || loggerRows.get(i).columns != loggerRows.get(start).columns) {
+                        values.clear();
+                        for (int j = start; j < i; j++)
+                            values.add(loggerRows.get(j).values);
+                        loggerRows.get(start).logger.addRows(loggerRows.get(start).columns, values);
+                        start = i;
+                    }
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            if (failure == null)
+                failure = e;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package evaluation.loggers;
+
+import core.interfaces.IStatisticLogger;
+import evaluation.summarisers.TAGStatSummary;
+import utilities.Pair;
+import utilities.Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * A binary alternative to FileStatsLogger, for numeric data such as the training data from a FeatureListener.
+ * This is much faster to write than formatted text, keeps the full precision of each double, and can be read
+ * straight back in by AbstractLearner (see readRows()).
+ * <p>
+ * The file starts with a header: MAGIC, the number of columns, and then the name of each column (as an int length
+ * and then UTF-8 bytes). This is followed by blocks of up to BLOCK_ROWS rows. Each block is the number of rows in it,
+ * followed by all the values of the first column, then all those of the second, and so on; so each column in a block
+ * is a run of fixed-width doubles. All numbers are little-endian, and missing values are NaN.
+ * <p>
+ * As with FileStatsLogger, the columns are the keys of the first record (with any nested maps flattened), and data
+ * for keys not seen in the first record is ignored. When appending to an existing file its columns must be the same.
+ */
+public class BinaryStatsLogger implements IStatisticLogger {
+
+    public static final String EXTENSION = ".bin";
+    static final int MAGIC = 0x44474154;  // "TAGD" as little-endian bytes
+    static final int BLOCK_ROWS = 4096;
+
+    private String fileName;
+    private String actionName;
+    private final boolean append;
+    private FileChannel channel;
+    private String[] columns;
+    private Map<String, Integer> columnIndex;
+    private double[][] block;  // [column][row] for the rows not yet written
+    private int rowsInBlock;
+    private ByteBuffer buffer;
+
+    public BinaryStatsLogger(String fileName, boolean append) {
+        this.fileName = fileName;
+        this.append = append;
+    }
+
+    public BinaryStatsLogger(String fileName) {
+        this(fileName, true);
+    }
+
+    public void setOutPutDirectory(String... nestedDirectories) {
+        if (channel != null) {
+            throw new AssertionError("Cannot set output directory after initialisation");
+        }
+        String folder = Utils.createDirectory(nestedDirectories);
+        this.fileName = folder + File.separator + this.fileName;
+    }
+
+    private void initialise(Collection<String> keys) {
+        columns = new String[keys.size()];
+        columnIndex = new HashMap<>();
+        int i = 0;
+        for (String key : keys) {
+            // as FileStatsLogger does for the header of a copy for a specific action
+            columns[i] = actionName != null && key.endsWith(":" + actionName) ? key.substring(0, key.length() - actionName.length() - 1) : key;
+            columnIndex.put(key, i++);
+        }
+        block = new double[columns.length][BLOCK_ROWS];
+        try {
+            Path path = Paths.get(fileName);
+            if (append && Files.exists(path) && Files.size(path) > 0) {
+                try (FileChannel existing = FileChannel.open(path, READ)) {
+                    String[] existingColumns = readHeader(existing, fileName);
+                    if (!Arrays.equals(existingColumns, columns))
+                        throw new AssertionError("Cannot append to " + fileName + " as it has different columns : " + Arrays.toString(existingColumns));
+                }
+                channel = FileChannel.open(path, WRITE, APPEND);
+            } else {
+                channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING);
+                writeHeader();
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Problem opening file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        byte[][] names = new byte[columns.length][];
+        int size = 2 * Integer.BYTES;
+        for (int i = 0; i < columns.length; i++) {
+            names[i] = columns[i].getBytes(StandardCharsets.UTF_8);
+            size += Integer.BYTES + names[i].length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(columns.length);
+        for (byte[] name : names)
+            header.putInt(name.length).put(name);
+        header.flip();
+        writeFully(header);
+    }
+
+    /**
+     * Records one row. It is not possible to add new columns after the first call of record(Map).
+     *
+     * @param data A map of name -> value pairs; values must be numbers (or booleans, which are recorded as 0 or 1)
+     */
+    @Override
+    public void record(Map<String, ?> data) {
+        if (columns == null) {
+            // first we flatten any nesting, as FileStatsLogger does, to find the columns
+            Set<String> keys = new LinkedHashSet<>();
+            for (Map.Entry<String, ?> entry : data.entrySet()) {
+                if (entry.getValue() instanceof Map<?, ?> nested) {
+                    for (Object key : nested.keySet())
+                        keys.add((String) key);
+                } else {
+                    keys.add(entry.getKey());
+                }
+            }
+            initialise(keys);
+        }
+        for (double[] column : block)
+            column[rowsInBlock] = Double.NaN;
+        for (Map.Entry<String, ?> entry : data.entrySet()) {
+            if (entry.getValue() instanceof Map<?, ?> nested) {
+                for (Map.Entry<?, ?> nestedEntry : nested.entrySet())
+                    set((String) nestedEntry.getKey(), nestedEntry.getValue());
+            } else {
+                set(entry.getKey(), entry.getValue());
+            }
+        }
+        rowsInBlock++;
+        if (rowsInBlock == BLOCK_ROWS)
+            writeBlock();
+    }
+
+    private void set(String key, Object datum) {
+        Integer column = columnIndex.get(key);
+        if (column == null || datum == null)
+            return;
+        double value;
+        if (datum instanceof Number number)
+            value = number.doubleValue();
+        else if (datum instanceof Boolean bool)
+            value = bool ? 1.0 : 0.0;
+        else
+            throw new IllegalArgumentException("BinaryStatsLogger can only record numbers, not " + datum + " for " + key);
+        block[column][rowsInBlock] = value;
+    }
+
+    private void writeBlock() {
+        if (rowsInBlock == 0)
+            return;
+        int size = Integer.BYTES + rowsInBlock * columns.length * Double.BYTES;
+        if (buffer == null || buffer.capacity() < size)
+            buffer = ByteBuffer.allocateDirect(Integer.BYTES + BLOCK_ROWS * columns.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.clear();
+        buffer.putInt(rowsInBlock);
+        for (double[] column : block)
+            for (int row = 0; row < rowsInBlock; row++)
+                buffer.putDouble(column[row]);
+        buffer.flip();
+        try {
+            writeFully(buffer);
+        } catch (IOException e) {
+            throw new AssertionError("Problem writing to file " + fileName + " : " + e.getMessage());
+        }
+        rowsInBlock = 0;
+    }
+
+    private void writeFully(ByteBuffer data) throws IOException {
+        while (data.hasRemaining())
+            channel.write(data);
+    }
+
+    @Override
+    public void record(String key, Object datum) {
+        // as with FileStatsLogger, only complete rows can be recorded
+    }
+
+    /**
+     * This writes any rows not yet written, and closes the file
+     */
+    @Override
+    public void processDataAndFinish() {
+        if (channel == null) return;
+        writeBlock();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new AssertionError("Problem closing file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * This writes any rows not yet written (as a smaller block)
+     */
+    @Override
+    public void processDataAndNotFinish() {
+        if (channel == null) return;
+        writeBlock();
+    }
+
+    /**
+     * This always returns an empty Map
+     *
+     * @return A summary of the data
+     */
+    @Override
+    public Map<String, TAGStatSummary> summary() {
+        return new HashMap<>();
+    }
+
+    @Override
+    public BinaryStatsLogger emptyCopy(String id) {
+        String[] fileParts = fileName.split(Pattern.quote("."));
+        if (fileParts.length != 2)
+            throw new AssertionError("Filename does not conform to expected <stem>.<type>");
+        String newFileName = fileParts[0] + "_" + id + "." + fileParts[1];
+        BinaryStatsLogger retValue = new BinaryStatsLogger(newFileName, append);
+        retValue.actionName = id;
+        return retValue;
+    }
+
+    /**
+     * @return true if the file was written by a BinaryStatsLogger (rather than being text)
+     */
+    public static boolean isBinaryFile(String fileName) {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), READ)) {
+            ByteBuffer start = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            return readFully(channel, start) && start.getInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads a whole file written by a BinaryStatsLogger.
+     *
+     * @return the names of the columns, and the rows in the order they were recorded
+     */
+    public static Pair<String[], List<double[]>> readRows(String fileName) {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), READ)) {
+            String[] header = readHeader(channel, fileName);
+            List<double[]> rows = new ArrayList<>();
+            ByteBuffer count = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer blockData = ByteBuffer.allocateDirect(BLOCK_ROWS * header.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            double[] column = new double[BLOCK_ROWS];
+            while (readFully(channel, count.clear())) {
+                int nRows = count.getInt();
+                blockData.clear().limit(nRows * header.length * Double.BYTES);
+                if (!readFully(channel, blockData))
+                    throw new AssertionError("Incomplete block in file " + fileName);
+                int firstRow = rows.size();
+                for (int row = 0; row < nRows; row++)
+                    rows.add(new double[header.length]);
+                for (int c = 0; c < header.length; c++) {
+                    blockData.asDoubleBuffer().position(c * nRows).get(column, 0, nRows);
+                    for (int row = 0; row < nRows; row++)
+                        rows.get(firstRow + row)[c] = column[row];
+                }
+            }
+            return new Pair<>(header, rows);
+        } catch (IOException e) {
+            throw new AssertionError("Problem reading file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    private static String[] readHeader(FileChannel channel, String fileName) throws IOException {
+        ByteBuffer ints = ByteBuffer.allocate(2 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        if (!readFully(channel, ints) || ints.getInt() != MAGIC)
+            throw new AssertionError("Not a BinaryStatsLogger file : " + fileName);
+        String[] header = new String[ints.getInt()];
+        for (int i = 0; i < header.length; i++) {
+            ints.clear().limit(Integer.BYTES);
+            if (!readFully(channel, ints))
+                throw new AssertionError("Incomplete header in file " + fileName);
+            ByteBuffer name = ByteBuffer.allocate(ints.getInt());
+            if (!readFully(channel, name))
+                throw new AssertionError("Incomplete header in file " + fileName);
+            header[i] = new String(name.array(), StandardCharsets.UTF_8);
+        }
+        return header;
+    }
+
+    /**
+     * Fills the buffer (up to its limit) from the channel, and then flips it ready to read.
+     *
+     * @return false if the channel was already at its end; if it ends part way through the buffer this is an error
+     */
+    private static boolean readFully(FileChannel channel, ByteBuffer data) throws IOException {
+        int remaining = data.remaining();
+        while (data.hasRemaining()) {
+            if (channel.read(data) < 0) {
+                if (data.remaining() == remaining)
+                    return false;
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        data.flip();
+        return true;
+    }
+}
@@ -8,6 +8,9 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 public abstract class AbstractMetric {
+    // Names of the default columns, in the order of the values from defaultData()
+    private static final String[] DEFAULT_COLUMN_NAMES = {"GameID", "GameName", "PlayerCount", "GameSeed", "Tick", "Turn", "Round", "Event"};
+
     // Data logger, wrapper around a library that logs data into a table
     protected IDataLogger dataLogger;
 
@@ -20,6 +23,12 @@ public abstract class AbstractMetric {
     // Set of column names this metric records data for specifically
     private final Set<String> columnNames = new HashSet<>();
 
+    // Columns of the rows from snapshot(): the default columns, then columnNames. Null when it needs working out again
+    private String[] rowColumns;
+
+    // Records map for _run(), reused as metrics are only run on the game thread
+    private final Map<String, Object> records = new HashMap<>();
+
     // Number of games completed so far, can be used for any metric reset between games
     private int gamesCompleted;
 
@@ -69,6 +78,7 @@ public abstract class AbstractMetric {
     public void reset() {
         this.gamesCompleted = 0;
         columnNames.clear();
+        rowColumns = null;
         dataLogger.reset();
     }
 
@@ -82,33 +92,62 @@ public abstract class AbstractMetric {
     }
 
     /**
-     * Runs this metric. It first adds the data for the default columns after a given event. THen it runs _run() to
-     * record the data specified in the metric subclass. All data is added to the data logger.
+     * Runs this metric. It runs _run() to record the data specified in the metric subclass, and then adds this
+     * and the data for the default columns to the data logger.
      *
      * @param listener - game listener object, with access to the game itself
      * @param e        - event, which includes game event type, state, action and player ID
      */
     public final void run(MetricsGameListener listener, Event e) {
-        // Ask for custom records from the metric and record these too
-        Map<String, Object> records = new HashMap<>();
+        Object[] row = snapshot(listener, e);
+        if (row != null)
+            dataLogger.addRows(getRowColumns(), Collections.singletonList(row));
+    }
 
+    /**
+     * Runs this metric as run() does, but returns the row of data rather than adding it to the data logger. This
+     * lets MetricsGameListener add the rows later, off the game thread; the values are all immutable (strings and
+     * boxed numbers), so they stay as they were at the event.
+     *
+     * @param listener - game listener object, with access to the game itself
+     * @param e        - event, which includes game event type, state, action and player ID
+     * @return the values for the columns of getRowColumns(), with null for missing ones; or null if _run() said
+     * this event should not be recorded.
+     */
+    public final Object[] snapshot(MetricsGameListener listener, Event e) {
         // Fill in the map with column names and null values for the custom columns we need data for
+        records.clear();
         for (String name : columnNames) {
             records.put(name, null);
         }
 
         // Run the metric and fill in the map with recorded data
-        boolean record = _run(listener, e, records);
-
-        if (record) {
-            // Record default column data first, custom data for each default column
-            addDefaultData(e);
+        if (!_run(listener, e, records))
+            return null;
+
+        String[] columns = getRowColumns();
+        if (records.size() > columns.length - DEFAULT_COLUMN_NAMES.length)
+            throw new IllegalStateException("Metric " + getName() + " recorded data for columns it does not have: " + records.keySet());
+        Object[] row = new Object[columns.length];
+        defaultData(e, row);
+        for (int i = DEFAULT_COLUMN_NAMES.length; i < columns.length; i++) {
+            row[i] = records.get(columns[i]);
+        }
+        return row;
+    }
 
-            // Add the recorded data to the table
-            for (Map.Entry<String, Object> entry : records.entrySet()) {
-                dataLogger.addData(entry.getKey(), entry.getValue());
+    /**
+     * @return the names of the columns of the rows from snapshot(). This array must not be changed.
+     */
+    public final String[] getRowColumns() {
+        if (rowColumns == null) {
+            rowColumns = Arrays.copyOf(DEFAULT_COLUMN_NAMES, DEFAULT_COLUMN_NAMES.length + columnNames.size());
+            int i = DEFAULT_COLUMN_NAMES.length;
+            for (String name : columnNames) {
+                rowColumns[i++] = name;
             }
         }
+        return rowColumns;
     }
 
     /**
@@ -148,14 +187,21 @@ public abstract class AbstractMetric {
      * @param e event for which the data is recorded
      */
     public void addDefaultData(Event e) {
-        dataLogger.addData("GameID", String.valueOf(e.state.getGameID()));
-        dataLogger.addData("GameName", e.state.getGameType().name());
-        dataLogger.addData("PlayerCount", String.valueOf(e.state.getNPlayers()));
-        dataLogger.addData("GameSeed", String.valueOf(e.state.getGameParameters().getRandomSeed()));
-        dataLogger.addData("Tick", e.state.getGameTick());
-        dataLogger.addData("Turn", e.state.getTurnCounter());
-        dataLogger.addData("Round", e.state.getRoundCounter());
-        dataLogger.addData("Event", e.type.name());
+        Object[] row = new Object[DEFAULT_COLUMN_NAMES.length];
+        defaultData(e, row);
+        dataLogger.addRows(DEFAULT_COLUMN_NAMES, Collections.singletonList(row));
+    }
+
+    // Fills in the data for the default columns at the start of row, in the order of DEFAULT_COLUMN_NAMES
+    private static void defaultData(Event e, Object[] row) {
+        row[0] = String.valueOf(e.state.getGameID());
+        row[1] = e.state.getGameType().name();
+        row[2] = String.valueOf(e.state.getNPlayers());
+        row[3] = String.valueOf(e.state.getGameParameters().getRandomSeed());
+        row[4] = e.state.getGameTick();
+        row[5] = e.state.getTurnCounter();
+        row[6] = e.state.getRoundCounter();
+        row[7] = e.type.name();
     }
 
     /**
@@ -252,7 +298,8 @@ public abstract class AbstractMetric {
     }
 
     public void addColumnName(String name) {
-        columnNames.add(name);
+        if (columnNames.add(name))
+            rowColumns = null;
     }
 
     public Set<String> getColumnNames() {
@@ -2,6 +2,7 @@ package evaluation.metrics;
 
 import core.Game;
 
+import java.util.List;
 import java.util.Set;
 
 public interface IDataLogger
@@ -39,6 +40,18 @@ public interface IDataLogger
      */
     void addData(String columnName, Object data);
 
+    /**
+     * Add several rows of data, in order. This is the same as calling addData() for each value of each row, but
+     * lets a logger add the rows a column at a time.
+     * @param columnNames - names of the columns, in the order of the values in each row
+     * @param rows - the rows to add; a null value is a missing one
+     */
+    default void addRows(String[] columnNames, List<Object[]> rows) {
+        for (Object[] row : rows)
+            for (int i = 0; i < columnNames.length; i++)
+                addData(columnNames[i], row[i]);
+    }
+
     /**
      * Returns a data processor by default that is compatible with this data logger
      * @return - A data processor
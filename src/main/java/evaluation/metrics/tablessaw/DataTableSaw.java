@@ -14,6 +14,9 @@ import java.util.*;
  * Using TableSaw for data storage and visualisation:
  * <a href="https://jtablesaw.github.io/tablesaw/userguide/toc">User Guide</a>
  * <a href='https://www.javadoc.io/doc/tech.tablesaw/tablesaw-core/latest/overview-summary.html'>Java Doc</a>
+ * <p>
+ * MetricsGameListener adds data to this from a background thread, so the methods that use the table are
+ * synchronized, and other classes should read it through data().
  */
 public class DataTableSaw implements IDataLogger {
 
@@ -77,12 +80,12 @@ public class DataTableSaw implements IDataLogger {
             throw new AssertionError("Unknown column type");
     }
 
-    public void reset()
+    public synchronized void reset()
     {
         this.data = Table.create(metric.getName());
     }
 
-    public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
+    public synchronized void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
         // Add default columns
         Map<String, Class<?>> defaultColumns = metric.getDefaultColumns();
         for (Map.Entry<String, Class<?>> entry : defaultColumns.entrySet()) {
@@ -106,7 +109,7 @@ public class DataTableSaw implements IDataLogger {
      * @param columnName - name of column to add data to
      * @param data - data to add
      */
-    public void addData(String columnName, Object data) {
+    public synchronized void addData(String columnName, Object data) {
         Column<Object> column = (Column<Object>) this.data.column(columnName);
         if (data == null) {
             column.appendMissing();
@@ -115,18 +118,43 @@ public class DataTableSaw implements IDataLogger {
         }
     }
 
+    /**
+     * Adds the rows a column at a time, so that each column is only looked up (by name) once.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized void addRows(String[] columnNames, List<Object[]> rows) {
+        for (int i = 0; i < columnNames.length; i++) {
+            Column<Object> column = (Column<Object>) this.data.column(columnNames[i]);
+            for (Object[] row : rows) {
+                if (row[i] == null) {
+                    column.appendMissing();
+                } else {
+                    column.append(row[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the table of data recorded so far.
+     */
+    synchronized Table data() {
+        return data;
+    }
+
     @Override
     public IDataProcessor getDefaultProcessor() {
         return new TableSawDataProcessor();
     }
 
     @Override
-    public IDataLogger copy() {
+    public synchronized IDataLogger copy() {
         return new DataTableSaw(metric, data.copy());
     }
 
     @Override
-    public IDataLogger emptyCopy() {
+    public synchronized IDataLogger emptyCopy() {
         return new DataTableSaw(metric, data.emptyCopy());
     }
 
@@ -153,7 +181,7 @@ public class DataTableSaw implements IDataLogger {
         // TODO: Apply same filtering for all other data processing, separate table into different events before reporting
         Map<AbstractMetric, Table> metricTables = new HashMap<>();
         for (AbstractMetric m : metricGroup) {
-            Table metricData = ((DataTableSaw)m.getDataLogger()).data;
+            Table metricData = ((DataTableSaw)m.getDataLogger()).data();
             if (m.filterByEventTypeWhenReporting()) {
                 metricTables.put(m, metricData.where(metricData.stringColumn("Event").isEqualTo(event.name())));
             } else {
@@ -26,23 +26,23 @@ public class TableSawDataProcessor implements IDataProcessor {
     @Override
     public void processRawDataToFile(IDataLogger logger, String folderName) {
         DataTableSaw dts = (DataTableSaw) logger;
-        dts.data.write().csv(folderName + "/" + dts.data.name() + ".csv");
+        dts.data().write().csv(folderName + "/" + dts.data().name() + ".csv");
     }
 
     @Override
     public void processRawDataToConsole(IDataLogger logger) {
         DataTableSaw dts = (DataTableSaw) logger;
         System.out.println();
-        System.out.println(dts.data);
+        System.out.println(dts.data());
     }
 
     private Map<String, List<Table>> getSummarisedData(DataTableSaw dts)
     {
         Map<String, List<Table>> summarisedData;
-        if (dts.metric.getGamesCompleted() < dts.data.column(0).size()) {
-            summarisedData = summariseDataProgression(dts.metric, dts.data);
+        if (dts.metric.getGamesCompleted() < dts.data().column(0).size()) {
+            summarisedData = summariseDataProgression(dts.metric, dts.data());
         } else {
-            summarisedData = summariseData(dts.metric, dts.data);
+            summarisedData = summariseData(dts.metric, dts.data());
         }
         return summarisedData;
     }
@@ -100,10 +100,10 @@ public class TableSawDataProcessor implements IDataProcessor {
         }
         if (success) {
             Map<String, Figure> figures;
-            if (dts.metric.getGamesCompleted() < dts.data.column(0).size()) {
-                figures = plotDataProgression(dts.metric, dts.data);
+            if (dts.metric.getGamesCompleted() < dts.data().column(0).size()) {
+                figures = plotDataProgression(dts.metric, dts.data());
             } else {
-                figures = plotData(dts.metric, dts.data);
+                figures = plotData(dts.metric, dts.data());
             }
             for (Map.Entry<String, Figure> figure : figures.entrySet()) {
                 TAGPlot.save(figure.getValue(), new File(plotFolderMetric + "/" + figure.getKey() + ".html"));
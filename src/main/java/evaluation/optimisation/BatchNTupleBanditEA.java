@@ -0,0 +1,83 @@
+package evaluation.optimisation;
+
+import evodef.BanditLandscapeModel;
+import evodef.DefaultMutator;
+import evodef.SearchSpace;
+import evodef.SearchSpaceUtil;
+import evodef.SolutionEvaluator;
+import ntbea.EvaluateChoices;
+import ntbea.NTupleBanditEA;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A version of the NTBEA search loop that proposes batchSize settings at a time, and then has a GameEvaluator play
+ * all of their games at once (in parallel, if it has more than one thread).
+ * <p>
+ * Each step of standard NTBEA evaluates the current point, and then moves to the best (by the UCB of the
+ * landscape model) of a random neighbourhood of it. Here each batch is the current point, plus the best point of
+ * (batchSize - 1) further random neighbourhoods of it, all chosen with the landscape model as it was at the start
+ * of the batch. The results are then added to the model in the order of the batch, and we move to the best of a new
+ * neighbourhood as usual. With a batchSize of 1 this is exactly the standard algorithm.
+ */
+public class BatchNTupleBanditEA extends NTupleBanditEA {
+
+    // the number of times we look for a point that is not already in the batch, before accepting a duplicate
+    static final int MAX_DUPLICATE_RETRIES = 10;
+
+    final int batchSize;
+    final int neighbourhoodSize;
+
+    public BatchNTupleBanditEA(BanditLandscapeModel model, double kExplore, int neighbourhoodSize, int batchSize) {
+        super(model, kExplore, neighbourhoodSize);
+        this.neighbourhoodSize = neighbourhoodSize;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public double[] runTrial(SolutionEvaluator evaluator, int nEvals) {
+        if (batchSize <= 1 || !(evaluator instanceof GameEvaluator gameEvaluator))
+            return super.runTrial(evaluator, nEvals);
+
+        SearchSpace searchSpace = evaluator.searchSpace();
+        DefaultMutator mutator = new DefaultMutator(searchSpace);
+        // this is the same neighbourhood size as NTupleBanditEA uses
+        int nNeighbours = Math.max(5, (int) Math.min(neighbourhoodSize, SearchSpaceUtil.size(searchSpace) / 4.0));
+        int[] current = seed == null ? SearchSpaceUtil.randomPoint(searchSpace) : seed;
+
+        int evaluated = 0;
+        while (evaluated < nEvals) {
+            int thisBatch = Math.min(batchSize, nEvals - evaluated);
+            List<int[]> batch = new ArrayList<>(thisBatch);
+            batch.add(current);
+            while (batch.size() < thisBatch) {
+                int[] proposal = bestNeighbour(current, mutator, nNeighbours);
+                for (int retry = 0; retry < MAX_DUPLICATE_RETRIES && contains(batch, proposal); retry++)
+                    proposal = bestNeighbour(current, mutator, nNeighbours);
+                batch.add(proposal);
+            }
+            double[] results = gameEvaluator.evaluate(batch);
+            for (int i = 0; i < thisBatch; i++)
+                banditLandscapeModel.addPoint(batch.get(i), results[i]);
+            evaluated += thisBatch;
+            current = bestNeighbour(current, mutator, nNeighbours);
+        }
+        return banditLandscapeModel.getBestOfSampled();
+    }
+
+    private int[] bestNeighbour(int[] point, DefaultMutator mutator, int nNeighbours) {
+        EvaluateChoices choices = new EvaluateChoices(banditLandscapeModel, kExplore);
+        while (choices.n() < nNeighbours)
+            choices.add(mutator.randMut(point));
+        return choices.picker.getBest();
+    }
+
+    private static boolean contains(List<int[]> batch, int[] point) {
+        for (int[] other : batch)
+            if (Arrays.equals(other, point))
+                return true;
+        return false;
+    }
+}
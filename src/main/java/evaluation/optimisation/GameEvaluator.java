@@ -13,6 +13,7 @@ import games.GameType;
 import players.IAnyTimePlayer;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.IntStream;
 
 import static evaluation.optimisation.NTBEAParameters.Mode.CoopNTBEA;
@@ -36,6 +37,8 @@ public class GameEvaluator implements SolutionEvaluator {
     List<AbstractPlayer> opponents;
     int nEvals = 0;
     Random rnd;
+    // the number of threads used to play the games of a batch in evaluate(List<int[]>)
+    int nThreads = 1;
     boolean avoidOppDupes;
     IStateHeuristic stateHeuristic;
     IGameHeuristic gameHeuristic;
@@ -95,6 +98,50 @@ public class GameEvaluator implements SolutionEvaluator {
      */
     @Override
     public double evaluate(int[] settings) {
+        return play(prepare(settings));
+    }
+
+    /**
+     * Evaluates a batch of settings, playing their games in parallel on up to nThreads threads.
+     * Everything random about each evaluation (the game seed, the seat of the tuned agent and the choice of opponents)
+     * is decided on this thread, in the order of the batch, before any games are played. The results are therefore
+     * exactly those that evaluate(int[]) would give for each of the settings in turn.
+     *
+     * @param batch the settings to evaluate
+     * @return the game score for each of the settings, in the same order
+     */
+    public double[] evaluate(List<int[]> batch) {
+        List<PreparedEvaluation> evaluations = batch.stream().map(this::prepare).collect(toList());
+        double[] retValue = new double[evaluations.size()];
+        if (nThreads <= 1 || evaluations.size() == 1) {
+            for (int i = 0; i < retValue.length; i++)
+                retValue[i] = play(evaluations.get(i));
+            return retValue;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(nThreads, evaluations.size()));
+        try {
+            List<Future<Double>> results = new ArrayList<>();
+            for (PreparedEvaluation evaluation : evaluations)
+                results.add(executor.submit(() -> play(evaluation)));
+            for (int i = 0; i < retValue.length; i++)
+                retValue[i] = results.get(i).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for NTBEA evaluation games to finish", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error playing NTBEA evaluation game", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return retValue;
+    }
+
+    /**
+     * Sets up the game(s) for one evaluation of the settings, including creating all the players.
+     * This is not thread-safe (the search space, and our random number generator, are shared), but the
+     * PreparedEvaluation that is returned can then be played on any thread.
+     */
+    private PreparedEvaluation prepare(int[] settings) {
         if (debug)
             System.out.printf("Starting evaluation %d of %s at %tT%n", nEvals,
                     Arrays.toString(settings), System.currentTimeMillis());
@@ -117,13 +164,29 @@ public class GameEvaluator implements SolutionEvaluator {
             throw new AssertionError("StableNTBEA mode requires tuning of player");
         int gamesToRun = params.mode == StableNTBEA ? nTeams : 1;
         long seed = rnd.nextLong();
-        double retValue = 0.0;
+        List<Integer> teams = new ArrayList<>(gamesToRun);
+        List<List<AbstractPlayer>> players = new ArrayList<>(gamesToRun);
         for (int loop = 0; loop < gamesToRun; loop++) {
             int thisTeamIndex = teamIndex == -99 ? -99 : (teamIndex + loop) % nTeams;
-            List<AbstractPlayer> allPlayers = setupPlayers(thisTeamIndex, nTeams, settings);
+            teams.add(thisTeamIndex);
+            players.add(setupPlayers(thisTeamIndex, nTeams, settings));
+        }
+        nEvals++;
+        return new PreparedEvaluation(newGame, tuningPlayer, tuningGame, seed, teams, players);
+    }
+
+    private record PreparedEvaluation(Game game, boolean tuningPlayer, boolean tuningGame, long seed,
+                                      List<Integer> teams, List<List<AbstractPlayer>> players) {
+    }
+
+    private double play(PreparedEvaluation evaluation) {
+        Game newGame = evaluation.game;
+        double retValue = 0.0;
+        for (int loop = 0; loop < evaluation.teams.size(); loop++) {
+            int thisTeamIndex = evaluation.teams.get(loop);
 
             // always reset the random seed for each new game
-            newGame.reset(allPlayers, seed);
+            newGame.reset(evaluation.players.get(loop), evaluation.seed);
             newGame.run();
 
             int playerOnTeam = -1;
@@ -132,13 +195,11 @@ public class GameEvaluator implements SolutionEvaluator {
                     playerOnTeam = p;
                 }
             }
-            if (tuningPlayer && playerOnTeam == -1)
+            if (evaluation.tuningPlayer && playerOnTeam == -1)
                 throw new AssertionError("No Player found on team " + thisTeamIndex);
-            retValue += tuningGame ? gameHeuristic.evaluateGame(newGame) : stateHeuristic.evaluateState(newGame.getGameState(), playerOnTeam);
+            retValue += evaluation.tuningGame ? gameHeuristic.evaluateGame(newGame) : stateHeuristic.evaluateState(newGame.getGameState(), playerOnTeam);
         }
         //    System.out.println("GameEvaluator: " + retValue);
-
-        nEvals++;
         return retValue;
     }
 
@@ -147,7 +208,7 @@ public class GameEvaluator implements SolutionEvaluator {
         // create a random permutation of opponents - this is used if we want to avoid opponent duplicates
         // if we allow duplicates, then we randomise them all independently
         List<Integer> opponentOrdering = IntStream.range(0, opponents.size()).boxed().collect(toList());
-        Collections.shuffle(opponentOrdering);
+        Collections.shuffle(opponentOrdering, rnd);
         int count = 0;
         for (int i = 0; i < nTeams; i++) {
             if (params.mode != CoopNTBEA && i != teamIndex) {
@@ -172,12 +172,13 @@ public class ITPSearchSpace extends AgentSearchSpace<Object> {
         return getSearchKeys().indexOf(parameter);
     }
 
-    public Object getAgent(@NotNull int[] settings) {
+    // synchronized, as we set the parameters of the shared itp before instantiating from it
+    public synchronized Object getAgent(@NotNull int[] settings) {
         // we first need to update itp with the specified parameters, and then instantiate
         setTo(settings);
         return itp.instantiate();
     }
-    public JSONObject getAgentJSON(int[] settings) {
+    public synchronized JSONObject getAgentJSON(int[] settings) {
         // we first need to update itp with the specified parameters, and then instantiate
         setTo(settings);
         return itp.instanceToJSON(true);
@@ -4,6 +4,7 @@ import evodef.SearchSpace;
 import games.GameType;
 import ntbea.MultiNTupleBanditEA;
 import ntbea.NTupleSystem;
+import utilities.Pair;
 
 import java.util.*;
 import java.util.stream.IntStream;
@@ -31,9 +32,21 @@ public class MultiNTBEA extends NTBEA {
     }
 
     @Override
-    protected void runIteration() {
-        super.runIteration();
+    protected Pair<Pair<Double, Double>, int[]> runIteration() {
+        Pair<Pair<Double, Double>, int[]> retValue = super.runIteration();
         printDiversityResults(landscapeModel, params.kExplore);
+        return retValue;
+    }
+
+    @Override
+    protected NTBEA createRepeat() {
+        return new MultiNTBEA(params, game, nPlayers);
+    }
+
+    @Override
+    protected void setRepeatSeed(long seed) {
+        super.setRepeatSeed(seed);
+        multiPlayerEvaluator.rnd = new Random(seed);
     }
 
     @Override
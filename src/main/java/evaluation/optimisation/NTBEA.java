@@ -28,6 +28,10 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.IntToDoubleFunction;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -60,7 +64,9 @@ public class NTBEA {
         landscapeModel.setUse3Tuple(params.useThreeTuples);
         landscapeModel.addTuples();
 
-        searchFramework = new NTupleBanditEA(landscapeModel, params.kExplore, params.neighbourhoodSize);
+        searchFramework = params.batchSize > 1
+                ? new BatchNTupleBanditEA(landscapeModel, params.kExplore, params.neighbourhoodSize, params.batchSize)
+                : new NTupleBanditEA(landscapeModel, params.kExplore, params.neighbourhoodSize);
         this.game = game;
         this.nPlayers = nPlayers;
         // Set up opponents
@@ -108,6 +114,7 @@ public class NTBEA {
                 stateHeuristic,
                 gameHeuristic,
                 true);
+        evaluator.nThreads = params.nThreads;
     }
 
     public void setOpponents(List<AbstractPlayer> opponents) {
@@ -137,10 +144,13 @@ public class NTBEA {
      */
     public Pair<Object, int[]> run() {
 
-        for (currentIteration = 0; currentIteration < params.repeats; currentIteration++) {
-            runIteration();
-            writeAgentJSON(winnerSettings.get(winnerSettings.size() - 1),
-                    params.destDir + File.separator + "Recommended_" + currentIteration + ".json");
+        if (params.nThreads > 1 && params.repeats > 1) {
+            runRepeatsInParallel();
+        } else {
+            for (currentIteration = 0; currentIteration < params.repeats; currentIteration++) {
+                setRepeatSeed(params.seed + currentIteration);
+                recordIteration(runIteration());
+            }
         }
 
         // After all runs are complete, if tournamentGames are specified, then we allow all the
@@ -182,6 +192,7 @@ public class NTBEA {
                 config.put(RunArg.budget, params.budget);
                 config.put(RunArg.verbose, false);
                 config.put(RunArg.destDir, params.destDir);
+                config.put(RunArg.nThreads, params.nThreads);
                 RoundRobinTournament tournament = new RoundRobinTournament(players, game, nPlayers, params.gameParams, config);
                 createListeners().forEach(tournament::addListener);
                 tournament.run();
@@ -233,12 +244,63 @@ public class NTBEA {
         return new Pair<>(params.searchSpace.getAgent(bestResult.b), bestResult.b);
     }
 
+    /**
+     * Runs the repeats on a pool of up to nThreads threads. Each repeat has its own NTBEA (with its own landscape
+     * model, evaluator and opponents), and its own seed for the games it plays, so that its results do not depend on
+     * which repeats are run at the same time. The results are then recorded here in the order of the repeats, exactly
+     * as if they had been run one after the other.
+     * Any threads that are not needed for the repeats are used to play the games of each batch (see batchSize).
+     */
+    protected void runRepeatsInParallel() {
+        int repeatThreads = Math.min(params.nThreads, params.repeats);
+        ExecutorService executor = Executors.newFixedThreadPool(repeatThreads);
+        try {
+            List<Future<Pair<Pair<Double, Double>, int[]>>> results = new ArrayList<>();
+            for (int repeat = 0; repeat < params.repeats; repeat++) {
+                // each repeat has its own copies of the opponents, as these are copied again for every game it plays
+                NTBEA repeatNTBEA = createRepeat();
+                repeatNTBEA.evaluator.opponents = evaluator.opponents.stream().map(AbstractPlayer::copy).collect(Collectors.toList());
+                repeatNTBEA.evaluator.nThreads = Math.max(1, params.nThreads / repeatThreads);
+                repeatNTBEA.setRepeatSeed(params.seed + repeat);
+                results.add(executor.submit(repeatNTBEA::runIteration));
+            }
+            for (currentIteration = 0; currentIteration < params.repeats; currentIteration++)
+                recordIteration(results.get(currentIteration).get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for NTBEA repeats to finish", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error in NTBEA repeat", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return A new NTBEA with the same parameters, to run one of the repeats
+     */
+    protected NTBEA createRepeat() {
+        return new NTBEA(params, game, nPlayers);
+    }
+
+    /**
+     * Sets the seed from which the game seeds of a repeat are generated
+     */
+    protected void setRepeatSeed(long seed) {
+        evaluator.rnd = new Random(seed);
+    }
+
     protected void runTrials() {
         evaluator.reset();
         searchFramework.runTrial(evaluator, params.iterationsPerRun);
     }
 
-    protected void runIteration() {
+    /**
+     * Runs a single repeat of NTBEA, and returns the score and settings of the recommended agent.
+     * This may be called on another thread (see runRepeatsInParallel()), and so must only change the state of this
+     * NTBEA's own landscape model and evaluator. The result is then recorded with recordIteration().
+     */
+    protected Pair<Pair<Double, Double>, int[]> runIteration() {
         landscapeModel.reset();
 
         runTrials();
@@ -255,14 +317,19 @@ public class NTBEA {
                 ? new Pair<>(landscapeModel.getMeanEstimate(landscapeModel.getBestOfSampled()), 0.0)
                 : evaluateWinner(thisWinnerSettings);
 
-        winnersPerRun.add(params.searchSpace.getAgent(thisWinnerSettings));
-        winnerSettings.add(thisWinnerSettings);
-        Pair<Pair<Double, Double>, int[]> resultToReport = new Pair<>(scoreOfBestAgent, thisWinnerSettings);
+        return new Pair<>(scoreOfBestAgent, thisWinnerSettings);
+    }
+
+    protected void recordIteration(Pair<Pair<Double, Double>, int[]> resultToReport) {
+        winnersPerRun.add(params.searchSpace.getAgent(resultToReport.b));
+        winnerSettings.add(resultToReport.b);
         if (params.verbose)
             printDetailsOfRun(resultToReport);
         logDetailsOfRun(resultToReport);
         if (resultToReport.a.a > bestResult.a.a)
             bestResult = resultToReport;
+        writeAgentJSON(resultToReport.b,
+                params.destDir + File.separator + "Recommended_" + currentIteration + ".json");
     }
 
     private List<IGameListener> createListeners() {
@@ -274,8 +341,7 @@ public class NTBEA {
 
     protected Pair<Double, Double> evaluateWinner(int[] winnerSettings) {
 
-        double[] results = IntStream.range(0, params.evalGames)
-                .mapToDouble(answer -> evaluator.evaluate(winnerSettings)).toArray();
+        double[] results = evaluator.evaluate(Collections.nCopies(params.evalGames, winnerSettings));
 
         double avg = Arrays.stream(results).average().orElse(0.0);
         double stdErr = Math.sqrt(Arrays.stream(results)
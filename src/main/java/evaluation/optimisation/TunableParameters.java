@@ -173,6 +173,7 @@ public abstract class TunableParameters extends AbstractParameters implements IT
     // This is much faster in a forward model, and just changes the random seed
     // It is suitable if the same set of parameters are being used with none of them recording any state
     // This is usually the case for forward models in MCTS for example
+    // (Game states should pass frozenCopy() to their copies instead, which is only made once rather than per copy)
     public TunableParameters shallowCopy() {
         AbstractParameters retValue = super.copy();  // this calls ._copy()
         TunableParameters tunable = (TunableParameters) retValue;
@@ -185,6 +186,15 @@ public abstract class TunableParameters extends AbstractParameters implements IT
         return tunable;
     }
 
+    @Override
+    protected void freeze() {
+        super.freeze();
+        // parameters held as the values of others are shared along with them
+        for (Object value : currentValues.values())
+            if (value instanceof TunableParameters subParams)
+                subParams.freeze();
+    }
+
     /**
      * Use this to add a non-Tunable Parameter (i.e. one with a single value that does not change)
      * While this is not tuned, it means that a value for it can be defined in a JSON input file
@@ -212,6 +222,7 @@ public abstract class TunableParameters extends AbstractParameters implements IT
      * @param <T>          The type of the parameter
      */
     public <T> void addTunableParameter(String name, T defaultValue, List<T> allSettings) {
+        beforeChange();
         if (!parameterNames.contains(name)) parameterNames.add(name);
         defaultValues.put(name, defaultValue);
         parameterTypes.put(name, defaultValue.getClass());
@@ -220,6 +231,7 @@ public abstract class TunableParameters extends AbstractParameters implements IT
     }
 
     public <T> void addTunableParameter(String name, Class<? extends T> parameterClass, T defaultValue, List<T> allSettings) {
+        beforeChange();
         if (!parameterNames.contains(name)) parameterNames.add(name);
         defaultValues.put(name, defaultValue);
         parameterTypes.put(name, parameterClass);
@@ -229,6 +241,7 @@ public abstract class TunableParameters extends AbstractParameters implements IT
 
 
     public <T> void addTunableParameter(String name, Class<T> classType) {
+        beforeChange();
         if (!parameterNames.contains(name)) parameterNames.add(name);
         defaultValues.put(name, null);
         parameterTypes.put(name, classType);
@@ -275,6 +288,7 @@ public abstract class TunableParameters extends AbstractParameters implements IT
      */
     @Override
     public void setParameterValue(String parameterName, Object value) {
+        beforeChange();
         if (parameterName.split(Pattern.quote(".")).length > 1) {
             // in this case we pass on to the subParam (as well as updating here)
             String[] split = parameterName.split(Pattern.quote("."));
@@ -386,6 +400,7 @@ public abstract class TunableParameters extends AbstractParameters implements IT
     }
 
     public void setRawJSON(JSONObject json) {
+        beforeChange();
         rawJSON = json;
     }
 
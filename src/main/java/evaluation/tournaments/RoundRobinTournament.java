@@ -1,10 +1,13 @@
 package evaluation.tournaments;
 
+import core.AbstractGameState;
 import core.AbstractParameters;
 import core.AbstractPlayer;
+import core.Game;
 import evaluation.RunArg;
 import evaluation.listeners.IGameListener;
 import evaluation.listeners.TournamentMetricsGameListener;
+import evaluation.metrics.Event;
 import games.GameType;
 import org.apache.commons.math3.linear.EigenDecomposition;
 import org.apache.commons.math3.linear.MatrixUtils;
@@ -15,6 +18,7 @@ import utilities.*;
 import java.io.File;
 import java.io.FileWriter;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -54,6 +58,14 @@ public class RoundRobinTournament extends AbstractTournament {
     int tournamentSeeds;
     String seedFile;
     Random seedRnd;
+    // Seeds for the agents at the start of each game (see seedPlayers()); kept apart from seedRnd so game seeds are unchanged
+    Random agentSeedRnd;
+
+    // Number of worker threads used to play games; 1 means everything runs sequentially on the shared game.
+    // With more, each game is played by fresh copies of the agents (see runPendingMatchUps())
+    protected int nThreads;
+    // Matchups waiting to be played by the worker pool (only used if nThreads > 1)
+    protected List<QueuedMatchUp> pendingMatchUps = new ArrayList<>();
 
     /**
      * Create a round robin tournament, which plays all agents against all others.
@@ -141,7 +153,9 @@ public class RoundRobinTournament extends AbstractTournament {
         }
         this.randomSeed = ((Number) config.getOrDefault(RunArg.seed, System.currentTimeMillis())).longValue();
         this.seedRnd = new Random(randomSeed);
+        this.agentSeedRnd = new Random(randomSeed ^ 0x9E3779B97F4A7C15L);
         this.randomGameParams = (boolean) config.getOrDefault(RunArg.randomGameParams, false);
+        this.nThreads = Math.max(1, (int) config.getOrDefault(RunArg.nThreads, 1));
 
         this.name = String.format("Game: %s, Players: %d, Mode: %s, TotalGames: %d, GamesPerMatchup: %d",
                 gameToPlay.name(), playersPerGame, tournamentMode, actualGames, gamesPerMatchup);
@@ -182,6 +196,7 @@ public class RoundRobinTournament extends AbstractTournament {
                 gameSeeds = IntStream.range(0, gamesPerMatchup).mapToObj(i -> seedRnd.nextInt()).collect(toList());
             }
             createAndRunMatchUp(matchUp);
+            runPendingMatchUps();
         }
         reportResults();
 
@@ -307,6 +322,53 @@ public class RoundRobinTournament extends AbstractTournament {
         for (int agentID : agentIDsInThisGame)
             matchUpPlayers.add(tournamentMode == EXHAUSTIVE_SELF_PLAY ? this.agents.get(agentID).copy() : this.agents.get(agentID));
 
+        // These are drawn now, in the order the games are queued, so they are the same however the games are played
+        List<Long> agentSeeds = new ArrayList<>(nGames);
+        for (int i = 0; i < nGames; i++)
+            agentSeeds.add(agentSeedRnd.nextLong());
+
+        if (nThreads > 1) {
+            // The games are played later by runPendingMatchUps(), which merges the results back in this order
+            pendingMatchUps.add(new QueuedMatchUp(new ArrayList<>(agentIDsInThisGame), matchUpPlayers,
+                    new ArrayList<>(seeds.subList(0, nGames)), agentSeeds));
+            return;
+        }
+
+        startMatchUp(agentIDsInThisGame, matchUpPlayers);
+
+        // Run the game N = gamesPerMatchUp times with these players
+        for (int i = 0; i < nGames; i++) {
+            // if tournamentSeeds > 0, then we are running this many tournaments, each with a different random seed fixed for the whole tournament
+            // so we override the standard random seeds
+            seedPlayers(matchUpPlayers, agentSeeds.get(i));
+            game.reset(matchUpPlayers, seeds.get(i));
+
+            // Randomize parameters
+            if (randomGameParams) {
+                game.getGameState().getGameParameters().randomize();
+                System.out.println("Game parameters: " + game.getGameState().getGameParameters());
+            }
+
+            game.run();  // Always running tournaments without visuals
+            recordGameResult(agentIDsInThisGame, game.getGameState());
+        }
+    }
+
+    /**
+     * Reseeds the agents for a game, each from its own seed derived from agentSeed. This means that an agent makes
+     * the same random choices in a game whether it is played sequentially or on a worker thread (by a copy).
+     */
+    private static void seedPlayers(List<AbstractPlayer> players, long agentSeed) {
+        Random seeds = new Random(agentSeed);
+        for (AbstractPlayer player : players)
+            player.setSeed(seeds.nextLong());
+    }
+
+    /**
+     * Called once before the games of a matchup are recorded, to report the matchup and let any
+     * tournament listeners know which players are now taking part.
+     */
+    private void startMatchUp(List<Integer> agentIDsInThisGame, List<AbstractPlayer> matchUpPlayers) {
         if (verbose) {
             StringBuffer sb = new StringBuffer();
             sb.append("[");
@@ -323,81 +385,205 @@ public class RoundRobinTournament extends AbstractTournament {
                 ((TournamentMetricsGameListener) listener).tournamentInit(game, nPlayers, agentNames, new HashSet<>(matchUpPlayers));
             }
         }
+    }
 
-        // Run the game N = gamesPerMatchUp times with these players
-        for (int i = 0; i < nGames; i++) {
-            // if tournamentSeeds > 0, then we are running this many tournaments, each with a different random seed fixed for the whole tournament
-            // so we override the standard random seeds
-            game.reset(matchUpPlayers, seeds.get(i));
+    /**
+     * Updates the tournament statistics with the result of one finished game.
+     *
+     * @param agentIDsInThisGame - IDs of agents that played, indexed by player (or team) position.
+     * @param finalState         - terminal state of the game.
+     */
+    private void recordGameResult(List<Integer> agentIDsInThisGame, AbstractGameState finalState) {
+        GameResult[] results = finalState.getPlayerResults();
 
-            // Randomize parameters
-            if (randomGameParams) {
-                game.getGameState().getGameParameters().randomize();
-                System.out.println("Game parameters: " + game.getGameState().getGameParameters());
+        int numDraws = 0;
+        for (int j = 0; j < agentIDsInThisGame.size(); j++) {
+            nGamesPlayed[agentIDsInThisGame.get(j)] += 1;
+            for (int k = 0; k < agentIDsInThisGame.size(); k++) {
+                if (k != j) {
+                    nGamesPlayedPerOpponent[agentIDsInThisGame.get(j)][agentIDsInThisGame.get(k)] += 1;
+                }
             }
 
-            game.run();  // Always running tournaments without visuals
-            GameResult[] results = game.getGameState().getPlayerResults();
-
-            int numDraws = 0;
-            for (int j = 0; j < matchUpPlayers.size(); j++) {
-                nGamesPlayed[agentIDsInThisGame.get(j)] += 1;
-                for (int k = 0; k < matchUpPlayers.size(); k++) {
-                    if (k != j) {
-                        nGamesPlayedPerOpponent[agentIDsInThisGame.get(j)][agentIDsInThisGame.get(k)] += 1;
+            // now we need to be careful if we have a team game, as the agents are indexed by Team, not player
+            if (byTeam) {
+                for (int player = 0; player < finalState.getNPlayers(); player++) {
+                    if (finalState.getTeam(player) == j) {
+                        numDraws += updatePoints(finalState, results, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
+                        break; // we stop after one player on the team to avoid double counting
                     }
                 }
+            } else {
+                numDraws += updatePoints(finalState, results, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
+            }
+        }
 
-                // now we need to be careful if we have a team game, as the agents are indexed by Team, not player
-                if (byTeam) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
-                            numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
-                            break; // we stop after one player on the team to avoid double counting
-                        }
-                    }
-                } else {
-                    numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
-                }
+        if (numDraws > 0) {
+            double pointsPerDraw = 1.0 / numDraws;
+            for (int j = 0; j < agentIDsInThisGame.size(); j++) {
+                if (results[j] == GameResult.DRAW_GAME) pointsPerPlayer[agentIDsInThisGame.get(j)] += pointsPerDraw;
+                if (results[j] == GameResult.DRAW_GAME)
+                    pointsPerPlayerSquared[agentIDsInThisGame.get(j)] += pointsPerDraw * pointsPerDraw;
             }
+        }
 
-            if (numDraws > 0) {
-                double pointsPerDraw = 1.0 / numDraws;
-                for (int j = 0; j < matchUpPlayers.size(); j++) {
-                    if (results[j] == GameResult.DRAW_GAME) pointsPerPlayer[agentIDsInThisGame.get(j)] += pointsPerDraw;
-                    if (results[j] == GameResult.DRAW_GAME)
-                        pointsPerPlayerSquared[agentIDsInThisGame.get(j)] += pointsPerDraw * pointsPerDraw;
+        if (verbose) {
+            StringBuffer sb = new StringBuffer();
+            sb.append("[");
+            for (int j = 0; j < agentIDsInThisGame.size(); j++) {
+                for (int player = 0; player < finalState.getNPlayers(); player++) {
+                    if (finalState.getTeam(player) == j) {
+                        sb.append(results[player]).append(",");
+                        break; // we stop after one player on the team to avoid double counting
+                    }
                 }
             }
+            sb.setCharAt(sb.length() - 1, ']');
+            System.out.println(sb);
+        }
+        totalGamesRun++;
+    }
 
-            if (verbose) {
-                StringBuffer sb = new StringBuffer();
-                sb.append("[");
-                for (int j = 0; j < matchUpPlayers.size(); j++) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
-                            sb.append(results[player]).append(",");
-                            break; // we stop after one player on the team to avoid double counting
-                        }
+    /**
+     * Plays all queued matchups on a pool of nThreads workers.
+     * Each game gets its own Game instance (and hence forward model) and its own copies of the agents.
+     * Results (and any events for the listeners) are then merged on this thread in exactly the order the
+     * games were queued. At most a small multiple of nThreads games are held in memory waiting to be merged.
+     * <p>
+     * Every agent is reseeded at the start of each game in both modes (see seedPlayers()), so the statistics are
+     * identical to those of a sequential run with the same seeds. The exception is an agent that carries anything
+     * other than its random seed over from one game to the next (such as statistics it learns as it plays), as a
+     * sequential run plays every game of a matchup with the same agent objects. (Nor can either mode be repeated
+     * exactly in games whose observations are redeterminised with generators that are not seeded.)
+     */
+    protected void runPendingMatchUps() {
+        if (pendingMatchUps.isEmpty())
+            return;
+        List<QueuedMatchUp> matchUps = new ArrayList<>(pendingMatchUps);
+        pendingMatchUps.clear();
+
+        ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+        Deque<Future<PlayedGame>> inFlight = new ArrayDeque<>();
+        int maxInFlight = nThreads * 4;
+        int nextMatchUp = 0, nextGame = 0;
+        QueuedMatchUp currentMatchUp = null;
+        try {
+            while (nextMatchUp < matchUps.size() || !inFlight.isEmpty()) {
+                while (nextMatchUp < matchUps.size() && inFlight.size() < maxInFlight) {
+                    QueuedMatchUp matchUp = matchUps.get(nextMatchUp);
+                    long seed = matchUp.seeds.get(nextGame);
+                    // copies are taken here rather than on the worker, as the originals are shared
+                    AbstractParameters params = game.getGameState().getGameParameters().copy();
+                    List<AbstractPlayer> players = new ArrayList<>();
+                    for (AbstractPlayer player : matchUp.players) {
+                        AbstractPlayer copy = player.copy();
+                        copy.setName(player.toString());
+                        players.add(copy);
+                    }
+                    seedPlayers(players, matchUp.agentSeeds.get(nextGame));
+                    inFlight.add(executor.submit(() -> playGame(matchUp, seed, params, players)));
+                    nextGame++;
+                    if (nextGame == matchUp.seeds.size()) {
+                        nextMatchUp++;
+                        nextGame = 0;
                     }
                 }
-                sb.setCharAt(sb.length() - 1, ']');
-                System.out.println(sb);
+                PlayedGame played = inFlight.poll().get();
+                if (played.matchUp != currentMatchUp) {
+                    currentMatchUp = played.matchUp;
+                    startMatchUp(currentMatchUp.agentIDs, currentMatchUp.players);
+                }
+                for (IGameListener listener : listeners) {
+                    // Metrics may query the Game (players, timings), so we point them at the one that was played
+                    listener.setGame(played.game);
+                    for (Event event : played.events)
+                        listener.onEvent(event);
+                    listener.setGame(game);
+                }
+                recordGameResult(played.matchUp.agentIDs, played.game.getGameState());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for tournament games to finish", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error playing tournament game", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays a single game on a worker thread, without touching any shared tournament state.
+     */
+    private PlayedGame playGame(QueuedMatchUp matchUp, long seed, AbstractParameters params, List<AbstractPlayer> localPlayers) {
+        Game localGame = game.getGameType().createGameInstance(nPlayers, params);
+        EventRecorder recorder = new EventRecorder(listeners);
+        if (!listeners.isEmpty())
+            localGame.addListener(recorder);
+        localGame.reset(localPlayers, seed);
+        if (randomGameParams) {
+            localGame.getGameState().getGameParameters().randomize();
+            System.out.println("Game parameters: " + localGame.getGameState().getGameParameters());
+        }
+        localGame.run();
+        return new PlayedGame(matchUp, localGame, recorder.events);
+    }
+
+    protected record QueuedMatchUp(List<Integer> agentIDs, List<AbstractPlayer> players, List<Integer> seeds,
+                                   List<Long> agentSeeds) {
+    }
+
+    private record PlayedGame(QueuedMatchUp matchUp, Game game, List<Event> events) {
+    }
+
+    /**
+     * Stores a snapshot of each event of a game played on a worker thread, so that the tournament listeners
+     * can be sent them later, in order, on the main thread. Only events that one of the listeners listens to
+     * are kept, as each needs its own copy of the state.
+     */
+    private static class EventRecorder implements IGameListener {
+        final List<IGameListener> listeners;
+        final List<Event> events = new ArrayList<>();
+        Game game;
+
+        EventRecorder(List<IGameListener> listeners) {
+            this.listeners = listeners;
+        }
+
+        @Override
+        public void onEvent(Event event) {
+            if (listeners.stream().noneMatch(l -> l.listensTo(event.type)))
+                return;
+            events.add(Event.createEvent(event.type,
+                    event.state == null ? null : event.state.copy(),
+                    event.action == null ? null : event.action.copy(),
+                    event.playerID));
+        }
+
+        @Override
+        public void report() {
+        }
+
+        @Override
+        public void setGame(Game game) {
+            this.game = game;
+        }
 
+        @Override
+        public Game getGame() {
+            return game;
         }
-        totalGamesRun += nGames;
     }
 
-    private int updatePoints(GameResult[] results, List<Integer> matchUpPlayers, int j, int player) {
+    private int updatePoints(AbstractGameState finalState, GameResult[] results, List<Integer> matchUpPlayers, int j, int player) {
         // j is the index of the agent in the matchup; player is the corresponding player number in the game
-        int ordinalPos = game.getGameState().getOrdinalPosition(player);
+        int ordinalPos = finalState.getOrdinalPosition(player);
         rankPerPlayer[j] += ordinalPos;
         rankPerPlayerSquared[j] += ordinalPos * ordinalPos;
 
-        for (int playerPos = 0; playerPos < game.getGameState().getNPlayers(); playerPos++) {
+        for (int playerPos = 0; playerPos < finalState.getNPlayers(); playerPos++) {
             if (playerPos != player) {
-                int ordinalOther = game.getGameState().getOrdinalPosition(playerPos);
+                int ordinalOther = finalState.getOrdinalPosition(playerPos);
                 ordinalDeltaPerOpponent[j][matchUpPlayers.get(playerPos)] += ordinalOther - ordinalPos;
             }
         }
@@ -22,7 +22,6 @@ import utilities.Utils;
 import java.util.*;
 
 import static games.catan.CatanConstants.HEX_SIDES;
-import static games.catan.components.Building.Type.Settlement;
 
 public class CatanActionFactory {
     /**
@@ -310,24 +309,12 @@ public class CatanActionFactory {
         ArrayList<AbstractAction> actions = new ArrayList<>();
         if (free || gs.checkCost(catanParameters.costMapping.get(BuyAction.BuyType.Road), player)
                 && !gs.playerTokens.get(player).get(BuyAction.BuyType.Road).isMaximum()) {
-            Set<Integer> roadsAdded = new HashSet<>();
-            CatanTile[][] board = gs.getBoard();
-            for (int x = 0; x < board.length; x++) {
-                for (int y = 0; y < board[x].length; y++) {
-                    CatanTile tile = board[x][y];
-                    for (int i = 0; i < HEX_SIDES; i++) {
-                        Building settlement = gs.getBuilding(tile, i);
-                        // Roads
-                        Edge edge = gs.getRoad(settlement, tile, i);
-                        if (edge == null || roadsAdded.contains(edge.getComponentID())) continue;
-                        roadsAdded.add(edge.getComponentID());
-
-                        if (!(tile.getTileType().equals(CatanTile.TileType.SEA) || tile.getTileType().equals(CatanTile.TileType.DESERT))
-                                && gs.checkRoadPlacement(i, tile, gs.getCurrentPlayer())) {
-                            actions.add(new BuildRoad(x, y, i, player, free));
-                        }
-                    }
-                }
+            // see CatanBuildIndex for where roads can go
+            CatanBuildIndex index = gs.getBuildIndex();
+            BitSet legal = index.getLegalRoads(gs.getCurrentPlayer());
+            for (int road = legal.nextSetBit(0); road >= 0; road = legal.nextSetBit(road + 1)) {
+                int[] location = index.getRoadLocation(road);
+                actions.add(new BuildRoad(location[0], location[1], location[2], player, free));
             }
         }
         return actions;
@@ -338,23 +325,11 @@ public class CatanActionFactory {
         CatanParameters catanParameters = (CatanParameters) gs.getGameParameters();
         if (gs.checkCost(catanParameters.costMapping.get(BuyAction.BuyType.Settlement), player)
                 && !gs.playerTokens.get(player).get(BuyAction.BuyType.Settlement).isMaximum()) {
-            Set<Integer> settlementsAdded = new HashSet<>();
-            CatanTile[][] board = gs.getBoard();
-            for (int x = 0; x < board.length; x++) {
-                for (int y = 0; y < board[x].length; y++) {
-                    CatanTile tile = board[x][y];
-                    for (int i = 0; i < HEX_SIDES; i++) {
-                        Building settlement = gs.getBuilding(tile, i);
-                        if (settlementsAdded.contains(settlement.getComponentID())) continue;
-                        settlementsAdded.add(settlement.getComponentID());
-
-                        // legal to place?
-                        if (!(tile.getTileType().equals(CatanTile.TileType.SEA) || tile.getTileType().equals(CatanTile.TileType.DESERT))
-                                && gs.checkSettlementPlacement(settlement, gs.getCurrentPlayer())) {
-                            actions.add(new BuildSettlement(x, y, i, player, false));
-                        }
-                    }
-                }
+            CatanBuildIndex index = gs.getBuildIndex();
+            BitSet legal = index.getLegalSettlements(gs.getCurrentPlayer());
+            for (int settlement = legal.nextSetBit(0); settlement >= 0; settlement = legal.nextSetBit(settlement + 1)) {
+                int[] location = index.getVertexLocation(settlement);
+                actions.add(new BuildSettlement(location[0], location[1], location[2], player, false));
             }
         }
         return actions;
@@ -365,20 +340,11 @@ public class CatanActionFactory {
         ArrayList<AbstractAction> actions = new ArrayList<>();
         if (gs.checkCost(catanParameters.costMapping.get(BuyAction.BuyType.City), player)
                 && !gs.playerTokens.get(player).get(BuyAction.BuyType.City).isMaximum()) {
-            Set<Integer> settlementsAdded = new HashSet<>();
-            CatanTile[][] board = gs.getBoard();
-            for (int x = 0; x < board.length; x++) {
-                for (int y = 0; y < board[x].length; y++) {
-                    CatanTile tile = board[x][y];
-                    for (int i = 0; i < HEX_SIDES; i++) {
-                        Building settlement = gs.getBuilding(tile, i);
-                        if (settlementsAdded.contains(settlement.getComponentID())) continue;
-                        settlementsAdded.add(settlement.getComponentID());
-                        if (settlement.getOwnerId() == player && settlement.getBuildingType() == Settlement) {
-                            actions.add(new BuildCity(x, y, i, player));
-                        }
-                    }
-                }
+            CatanBuildIndex index = gs.getBuildIndex();
+            BitSet settlements = index.getSettlements(player);
+            for (int settlement = settlements.nextSetBit(0); settlement >= 0; settlement = settlements.nextSetBit(settlement + 1)) {
+                int[] location = index.getVertexLocation(settlement);
+                actions.add(new BuildCity(location[0], location[1], location[2], player));
             }
         }
         return actions;
@@ -0,0 +1,259 @@
+package games.catan;
+
+import core.components.BoardNodeWithEdges;
+import core.components.Edge;
+import core.components.GraphBoardWithEdges;
+import games.catan.components.Building;
+import games.catan.components.CatanTile;
+
+import java.util.*;
+
+import static games.catan.CatanConstants.HEX_SIDES;
+
+/**
+ * Keeps track of where each player can currently build a road, settlement or city, so that the buy actions can be
+ * listed without going over the whole board (and without touching the graph, which is copy-on-write).
+ * <p>
+ * The layout of the board never changes, so it is worked out once (in integer form) and shared by all copies of the
+ * state. Each copy then has its own owners of the edges and nodes, and a set of legal roads and settlements for each
+ * player, which are updated only around a road or settlement when it is built (see CatanGameState.buildRoad(),
+ * buildSettlement() and buildCity()).
+ * <p>
+ * The rules are those of CatanGameState.checkRoadPlacement() and checkSettlementPlacement() (outside the Setup phase).
+ * The places are indexed in the order in which CatanActionFactory finds them on the board, so the actions come out
+ * in the same order as they would from a scan of the board.
+ * <p>
+ * The lengths of the players' roads are not kept here. BuildRoad still works out the length with
+ * CatanGameState.getRoadDistance() when a road is built, as that is only 2-3% of the time in a game or MCTS rollout.
+ */
+public class CatanBuildIndex {
+
+    private final Layout layout;
+    private final int[] edgeOwner, nodeOwner;
+    private final BitSet[] legalRoads, legalSettlements;  // by player, then road or vertex index
+    private final BitSet[] settlements;  // by player, then vertex index, of their settlements that are not yet cities
+
+    CatanBuildIndex(CatanTile[][] board, GraphBoardWithEdges graph, int nPlayers) {
+        layout = new Layout(board, graph);
+        edgeOwner = new int[layout.edgeNodes.length];
+        nodeOwner = new int[layout.nodeEdges.length];
+        legalRoads = new BitSet[nPlayers];
+        legalSettlements = new BitSet[nPlayers];
+        settlements = new BitSet[nPlayers];
+        for (int p = 0; p < nPlayers; p++) {
+            legalRoads[p] = new BitSet(layout.roads.length);
+            legalSettlements[p] = new BitSet(layout.vertices.length);
+            settlements[p] = new BitSet(layout.vertices.length);
+        }
+        for (BoardNodeWithEdges node : graph.getBoardNodes()) {
+            int n = layout.nodeIndex.get(node.getComponentID());
+            nodeOwner[n] = node.getOwnerId();
+            if (node.getOwnerId() != -1 && layout.vertexIndex[n] >= 0 && ((Building) node).getBuildingType() == Building.Type.Settlement)
+                settlements[node.getOwnerId()].set(layout.vertexIndex[n]);
+            for (Edge edge : node.getEdges())
+                edgeOwner[layout.edgeIndex.get(edge.getComponentID())] = edge.getOwnerId();
+        }
+        for (int e = 0; e < edgeOwner.length; e++)
+            updateRoad(e);
+        for (int n = 0; n < nodeOwner.length; n++)
+            updateSettlement(n);
+    }
+
+    private CatanBuildIndex(CatanBuildIndex other) {
+        layout = other.layout;
+        edgeOwner = other.edgeOwner.clone();
+        nodeOwner = other.nodeOwner.clone();
+        legalRoads = new BitSet[other.legalRoads.length];
+        legalSettlements = new BitSet[other.legalSettlements.length];
+        settlements = new BitSet[other.settlements.length];
+        for (int p = 0; p < legalRoads.length; p++) {
+            legalRoads[p] = (BitSet) other.legalRoads[p].clone();
+            legalSettlements[p] = (BitSet) other.legalSettlements[p].clone();
+            settlements[p] = (BitSet) other.settlements[p].clone();
+        }
+    }
+
+    CatanBuildIndex copy() {
+        return new CatanBuildIndex(this);
+    }
+
+    /**
+     * @return the roads that the player may build, as indices for getRoadLocation(). This must not be modified.
+     */
+    BitSet getLegalRoads(int player) {
+        return legalRoads[player];
+    }
+
+    /**
+     * @return the settlements that the player may build, as indices for getVertexLocation(). This must not be
+     * modified.
+     */
+    BitSet getLegalSettlements(int player) {
+        return legalSettlements[player];
+    }
+
+    /**
+     * @return the settlements of the player that may be upgraded to cities, as indices for getVertexLocation().
+     * This must not be modified.
+     */
+    BitSet getSettlements(int player) {
+        return settlements[player];
+    }
+
+    /**
+     * @return {x, y, edge} of a tile edge for the road
+     */
+    int[] getRoadLocation(int road) {
+        return layout.roads[road];
+    }
+
+    /**
+     * @return {x, y, vertex} of a tile vertex for the settlement or city
+     */
+    int[] getVertexLocation(int vertex) {
+        return layout.vertices[vertex];
+    }
+
+    void roadBuilt(Edge road, int player) {
+        int e = layout.edgeIndex.get(road.getComponentID());
+        edgeOwner[e] = player;
+        // this can only change roads that share an end with this one, and settlements at either end
+        for (int n : layout.edgeNodes[e]) {
+            for (int other : layout.nodeEdges[n])
+                updateRoad(other);
+            updateSettlement(n);
+        }
+    }
+
+    void settlementBuilt(Building settlement, int player) {
+        int n = layout.nodeIndex.get(settlement.getComponentID());
+        nodeOwner[n] = player;
+        if (layout.vertexIndex[n] >= 0)
+            settlements[player].set(layout.vertexIndex[n]);
+        // this can only change roads that end here, this settlement and its neighbours (by the distance rule)
+        for (int e : layout.nodeEdges[n])
+            updateRoad(e);
+        updateSettlement(n);
+        for (int neighbour : layout.nodeNeighbours[n])
+            updateSettlement(neighbour);
+    }
+
+    void cityBuilt(Building city) {
+        int n = layout.nodeIndex.get(city.getComponentID());
+        if (layout.vertexIndex[n] >= 0)
+            settlements[nodeOwner[n]].clear(layout.vertexIndex[n]);
+    }
+
+    private void updateRoad(int e) {
+        int road = layout.roadIndex[e];
+        if (road < 0) return;
+        for (int p = 0; p < legalRoads.length; p++)
+            legalRoads[p].set(road, checkRoadPlacement(e, p));
+    }
+
+    private void updateSettlement(int n) {
+        int vertex = layout.vertexIndex[n];
+        if (vertex < 0 || !layout.landVertex[vertex]) return;
+        for (int p = 0; p < legalSettlements.length; p++)
+            legalSettlements[p].set(vertex, checkSettlementPlacement(n, p));
+    }
+
+    // as CatanGameState.checkRoadPlacement()
+    private boolean checkRoadPlacement(int e, int player) {
+        if (edgeOwner[e] != -1) return false;
+        for (int n : layout.edgeNodes[e]) {
+            if (nodeOwner[n] == player) return true;
+        }
+        for (int n : layout.edgeNodes[e]) {
+            for (int other : layout.nodeEdges[n]) {
+                if (other != e && edgeOwner[other] == player) return true;
+            }
+        }
+        return false;
+    }
+
+    // as CatanGameState.checkSettlementPlacement(), outside the Setup phase
+    private boolean checkSettlementPlacement(int n, int player) {
+        if (nodeOwner[n] != -1) return false;
+        for (int neighbour : layout.nodeNeighbours[n]) {
+            if (nodeOwner[neighbour] != -1) return false;
+        }
+        for (int e : layout.nodeEdges[n]) {
+            if (edgeOwner[e] == player) return true;
+        }
+        return false;
+    }
+
+    /**
+     * The graph of the board with nodes and edges numbered from 0, and the places on the board where
+     * roads and settlements can be built. Vertices include those only on sea or desert tiles (where there
+     * may be a city from the Setup phase), but settlements are only built later on land vertices.
+     */
+    private static class Layout {
+        final Map<Integer, Integer> nodeIndex = new HashMap<>(), edgeIndex = new HashMap<>();  // by component ID
+        final int[][] nodeEdges, nodeNeighbours, edgeNodes;
+        final int[] roadIndex, vertexIndex;  // -1 if not on the board
+        final int[][] roads, vertices;
+        final boolean[] landVertex;
+
+        Layout(CatanTile[][] board, GraphBoardWithEdges graph) {
+            Collection<BoardNodeWithEdges> nodes = graph.getBoardNodes();
+            for (BoardNodeWithEdges node : nodes) {
+                nodeIndex.put(node.getComponentID(), nodeIndex.size());
+                for (Edge edge : node.getNeighbourEdgeMapping().keySet())
+                    edgeIndex.putIfAbsent(edge.getComponentID(), edgeIndex.size());
+            }
+            nodeEdges = new int[nodeIndex.size()][];
+            nodeNeighbours = new int[nodeIndex.size()][];
+            edgeNodes = new int[edgeIndex.size()][];
+            for (BoardNodeWithEdges node : nodes) {
+                int n = nodeIndex.get(node.getComponentID());
+                Map<Edge, BoardNodeWithEdges> mapping = node.getNeighbourEdgeMapping();
+                nodeEdges[n] = new int[mapping.size()];
+                nodeNeighbours[n] = new int[mapping.size()];
+                int i = 0;
+                for (Map.Entry<Edge, BoardNodeWithEdges> entry : mapping.entrySet()) {
+                    int e = edgeIndex.get(entry.getKey().getComponentID());
+                    int neighbour = nodeIndex.get(entry.getValue().getComponentID());
+                    nodeEdges[n][i] = e;
+                    nodeNeighbours[n][i++] = neighbour;
+                    edgeNodes[e] = new int[]{n, neighbour};
+                }
+            }
+
+            // Places to build, in the order that a scan of the board finds them. As in that scan, each edge or vertex
+            // is only considered from the first tile it is found on, and roads and settlements only if that is a land tile.
+            roadIndex = new int[edgeIndex.size()];
+            vertexIndex = new int[nodeIndex.size()];
+            Arrays.fill(roadIndex, -1);
+            Arrays.fill(vertexIndex, -1);
+            List<int[]> roadList = new ArrayList<>(), vertexList = new ArrayList<>();
+            List<Boolean> landList = new ArrayList<>();
+            Set<Integer> edgesSeen = new HashSet<>(), nodesSeen = new HashSet<>();
+            for (int x = 0; x < board.length; x++) {
+                for (int y = 0; y < board[x].length; y++) {
+                    CatanTile tile = board[x][y];
+                    boolean land = !(tile.getTileType() == CatanTile.TileType.SEA || tile.getTileType() == CatanTile.TileType.DESERT);
+                    for (int i = 0; i < HEX_SIDES; i++) {
+                        BoardNodeWithEdges node = graph.getNodeByID(tile.getVerticesBoardNodeIDs()[i]);
+                        if (nodesSeen.add(node.getComponentID())) {
+                            vertexIndex[nodeIndex.get(node.getComponentID())] = vertexList.size();
+                            vertexList.add(new int[]{x, y, i});
+                            landList.add(land);
+                        }
+                        Edge edge = node.getEdgeByID(tile.getEdgeIDs()[i]);
+                        if (edge != null && edgesSeen.add(edge.getComponentID()) && land) {
+                            roadIndex[edgeIndex.get(edge.getComponentID())] = roadList.size();
+                            roadList.add(new int[]{x, y, i});
+                        }
+                    }
+                }
+            }
+            roads = roadList.toArray(new int[0][]);
+            vertices = vertexList.toArray(new int[0][]);
+            landVertex = new boolean[vertices.length];
+            for (int v = 0; v < vertices.length; v++)
+                landVertex[v] = landList.get(v);
+        }
+    }
+}
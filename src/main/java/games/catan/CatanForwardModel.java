@@ -39,6 +39,9 @@ public class CatanForwardModel extends StandardForwardModel {
 
         state.setBoard(generateBoard(params, state.getRnd()));
         state.setGraph(extractGraphFromBoard(state.getBoard(), params, state.getRnd()));
+        // most copies of the state (in MCTS, for example) are discarded without the graph having been changed
+        state.getGraph().setCopyOnWrite(true);
+        state.buildIndex = new CatanBuildIndex(state.getBoard(), state.getGraph(), state.getNPlayers());
 
         state.scores = new int[state.getNPlayers()];
         state.victoryPoints = new int[state.getNPlayers()];
@@ -62,7 +65,9 @@ public class CatanForwardModel extends StandardForwardModel {
 
         // Setup areas
         for (int i = 0; i < state.getNPlayers(); i++) {
-            state.playerDevCards.add(new Deck<>("Player Development Deck", i, CoreConstants.VisibilityMode.VISIBLE_TO_OWNER));
+            Deck<CatanCard> devCardsInHand = new Deck<>("Player Development Deck", i, CoreConstants.VisibilityMode.VISIBLE_TO_OWNER);
+            devCardsInHand.setCopyOnWrite(true);  // CatanCards are not changed once in a deck, see BuyDevelopmentCard
+            state.playerDevCards.add(devCardsInHand);
             HashMap<BuyAction.BuyType, Counter> tokens = new HashMap<>();
             for (Map.Entry<BuyAction.BuyType, Integer> type: params.tokenCounts.entrySet()) {
                 tokens.put(type.getKey(), new Counter(type.getValue(), type.getKey().name() + " Counter " + i));
@@ -89,6 +94,7 @@ public class CatanForwardModel extends StandardForwardModel {
 
         // create and shuffle developmentDeck
         state.devCards = new Deck<>("Development Deck", CoreConstants.VisibilityMode.HIDDEN_TO_ALL);
+        state.devCards.setCopyOnWrite(true);
         for (Map.Entry<CatanCard.CardType, Integer> entry : params.developmentCardCount.entrySet()) {
             for (int i = 0; i < entry.getValue(); i++) {
                 CatanCard card = new CatanCard(entry.getKey());
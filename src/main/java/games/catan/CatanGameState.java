@@ -20,6 +20,7 @@ import static games.catan.stats.CatanMetrics.CatanEvent.LargestArmySteal;
 public class CatanGameState extends AbstractGameState {
     protected CatanTile[][] board;
     protected GraphBoardWithEdges catanGraph;
+    protected CatanBuildIndex buildIndex; // where each player can build roads and settlements
     protected int[] scores; // score for each player
     protected int[] victoryPoints; // secret points from victory cards
     protected int[] knights, roadLengths; // knight count and road length for each player
@@ -137,6 +138,35 @@ public class CatanGameState extends AbstractGameState {
         return catanGraph;
     }
 
+    CatanBuildIndex getBuildIndex() {
+        return buildIndex;
+    }
+
+    /**
+     * Gives the road to the player. Roads must be built with this (rather than by setting the owner of the edge)
+     * so that the places where roads and settlements can be built are kept up to date.
+     */
+    public void buildRoad(Edge road, int player) {
+        road.setOwnerId(player);
+        buildIndex.roadBuilt(road, player);
+    }
+
+    /**
+     * Gives the settlement to the player. As with buildRoad(), this must be used rather than setting the owner.
+     */
+    public void buildSettlement(Building settlement, int player) {
+        settlement.setOwnerId(player);
+        buildIndex.settlementBuilt(settlement, player);
+    }
+
+    /**
+     * Upgrades the settlement to a city. As with buildRoad(), this must be used rather than upgrading the building.
+     */
+    public void buildCity(Building settlement) {
+        settlement.upgrade();
+        buildIndex.cityBuilt(settlement);
+    }
+
     public void setRollValue(int rollValue) {
         this.rollValue = rollValue;
     }
@@ -395,10 +425,11 @@ public class CatanGameState extends AbstractGameState {
 
     @Override
     protected CatanGameState _copy(int playerId) {
-        CatanGameState copy = new CatanGameState(getGameParameters().copy(), getNPlayers());
+        CatanGameState copy = new CatanGameState(getGameParameters().frozenCopy(), getNPlayers());
         copy.gamePhase = gamePhase;
         copy.board = copyBoard();
         copy.catanGraph = catanGraph.copy();
+        copy.buildIndex = buildIndex.copy();
 
         copy.gameStatus = gameStatus;
         copy.playerResults = playerResults.clone();
@@ -547,7 +578,7 @@ public class CatanGameState extends AbstractGameState {
             if (p == playerId)
                 continue;
             for (int i = 0; i < turnCardsWereBoughtIn[p].length; i++) {
-                CatanCard c = devCards.draw();
+                CatanCard c = devCards.draw().copy();  // as the card may be shared with other copies of the state
                 c.roundCardWasBought = turnCardsWereBoughtIn[p][i];  // Assign round when card was bought accurately, as this is known information
                 playerDevCards.get(p).add(c);
                 if (c.cardType == CatanCard.CardType.VICTORY_POINT_CARD){
@@ -47,7 +47,7 @@ public class BuildRoad extends AbstractAction {
                 }
             }
             roadTokens.increment();
-            edgeObj.setOwnerId(playerID);
+            cgs.buildRoad(edgeObj, playerID);
 
             // Check longest road
             int new_length = cgs.getRoadDistance(x, y, edge);
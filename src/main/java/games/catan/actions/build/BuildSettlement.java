@@ -49,7 +49,7 @@ public class BuildSettlement extends AbstractAction {
             }
             settleTokens.increment();
 
-            settlement.setOwnerId(playerID);
+            cgs.buildSettlement(settlement, playerID);
             if(settlement.getHarbour() != null){
                 gs.logEvent(PortSettle, String.valueOf(playerID));
 
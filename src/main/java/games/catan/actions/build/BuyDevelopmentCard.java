@@ -26,6 +26,8 @@ public class BuyDevelopmentCard extends AbstractAction {
         Deck<CatanCard> devDeck = cgs.getDevCards();
         CatanCard card = devDeck.draw();
         if (card != null) {
+            // the decks share their cards with copies of the state, so we change a copy of the card
+            card = card.copy();
             card.roundCardWasBought = cgs.getRoundCounter();
             playerDevDeck.add(card);
             if (card.cardType == CatanCard.CardType.VICTORY_POINT_CARD){
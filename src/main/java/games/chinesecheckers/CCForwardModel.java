@@ -5,7 +5,6 @@ import core.CoreConstants;
 import core.StandardForwardModel;
 import core.actions.AbstractAction;
 import games.chinesecheckers.actions.MovePeg;
-import games.chinesecheckers.components.CCNode;
 import games.chinesecheckers.components.Peg;
 import games.chinesecheckers.components.StarBoard;
 
@@ -47,15 +46,6 @@ public class CCForwardModel extends StandardForwardModel {
         return loadPlayerActions(player, state);
     }
 
-    private static CCNode neighbourInDirection(CCNode node, int dir) {
-        for (CCNode neig : node.getNeighbours()) {
-            if (node.getNeighbourSideMapping().get(neig) == dir) {
-                return neig;
-            }
-        }
-        return null;
-    }
-
     /**
      * Returns true if the peg can be placed on the node
      * All board nodes in the main areas are neutral; the colour here refers just to the 10
@@ -72,10 +62,15 @@ public class CCForwardModel extends StandardForwardModel {
     private List<AbstractAction> loadPlayerActions(int player, CCGameState state) {
         //player index to colour
         Peg.Colour playerCol = state.getPlayerColour(player);
+        StarBoard board = state.starBoard;
         List<AbstractAction> actions = new ArrayList<>();
-        for (CCNode node : state.starBoard.getBoardNodes()) { // Check all Nodes
-            if (node.getOccupiedPeg() != null && node.getOccupiedPeg().getColour() == playerCol) {
-                actions.addAll(exploreNodeAction(node, state));
+        // space for the search from each peg, shared between them
+        int[] queue = new int[StarBoard.NODES];
+        long[] reached = new long[(StarBoard.NODES + 63) / 64];
+        long[] stepped = new long[reached.length];
+        for (int node = 0; node < StarBoard.NODES; node++) { // Check all Nodes
+            if (board.getPegColour(node) == playerCol) {
+                exploreNodeAction(node, board, playerCol, actions, queue, reached, stepped);
             }
         }
         return actions;
@@ -83,72 +78,65 @@ public class CCForwardModel extends StandardForwardModel {
 
     /**
      * In which we use a form of breadth-first search to find all the possible moves we can make
-     * starting from the given node
+     * starting from the given node, adding them to actions
      * @param node
-     * @param state
-     * @return
+     * @param board
+     * @param playerCol - colour of the peg on the node
+     * @param queue     - space for the nodes to visit
+     * @param reached   - space for a bitset of the nodes visited (cleared here)
+     * @param stepped   - space for a bitset of the nodes moved to in a single step (cleared here)
      */
-    private static List<AbstractAction> exploreNodeAction(CCNode node, CCGameState state) {
-        Peg.Colour playerCol = node.getOccupiedPeg().getColour();
-        List<AbstractAction> actions = new ArrayList<>();
+    private static void exploreNodeAction(int node, StarBoard board, Peg.Colour playerCol, List<AbstractAction> actions,
+                                          int[] queue, long[] reached, long[] stepped) {
         // first get the single directly adjacent moves
-        for (CCNode nei_0 : node.getNeighbours()) {
-            if (!nei_0.isNodeOccupied() && isPlayerPlaceable(nei_0.getBaseColour(), playerCol)) {
-                if (node.getOccupiedPeg().getInDestination()) {
-                    if (nei_0.getBaseColour() != Peg.Colour.neutral) {
-                        MovePeg action = new MovePeg(node.getID(), nei_0.getID());
-                        if (!actions.contains(action)) {
-                            actions.add(action);
-                        }
-                    }
-                } else {
-                    MovePeg action = new MovePeg(node.getID(), nei_0.getID());
-                    if (!actions.contains(action)) {
-                        actions.add(action);
-                    }
+        Arrays.fill(stepped, 0L);
+        boolean inDestination = board.isInDestination(node);
+        for (int side = 0; side < StarBoard.SIDES; side++) {
+            int nei_0 = StarBoard.getNeighbour(node, side);
+            if (nei_0 != -1 && !board.isOccupied(nei_0) && isPlayerPlaceable(StarBoard.getBaseColour(nei_0), playerCol)) {
+                if (!inDestination || StarBoard.getBaseColour(nei_0) != Peg.Colour.neutral) {
+                    actions.add(new MovePeg(node, nei_0));
+                    stepped[nei_0 >> 6] |= 1L << nei_0;
                 }
             }
         }
         // then get the jumping stuff
-        repeatAction(node, actions, playerCol);
-        return actions;
+        repeatAction(node, board, playerCol, actions, queue, reached, stepped);
     }
 
-    private static void repeatAction(CCNode node, List<AbstractAction> actions, Peg.Colour playerCol) {
-        HashSet<CCNode> visited = new HashSet<>();
-        HashSet<CCNode> toVisit = new HashSet<>();
-        toVisit.add(node);
+    private static void repeatAction(int node, StarBoard board, Peg.Colour playerCol, List<AbstractAction> actions,
+                                     int[] queue, long[] reached, long[] stepped) {
+        Arrays.fill(reached, 0L);
+        reached[node >> 6] |= 1L << node;
+        int head = 0, tail = 0;
+        queue[tail++] = node;
 
         // This should be looking for a chain of moves, without revisiting previous nodes
         // that starts at the given node. Hence (if true), it should only be called once per peg
         // and not once per neighbouring peg
 
-        while (!toVisit.isEmpty()) {
-            CCNode expNode = toVisit.iterator().next();
-            visited.add(expNode);
-            toVisit.remove(expNode);
+        while (head < tail) {
+            int expNode = queue[head++];
+            // (a few nodes can be reached both by a step and by jumps, and are only added once)
+            if (expNode != node && isPlayerPlaceable(StarBoard.getBaseColour(expNode), playerCol) &&
+                    (stepped[expNode >> 6] & 1L << expNode) == 0) {
+                actions.add(new MovePeg(node, expNode));
+            }
             // once in target zone, a peg may not leave it
-            boolean canLeaveZone = expNode.getBaseColour() != playerCol;
-            for (CCNode neighbour : expNode.getNeighbours()) {
-                int side = expNode.getNeighbourSideMapping().get(neighbour);
-                if (neighbour.isNodeOccupied()) {
-                    CCNode stride = neighbourInDirection(neighbour, side);
-                    if (stride != null && !stride.isNodeOccupied() &&
-                            (canLeaveZone || stride.getBaseColour() == playerCol) &&
-                            !visited.contains(stride)) {
-                        toVisit.add(stride);
+            boolean canLeaveZone = StarBoard.getBaseColour(expNode) != playerCol;
+            for (int side = 0; side < StarBoard.SIDES; side++) {
+                int neighbour = StarBoard.getNeighbour(expNode, side);
+                if (neighbour != -1 && board.isOccupied(neighbour)) {
+                    int stride = StarBoard.getNeighbour(neighbour, side);
+                    if (stride != -1 && !board.isOccupied(stride) &&
+                            (canLeaveZone || StarBoard.getBaseColour(stride) == playerCol) &&
+                            (reached[stride >> 6] & 1L << stride) == 0) {
+                        reached[stride >> 6] |= 1L << stride;
+                        queue[tail++] = stride;
                     }
                 }
             }
         }
-        visited.remove(node);
-        visited.removeIf(n -> (!isPlayerPlaceable(n.getBaseColour(), playerCol)));
-        for (CCNode v : visited) {
-            MovePeg action = new MovePeg(node.getID(), v.getID());
-            if (!actions.contains(action)) {
-                actions.add(action);
-            }
-        }
     }
 
     @Override
@@ -186,12 +174,12 @@ public class CCForwardModel extends StandardForwardModel {
         int[] colourIndices = params.colourIndices.get(colour);
         int counter = 0;
         boolean PegIn = false;
-        List<CCNode> nodes = state.getStarBoard().getBoardNodes();
+        StarBoard board = state.getStarBoard();
         for (int i : colourIndices) {
-            if (nodes.get(i).isNodeOccupied() && nodes.get(i).getOccupiedPeg().getColour() == colour) {
+            if (board.getPegColour(i) == colour) {
                 PegIn = true;
             }
-            if (nodes.get(i).isNodeOccupied()) {
+            if (board.isOccupied(i)) {
                 counter++;
             }
         }
@@ -202,7 +190,7 @@ public class CCForwardModel extends StandardForwardModel {
         CCParameters params = (CCParameters) state.getGameParameters();
         int[] indices = params.colourIndices.get(params.boardOpposites.get(colour));
         for (int i : indices) {
-            state.starBoard.getBoardNodes().get(i).setOccupiedPeg(new Peg(colour, state.starBoard.getBoardNodes().get(i)));
+            state.starBoard.setPeg(i, new Peg(colour, null));
         }
     }
 }
@@ -2,6 +2,7 @@ package games.chinesecheckers.components;
 
 import core.CoreConstants;
 import core.components.Component;
+import utilities.Zobrist;
 
 import java.awt.*;
 import java.util.Objects;
@@ -68,6 +69,11 @@ public class Peg extends Component {
         return team;
     }
 
+    @Override
+    public long getZobristKey() {
+        return Zobrist.mix(team.ordinal());
+    }
+
     @Override
     public Component copy() {
         Peg copy = new Peg();
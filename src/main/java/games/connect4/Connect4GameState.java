@@ -43,7 +43,7 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
 
     @Override
     protected AbstractGameState _copy(int playerId) {
-        Connect4GameState s = new Connect4GameState(gameParameters.copy(), getNPlayers());
+        Connect4GameState s = new Connect4GameState(gameParameters.frozenCopy(), getNPlayers());
         s.gridBoard = gridBoard.copy();
 
         s.winnerCells.clear();
@@ -104,6 +104,11 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
         return Objects.hash(super.hashCode(), gridBoard);
     }
 
+    @Override
+    protected long _getZobristHash() {
+        return gridBoard.getZobristHash();
+    }
+
     @Override
     public GridBoard<Token> getGridBoard() {
         return gridBoard;
@@ -43,18 +43,19 @@ public class DominionForwardModel extends StandardForwardModel {
         state.defenceStatus = new boolean[state.getNPlayers()];  // defaults to false
 
         int victoryCards = params.VICTORY_CARDS_PER_PLAYER[state.getNPlayers()];
-        state.cardsIncludedInGame = new HashMap<>(16);
-        state.cardsIncludedInGame.put(CardType.PROVINCE, victoryCards);
-        state.cardsIncludedInGame.put(CardType.DUCHY, victoryCards);
-        state.cardsIncludedInGame.put(CardType.ESTATE, victoryCards);
-        state.cardsIncludedInGame.put(CardType.GOLD, params.GOLD_SUPPLY);
-        state.cardsIncludedInGame.put(CardType.SILVER, params.SILVER_SUPPLY);
-        state.cardsIncludedInGame.put(CardType.COPPER, params.COPPER_SUPPLY);
+        state.supply = new int[CardType.values().length];
+        state.supplyTypes = new CardType[0];
+        state.setSupplyPile(CardType.PROVINCE, victoryCards);
+        state.setSupplyPile(CardType.DUCHY, victoryCards);
+        state.setSupplyPile(CardType.ESTATE, victoryCards);
+        state.setSupplyPile(CardType.GOLD, params.GOLD_SUPPLY);
+        state.setSupplyPile(CardType.SILVER, params.SILVER_SUPPLY);
+        state.setSupplyPile(CardType.COPPER, params.COPPER_SUPPLY);
         for (CardType ct : params.cardsUsed) {
             int cardsToUse = ct.isVictory ? victoryCards : params.KINGDOM_CARDS_OF_EACH_TYPE;
             if (ct == CardType.CURSE)
                 cardsToUse = (state.getNPlayers() - 1) * params.CURSE_CARDS_PER_PLAYER;
-            state.cardsIncludedInGame.put(ct, cardsToUse);
+            state.setSupplyPile(ct, cardsToUse);
         }
         state.setGamePhase(DominionGameState.DominionGamePhase.Play);
     }
@@ -167,15 +168,67 @@ public class DominionForwardModel extends StandardForwardModel {
             case "Buy":
                 // we return every available card for purchase within our price range
                 int budget = state.availableSpend(playerID);
-                List<AbstractAction> options = state.cardsToBuy().stream()
-                        .filter(ct -> ct.cost <= budget)
-                        .sorted(Comparator.comparingInt(c -> -c.cost))
-                        .map(ct -> new BuyCard(ct, playerID))
-                        .collect(toList());
+                // the supply is kept most expensive first
+                List<AbstractAction> options = new ArrayList<>();
+                for (CardType type : state.supplyTypes)
+                    if (state.supply[type.ordinal()] > 0 && type.cost <= budget)
+                        options.add(new BuyCard(type, playerID));
                 options.add(new EndPhase(DominionGameState.DominionGamePhase.Buy));
                 return options;
             default:
                 throw new AssertionError("Unknown Game Phase " + state.getGamePhase());
         }
     }
+
+    /**
+     * The same choice as _computeAvailableActions(), but we create only the chosen action. Each distinct action
+     * comes from a distinct type of card (in hand to play, or in the supply to buy).
+     */
+    @Override
+    protected AbstractAction _sampleAvailableAction(AbstractGameState gameState, Random rnd) {
+        DominionGameState state = (DominionGameState) gameState;
+        int playerID = state.getCurrentPlayer();
+
+        switch (state.getGamePhase().toString()) {
+            case "Play":
+                if (state.actionsLeft() > 0) {
+                    // the distinct action cards in hand are marked in a bit mask by CardType, so that no array or
+                    // list is allocated for them (there are fewer than 64 CardTypes)
+                    Deck<DominionCard> hand = state.getDeck(DeckType.HAND, playerID);
+                    long seen = 0L;
+                    for (int i = 0; i < hand.getSize(); i++) {
+                        DominionCard card = hand.get(i);
+                        if (card.isActionCard())
+                            seen |= 1L << card.cardType().ordinal();
+                    }
+                    int choice = rnd.nextInt(Long.bitCount(seen) + 1);
+                    for (int i = 0; i < hand.getSize(); i++) {
+                        DominionCard card = hand.get(i);
+                        long bit = 1L << card.cardType().ordinal();
+                        if (card.isActionCard() && (seen & bit) != 0) {
+                            if (choice-- == 0)
+                                return card.getAction(playerID);
+                            seen &= ~bit;
+                        }
+                    }
+                }
+                return new EndPhase(DominionGameState.DominionGamePhase.Play);
+            case "Buy":
+                int budget = state.availableSpend(playerID);
+                int nAffordable = 0;
+                for (CardType type : state.supplyTypes)
+                    if (state.supply[type.ordinal()] > 0 && type.cost <= budget)
+                        nAffordable++;
+                int choice = rnd.nextInt(nAffordable + 1);
+                if (choice < nAffordable) {
+                    for (CardType type : state.supplyTypes) {
+                        if (state.supply[type.ordinal()] > 0 && type.cost <= budget && choice-- == 0)
+                            return new BuyCard(type, playerID);
+                    }
+                }
+                return new EndPhase(DominionGameState.DominionGamePhase.Buy);
+            default:
+                throw new AssertionError("Unknown Game Phase " + state.getGamePhase());
+        }
+    }
 }
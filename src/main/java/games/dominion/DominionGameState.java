@@ -25,7 +25,12 @@ import static java.util.stream.Collectors.toList;
 
 public class DominionGameState extends AbstractGameState implements IPrintable {
 
-    Map<CardType, Integer> cardsIncludedInGame = new HashMap<>();
+    private static final CardType[] CARD_TYPES = CardType.values();
+
+    // The cards left in each pile of the supply, by CardType.ordinal() (0 for types not in this game)
+    int[] supply = new int[CARD_TYPES.length];
+    // The types of card with a pile in the supply, most expensive first. This is fixed at setup, so copies share it
+    CardType[] supplyTypes = new CardType[0];
     // Then Decks for each player - Hand, Discard and Draw
     PartialObservableDeck<DominionCard>[] playerHands;
     PartialObservableDeck<DominionCard>[] playerDrawPiles;
@@ -52,19 +57,40 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
         this.reset();
     }
 
+    private DominionGameState(DominionGameState copyFrom) {
+        // used by copy method only, which sets everything that reset() would
+        super(copyFrom.gameParameters.frozenCopy(), copyFrom.getNPlayers());
+    }
+
     @Override
     protected GameType _getGameType() {
         return GameType.Dominion;
     }
 
     public boolean removeCardFromTable(CardType type) {
-        if (cardsIncludedInGame.getOrDefault(type, 0) > 0) {
-            cardsIncludedInGame.put(type, cardsIncludedInGame.get(type) - 1);
+        if (supply[type.ordinal()] > 0) {
+            supply[type.ordinal()]--;
             return true;
         }
         return false;
     }
 
+    /**
+     * Puts a pile of cards into the supply (or changes the size of the pile, if it is already there).
+     * This is for setting up the game.
+     *
+     * @param type  - type of card
+     * @param cards - number of cards in the pile
+     */
+    void setSupplyPile(CardType type, int cards) {
+        if (!Arrays.asList(supplyTypes).contains(type)) {
+            supplyTypes = Arrays.copyOf(supplyTypes, supplyTypes.length + 1);
+            supplyTypes[supplyTypes.length - 1] = type;
+            Arrays.sort(supplyTypes, comparingInt(c -> -c.cost));
+        }
+        supply[type.ordinal()] = cards;
+    }
+
     public void addCard(CardType type, int playerId, DeckType deckType) {
         DominionCard newCard = DominionCard.create(type);
         Deck<DominionCard> deck = getDeck(deckType, playerId);
@@ -74,8 +100,15 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
 
     public boolean gameOver() {
         DominionParameters params = (DominionParameters) gameParameters;
-        return cardsIncludedInGame.get(CardType.PROVINCE) == 0 ||
-                cardsIncludedInGame.values().stream().filter(i -> i == 0).count() >= params.PILES_EXHAUSTED_FOR_GAME_END;
+        return supply[CardType.PROVINCE.ordinal()] == 0 || emptySupplyPiles() >= params.PILES_EXHAUSTED_FOR_GAME_END;
+    }
+
+    public int emptySupplyPiles() {
+        int empty = 0;
+        for (CardType type : supplyTypes)
+            if (supply[type.ordinal()] == 0)
+                empty++;
+        return empty;
     }
 
     public boolean drawCard(int playerId) {
@@ -192,47 +225,52 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     }
 
     public int cardsOfType(CardType type, int playerId, DeckType deck) {
-        Deck<DominionCard> allCards;
         switch (deck) {
             case SUPPLY:
-                return cardsIncludedInGame.getOrDefault(type, 0);
+                return supply[type.ordinal()];
             case HAND:
             case TABLE:
             case DRAW:
             case DISCARD:
             case TRASH:
-                allCards = getDeck(deck, playerId);
-                break;
+                return cardsOfType(type, getDeck(deck, playerId));
             case ALL:
-                allCards = new Deck<>("temp", VISIBLE_TO_ALL);
-                allCards.add(playerHands[playerId]);
-                allCards.add(playerDiscards[playerId]);
-                allCards.add(playerDrawPiles[playerId]);
-                allCards.add(playerTableaux[playerId]);
-                break;
+                return cardsOfType(type, playerHands[playerId]) + cardsOfType(type, playerDiscards[playerId]) +
+                        cardsOfType(type, playerDrawPiles[playerId]) + cardsOfType(type, playerTableaux[playerId]);
             default:
                 throw new IllegalStateException("Unexpected value: " + deck);
         }
+    }
 
-        return (int) allCards.stream().filter(c -> c.cardType() == type).count();
+    private static int cardsOfType(CardType type, Deck<DominionCard> deck) {
+        int count = 0;
+        for (int i = 0; i < deck.getSize(); i++)
+            if (deck.get(i).cardType() == type)
+                count++;
+        return count;
     }
 
     public List<CardType> cardsToBuy() {
-        return cardsIncludedInGame.keySet().stream()
-                .filter(c -> cardsIncludedInGame.get(c) > 0)
-                .sorted(comparingInt(c -> -c.cost))
-                .distinct()
-                .collect(toList());
+        List<CardType> retValue = new ArrayList<>(supplyTypes.length);
+        for (CardType type : supplyTypes)
+            if (supply[type.ordinal()] > 0)
+                retValue.add(type);
+        return retValue;
     }
 
     public List<CardType> cardsIncludedInGame() {
-        return cardsIncludedInGame.keySet().stream()
-                .sorted(comparingInt(c -> -c.cost))
-                .collect(toList());
+        return Arrays.asList(supplyTypes.clone());
     }
 
+    /**
+     * @return the number of cards left in each pile of the supply, most expensive first. This is a snapshot, which
+     * does not change with the game (nor the game with it).
+     */
     public Map<CardType, Integer> getCardsIncludedInGame() {
-        return cardsIncludedInGame;
+        Map<CardType, Integer> retValue = new LinkedHashMap<>();
+        for (CardType type : supplyTypes)
+            retValue.put(type, supply[type.ordinal()]);
+        return retValue;
     }
 
     public void setDefended(int playerId) {
@@ -250,47 +288,20 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
      * @param playerId - player observing this game state.
      */
     @Override
+    @SuppressWarnings("unchecked")
     protected AbstractGameState _copy(int playerId) {
-        DominionGameState retValue = new DominionGameState(((DominionParameters)gameParameters).shallowCopy(), nPlayers);
-        for (CardType ct : cardsIncludedInGame.keySet()) {
-            retValue.cardsIncludedInGame.put(ct, cardsIncludedInGame.get(ct));
-        }
+        DominionGameState retValue = new DominionGameState(this);
+        retValue.supply = supply.clone();
+        retValue.supplyTypes = supplyTypes;
+        retValue.playerHands = new PartialObservableDeck[nPlayers];
+        retValue.playerDrawPiles = new PartialObservableDeck[nPlayers];
+        retValue.playerDiscards = new Deck[nPlayers];
+        retValue.playerTableaux = new Deck[nPlayers];
         for (int p = 0; p < nPlayers; p++) {
-            if (playerId == -1) {
-                retValue.playerHands[p] = playerHands[p].copy();
-                retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
-            } else if (playerId == p) {
-                // need to shuffle drawpile separately
-                retValue.playerHands[p] = playerHands[p].copy();
-                retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
-                retValue.playerDrawPiles[p].redeterminiseUnknown(redeterminisationRnd, p);
-            } else {
-                // need to combine and shuffle hands and drawpiles
-                retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
-                retValue.playerHands[p] = playerHands[p].copy();
-                for (int i = 0; i < retValue.playerHands[p].getSize(); i++) {
-                    // if we (the perspective player) can see the card, then we need to keep it in place
-                    // if not then we move it to the *bottom* of the drawpile (this is the end of an ArrayList...so more efficient?)
-                    if (!retValue.playerHands[p].getVisibilityForPlayer(i, playerId)) {
-                        retValue.playerDrawPiles[p].add(retValue.playerHands[p].get(i), retValue.playerDrawPiles[p].getSize());
-                    }
-                }
-                // we have now moved all the non-visible Hand cards into the Draw pile to reshuffle
-                retValue.playerHands[p].clear(); // we will need to reconstruct this, including visibility status in a sec
-                // we then reshuffle all the non-visible cards
-                retValue.playerDrawPiles[p].redeterminiseUnknown(redeterminisationRnd, playerId);
-                // we then remove cards from the top of the shuffled draw pile (in the region we know is not visible)
-                for (int i = 0; i < playerHands[p].getSize(); i++) {
-                    if (!playerHands[p].getVisibilityForPlayer(i, playerId)) {
-                        // we then pick cards from the end of the drawpile List and add them to the Hand
-                        // possibly more efficient picking from the end of an ArrayList?
-                        retValue.playerHands[p].add(retValue.playerDrawPiles[p].pick(retValue.playerDrawPiles[p].getSize() - 1), i);
-                    } else {
-                        // we know what this card is, so copy over visibility status
-                        retValue.playerHands[p].add(playerHands[p].get(i).copy(), playerHands[p].getVisibilityOfComponent(i).clone());
-                    }
-                }
-            }
+            retValue.playerHands[p] = playerHands[p].copy();
+            retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
+            if (playerId != -1)
+                retValue.redeterminiseHiddenCards(p, playerId, redeterminisationRnd);
             retValue.playerDiscards[p] = playerDiscards[p].copy();
             retValue.playerTableaux[p] = playerTableaux[p].copy();
         }
@@ -306,6 +317,59 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
         return retValue;
     }
 
+    /**
+     * Replaces the cards in a player's hand and draw pile that the observer cannot see with a random sample of the
+     * same cards. As a card is known only by its type, the hidden cards are just a count of each type, from which
+     * we draw without replacement to fill the hidden positions. Which positions are visible is unchanged, so
+     * anything the observer does know about the order of the cards (such as the top of the draw pile after a
+     * Bureaucrat or Sentry) is kept.
+     *
+     * @param player   - player whose cards these are
+     * @param observer - player the copy is for
+     * @param rnd      - random number generator to sample with
+     */
+    private void redeterminiseHiddenCards(int player, int observer, Random rnd) {
+        int[] counts = new int[CARD_TYPES.length];
+        DominionCard[] cardOfType = new DominionCard[CARD_TYPES.length];
+        int hidden = countHiddenCards(playerHands[player], observer, counts, cardOfType) +
+                countHiddenCards(playerDrawPiles[player], observer, counts, cardOfType);
+        if (hidden < 2)
+            return;
+        hidden = dealHiddenCards(playerHands[player], observer, counts, cardOfType, hidden, rnd);
+        dealHiddenCards(playerDrawPiles[player], observer, counts, cardOfType, hidden, rnd);
+    }
+
+    private static int countHiddenCards(PartialObservableDeck<DominionCard> deck, int observer, int[] counts,
+                                        DominionCard[] cardOfType) {
+        int hidden = 0;
+        for (int i = 0; i < deck.getSize(); i++) {
+            if (!deck.getVisibilityForPlayer(i, observer)) {
+                // DominionCards are immutable, so any one card of a type can stand for all of them
+                DominionCard card = deck.get(i);
+                counts[card.cardType().ordinal()]++;
+                cardOfType[card.cardType().ordinal()] = card;
+                hidden++;
+            }
+        }
+        return hidden;
+    }
+
+    private static int dealHiddenCards(PartialObservableDeck<DominionCard> deck, int observer, int[] counts,
+                                       DominionCard[] cardOfType, int hidden, Random rnd) {
+        for (int i = 0; i < deck.getSize(); i++) {
+            if (!deck.getVisibilityForPlayer(i, observer)) {
+                int pick = rnd.nextInt(hidden--);
+                int type = 0;
+                while (pick >= counts[type])
+                    pick -= counts[type++];
+                counts[type]--;
+                if (deck.get(i).cardType().ordinal() != type)
+                    deck.setComponent(i, cardOfType[type]);
+            }
+        }
+        return hidden;
+    }
+
     /**
      * Provide a simple numerical assessment of the current game state, the bigger the better.
      * Subjective heuristic function definition.
@@ -385,6 +449,14 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
             playerDiscards[i] = new Deck<>("Discard of Player " + i + 1, i, VISIBLE_TO_ALL);
             playerTableaux[i] = new Deck<>("Tableau of Player " + i + 1, i, VISIBLE_TO_ALL);
         }
+        // DominionCards are immutable, so copies of the state can share them (and the decks until they change)
+        trashPile.setCopyOnWrite(true);
+        for (int i = 0; i < nPlayers; i++) {
+            playerHands[i].setCopyOnWrite(true);
+            playerDrawPiles[i].setCopyOnWrite(true);
+            playerDiscards[i].setCopyOnWrite(true);
+            playerTableaux[i].setCopyOnWrite(true);
+        }
         super.reset();
     }
 
@@ -398,7 +470,7 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     protected boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof DominionGameState other)) return false;
-        return cardsIncludedInGame.equals(other.cardsIncludedInGame) &&
+        return Arrays.equals(supply, other.supply) &&
                 Arrays.equals(playerHands, other.playerHands) &&
                 Arrays.equals(playerResults, other.playerResults) &&
                 Arrays.equals(playerDiscards, other.playerDiscards) &&
@@ -414,7 +486,7 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(cardsIncludedInGame, trashPile, buysLeftForCurrentPlayer, gamePhase, gameStatus,
+        int result = Objects.hash(Arrays.hashCode(supply), trashPile, buysLeftForCurrentPlayer, gamePhase, gameStatus,
                 actionsLeftForCurrentPlayer, spentSoFar, additionalSpendAvailable, actionsInProgress, delayedActions);
         result = result + 31 * Arrays.hashCode(playerResults) + 743 * Arrays.hashCode(playerHands) + 353 * Arrays.hashCode(playerDiscards) +
                 11 * Arrays.hashCode(playerTableaux) + 41 * Arrays.hashCode(playerDrawPiles) + Arrays.hashCode(defenceStatus);
@@ -425,8 +497,8 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     public String toString() {
         StringBuilder retValue = new StringBuilder();
         retValue.append(String.format("Turn: %d, Current Player: %d, Phase: %s%n", getRoundCounter(), getCurrentPlayer(), gamePhase));
-        for (Map.Entry<CardType, Integer> s : cardsIncludedInGame.entrySet()) {
-            retValue.append(String.format("\t%2d %s%n", s.getValue(), s.getKey()));
+        for (CardType type : supplyTypes) {
+            retValue.append(String.format("\t%2d %s%n", supply[type.ordinal()], type));
         }
         for (int p = 0; p < getNPlayers(); p++) {
             retValue.append(String.format("Player: %d, Score: %2.0f, Hand: %d, Deck: %d, Discard: %d, Actions: %d, Buys: %d%n",
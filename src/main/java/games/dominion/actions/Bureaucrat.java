@@ -27,7 +27,7 @@ public class Bureaucrat extends DominionAttackAction {
     @Override
     boolean _execute(DominionGameState state) {
         // first we check to see if there is any silver
-        if (state.getCardsIncludedInGame().get(CardType.SILVER) > 0) {
+        if (state.cardsOfType(CardType.SILVER, -1, DeckType.SUPPLY) > 0) {
             // first gain a silver onto drawpile
             (new GainCard(CardType.SILVER, player, DeckType.DRAW)).execute(state);
             // and now everyone knows this
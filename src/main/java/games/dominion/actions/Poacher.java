@@ -23,9 +23,7 @@ public class Poacher extends DominionAction implements IExtendedSequence {
 
     @Override
     boolean _execute(DominionGameState state) {
-        cardsToDiscard = (int) state.cardsIncludedInGame().stream()
-                .filter(c -> state.cardsOfType(c, -1, DominionConstants.DeckType.SUPPLY) == 0)
-                .count();
+        cardsToDiscard = state.emptySupplyPiles();
         if (cardsToDiscard > 0) {
             state.setActionInProgress(this);
         }
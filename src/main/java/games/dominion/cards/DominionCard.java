@@ -4,9 +4,16 @@ import core.actions.AbstractAction;
 import core.components.Card;
 import games.dominion.DominionGameState;
 import games.dominion.actions.*;
+import utilities.Zobrist;
+
+import java.util.Arrays;
 
 public class DominionCard extends Card {
 
+    // The Zobrist key of each type of card, which is the same as Component would give from the name
+    private static final long[] ZOBRIST_KEYS = Arrays.stream(CardType.values())
+            .mapToLong(t -> Zobrist.mix(t.name().hashCode())).toArray();
+
     CardType type;
 
     protected DominionCard(CardType type) {
@@ -115,6 +122,12 @@ public class DominionCard extends Card {
         return type;
     }
 
+    @Override
+    public long getZobristKey() {
+        // looked up, as every card added to or removed from a Deck needs its key
+        return ZOBRIST_KEYS[type.ordinal()];
+    }
+
     @Override
     public DominionCard copy() {
         // Currently all cardTypes are immutable - so we can save resources when copying
@@ -54,9 +54,7 @@ public class DominionMetrics implements IMetricsCollection {
     public static class EmptySupplySlots extends AbstractMetric {
         @Override
         public boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
-            records.put("EmptySupplySlots", (int)((DominionGameState)e.state).cardsIncludedInGame().stream()
-                    .filter(c -> ((DominionGameState)e.state).cardsOfType(c, -1, DominionConstants.DeckType.SUPPLY) == 0)
-                    .count());
+            records.put("EmptySupplySlots", ((DominionGameState)e.state).emptySupplyPiles());
             return true;
         }
 
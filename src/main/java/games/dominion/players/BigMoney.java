@@ -3,6 +3,7 @@ package games.dominion.players;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
+import games.dominion.DominionConstants;
 import games.dominion.DominionGameState;
 import games.dominion.actions.BuyCard;
 import games.dominion.actions.EndPhase;
@@ -30,7 +31,7 @@ public class BigMoney extends AbstractPlayer {
         DominionGameState.DominionGamePhase phase = (DominionGameState.DominionGamePhase) state.getGamePhase();
         int player = gameState.getCurrentPlayer();
         int cash = state.availableSpend(player);
-        int provinces = state.getCardsIncludedInGame().getOrDefault(CardType.PROVINCE, 0);
+        int provinces = state.cardsOfType(CardType.PROVINCE, -1, DominionConstants.DeckType.SUPPLY);
 
         if (phase != DominionGameState.DominionGamePhase.Buy)
             return new EndPhase(phase);
@@ -49,7 +49,7 @@ public class DBGameState extends AbstractGameState {
 
     @Override
     protected AbstractGameState _copy(int playerId) {
-        DBGameState dbgs = new DBGameState(gameParameters, getNPlayers());
+        DBGameState dbgs = new DBGameState(gameParameters.frozenCopy(), getNPlayers());
         dbgs.edges = edges;
         dbgs.cells = cells;
         dbgs.edgeToCellMap = edgeToCellMap;
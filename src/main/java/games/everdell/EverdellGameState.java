@@ -215,7 +215,7 @@ public class EverdellGameState extends AbstractGameState {
      */
     @Override
     protected EverdellGameState _copy(int playerId) {
-        EverdellGameState copy = new EverdellGameState(gameParameters, getNPlayers());
+        EverdellGameState copy = new EverdellGameState(gameParameters.frozenCopy(), getNPlayers());
         // TODO: deep copy all variables to the new game state.
 
         copy.greenProductionMode = greenProductionMode;
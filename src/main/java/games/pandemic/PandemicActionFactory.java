@@ -255,7 +255,6 @@ class PandemicActionFactory {
 
         PropertyString playerLocationProperty = (PropertyString) pgs.getComponent(playerCardHash, playerId)
                 .getProperty(playerLocationHash);
-        String playerLocationName = playerLocationProperty.value;
         BoardNode playerLocationNode = pgs.world.getNodeByProperty(nameHash, playerLocationProperty);
         HashSet<BoardNode> neighbours = playerLocationNode.getNeighbours();
 
@@ -264,27 +263,32 @@ class PandemicActionFactory {
             actions.add(new MovePlayer(MovePlayer.MoveType.DriveFerry, playerId, ((PropertyString)otherCity.getProperty(nameHash)).value));
         }
 
+        // Flights with the city cards in hand. Each card's city is found on the board once (-1 if the card is not a
+        // city card), and then compared by board node ID rather than by name.
+        int playerLocationId = playerLocationNode.getComponentID();
+        int[] cardCityIds = new int[playerHand.getSize()];
+        for (int c = 0; c < playerHand.getSize(); c++){
+            Card card = playerHand.getComponents().get(c);
+            //  Check if card has country to determine if it is city card or not
+            BoardNode cardCity = card.getProperty(countryHash) == null ? null : pgs.world.getNodeByProperty(nameHash, card.getProperty(nameHash));
+            cardCityIds[c] = cardCity == null ? -1 : cardCity.getComponentID();
+        }
+
         // Iterate over all the cities in the world
         for (BoardNode bn: pgs.world.getBoardNodes()) {
-            String destination = ((PropertyString) bn.getProperty(nameHash)).value;
-
             if (!neighbours.contains(bn)) {  // Ignore neighbours, already covered in Drive/Ferry actions
-                for (int c = 0; c < playerHand.getSize(); c++){
-                    Card card = playerHand.getComponents().get(c);
-
-                    //  Check if card has country to determine if it is city card or not
-                    if ((card.getProperty(countryHash)) != null){
-                        String cardCity = ((PropertyString)card.getProperty(nameHash)).value;
-                        if (playerLocationName.equals(cardCity)){
-                            // Charter flight, discard card that matches your city and travel to any city
-                            // Only add the ones that are different from the current location
-                            if (!destination.equals(playerLocationName)) {
-                                actions.add(new MovePlayerWithCard(MovePlayer.MoveType.CharterFlight, playerId, destination, c, playerId));
-                            }
-                        } else if (destination.equals(cardCity)) {
-                            // Direct Flight, discard city card and travel to that city
-                            actions.add(new MovePlayerWithCard(MovePlayer.MoveType.DirectFlight, playerId, cardCity, c, playerId));
+                String destination = ((PropertyString) bn.getProperty(nameHash)).value;
+                for (int c = 0; c < cardCityIds.length; c++){
+                    if (cardCityIds[c] == -1) continue;
+                    if (cardCityIds[c] == playerLocationId){
+                        // Charter flight, discard card that matches your city and travel to any city
+                        // Only add the ones that are different from the current location
+                        if (bn.getComponentID() != playerLocationId) {
+                            actions.add(new MovePlayerWithCard(MovePlayer.MoveType.CharterFlight, playerId, destination, c, playerId));
                         }
+                    } else if (bn.getComponentID() == cardCityIds[c]) {
+                        // Direct Flight, discard city card and travel to that city
+                        actions.add(new MovePlayerWithCard(MovePlayer.MoveType.DirectFlight, playerId, destination, c, playerId));
                     }
                 }
             }
@@ -11,6 +11,7 @@ import core.properties.Property;
 import core.properties.PropertyLong;
 import core.properties.PropertyString;
 import core.rules.AbstractRuleBasedForwardModel;
+import core.rules.CompiledRuleGraph;
 import core.rules.GameOverCondition;
 import core.rules.Node;
 import core.rules.nodetypes.ConditionNode;
@@ -119,9 +120,6 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
 
         nextPlayerRule.setNext(root);
 
-        // Next rule to execute is root
-        nextRule = root;
-
         // Draw game tree from root
 //        new GameFlowDiagram(root);
     }
@@ -134,6 +132,14 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
         super(root);
     }
 
+    /**
+     * Copy constructor, sharing the compiled rule graph.
+     * @param rules - compiled rule graph.
+     */
+    private PandemicForwardModel(CompiledRuleGraph rules) {
+        super(rules);
+    }
+
     /**
      * Performs initial game setup according to game rules
      *  - sets up decks and shuffles
@@ -362,7 +368,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
 
     @Override
     protected AbstractForwardModel _copy() {
-        return new PandemicForwardModel(copyRoot());
+        return new PandemicForwardModel(getRules());
     }
 
     @Override
@@ -42,6 +42,8 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
     boolean epidemic;
     // How many cards the current player has drawn in their turn
     int nCardsDrawn;
+    // Player whose hand may be over capacity after the last card was moved by a player action (-1 if none)
+    int playerHandOverCapacity;
     // Keeps track of locations of all research stations (list of names of cities / board nodes)
     ArrayList<String> researchStationLocations;
 
@@ -125,6 +127,7 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
         quietNight = false;
         epidemic = false;
         nCardsDrawn = 0;
+        playerHandOverCapacity = -1;
         researchStationLocations = new ArrayList<>();
     }
 
@@ -137,6 +140,7 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
         return quietNight == that.quietNight &&
                 epidemic == that.epidemic &&
                 nCardsDrawn == that.nCardsDrawn &&
+                playerHandOverCapacity == that.playerHandOverCapacity &&
                 Objects.equals(areas, that.areas) &&
                 Objects.equals(tempDeck, that.tempDeck) &&
                 Objects.equals(world, that.world) &&
@@ -145,7 +149,7 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), areas, tempDeck, world, quietNight, epidemic, nCardsDrawn, researchStationLocations);
+        return Objects.hash(super.hashCode(), areas, tempDeck, world, quietNight, epidemic, nCardsDrawn, playerHandOverCapacity, researchStationLocations);
     }
 
     /**
@@ -202,6 +206,12 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
     public int getNCardsDrawn() {
         return nCardsDrawn;
     }
+    public void setPlayerHandOverCapacity(int playerHandOverCapacity) {
+        this.playerHandOverCapacity = playerHandOverCapacity;
+    }
+    public int getPlayerHandOverCapacity() {
+        return playerHandOverCapacity;
+    }
     public void clearTempDeck() {
         tempDeck.clear();
     }
@@ -222,7 +232,7 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
 
     @Override
     protected AbstractGameStateWithTurnOrder __copy(int playerId) {
-        PandemicGameState gs = new PandemicGameState(gameParameters.copy(), getNPlayers());
+        PandemicGameState gs = new PandemicGameState(gameParameters.frozenCopy(), getNPlayers());
 
         gs.areas = new HashMap<>();
         for(int key : areas.keySet())
@@ -255,6 +265,7 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
         gs.quietNight = quietNight;
         gs.epidemic = epidemic;
         gs.nCardsDrawn = nCardsDrawn;
+        gs.playerHandOverCapacity = playerHandOverCapacity;
 
         gs.researchStationLocations = new ArrayList<>(researchStationLocations);
 
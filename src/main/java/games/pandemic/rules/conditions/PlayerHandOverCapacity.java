@@ -32,8 +32,9 @@ public class PlayerHandOverCapacity extends ConditionNode {
         Deck<Card> playerDeck;
         PandemicGameState pgs = (PandemicGameState)gs;
 
+        int playerId = this.playerId;
         if (parent instanceof PlayerAction) {
-            playerId = ((PlayerAction) parent).getPlayerHandOverCapacity();
+            playerId = pgs.getPlayerHandOverCapacity();
         }
 
         if (playerId == -2) {
@@ -0,0 +1,235 @@
+package games.poker;
+
+import core.components.Deck;
+import core.components.FrenchCard;
+
+import java.util.Random;
+
+import static core.CoreConstants.GameResult.LOSE_GAME;
+
+/**
+ * Evaluates poker hands held as bit sets of cards: a long with one bit per card, at suit * 16 + (number - 2), so
+ * that each suit is a 13-bit set of numbers (from 2 up to the Ace at 14) in its own 16 bits.
+ * <p>
+ * evaluate() returns the rank of the best 5-card hand in a set of 5 to 7 cards as a single int, where a higher rank
+ * is a better hand, and equal ranks are a tie. It works from a few tables over the 8192 sets of numbers, made once,
+ * and allocates nothing. The category of the hand (see PokerGameState.PokerHand.of()) is in the top bits, followed
+ * by up to five numbers that break ties within the category, most important first.
+ * <p>
+ * Sets with fewer than 5 cards can be evaluated too (as happens at a showdown before all the community cards are
+ * dealt); their ranks can be compared with those of other sets of the same size.
+ */
+public class HandEvaluator {
+
+    // Hand categories, from worst to best
+    public static final int HIGH_CARD = 0, ONE_PAIR = 1, TWO_PAIR = 2, THREE_OF_A_KIND = 3, STRAIGHT = 4, FLUSH = 5,
+            FULL_HOUSE = 6, FOUR_OF_A_KIND = 7, STRAIGHT_FLUSH = 8;
+    private static final int CATEGORY_SHIFT = 20;
+    private static final int NUMBERS = 13;
+    private static final int ALL_NUMBERS = (1 << NUMBERS) - 1;
+
+    // The (up to) five highest numbers in each set of numbers, as 4-bit indices (0 for a 2, up to 12 for an Ace),
+    // highest first, starting at bit 16
+    private static final int[] topFive = new int[1 << NUMBERS];
+    // The index of the highest number in the best straight in each set of numbers, plus one, or 0 if there is none.
+    // An Ace also counts below the 2, in 5-4-3-2-A.
+    private static final int[] straightHigh = new int[1 << NUMBERS];
+
+    static {
+        for (int set = 1; set <= ALL_NUMBERS; set++) {
+            int packed = 0, n = 0;
+            for (int i = NUMBERS - 1; i >= 0 && n < 5; i--) {
+                if ((set & (1 << i)) != 0) {
+                    packed |= i << (4 * (4 - n));
+                    n++;
+                }
+            }
+            topFive[set] = packed;
+            int withLowAce = set << 1 | (set >>> (NUMBERS - 1));  // bit 0 is the Ace as 1, bit i + 1 the number i
+            for (int high = NUMBERS; high >= 4; high--) {
+                int run = 0x1F << (high - 4);
+                if ((withLowAce & run) == run) {
+                    straightHigh[set] = high;
+                    break;
+                }
+            }
+        }
+    }
+
+    private HandEvaluator() {
+    }
+
+    /**
+     * @return the bit for the card
+     */
+    public static long card(FrenchCard card) {
+        return 1L << (card.suite.ordinal() * 16 + card.number - 2);
+    }
+
+    /**
+     * @return the bits for all the cards in the deck
+     */
+    public static long cards(Deck<FrenchCard> deck) {
+        long cards = 0;
+        for (int i = 0; i < deck.getSize(); i++)
+            cards |= card(deck.get(i));
+        return cards;
+    }
+
+    /**
+     * Evaluates the best 5-card poker hand in the set of cards.
+     *
+     * @param cards - set of (usually 5 to 7) cards
+     * @return the rank of the best hand; the higher the better
+     */
+    public static int evaluate(long cards) {
+        int s0 = (int) cards & ALL_NUMBERS, s1 = (int) (cards >>> 16) & ALL_NUMBERS,
+                s2 = (int) (cards >>> 32) & ALL_NUMBERS, s3 = (int) (cards >>> 48) & ALL_NUMBERS;
+
+        int best = Math.max(Math.max(flushRank(s0), flushRank(s1)), Math.max(flushRank(s2), flushRank(s3)));
+        if (best >= rank(STRAIGHT_FLUSH, 0)) return best;
+
+        int numbers = s0 | s1 | s2 | s3;
+        int four = s0 & s1 & s2 & s3;
+        int threeOrMore = (s0 & s1 & s2) | (s0 & s1 & s3) | (s0 & s2 & s3) | (s1 & s2 & s3);
+        int twoOrMore = (s0 & s1) | (s0 & s2) | (s0 & s3) | (s1 & s2) | (s1 & s3) | (s2 & s3);
+        int three = threeOrMore & ~four;
+        int pairs = twoOrMore & ~threeOrMore;
+
+        if (four != 0) {
+            int top = Integer.highestOneBit(four);
+            return rank(FOUR_OF_A_KIND, index(top) << 4 | top(numbers & ~top, 1));
+        }
+        if (three != 0) {
+            int top = Integer.highestOneBit(three);
+            int rest = (three & ~top) | pairs;
+            if (rest != 0)
+                return rank(FULL_HOUSE, index(top) << 4 | index(Integer.highestOneBit(rest)));
+        }
+        if (best >= 0) return best;
+        if (straightHigh[numbers] > 0) return rank(STRAIGHT, straightHigh[numbers] - 1);
+        if (three != 0) {
+            int top = Integer.highestOneBit(three);
+            return rank(THREE_OF_A_KIND, index(top) << 8 | top(numbers & ~top, 2));
+        }
+        if (Integer.bitCount(pairs) >= 2) {
+            int first = Integer.highestOneBit(pairs);
+            int second = Integer.highestOneBit(pairs & ~first);
+            return rank(TWO_PAIR, index(first) << 8 | index(second) << 4 | top(numbers & ~first & ~second, 1));
+        }
+        if (pairs != 0) {
+            return rank(ONE_PAIR, index(pairs) << 12 | top(numbers & ~pairs, 3));
+        }
+        return rank(HIGH_CARD, topFive[numbers]);
+    }
+
+    // The rank of the best flush (or straight flush) in the numbers of one suit, or -1 if there is none
+    private static int flushRank(int suit) {
+        if (Integer.bitCount(suit) < 5) return -1;
+        int high = straightHigh[suit];
+        return high > 0 ? rank(STRAIGHT_FLUSH, high - 1) : rank(FLUSH, topFive[suit]);
+    }
+
+    /**
+     * @return the category of a hand rank from evaluate(), from HIGH_CARD to STRAIGHT_FLUSH
+     */
+    public static int category(int rank) {
+        return rank >>> CATEGORY_SHIFT;
+    }
+
+    private static int rank(int category, int tieBreak) {
+        return category << CATEGORY_SHIFT | tieBreak;
+    }
+
+    // The indices of the n highest numbers in the set, highest first
+    private static int top(int set, int n) {
+        return topFive[set] >>> (4 * (5 - n));
+    }
+
+    private static int index(int bit) {
+        return Integer.numberOfTrailingZeros(bit);
+    }
+
+    /**
+     * Estimates the equity of a hand: the share of the pot it would win at a showdown against opponents holding
+     * random cards, with the community cards still to come dealt at random. Ties share the pot.
+     *
+     * @param hand           - the player's own cards
+     * @param community      - the community cards dealt so far
+     * @param nCommunity     - number of community cards there will be at the showdown
+     * @param nOpponents     - number of opponents still in the hand
+     * @param nOpponentCards - number of cards each opponent holds
+     * @param known          - any other cards known to be out of play (so not held by opponents, nor to come)
+     * @param samples        - number of random deals to average over
+     * @param rnd            - random number generator for the deals
+     * @return the estimated equity, from 0 to 1
+     */
+    public static double estimateEquity(long hand, long community, int nCommunity, int nOpponents, int nOpponentCards,
+                                        long known, int samples, Random rnd) {
+        long used = hand | community | known;
+        int[] unseen = new int[52 - Long.bitCount(used)];
+        int n = 0;
+        for (int suit = 0; suit < 4; suit++)
+            for (int number = 0; number < NUMBERS; number++)
+                if ((used & 1L << (suit * 16 + number)) == 0)
+                    unseen[n++] = suit * 16 + number;
+        int toDeal = nCommunity - Long.bitCount(community);
+        if (toDeal < 0 || toDeal + nOpponents * nOpponentCards > n)
+            throw new IllegalArgumentException("Not enough unseen cards to deal");
+
+        double total = 0;
+        for (int s = 0; s < samples; s++) {
+            // a partial shuffle deals from the front of the unseen cards
+            int next = 0;
+            long board = community;
+            for (int i = 0; i < toDeal; i++)
+                board |= 1L << deal(unseen, next++, rnd);
+            int own = evaluate(hand | board);
+            int bestOpponent = -1, tied = 0;
+            for (int o = 0; o < nOpponents; o++) {
+                long opponent = board;
+                for (int i = 0; i < nOpponentCards; i++)
+                    opponent |= 1L << deal(unseen, next++, rnd);
+                int rank = evaluate(opponent);
+                if (rank > bestOpponent) {
+                    bestOpponent = rank;
+                    tied = 0;
+                }
+                if (rank == bestOpponent) tied++;
+            }
+            if (own > bestOpponent) total += 1;
+            else if (own == bestOpponent) total += 1.0 / (tied + 1);
+        }
+        return total / samples;
+    }
+
+    // Swaps a random card from those not yet dealt into position next, and returns it
+    private static int deal(int[] cards, int next, Random rnd) {
+        int pick = next + rnd.nextInt(cards.length - next);
+        int card = cards[pick];
+        cards[pick] = cards[next];
+        cards[next] = card;
+        return card;
+    }
+
+    /**
+     * The equity of a player's hand at a showdown against random opponent hands, from their point of view:
+     * only their own cards and the community cards are known.
+     *
+     * @param pgs      - game state
+     * @param playerId - player whose hand it is
+     * @param samples  - number of random deals to average over
+     * @param rnd      - random number generator for the deals
+     * @return the estimated equity, from 0 to 1
+     */
+    public static double estimateEquity(PokerGameState pgs, int playerId, int samples, Random rnd) {
+        PokerGameParameters params = (PokerGameParameters) pgs.getGameParameters();
+        int nOpponents = 0;
+        for (int i = 0; i < pgs.getNPlayers(); i++)
+            if (i != playerId && !pgs.playerFold[i] && pgs.getPlayerResults()[i] != LOSE_GAME)
+                nOpponents++;
+        int nCommunity = params.nFlopCards + params.nTurnCards + params.nRiverCards;
+        return estimateEquity(cards(pgs.playerDecks.get(playerId)), cards(pgs.communityCards), nCommunity,
+                nOpponents, params.nCardsPerPlayer, 0L, samples, rnd);
+    }
+}
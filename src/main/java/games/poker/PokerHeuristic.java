@@ -15,11 +15,17 @@ public class PokerHeuristic extends TunableParameters implements IStateHeuristic
     double FACTOR_MONEY = 0.8;
     double FACTOR_HAND = 0.2;
     double FACTOR_HAND_OVER_MONEY = 0.0;
+    double FACTOR_EQUITY = 0.0;
+    int EQUITY_SAMPLES = 100;
+    // only used for the random deals of the equity estimate, so that it does not disturb the game's own
+    private final Random equityRnd = new Random(0);
 
     public PokerHeuristic() {
         addTunableParameter("FACTOR_MONEY", 0.8);
         addTunableParameter("FACTOR_HAND", 0.2);
         addTunableParameter("FACTOR_HAND_OVER_MONEY", 0.0);
+        addTunableParameter("FACTOR_EQUITY", 0.0);
+        addTunableParameter("EQUITY_SAMPLES", 100);
     }
 
     @Override
@@ -27,6 +33,8 @@ public class PokerHeuristic extends TunableParameters implements IStateHeuristic
         FACTOR_MONEY = (double) getParameterValue("FACTOR_MONEY");
         FACTOR_HAND = (double) getParameterValue("FACTOR_HAND");
         FACTOR_HAND_OVER_MONEY = (double) getParameterValue("FACTOR_HAND_OVER_MONEY");
+        FACTOR_EQUITY = (double) getParameterValue("FACTOR_EQUITY");
+        EQUITY_SAMPLES = (int) getParameterValue("EQUITY_SAMPLES");
     }
 
     /**
@@ -40,6 +48,8 @@ public class PokerHeuristic extends TunableParameters implements IStateHeuristic
         retValue.FACTOR_MONEY = FACTOR_MONEY;
         retValue.FACTOR_HAND = FACTOR_HAND;
         retValue.FACTOR_HAND_OVER_MONEY = FACTOR_HAND_OVER_MONEY;
+        retValue.FACTOR_EQUITY = FACTOR_EQUITY;
+        retValue.EQUITY_SAMPLES = EQUITY_SAMPLES;
         return retValue;
     }
 
@@ -54,7 +64,8 @@ public class PokerHeuristic extends TunableParameters implements IStateHeuristic
         if (o instanceof PokerHeuristic) {
             PokerHeuristic other = (PokerHeuristic) o;
             return other.FACTOR_MONEY == FACTOR_MONEY && other.FACTOR_HAND == FACTOR_HAND &&
-                    other.FACTOR_HAND_OVER_MONEY == FACTOR_HAND_OVER_MONEY;
+                    other.FACTOR_HAND_OVER_MONEY == FACTOR_HAND_OVER_MONEY && other.FACTOR_EQUITY == FACTOR_EQUITY &&
+                    other.EQUITY_SAMPLES == EQUITY_SAMPLES;
         }
         return false;
     }
@@ -156,8 +167,12 @@ public class PokerHeuristic extends TunableParameters implements IStateHeuristic
                     break;
             }
         }
+        // the chance of winning a showdown, judged from only the player's own cards and the community cards
+        double equity = FACTOR_EQUITY == 0.0 || pgs.playerFold[playerId] ? 0.0 :
+                HandEvaluator.estimateEquity(pgs, playerId, EQUITY_SAMPLES, equityRnd);
         return value * FACTOR_HAND / 100.0 + pgs.playerMoney[playerId].getValue() / maxMoney * FACTOR_MONEY +
-                value * 1.0 / (pgs.playerMoney[playerId].getValue() + 1) * FACTOR_HAND_OVER_MONEY;
+                value * 1.0 / (pgs.playerMoney[playerId].getValue() + 1) * FACTOR_HAND_OVER_MONEY +
+                equity * FACTOR_EQUITY;
         // FACTOR_HAND_OVER_MONEY is purely for backwards compatibility with the original heuristic
     }
 
@@ -34,7 +34,7 @@ public class StrategoGameState extends AbstractGameState{
 
     @Override
     protected AbstractGameState _copy(int playerId) {
-        StrategoGameState s = new StrategoGameState(gameParameters.copy(), 2);
+        StrategoGameState s = new StrategoGameState(gameParameters.frozenCopy(), 2);
         s.gridBoard = gridBoard.emptyCopy();
         Piece.Alliance playerAlliance = null;
 
@@ -93,6 +93,11 @@ public class StrategoGameState extends AbstractGameState{
         return gridBoard.hashCode();
     }
 
+    @Override
+    protected long _getZobristHash() {
+        return gridBoard.getZobristHash();
+    }
+
     public GridBoard<Piece> getGridBoard() {
         return gridBoard;
     }
@@ -9,6 +9,7 @@ import games.stratego.StrategoParams;
 import games.stratego.actions.AttackMove;
 import games.stratego.actions.NormalMove;
 import utilities.Vector2D;
+import utilities.Zobrist;
 
 import java.awt.*;
 import java.util.ArrayList;
@@ -58,6 +59,15 @@ public class Piece extends Token {
         return this.alliance;
     }
 
+    /**
+     * Pieces of the same type and alliance are interchangeable. Whether the piece is known is not included, as that
+     * changes while the piece is on the board.
+     */
+    @Override
+    public long getZobristKey() {
+        return Zobrist.key(alliance.ordinal(), pieceType.ordinal());
+    }
+
     public boolean isPieceKnown(){
         return this.pieceKnown;
     }
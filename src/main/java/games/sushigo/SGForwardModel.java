@@ -272,6 +272,21 @@ public class SGForwardModel extends StandardForwardModel implements ITreeActionS
         return actions;
     }
 
+    /**
+     * The same choice as _computeAvailableActions(), without creating every ChooseCard.
+     */
+    @Override
+    protected AbstractAction _sampleAvailableAction(AbstractGameState gameState, Random rnd) {
+        SGGameState sggs = (SGGameState) gameState;
+        int currentPlayer = sggs.getCurrentPlayer();
+        int handSize = sggs.getPlayerHands().get(currentPlayer).getSize();
+        if (handSize == 0)
+            return null;
+        boolean chopsticks = sggs.playedCardTypes[currentPlayer].get(Chopsticks).getValue() > 0 && handSize > 1;
+        int choice = rnd.nextInt(chopsticks ? 2 * handSize : handSize);
+        return chopsticks ? new ChooseCard(currentPlayer, choice / 2, choice % 2 == 1) : new ChooseCard(currentPlayer, choice, false);
+    }
+
     @Override
     public ActionTreeNode initActionTree(AbstractGameState gameState) {
         /* action tree contains 2 branches: play and chopstick and subactions represent the card ids in hand */
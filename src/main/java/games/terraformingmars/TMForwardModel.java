@@ -30,6 +30,7 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
         TMGameState gs = (TMGameState) firstState;
         TMGameParameters params = (TMGameParameters) firstState.getGameParameters();
 
+        gs.countersById = null;  // all counters are created again below
         gs.playerResources = new HashMap[gs.getNPlayers()];
         gs.playerProduction = new HashMap[gs.getNPlayers()];
         gs.playerResourceMap = new HashSet[gs.getNPlayers()];
@@ -68,6 +68,9 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     Counter nMilestonesClaimed;
     Counter nAwardsFunded;
 
+    // Counters that requirements may refer to, by component ID (see getCounterById)
+    Map<Integer, Counter> countersById;
+
     /**
      * Constructor. Initialises some generic game state variables.
      *
@@ -119,7 +122,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
 
     @Override
     protected AbstractGameStateWithTurnOrder __copy(int playerId) {
-        TMGameState copy = new TMGameState(gameParameters.copy(), getNPlayers());
+        TMGameState copy = new TMGameState(gameParameters.frozenCopy(), getNPlayers());
 
         // General public info
         copy.generation = generation;
@@ -581,6 +584,26 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return null;
     }
 
+    /**
+     * Finds a global parameter, or a player's resource or production counter, by its component ID. These counters are
+     * only created in setup (and in a copy of the state), so they are indexed once, rather than rebuilding the list of
+     * all components as getComponentById() may have to.
+     *
+     * @param id - component ID of the counter
+     * @return the counter, or null if it is not a global parameter, resource or production counter
+     */
+    public Counter getCounterById(int id) {
+        if (countersById == null) {
+            countersById = new HashMap<>();
+            for (Counter c : globalParameters.values()) countersById.put(c.getComponentID(), c);
+            for (int i = 0; i < getNPlayers(); i++) {
+                for (Counter c : playerResources[i].values()) countersById.put(c.getComponentID(), c);
+                for (Counter c : playerProduction[i].values()) countersById.put(c.getComponentID(), c);
+            }
+        }
+        return countersById.get(id);
+    }
+
     public Counter stringToGPOrPlayerResCounter(String s, int player) {
         if (player == -1) player = getCurrentPlayer();
         Counter which = stringToGPCounter(s);
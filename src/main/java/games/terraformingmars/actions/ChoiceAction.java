@@ -4,10 +4,10 @@ import core.AbstractGameState;
 import core.actions.AbstractAction;
 import core.interfaces.IExtendedSequence;
 import games.terraformingmars.TMGameState;
-import games.terraformingmars.components.TMCard;
 import games.terraformingmars.rules.requirements.PlayableActionRequirement;
 import games.terraformingmars.rules.requirements.Requirement;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -16,6 +16,7 @@ import java.util.Objects;
 public class ChoiceAction extends TMAction implements IExtendedSequence {
     public TMAction[] actions;
     boolean finished;
+    int tickOffered = -1;
 
     public ChoiceAction() { super(); } // This is needed for JSON Deserializer
 
@@ -38,6 +39,7 @@ public class ChoiceAction extends TMAction implements IExtendedSequence {
             a.player = player;
             a.setCardID(getCardID());
         }
+        tickOffered = gameState.getGameTick();
         gameState.setActionInProgress(this);
         return true;
     }
@@ -45,12 +47,7 @@ public class ChoiceAction extends TMAction implements IExtendedSequence {
     @Override
     public boolean canBePlayed(TMGameState gs) {
         // "OR" behaviour on requirements instead of default "AND"
-        boolean played = false;
-        if (getCardID() != -1) {
-            TMCard c = (TMCard) gs.getComponentById(getCardID());
-            if (c != null && c.actionPlayed) played = true;
-        }
-        if (played && standardProject == null && basicResourceAction == null) return false;
+        if (cardActionPlayed(gs)) return false;
         if (requirements != null && requirements.size() > 0) {
             for (Requirement r: requirements) {
                 if (r.testCondition(gs)) return true;
@@ -61,7 +58,12 @@ public class ChoiceAction extends TMAction implements IExtendedSequence {
 
     @Override
     public List<AbstractAction> _computeAvailableActions(AbstractGameState state) {
-        return Arrays.asList(actions);
+        // Only the options the player can still afford; the choice as a whole was playable if any of them was
+        List<AbstractAction> playable = new ArrayList<>();
+        for (TMAction a: actions) {
+            if (a.canBePlayed((TMGameState) state)) playable.add(a);
+        }
+        return playable.isEmpty() ? Arrays.asList(actions) : playable;
     }
 
     @Override
@@ -76,7 +78,9 @@ public class ChoiceAction extends TMAction implements IExtendedSequence {
 
     @Override
     public boolean executionComplete(AbstractGameState state) {
-        return finished;
+        // If the chosen option starts a sequence of its own (e.g. picking a card to add resources to), that sequence
+        // is told about the option instead of this one, so the choice is also over once any action has followed it
+        return finished || tickOffered != -1 && state.getGameTick() > tickOffered;
     }
 
     @Override
@@ -89,6 +93,7 @@ public class ChoiceAction extends TMAction implements IExtendedSequence {
         }
         ChoiceAction copy = new ChoiceAction(player, acopy);
         copy.finished = finished;
+        copy.tickOffered = tickOffered;
         return copy;
     }
 
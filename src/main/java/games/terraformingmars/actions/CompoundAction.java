@@ -43,6 +43,9 @@ public class CompoundAction extends TMAction{
             }
             a.player = player;
             a.setCardID(getCardID());
+            if (a instanceof ModifyGlobalParameter && !a.canBePlayed(gameState)) {
+                continue;  // An earlier action, or a bonus it triggered, already took this parameter to its maximum
+            }
             s &= a.execute(gameState);
         }
         return s;
@@ -45,12 +45,9 @@ public class DuplicateImmediateEffect extends TMAction implements IExtendedSeque
             for (TMCard card : gameState.getPlayedCards()[player].getComponents()) {
                 for (TMTypes.Tag t : card.tags) {
                     if (t == tagRequirement) {
-                        for (TMAction action : card.immediateEffects) {
-                            if (action.getClass().getSimpleName().equalsIgnoreCase(actionClassName) && (!actionClassName.equalsIgnoreCase("ModifyPlayerResource") || ((ModifyPlayerResource) action).production == production)) {
-                                gameState.getPlayerCardChoice()[player].add(card);
-                                found = true;
-                                break;
-                            }
+                        if (canDuplicate(gameState, card)) {
+                            gameState.getPlayerCardChoice()[player].add(card);
+                            found = true;
                         }
                         if (found) {
                             gameState.setActionInProgress(this);
@@ -64,7 +61,7 @@ public class DuplicateImmediateEffect extends TMAction implements IExtendedSeque
             // Execute all effects that match this on the card
             TMCard card = (TMCard) gameState.getComponentById(getCardID());
             for (TMAction action : card.immediateEffects) {
-                if (action.getClass().getSimpleName().equalsIgnoreCase(actionClassName) && (!actionClassName.equalsIgnoreCase("ModifyPlayerResource") || ((ModifyPlayerResource) action).production == production)) {
+                if (matches(action)) {
                     action.player = player;
                     action.execute(gameState);
                 }
@@ -73,6 +70,23 @@ public class DuplicateImmediateEffect extends TMAction implements IExtendedSeque
         return true;
     }
 
+    private boolean matches(TMAction action) {
+        return action.getClass().getSimpleName().equalsIgnoreCase(actionClassName) && (!actionClassName.equalsIgnoreCase("ModifyPlayerResource") || ((ModifyPlayerResource) action).production == production);
+    }
+
+    private boolean canDuplicate(TMGameState gs, TMCard card) {
+        // A card can be chosen if it has effects of this type, and the player can afford all of them (e.g. production decreases)
+        boolean any = false;
+        for (TMAction action : card.immediateEffects) {
+            if (matches(action)) {
+                action.player = player;
+                if (!action.canBePlayed(gs)) return false;
+                any = true;
+            }
+        }
+        return any;
+    }
+
     @Override
     public List<AbstractAction> _computeAvailableActions(AbstractGameState state) {
         // Choose card from card choice, and execute all effects that match this
@@ -91,6 +105,8 @@ public class DuplicateImmediateEffect extends TMAction implements IExtendedSeque
 
     @Override
     public void _afterAction(AbstractGameState state, AbstractAction action) {
+        // Only choosing a card ends this; the action that triggered it (e.g. playing a card) is passed here first
+        if (!(action instanceof DuplicateImmediateEffect)) return;
         setCardID(((TMAction)action).getCardID());
         TMGameState gs = (TMGameState) state;
         gs.getPlayerCardChoice()[player].clear();
@@ -7,6 +7,7 @@ import core.interfaces.IExtendedSequence;
 import games.terraformingmars.TMGameState;
 import games.terraformingmars.TMTypes;
 import games.terraformingmars.components.TMMapTile;
+import games.terraformingmars.rules.requirements.Requirement;
 import games.terraformingmars.rules.requirements.ResourceRequirement;
 
 import java.util.ArrayList;
@@ -92,6 +93,20 @@ public class ModifyPlayerResource extends TMModifyCounter implements IExtendedSe
         }
     }
 
+    @Override
+    public boolean canBePlayed(TMGameState gs) {
+        if (player < 0 || player == gs.getCurrentPlayer()) return super.canBePlayed(gs);
+        // Resolving a card can trigger another player's effect (e.g. one for a city placed) which then waits on top
+        // of the stack, making them the current player: "your" resources are still those of this action's player
+        if (cardActionPlayed(gs)) return false;
+        if (requirements == null) return true;
+        for (Requirement<TMGameState> r : requirements) {
+            boolean met = r instanceof ResourceRequirement ? ((ResourceRequirement) r).testCondition(gs, player) : r.testCondition(gs);
+            if (!met) return false;
+        }
+        return true;
+    }
+
     @Override
     public boolean _execute(TMGameState gs) {
         if (!complete && (targetPlayer == -2 || counterResource != null)) {
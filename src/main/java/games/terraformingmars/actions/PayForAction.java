@@ -2,12 +2,14 @@ package games.terraformingmars.actions;
 
 import core.AbstractGameState;
 import core.actions.AbstractAction;
+import core.components.Counter;
 import core.interfaces.IExtendedSequence;
 import games.terraformingmars.TMGameParameters;
 import games.terraformingmars.TMGameState;
 import games.terraformingmars.TMTypes;
 import games.terraformingmars.components.TMCard;
 import games.terraformingmars.rules.requirements.PlayableActionRequirement;
+import games.terraformingmars.rules.requirements.Requirement;
 
 import java.util.*;
 
@@ -98,9 +100,12 @@ public class PayForAction extends TMAction implements IExtendedSequence {
         int min = Math.max(0, (int)(Math.ceil(remaining/rate)));
         int max = Math.min(gs.getPlayerResources()[player].get(res).getValue(), (int)(Math.ceil((getCost() - costPaid)/rate)));
 
-        // Can pay between min and max of this resource
+        // Can pay between min and max of this resource, as long as enough is left for the action itself (e.g. heat it spends)
+        Counter counter = gs.getPlayerResources()[player].get(res);
         for (int i = min; i <= max; i++) {
-            actions.add(new ModifyPlayerResource(player, -i, res, false));
+            if (stillPlayableAfterPaying(gs, counter, i)) {
+                actions.add(new ModifyPlayerResource(player, -i, res, false));
+            }
         }
 
         if (actions.size() == 0) {
@@ -110,6 +115,20 @@ public class PayForAction extends TMAction implements IExtendedSequence {
         return actions;
     }
 
+    private boolean stillPlayableAfterPaying(TMGameState gs, Counter counter, int amount) {
+        if (amount == 0) return true;
+        counter.decrement(amount);
+        boolean playable = true;
+        for (Requirement<TMGameState> r : action.requirements) {
+            if (r != action.costRequirement && !r.testCondition(gs)) {
+                playable = false;
+                break;
+            }
+        }
+        counter.increment(amount);
+        return playable;
+    }
+
     @Override
     public int getCurrentPlayer(AbstractGameState state) {
         return player;
@@ -121,7 +140,7 @@ public class PayForAction extends TMAction implements IExtendedSequence {
             // Shouldn't happen
             stage = resourcesToPayWith.length;
             this.action.player = player;
-            this.action.requirements.remove(costRequirement);
+            this.action.requirements.remove(this.action.costRequirement);  // Already paid for
             this.action.execute(state);
             return;
         }
@@ -132,7 +151,7 @@ public class PayForAction extends TMAction implements IExtendedSequence {
         if (costPaid >= getCost()) {
             // Action paid for, execute
             this.action.player = player;
-            this.action.requirements.remove(costRequirement);
+            this.action.requirements.remove(this.action.costRequirement);  // Already paid for
             this.action.execute(state);
             stage = resourcesToPayWith.length;
         }
@@ -77,6 +77,9 @@ public class PlayCard extends TMAction {
         for (TMAction aa: card.immediateEffects) {
             card.actionPlayed = false;  // This is set by each action, preventing the next ones, but we want all to be executed
             aa.player = player;
+            if (aa instanceof ModifyGlobalParameter && !aa.canBePlayed(gs)) {
+                continue;  // An earlier effect, or a bonus it triggered, already took this parameter to its maximum
+            }
             aa.execute(gs);
         }
         card.actionPlayed = false;  // We've not executed the active card action
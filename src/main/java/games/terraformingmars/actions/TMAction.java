@@ -119,12 +119,7 @@ public class TMAction extends AbstractAction {
     }
 
     public boolean canBePlayed(TMGameState gs) {
-        boolean played = false;
-        if (getCardID() != -1) {
-            TMCard c = (TMCard) gs.getComponentById(getCardID());
-            if (c != null && c.actionPlayed) played = true;
-        }
-        if (played && standardProject == null && basicResourceAction == null) return false;
+        if (cardActionPlayed(gs)) return false;
         if (requirements != null && requirements.size() > 0) {
             for (Requirement r: requirements) {
                 if (!r.testCondition(gs)) return false;
@@ -133,6 +128,19 @@ public class TMAction extends AbstractAction {
         return true;
     }
 
+    /**
+     * Checks if this is the action of an active (or corporation) card which has already been used this generation.
+     * Only actions of type ActiveAction are the card's own action: any other action with a card ID refers to a card
+     * it acts on (for example one to add resources to, or to sell), which may have used its own action already.
+     * @param gs - current game state
+     * @return - true if this is a card action, and the card's action has been played this generation
+     */
+    protected boolean cardActionPlayed(TMGameState gs) {
+        if (actionType != TMTypes.ActionType.ActiveAction || getCardID() == -1) return false;
+        TMCard c = (TMCard) gs.getComponentById(getCardID());
+        return c != null && c.actionPlayed;
+    }
+
     public boolean _execute(TMGameState gameState) { return true; }
 
     @Override
@@ -160,7 +168,7 @@ public class TMAction extends AbstractAction {
             if (c != null) {
                 if (!c.firstActionExecuted && c.firstAction != null) {
                     c.firstActionExecuted = true;
-                } else if (c.cardType == TMTypes.CardType.Active || c.cardType == TMTypes.CardType.Corporation) {
+                } else if (actionType == TMTypes.ActionType.ActiveAction && (c.cardType == TMTypes.CardType.Active || c.cardType == TMTypes.CardType.Corporation)) {
                     c.actionPlayed = true;
                 }
             }
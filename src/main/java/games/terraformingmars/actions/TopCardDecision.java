@@ -52,14 +52,19 @@ public class TopCardDecision extends TMAction implements IExtendedSequence {
         TMGameState gs = (TMGameState) state;
         int cardId = gs.getPlayerCardChoice()[player].get(0).getComponentID();
         if (nCardsLook == 1 || nCardsKept < nCardsKeep) {
+            TMAction keep;
             if (buy) {
                 int cost = ((TMGameParameters)gs.getGameParameters()).getProjectPurchaseCost();
-                actions.add(new PayForAction(player, new BuyCard(player, cardId, cost)));
+                keep = new PayForAction(player, new BuyCard(player, cardId, cost));
             } else {
-                actions.add(new BuyCard(player, cardId, 0));
+                keep = new BuyCard(player, cardId, 0);
+            }
+            if (keep.canBePlayed(gs)) {
+                actions.add(keep);
             }
         }
-        if (nCardsLook == 1 || nCardsLook - stage > nCardsKeep - nCardsKept) {
+        // The card is discarded if it is not kept, or cannot be (if the player cannot pay for it)
+        if (actions.isEmpty() || nCardsLook == 1 || nCardsLook - stage > nCardsKeep - nCardsKept) {
             actions.add(new DiscardCard(player, cardId, true));
         }
         return actions;
@@ -107,8 +107,10 @@ public class TMMapTile extends Component {
             TMTypes.GlobalParameter gp = which.getGlobalParameterToIncrease();
             setTilePlaced(which, gs);
             if (gp != null) {
-                // Increase global parameter
-                return new ModifyGlobalParameter(gp, 1, true).execute(gs);
+                // Increase global parameter, unless it has already reached its maximum (the tile is still placed)
+                ModifyGlobalParameter increase = new ModifyGlobalParameter(gp, 1, true);
+                increase.player = player;
+                return !increase.canBePlayed(gs) || increase.execute(gs);
             }
             return true;
         }
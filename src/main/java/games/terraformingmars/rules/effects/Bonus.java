@@ -29,7 +29,10 @@ public class Bonus {
             if (c.getValueIdx() >= threshold-1) {  // -1 because this is checked right before the increase
                 effect.player = gs.getCurrentPlayer();
                 claimed = effect.player;
-                effect.execute(gs);
+                // The bonus is lost if it would raise a parameter that has already reached its maximum
+                if (effect.canBePlayed(gs)) {
+                    effect.execute(gs);
+                }
             }
         }
     }
@@ -23,7 +23,9 @@ public abstract class Effect {
     public void execute(TMGameState gs, TMAction actionTaken, int player) {
         if (canExecute(gs, actionTaken, player)) {
             effectAction.player = player;
-            this.effectAction.execute(gs);
+            if (effectAction.canBePlayed(gs)) {
+                this.effectAction.execute(gs);
+            }
         }
     }
 
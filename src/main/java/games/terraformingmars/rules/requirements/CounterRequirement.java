@@ -104,8 +104,11 @@ public class CounterRequirement implements Requirement<TMGameState> {
                 thresholdIdx = Utils.indexOf(which.getValues(), thresholdIdx);
             }
         } else {
-            gs.getAllComponents();
-            which = (Counter) gs.getComponentById(counterID);
+            which = gs.getCounterById(counterID);
+            if (which == null) {
+                gs.getAllComponents();
+                which = (Counter) gs.getComponentById(counterID);
+            }
         }
 
         if (max && thresholdIdx == -1) {
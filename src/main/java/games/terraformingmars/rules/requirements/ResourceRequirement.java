@@ -26,6 +26,14 @@ public class ResourceRequirement implements Requirement<TMGameState> {
 
     @Override
     public boolean testCondition(TMGameState gs) {
+        return testCondition(gs, gs.getCurrentPlayer());
+    }
+
+    /**
+     * Tests this requirement, with the given player in place of the current player (when the requirement is for
+     * whoever is taking the action).
+     */
+    public boolean testCondition(TMGameState gs, int currentPlayer) {
         if (amount == 0) return true;
 
         TMCard card = null;
@@ -34,7 +42,7 @@ public class ResourceRequirement implements Requirement<TMGameState> {
         }
         int p = player;
         if (p == -1) {
-            p = gs.getCurrentPlayer();
+            p = currentPlayer;
         } else if (p == -2) {
             // Can any player pay?
             if (resource == TMTypes.Resource.Card) {
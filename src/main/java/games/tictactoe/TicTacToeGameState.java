@@ -38,7 +38,7 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
 
     @Override
     protected TicTacToeGameState _copy(int playerId) {
-        TicTacToeGameState s = new TicTacToeGameState(gameParameters.copy(), getNPlayers());
+        TicTacToeGameState s = new TicTacToeGameState(gameParameters.frozenCopy(), getNPlayers());
         s.gridBoard = gridBoard.copy();
         return s;
     }
@@ -73,6 +73,11 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
     public int hashCode() {
         return Objects.hash(super.hashCode(), gridBoard);
     }
+
+    @Override
+    protected long _getZobristHash() {
+        return gridBoard.getZobristHash();
+    }
     @Override
     public String toString() {
         return Objects.hash(gameParameters) + "|" +
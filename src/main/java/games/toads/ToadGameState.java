@@ -63,8 +63,7 @@ public class ToadGameState extends AbstractGameState {
 
     @Override
     protected ToadGameState _copy(int playerId) {
-        ToadParameters params = (ToadParameters) this.gameParameters;
-        ToadGameState copy = new ToadGameState(params.shallowCopy(), getNPlayers());
+        ToadGameState copy = new ToadGameState(gameParameters.frozenCopy(), getNPlayers());
         copy.playerDecks = new ArrayList<>();
         for (PartialObservableDeck<ToadCard> deck : playerDecks) {
             copy.playerDecks.add(deck.copy());
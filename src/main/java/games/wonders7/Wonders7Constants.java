@@ -44,4 +44,13 @@ public class Wonders7Constants {
         }
         return map;
     }
+
+    public static int[] createResourceArray(Map<Resource, Long> resources) {
+        // The same resource counts as an array indexed by Resource.ordinal(), which is how game states hold them
+        int[] array = new int[Resource.values().length];
+        for (Map.Entry<Resource, Long> e : resources.entrySet()) {
+            array[e.getKey().ordinal()] = e.getValue().intValue();
+        }
+        return array;
+    }
 }
@@ -11,7 +11,6 @@ import games.wonders7.cards.Wonder7Card;
 import utilities.Pair;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static games.wonders7.Wonders7Constants.Resource.*;
 import static games.wonders7.Wonders7Constants.createCardHash;
@@ -29,12 +28,8 @@ public class Wonders7ForwardModel extends StandardForwardModel {
         wgs.currentAge = 1;
         wgs.direction = 1;
 
-        // Then fills every player's hashmaps, so each player has 0 of each resource
-        for (int i = 0; i < wgs.getNPlayers(); i++) { // For each
-            for (Wonders7Constants.Resource type : Wonders7Constants.Resource.values()) {
-                wgs.playerResources.get(i).put(type, 0);
-            }
-        }
+        // Then empties every player's resources, so each player has 0 of each resource
+        wgs.playerResources = new int[wgs.getNPlayers()][Wonders7Constants.Resource.values().length];
 
         //System.out.println("THE GAME HAS STARTED");
         wgs.playerHands = new ArrayList<>();
@@ -61,14 +56,9 @@ public class Wonders7ForwardModel extends StandardForwardModel {
             wgs.setPlayerWonderBoard(player, wgs.wonderBoardDeck.draw());// Each player has one designated Wonder board
 
             // Players get their wonder board manufacturedGoods added to their resources
-            Set<Wonders7Constants.Resource> keys = wgs.getPlayerWonderBoard(player).type.resourcesProduced.keySet(); // Gets all the resources the stage provides
-            for (Wonders7Constants.Resource resource : keys) {  // Goes through all keys for each resource
-                int stageValue = Math.toIntExact(wgs.getPlayerWonderBoard(player).type.resourcesProduced.get(resource)); // Number of resource the card provides
-                int playerValue = wgs.getPlayerResources(player).get(resource); // Number of resource the player owns
-                wgs.getPlayerResources(player).put(resource, stageValue + playerValue); // Adds the resources provided by the stage to the players resource count
-            }
+            wgs.addResources(player, wgs.getPlayerWonderBoard(player).type.production);
             // add coins
-            wgs.getPlayerResources(player).put(Coin, params.startingCoins);
+            wgs.setResource(player, Coin, params.startingCoins);
         }
 
         ageSetup(wgs); // Shuffles deck and fills player hands, sets the turn owner
@@ -171,40 +161,56 @@ public class Wonders7ForwardModel extends StandardForwardModel {
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
         Wonders7GameState wgs = (Wonders7GameState) gameState;
         int player = wgs.getCurrentPlayer();
-        Deck<Wonder7Card> playerHand = wgs.getPlayerHand(player);
-        Set<AbstractAction> actions = new LinkedHashSet<>();
+        List<Wonder7Card> cards = distinctCards(wgs.getPlayerHand(player));
+        List<AbstractAction> actions = new ArrayList<>(cards.size() * 4);
 
         // If player has the prerequisite card/enough resources/the card is free/the player can pay for the resources to play the card
-        for (Wonder7Card card : playerHand.getComponents()) { // Goes through each card in hand
+        for (Wonder7Card card : cards) { // Goes through each card in hand
             if (card.isAlreadyPlayed(player, wgs)) continue;
 
             if (card.isFree(player, wgs)) { // Checks if player has prerequisite
-                actions.add((new PlayCard(player, card.cardName, true)));
-            } else if (card.isPlayable(player, wgs)) {  // Meets the costs / can pay neighbours for resources
-                actions.add(new PlayCard(player, card.cardName, false));
+                actions.add(new ChooseCard(new PlayCard(player, card.cardName, true)));
+            } else if (wgs.getCoinsToBuild(player, card.cost) >= 0) {  // Meets the costs / can pay neighbours for resources
+                actions.add(new ChooseCard(new PlayCard(player, card.cardName, false)));
             }
         }
 
         // If next stage is playable or not
         if (wgs.getPlayerWonderBoard(player).isPlayable(wgs)) {
-            for (int i = 0; i < playerHand.getSize(); i++) { // Goes through each card in hand
-                actions.add(new BuildStage(player, playerHand.get(i).cardName));
+            for (Wonder7Card card : cards) { // Goes through each card in hand
+                actions.add(new ChooseCard(new BuildStage(player, card.cardName)));
             }
         }
 
         // All player can use special effect on wonder board
         if ((!wgs.getPlayerWonderBoard(player).effectUsed)) {
-            for (int i = 0; i < playerHand.getSize(); i++) { // Goes through each card in hand
-                actions.add(new SpecialEffect(player, playerHand.get(i).cardName));
+            for (Wonder7Card card : cards) { // Goes through each card in hand
+                actions.add(new ChooseCard(new SpecialEffect(player, card.cardName)));
             }
         }
 
         // All discard-able cards in player hand
-        for (int i = 0; i < playerHand.getSize(); i++) {
-            actions.add(new DiscardCard(playerHand.get(i).cardName, player));
+        for (Wonder7Card card : cards) {
+            actions.add(new ChooseCard(new DiscardCard(card.cardName, player)));
         }
 
-        return actions.stream().map(ChooseCard::new).collect(Collectors.toList());
+        return actions;
+    }
+
+    // The cards in hand, leaving out any with the same name as an earlier card (as the actions would be the same)
+    private List<Wonder7Card> distinctCards(Deck<Wonder7Card> playerHand) {
+        List<Wonder7Card> cards = new ArrayList<>(playerHand.getSize());
+        for (Wonder7Card card : playerHand.getComponents()) {
+            boolean duplicate = false;
+            for (Wonder7Card other : cards) {
+                if (other.cardName.equals(card.cardName)) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (!duplicate) cards.add(card);
+        }
+        return cards;
     }
 
     protected void createWonderDeck(Wonders7GameState wgs) {
@@ -232,12 +238,12 @@ public class Wonders7ForwardModel extends StandardForwardModel {
             // Resolves military conflicts
             for (int i = 0; i < wgs.getNPlayers(); i++) {
                 int nextplayer = (i + 1) % wgs.getNPlayers();
-                if (wgs.getPlayerResources(i).get(Shield) > wgs.getPlayerResources(nextplayer).get(Shield)) { // IF PLAYER i WINS
-                    wgs.getPlayerResources(i).put(Victory, wgs.getPlayerResources(i).get(Victory) + (2 * wgs.currentAge - 1)); // 2N-1 POINTS FOR PLAYER i
-                    wgs.getPlayerResources(nextplayer).put(Victory, wgs.getPlayerResources(nextplayer).get(Victory) - 1); // -1 FOR THE PLAYER i+1
-                } else if (wgs.getPlayerResources(i).get(Shield) < wgs.getPlayerResources(nextplayer).get(Shield)) { // IF PLAYER i+1 WINS
-                    wgs.getPlayerResources(i).put(Victory, wgs.getPlayerResources(i).get(Victory) - 1);// -1 POINT FOR THE PLAYER i
-                    wgs.getPlayerResources(nextplayer).put(Victory, wgs.getPlayerResources(nextplayer).get(Victory) + (2 * wgs.currentAge - 1));// 2N-1 POINTS FOR PLAYER i+1
+                if (wgs.getResource(i, Shield) > wgs.getResource(nextplayer, Shield)) { // IF PLAYER i WINS
+                    wgs.addResource(i, Victory, 2 * wgs.currentAge - 1); // 2N-1 POINTS FOR PLAYER i
+                    wgs.addResource(nextplayer, Victory, -1); // -1 FOR THE PLAYER i+1
+                } else if (wgs.getResource(i, Shield) < wgs.getResource(nextplayer, Shield)) { // IF PLAYER i+1 WINS
+                    wgs.addResource(i, Victory, -1);// -1 POINT FOR THE PLAYER i
+                    wgs.addResource(nextplayer, Victory, 2 * wgs.currentAge - 1);// 2N-1 POINTS FOR PLAYER i+1
                 }
             }
 
@@ -254,30 +260,29 @@ public class Wonders7ForwardModel extends StandardForwardModel {
             // treasury, scientific, commercial and finally guilds
             for (int i = 0; i < wgs.getNPlayers(); i++) {
 
-                int vp = wgs.getPlayerResources(i).get(Victory);
+                int vp = wgs.getResource(i, Victory);
                 // Treasury
-                vp += wgs.getPlayerResources(i).get(Coin) / 3;
+                vp += wgs.getResource(i, Coin) / 3;
                 // Scientific
-                vp += (int) Math.pow(wgs.getPlayerResources(i).get(Cog), 2);
-                vp += (int) Math.pow(wgs.getPlayerResources(i).get(Compass), 2);
-                vp += (int) Math.pow(wgs.getPlayerResources(i).get(Tablet), 2);
+                int cogs = wgs.getResource(i, Cog), compasses = wgs.getResource(i, Compass), tablets = wgs.getResource(i, Tablet);
+                vp += cogs * cogs + compasses * compasses + tablets * tablets;
                 // Sets of different science symbols
-                vp += 7 * Math.min(Math.min(wgs.getPlayerResources(i).get(Cog), wgs.getPlayerResources(i).get(Compass)), wgs.getPlayerResources(i).get(Tablet));
+                vp += 7 * Math.min(Math.min(cogs, compasses), tablets);
 
-                wgs.getPlayerResources(i).put(Victory, vp);
+                wgs.setResource(i, Victory, vp);
             }
 
             int winner = 0;
             for (int i = 0; i < wgs.getNPlayers(); i++) {
                 // If a player has more victory points
-                if (wgs.getPlayerResources(i).get(Victory) > wgs.getPlayerResources(winner).get(Victory)) {
+                if (wgs.getResource(i, Victory) > wgs.getResource(winner, Victory)) {
                     wgs.setPlayerResult(CoreConstants.GameResult.LOSE_GAME, winner); // SETS PREVIOUS WINNER AS LOST
                     wgs.setPlayerResult(CoreConstants.GameResult.WIN_GAME, i); // SETS NEW WINNER AS PLAYER i
                     winner = i;
                 }
                 // In a tie, break with coins
-                else if (wgs.getPlayerResources(i).get(Victory).equals(wgs.getPlayerResources(winner).get(Victory))) {
-                    if (wgs.getPlayerResources(i).get(Coin) >= wgs.getPlayerResources(winner).get(Coin)) {
+                else if (wgs.getResource(i, Victory) == wgs.getResource(winner, Victory)) {
+                    if (wgs.getResource(i, Coin) >= wgs.getResource(winner, Coin)) {
                         wgs.setPlayerResult(CoreConstants.GameResult.LOSE_GAME, winner);
                         wgs.setPlayerResult(CoreConstants.GameResult.WIN_GAME, i);
                         winner = i;
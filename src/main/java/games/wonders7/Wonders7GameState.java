@@ -11,12 +11,12 @@ import games.wonders7.cards.Wonder7Board;
 
 import java.util.*;
 
-import static core.CoreConstants.VisibilityMode.VISIBLE_TO_ALL;
+import static games.wonders7.Wonders7Constants.Resource.*;
 
 public class Wonders7GameState extends AbstractGameState {
 
     int currentAge; // int from 1,2,3 of current age
-    List<HashMap<Wonders7Constants.Resource, Integer>> playerResources; // Each player's full resource counts
+    int[][] playerResources; // Each player's full resource counts, indexed by Resource.ordinal()
     List<Deck<Wonder7Card>> playerHands; // Player Hands
     List<Deck<Wonder7Card>> playedCards; // Player used cards
     Deck<Wonder7Card> ageDeck; // The 'draw deck' for the Age
@@ -29,14 +29,18 @@ public class Wonders7GameState extends AbstractGameState {
 
     protected Random cardRnd;
 
+    // Memo of getCoinsToBuild() for each player: the costs asked about since the resources of the player (or of either
+    // neighbour) last changed, with their answers. This is not copied, and is not part of the game state.
+    private static final int MEMO_SIZE = 16;
+    private int[][][] memoCosts;
+    private int[][] memoCoins;
+    private int[] memoSize;
+
     public Wonders7GameState(AbstractParameters gameParameters, int nPlayers) {
         super(gameParameters, nPlayers);
 
         // Each player starts off with no resources
-        playerResources = new ArrayList<>(); // New arraylist , containing different hashmaps for each player
-        for (int i = 0; i < getNPlayers(); i++) {
-            playerResources.add(new HashMap<>());
-        }
+        playerResources = new int[getNPlayers()][Wonders7Constants.Resource.values().length];
     }
 
     @Override
@@ -46,6 +50,7 @@ public class Wonders7GameState extends AbstractGameState {
         // then this seed is fixed. The game random seed will be used in all cases where these are -1 (the default)
         Wonders7GameParameters params = (Wonders7GameParameters) gameParameters;
         cardRnd = params.cardShuffleSeed == -1 ? rnd : new Random(params.cardShuffleSeed);
+        memoSize = null;
     }
 
     @Override
@@ -68,9 +73,9 @@ public class Wonders7GameState extends AbstractGameState {
         // Including components that player with the given ID will see.
         // For example, some decks may be face down and unobservable to the player
         // All the components in the observation should be copies of those in the game state
-        Wonders7GameState copy = new Wonders7GameState(gameParameters.copy(), getNPlayers());
+        Wonders7GameState copy = new Wonders7GameState(gameParameters.frozenCopy(), getNPlayers());
         //Wonders7TurnOrder turnOrder = new Wonders7TurnOrder(getNPlayers());
-        copy.playerResources = new ArrayList<>();
+        copy.playerResources = new int[getNPlayers()][];
         copy.playerHands = new ArrayList<>();
         copy.playedCards = new ArrayList<>();
         copy.playerWonderBoard = new Wonder7Board[getNPlayers()];
@@ -80,8 +85,8 @@ public class Wonders7GameState extends AbstractGameState {
                 copy.turnActions[i] = turnActions[i].copy();
         }
 
-        for (HashMap<Wonders7Constants.Resource, Integer> map : playerResources) {
-            copy.playerResources.add(new HashMap<>(map));
+        for (int i = 0; i < getNPlayers(); i++) {
+            copy.playerResources[i] = playerResources[i].clone();
         }
         for (Deck<Wonder7Card> deck : playerHands) {
             copy.playerHands.add(deck.copy());
@@ -148,40 +153,35 @@ public class Wonders7GameState extends AbstractGameState {
     public double getGameScore(int playerId) {
         // return the players score for the current game state.
         // This may not apply for all games
-        List<HashMap<Wonders7Constants.Resource, Integer>> playerResourcesCopy = new ArrayList<>();
-        for (HashMap<Wonders7Constants.Resource, Integer> map : playerResources) {
-            playerResourcesCopy.add(new HashMap<>(map));
-        }
+        int[] resources = playerResources[playerId];
+        int vp = resources[Victory.ordinal()];
         // Evaluate military conflicts
         int nextplayer = (playerId + 1) % getNPlayers();
-        if (playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Shield) > playerResourcesCopy.get(nextplayer).get(Wonders7Constants.Resource.Shield)) { // IF PLAYER i WINS
-            playerResourcesCopy.get(playerId).put(Wonders7Constants.Resource.Victory, playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Victory) + (2 * currentAge - 1)); // 2N-1 POINTS FOR PLAYER i
-            playerResourcesCopy.get(nextplayer).put(Wonders7Constants.Resource.Victory, playerResourcesCopy.get(nextplayer).get(Wonders7Constants.Resource.Victory) - 1); // -1 FOR THE PLAYER i+1
-        } else if (playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Shield) < playerResourcesCopy.get(nextplayer).get(Wonders7Constants.Resource.Shield)) { // IF PLAYER i+1 WINS
-            playerResourcesCopy.get(playerId).put(Wonders7Constants.Resource.Victory, playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Victory) - 1);// -1 POINT FOR THE PLAYER i
-            playerResourcesCopy.get(nextplayer).put(Wonders7Constants.Resource.Victory, playerResourcesCopy.get(nextplayer).get(Wonders7Constants.Resource.Victory) + (2 * currentAge - 1));// 2N-1 POINTS FOR PLAYER i+1
+        if (resources[Shield.ordinal()] > playerResources[nextplayer][Shield.ordinal()]) { // IF PLAYER i WINS
+            vp += 2 * currentAge - 1; // 2N-1 POINTS FOR PLAYER i
+        } else if (resources[Shield.ordinal()] < playerResources[nextplayer][Shield.ordinal()]) { // IF PLAYER i+1 WINS
+            vp -= 1; // -1 POINT FOR THE PLAYER i
         }
 
-        int vp = playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Victory);
         // Treasury
-        vp += playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Coin) / 3;
+        vp += resources[Coin.ordinal()] / 3;
         // Scientific
-        vp += (int) Math.pow(playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Cog), 2);
-        vp += (int) Math.pow(playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Compass), 2);
-        vp += (int) Math.pow(playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Tablet), 2);
+        int cogs = resources[Cog.ordinal()], compasses = resources[Compass.ordinal()], tablets = resources[Tablet.ordinal()];
+        vp += cogs * cogs + compasses * compasses + tablets * tablets;
         // Sets of different science symbols
-        vp += 7 * Math.min(Math.min(playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Cog), playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Compass)), playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Tablet));
-
-        playerResourcesCopy.get(playerId).put(Wonders7Constants.Resource.Victory, vp);
-        return playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Victory);
+        vp += 7 * Math.min(Math.min(cogs, compasses), tablets);
+        return vp;
     }
 
 
     public int cardsOfType(Wonder7Card.Type type) {
-        Deck<Wonder7Card> allCards;
-        allCards = new Deck<>("temp", VISIBLE_TO_ALL);
-        for (int i = 0; i < getNPlayers(); i++) allCards.add(getPlayedCards(i));
-        return (int) allCards.stream().filter(c -> c.getCardType() == type).count();
+        int count = 0;
+        for (int i = 0; i < getNPlayers(); i++) {
+            for (Wonder7Card card : getPlayedCards(i).getComponents()) {
+                if (card.getCardType() == type) count++;
+            }
+        }
+        return count;
     }
 
     public int getCurrentAge() {
@@ -225,16 +225,99 @@ public class Wonders7GameState extends AbstractGameState {
     }
 
 
-    public List<HashMap<Wonders7Constants.Resource, Integer>> getAllPlayerResources() {
-        return playerResources;
-    } // Return all player's resources hashmap
-
-    public HashMap<Wonders7Constants.Resource, Integer> getPlayerResources(int index) {
-        return playerResources.get(index);
-    } // Return players resource hashmap
+    public int[] getPlayerResources(int index) {
+        return playerResources[index].clone();
+    } // Return a copy of the player's resource counts, indexed by Resource.ordinal()
 
     public int getResource(int player, Wonders7Constants.Resource resource) {
-        return playerResources.get(player).get(resource);
+        return playerResources[player][resource.ordinal()];
+    }
+
+    public int getResource(int player, int resource) {
+        return playerResources[player][resource];
+    } // By Resource.ordinal()
+
+    public void setResource(int player, Wonders7Constants.Resource resource, int value) {
+        playerResources[player][resource.ordinal()] = value;
+        resourcesChanged(player);
+    }
+
+    public void addResource(int player, Wonders7Constants.Resource resource, int amount) {
+        playerResources[player][resource.ordinal()] += amount;
+        resourcesChanged(player);
+    }
+
+    public void addResources(int player, int[] resources) {
+        // Adds the resources, indexed by Resource.ordinal(), as produced by a card or wonder stage
+        for (int r = 0; r < resources.length; r++) {
+            playerResources[player][r] += resources[r];
+        }
+        resourcesChanged(player);
+    }
+
+    private void resourcesChanged(int player) {
+        // What the player, and each of their neighbours, can build has changed
+        if (memoSize != null) {
+            memoSize[player] = 0;
+            memoSize[(player + 1) % getNPlayers()] = 0;
+            memoSize[(getNPlayers() + player - 1) % getNPlayers()] = 0;
+        }
+    }
+
+    /**
+     * The coins a player must pay to build something: its own coin cost, plus the cost of buying any resources they
+     * do not have from their neighbours. The answer is memoised until the resources of the player or of either
+     * neighbour change, so asking about each card in hand again (say, for every decision) is cheap.
+     *
+     * @param player - the player building
+     * @param cost   - resource counts indexed by Resource.ordinal(), such as Wonder7Card.cost. The memo keys on the
+     *               array itself, so it must not be changed afterwards.
+     * @return the coins to pay, or -1 if the player cannot afford it
+     */
+    public int getCoinsToBuild(int player, int[] cost) {
+        if (memoSize == null) {
+            memoCosts = new int[getNPlayers()][MEMO_SIZE][];
+            memoCoins = new int[getNPlayers()][MEMO_SIZE];
+            memoSize = new int[getNPlayers()];
+        }
+        int[][] costs = memoCosts[player];
+        int n = memoSize[player];
+        for (int i = 0; i < n; i++) {
+            if (costs[i] == cost) return memoCoins[player][i];
+        }
+        int coins = calculateCoinsToBuild(player, cost);
+        if (n == MEMO_SIZE) n = 0;  // start the memo again when full
+        costs[n] = cost;
+        memoCoins[player][n] = coins;
+        memoSize[player] = n + 1;
+        return coins;
+    }
+
+    private int calculateCoinsToBuild(int player, int[] cost) {
+        int[] resources = playerResources[player];
+        int coin = Coin.ordinal();
+        if (resources[coin] < cost[coin])
+            return -1; // If player can't afford the card (not enough coins)
+
+        // Counts the resources player does not have (only those in the cost, as some, like Victory, can be negative)
+        int nNeeded = 0;
+        for (int r = 0; r < cost.length; r++) {
+            if (r != coin && cost[r] > 0 && resources[r] < cost[r]) nNeeded += cost[r] - resources[r];
+        }
+        if (nNeeded == 0) return cost[coin]; // If player has all the resources
+
+        // Calculates the cost of resources
+        int coins = cost[coin] + nNeeded * ((Wonders7GameParameters) gameParameters).nCostNeighbourResource;
+        if (coins > resources[coin])
+            return -1; // If player can't pay the neighbours for the resources needed
+
+        int[] neighbourL = playerResources[(getNPlayers() + player - 1) % getNPlayers()]; // Resources available to the neighbour on left
+        int[] neighbourR = playerResources[(player + 1) % getNPlayers()]; // Resources available to the neighbour on right
+        for (int r = 0; r < cost.length; r++) {
+            if (cost[r] > 0 && resources[r] + neighbourL[r] + neighbourR[r] < cost[r])
+                return -1; // Player can't afford card with bought resources
+        }
+        return coins;
     }
 
     @Override
@@ -243,7 +326,7 @@ public class Wonders7GameState extends AbstractGameState {
         if (!(o instanceof Wonders7GameState)) return false;
         if (!super.equals(o)) return false;
         Wonders7GameState that = (Wonders7GameState) o;
-        return currentAge == that.currentAge && direction == that.direction && Objects.equals(playerResources, that.playerResources) &&
+        return currentAge == that.currentAge && direction == that.direction && Arrays.deepEquals(playerResources, that.playerResources) &&
                 Objects.equals(playerHands, that.playerHands) && Objects.equals(playedCards, that.playedCards) &&
                 Objects.equals(ageDeck, that.ageDeck) &&
                 Objects.equals(discardPile, that.discardPile) && Objects.equals(wonderBoardDeck, that.wonderBoardDeck) &&
@@ -252,7 +335,8 @@ public class Wonders7GameState extends AbstractGameState {
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(super.hashCode(), currentAge, playerResources, playerHands, playedCards, ageDeck, discardPile, wonderBoardDeck, direction);
+        int result = Objects.hash(super.hashCode(), currentAge, playerHands, playedCards, ageDeck, discardPile, wonderBoardDeck, direction);
+        result = 31 * result + Arrays.deepHashCode(playerResources);
         result = 31 * result + Arrays.hashCode(playerWonderBoard);
         result = 31 * result + Arrays.hashCode(turnActions);
         return result;
@@ -272,7 +356,7 @@ public class Wonders7GameState extends AbstractGameState {
                 gameStatus.hashCode() + "|" +
                 gamePhase.hashCode() + "|" +
                 Arrays.hashCode(playerResults) + "|*|" +
-                playerResources.hashCode() + "|" +
+                Arrays.deepHashCode(playerResources) + "|" +
                 playerHands.hashCode() + "|" +
                 playedCards.hashCode() + "|" +
                 ageDeck.hashCode() + "|" +
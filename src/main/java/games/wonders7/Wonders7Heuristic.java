@@ -4,9 +4,7 @@ import core.AbstractGameState;
 import core.interfaces.IStateHeuristic;
 import evaluation.optimisation.TunableParameters;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import static games.wonders7.Wonders7Constants.Resource.*;
 
 public class Wonders7Heuristic extends TunableParameters implements IStateHeuristic {
 
@@ -33,44 +31,41 @@ public class Wonders7Heuristic extends TunableParameters implements IStateHeuris
         double highestVP = 0.0; // Highest VP
         double lowestVP = 0.0; // Highest VP
 
-        List<HashMap<Wonders7Constants.Resource, Integer>> playerResourcesCopy = new ArrayList<>();
-        for (HashMap<Wonders7Constants.Resource, Integer> map : wgs.playerResources) {
-            playerResourcesCopy.add(new HashMap<>(map));  // Will be used to calculate everybody's VP scores
-        }
+        int[] victory = new int[wgs.getNPlayers()];  // Will be used to calculate everybody's VP scores
+        for (int i=0;i<wgs.getNPlayers();i++) victory[i] = wgs.getResource(i, Victory);
 
         for (int i=0;i<wgs.getNPlayers();i++){
             // Evaluate military conflicts
             int nextplayer = (i+1)% wgs.getNPlayers();
-            if(playerResourcesCopy.get(i).get(Wonders7Constants.Resource.Shield) > playerResourcesCopy.get(nextplayer).get(Wonders7Constants.Resource.Shield)){ // IF PLAYER i WINS
-                playerResourcesCopy.get(i).put(Wonders7Constants.Resource.Victory,  playerResourcesCopy.get(i).get(Wonders7Constants.Resource.Victory)+(2*wgs.currentAge-1)); // 2N-1 POINTS FOR PLAYER i
-                playerResourcesCopy.get(nextplayer).put(Wonders7Constants.Resource.Victory,  playerResourcesCopy.get(nextplayer).get(Wonders7Constants.Resource.Victory)-1); // -1 FOR THE PLAYER i+1
+            if(wgs.getResource(i, Shield) > wgs.getResource(nextplayer, Shield)){ // IF PLAYER i WINS
+                victory[i] += 2*wgs.currentAge-1; // 2N-1 POINTS FOR PLAYER i
+                victory[nextplayer] -= 1; // -1 FOR THE PLAYER i+1
             }
-            else if (playerResourcesCopy.get(i).get(Wonders7Constants.Resource.Shield) < playerResourcesCopy.get(nextplayer).get(Wonders7Constants.Resource.Shield)){ // IF PLAYER i+1 WINS
-                playerResourcesCopy.get(i).put(Wonders7Constants.Resource.Victory,  playerResourcesCopy.get(i).get(Wonders7Constants.Resource.Victory)-1);// -1 POINT FOR THE PLAYER i
-                playerResourcesCopy.get(nextplayer).put(Wonders7Constants.Resource.Victory,  playerResourcesCopy.get(nextplayer).get(Wonders7Constants.Resource.Victory)+(2*wgs.currentAge-1));// 2N-1 POINTS FOR PLAYER i+1
+            else if (wgs.getResource(i, Shield) < wgs.getResource(nextplayer, Shield)){ // IF PLAYER i+1 WINS
+                victory[i] -= 1;// -1 POINT FOR THE PLAYER i
+                victory[nextplayer] += 2*wgs.currentAge-1;// 2N-1 POINTS FOR PLAYER i+1
             }
 
-            int vp = playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Victory);
+            int vp = victory[playerId];
             // Treasury
-            vp += playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Coin)/3;
+            vp += wgs.getResource(playerId, Coin)/3;
             // Scientific
-            vp += (int)Math.pow(playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Cog),2);
-            vp += (int)Math.pow(playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Compass),2);
-            vp += (int)Math.pow(playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Tablet),2);
+            int cogs = wgs.getResource(playerId, Cog), compasses = wgs.getResource(playerId, Compass), tablets = wgs.getResource(playerId, Tablet);
+            vp += cogs*cogs + compasses*compasses + tablets*tablets;
             // Sets of different science symbols
-            vp += 7*Math.min(Math.min(playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Cog),playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Compass)),playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Tablet));
-            playerResourcesCopy.get(i).put(Wonders7Constants.Resource.Victory, vp);
+            vp += 7*Math.min(Math.min(cogs, compasses), tablets);
+            victory[i] = vp;
         }
-        if (wgs.currentAge == 4) playerResourcesCopy.get(playerId).put(Wonders7Constants.Resource.Victory, wgs.playerResources.get(playerId).get(Wonders7Constants.Resource.Victory)); // If Game is completed and VP have already been calculated for players, use already calculated scores
+        if (wgs.currentAge == 4) victory[playerId] = wgs.getResource(playerId, Victory); // If Game is completed and VP have already been calculated for players, use already calculated scores
 
         // Counts the accumulated total of each player in the game
         for (int i=0;i<wgs.getNPlayers();i++){
-            totalVP += playerResourcesCopy.get(i).get(Wonders7Constants.Resource.Victory);
-            if ((playerResourcesCopy.get(i).get(Wonders7Constants.Resource.Victory) > highestVP) && (i!=playerId)) highestVP = playerResourcesCopy.get(i).get(Wonders7Constants.Resource.Victory);
+            totalVP += victory[i];
+            if ((victory[i] > highestVP) && (i!=playerId)) highestVP = victory[i];
         }
 
         if (totalVP==0) return 0;
-        return playerResourcesCopy.get(playerId).get(Wonders7Constants.Resource.Victory)/totalVP;
+        return victory[playerId]/totalVP;
     }
 
     @Override
@@ -2,13 +2,11 @@ package games.wonders7.actions;
 
 import core.AbstractGameState;
 import core.actions.AbstractAction;
-import games.wonders7.Wonders7Constants;
 import games.wonders7.Wonders7GameState;
 import games.wonders7.cards.Wonder7Board;
 import games.wonders7.cards.Wonder7Card;
 
 import java.util.Objects;
-import java.util.Set;
 
 public class BuildStage extends AbstractAction {
     public final String cardName;
@@ -51,12 +49,7 @@ public class BuildStage extends AbstractAction {
 
         // Gives player resources produced from stage
         Wonder7Board board = wgs.getPlayerWonderBoard(player);
-        Set<Wonders7Constants.Resource> keys = board.type.stageProduce.get(board.wonderStage-1).keySet(); // Gets all the resources the stage provides
-        for (Wonders7Constants.Resource resource: keys){  // Goes through all keys for each resource
-            int stageValue = board.type.getStageProduce(board.wonderStage - 1, resource); // Number of resource the stage provides
-            int playerValue = wgs.getPlayerResources(player).get(resource); // Number of resource the player owns
-            wgs.getPlayerResources(player).put(resource, playerValue + stageValue); // Adds the resources provided by the stage to the players resource count
-        }
+        wgs.addResources(player, board.type.stageProduction[board.wonderStage-1]); // Adds the resources provided by the stage to the players resource count
 
         // remove the card from the players hand to the playedDeck
         boolean cardFound = wgs.getPlayerHand(player).remove(card);
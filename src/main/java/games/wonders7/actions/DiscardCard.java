@@ -35,8 +35,7 @@ public class DiscardCard extends DrawCard {
         }
 
         // Player gets 3 coins from discarding card
-        int playerValue = wgs.getPlayerResources(player).get(Wonders7Constants.Resource.Coin); // No. Coins player has
-        wgs.getPlayerResources(player).put(Wonders7Constants.Resource.Coin,  playerValue+ ((Wonders7GameParameters)wgs.getGameParameters()).nCoinsDiscard); // Adds 3 coins to player coin count
+        wgs.addResource(player, Wonders7Constants.Resource.Coin, ((Wonders7GameParameters)wgs.getGameParameters()).nCoinsDiscard); // Adds 3 coins to player coin count
 
         // Removes card from player hand and adds to discarded cards deck
         boolean cardFound = wgs.getPlayerHand(player).remove(card); // remove
@@ -8,10 +8,7 @@ import games.wonders7.Wonders7GameParameters;
 import games.wonders7.Wonders7GameState;
 import games.wonders7.cards.Wonder7Card;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Objects;
-import java.util.Set;
 
 import static games.wonders7.Wonders7Constants.Resource.Coin;
 
@@ -35,7 +32,6 @@ public class PlayCard extends DrawCard {
         Wonders7GameState wgs = (Wonders7GameState) gameState;
 
         Deck<Wonder7Card> playerHand = wgs.getPlayerHand(player);
-        HashMap<Wonders7Constants.Resource, Integer> playerResources = wgs.getPlayerResources(player);
 
         // Finds the played card
         Wonder7Card card = null;
@@ -56,59 +52,39 @@ public class PlayCard extends DrawCard {
         if (!free) {
             // TODO may vary if yellow (commercial) cards played - however these are not yet implemented
             // TODO So all resources cost the same
+            if (wgs.getCoinsToBuild(player, card.cost) < 0) {
+                throw new AssertionError("We cannot afford this card so should not be here");
+            }
+            wgs.addResource(player, Coin, -card.getNCost(Coin)); // Subtracts coins
 
-            // Collects the resources player may not have
-            Set<Wonders7Constants.Resource> key = card.constructionCost.keySet();
+            // Buys the resources player does not have
             int nCostNeighbourResource = ((Wonders7GameParameters) wgs.getGameParameters()).nCostNeighbourResource;
-            for (Wonders7Constants.Resource resource : key) { // Goes through every resource the player needs
-                if (resource == Coin) {
-                    int cardValue = card.getNCost(Coin); // Number of coins the card costs
-                    int playerCoins = playerResources.get(Coin); // Number of coins the player owns
-                    if (playerCoins < cardValue) {
-                        throw new AssertionError("We cannot afford this card so should not be here");
-                    }
-                    playerResources.put(Coin, playerCoins - cardValue);// Subtracts coins
-                } else if ((playerResources.get(resource)) < card.constructionCost.get(resource)) { // If the player does not have resource count, added to needed resources
-                    int amountToBuy = card.getNCost(resource) - playerResources.get(resource);
-                    int coinCost = nCostNeighbourResource * amountToBuy;
-                    if (coinCost > playerResources.get(Coin)) {
-                        throw new AssertionError("We cannot afford this card so should not be here");
-                    }
-
-                    HashMap<Wonders7Constants.Resource, Integer> neighbourLResources = wgs.getPlayerResources((wgs.getNPlayers() + player - 1) % wgs.getNPlayers()); // Resources available to the neighbour on left
-                    HashMap<Wonders7Constants.Resource, Integer> neighbourRResources = wgs.getPlayerResources((player + 1) % wgs.getNPlayers()); // Resources available to the neighbour on right
-
-                    int combined = neighbourLResources.get(resource) + neighbourRResources.get(resource);
-                    if (combined < amountToBuy) {
-                        throw new AssertionError("We cannot buy the resources for this card so should not be here");
-                    }
-                    // we buy preferentially from one of the players
-                    int randomNumber = wgs.getRnd().nextInt(2); // Randomly chooses which neighbour to buy from
-                    HashMap<Wonders7Constants.Resource, Integer> firstPreference = (randomNumber == 0) ? neighbourLResources : neighbourRResources;
-                    HashMap<Wonders7Constants.Resource, Integer> secondPreference = (randomNumber == 0) ? neighbourRResources : neighbourLResources;
-
-                    int amountFromFirstPreference = Math.min(firstPreference.get(resource), amountToBuy);
-                    if (amountFromFirstPreference > 0) {
-                        firstPreference.put(Coin, firstPreference.get(Coin) + nCostNeighbourResource * amountFromFirstPreference); // Neighbour receives coins from player
-                        playerResources.put(Coin, playerResources.get(Coin) - amountFromFirstPreference * nCostNeighbourResource); // Player pays coins to neighbour
-                    }
-                    amountToBuy -= amountFromFirstPreference;
-                    if (amountToBuy > 0) {
-                        secondPreference.put(Coin, secondPreference.get(Coin) + nCostNeighbourResource * amountToBuy); // Neighbour receives coins from player
-                        playerResources.put(Coin, playerResources.get(Coin) - amountToBuy * nCostNeighbourResource); // Player pays coins to neighbour
-                    }
+            int neighbourL = (wgs.getNPlayers() + player - 1) % wgs.getNPlayers(); // The neighbour on left
+            int neighbourR = (player + 1) % wgs.getNPlayers(); // The neighbour on right
+            for (Wonders7Constants.Resource resource : Wonders7Constants.Resource.values()) { // Goes through every resource the player needs
+                if (resource == Coin || card.getNCost(resource) == 0) continue;
+                int amountToBuy = card.getNCost(resource) - wgs.getResource(player, resource);
+                if (amountToBuy <= 0) continue;
+                // we buy preferentially from one of the players
+                int randomNumber = wgs.getRnd().nextInt(2); // Randomly chooses which neighbour to buy from
+                int firstPreference = (randomNumber == 0) ? neighbourL : neighbourR;
+                int secondPreference = (randomNumber == 0) ? neighbourR : neighbourL;
+
+                int amountFromFirstPreference = Math.min(wgs.getResource(firstPreference, resource), amountToBuy);
+                if (amountFromFirstPreference > 0) {
+                    wgs.addResource(firstPreference, Coin, nCostNeighbourResource * amountFromFirstPreference); // Neighbour receives coins from player
+                    wgs.addResource(player, Coin, -amountFromFirstPreference * nCostNeighbourResource); // Player pays coins to neighbour
+                }
+                amountToBuy -= amountFromFirstPreference;
+                if (amountToBuy > 0) {
+                    wgs.addResource(secondPreference, Coin, nCostNeighbourResource * amountToBuy); // Neighbour receives coins from player
+                    wgs.addResource(player, Coin, -amountToBuy * nCostNeighbourResource); // Player pays coins to neighbour
                 }
             }
         }
 
         // Gives player resources produced from card
-        Set<Wonders7Constants.Resource> keys = card.resourcesProduced.keySet(); // Gets all the resources the card provides
-        for (
-                Wonders7Constants.Resource resource : keys) {  // Goes through all keys for each resource
-            int cardValue = card.getNProduced(resource); // Number of resource the card provides
-            int playerValue = playerResources.get(resource); // Number of resource the player owns
-            playerResources.put(resource, playerValue + cardValue); // Adds the resources provided by the card to the players resource count
-        }
+        wgs.addResources(player, card.produced);
 
         // remove the card from the players hand to the playedDeck
         boolean cardFound = playerHand.remove(card);
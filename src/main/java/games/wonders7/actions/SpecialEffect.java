@@ -2,13 +2,11 @@ package games.wonders7.actions;
 
 import core.AbstractGameState;
 import core.actions.DrawCard;
-import games.wonders7.Wonders7Constants;
 import games.wonders7.Wonders7GameState;
 import games.wonders7.cards.Wonder7Board;
 import games.wonders7.cards.Wonder7Card;
 
 import java.util.Objects;
-import java.util.Set;
 
 public class SpecialEffect extends DrawCard {
 
@@ -49,12 +47,7 @@ public class SpecialEffect extends DrawCard {
                 wgs.getPlayerWonderBoard(wgs.getCurrentPlayer()).effectUsed = true;
             case TheStatueOfZeusInOlympia:
                 // Gives player resources produced from card
-                Set<Wonders7Constants.Resource> keys = card.resourcesProduced.keySet(); // Gets all the resources the card provides
-                for (Wonders7Constants.Resource resource: keys){  // Goes through all keys for each resource
-                    int cardValue = card.getNProduced(resource); // Number of resource the card provides
-                    int playerValue = wgs.getPlayerResources(wgs.getCurrentPlayer()).get(resource); // Number of resource the player owns
-                    wgs.getPlayerResources(wgs.getCurrentPlayer()).put(resource, playerValue + cardValue); // Adds the resources provided by the card to the players resource count
-                }
+                wgs.addResources(wgs.getCurrentPlayer(), card.produced); // Adds the resources provided by the card to the players resource count
 
                 // remove the card from the players hand to the playedDeck
                 boolean cardFound = wgs.getPlayerHand(wgs.getCurrentPlayer()).remove(card);
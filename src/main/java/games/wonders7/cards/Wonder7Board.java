@@ -12,6 +12,7 @@ import java.util.stream.Collectors;
 import static games.wonders7.Wonders7Constants.Resource.*;
 import static games.wonders7.Wonders7Constants.createCardHash;
 import static games.wonders7.Wonders7Constants.createHashList;
+import static games.wonders7.Wonders7Constants.createResourceArray;
 
 public class Wonder7Board extends Card {
     public enum Wonder {
@@ -43,6 +44,9 @@ public class Wonder7Board extends Card {
         public final List<Map<Wonders7Constants.Resource, Long>> constructionCosts; // Cost of each stage
         public final List<Map<Wonders7Constants.Resource, Long>> stageProduce; // Production of each stage
         public final int wonderStages;
+        // The same as arrays indexed by Resource.ordinal()
+        public final int[] production;
+        public final int[][] stageCosts, stageProduction;
 
         Wonder(List<Map<Wonders7Constants.Resource, Long>> constructionCosts,
                List<Map<Wonders7Constants.Resource, Long>> stageProduce,
@@ -50,13 +54,20 @@ public class Wonder7Board extends Card {
             this.constructionCosts = constructionCosts;
             this.stageProduce = stageProduce;
             this.resourcesProduced = Arrays.stream(resourcesProduced).collect(Collectors.groupingBy(e -> e, Collectors.counting()));
+            this.production = createResourceArray(this.resourcesProduced);
             if (constructionCosts != null) {
                 this.wonderStages = constructionCosts.size();
-            } else this.wonderStages = 0;
+                this.stageCosts = constructionCosts.stream().map(Wonders7Constants::createResourceArray).toArray(int[][]::new);
+                this.stageProduction = stageProduce.stream().map(Wonders7Constants::createResourceArray).toArray(int[][]::new);
+            } else {
+                this.wonderStages = 0;
+                this.stageCosts = null;
+                this.stageProduction = null;
+            }
         }
 
         public int getStageProduce(int stage, Wonders7Constants.Resource resource) {
-            return stageProduce.get(stage).get(resource).intValue();
+            return stageProduction[stage][resource.ordinal()];
         }
     }
 
@@ -107,11 +118,12 @@ public class Wonder7Board extends Card {
         if (wonderStage > type.wonderStages){
             return false;
         }
-        // Checks if player can afford the cost of the card
-        Set<Wonders7Constants.Resource> key = type.constructionCosts.get(wonderStage-1).keySet(); //Gets the resources of the player
-        for (Wonders7Constants.Resource resource : key) {// Goes through every resource the player has
-            if (!((wgs.getPlayerResources(wgs.getCurrentPlayer()).get(resource)) >= type.constructionCosts.get(wonderStage-1).get(resource))) { // Checks if players resource count is more or equal to card resource count (i.e. the player can afford the card)
-                return false; // Player cant afford card
+        // Checks if player can afford the cost of the stage
+        int[] cost = type.stageCosts[wonderStage-1];
+        int player = wgs.getCurrentPlayer();
+        for (int r = 0; r < cost.length; r++) {
+            if (cost[r] > 0 && wgs.getResource(player, r) < cost[r]) { // Checks if players resource count is more or equal to stage resource count (i.e. the player can afford the stage)
+                return false; // Player cant afford stage
             }
         }
         return true;
@@ -2,14 +2,13 @@ package games.wonders7.cards;
 
 import core.components.Card;
 import games.wonders7.Wonders7Constants;
-import games.wonders7.Wonders7GameParameters;
 import games.wonders7.Wonders7GameState;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
-import static games.wonders7.Wonders7Constants.Resource.Coin;
+import static games.wonders7.Wonders7Constants.createResourceArray;
 
 public class Wonder7Card extends Card {
 
@@ -29,6 +28,8 @@ public class Wonder7Card extends Card {
     public final Map<Wonders7Constants.Resource, Long> resourcesProduced; // Resources the card creates
     //public final HashMap<Wonder7Card, Integer> prerequisite; // THE STRUCTURES REQUIRED TO BUILD CARD FOR FREE
     public final String prerequisiteCard;
+    // The construction cost and resources produced as arrays indexed by Resource.ordinal(), shared by all copies of the card
+    public final int[] cost, produced;
 
     // A normal card with construction cost, produces resources
     public Wonder7Card(String name, Type type,
@@ -40,6 +41,8 @@ public class Wonder7Card extends Card {
         this.constructionCost = constructionCost;
         this.resourcesProduced = resourcesProduced;
         this.prerequisiteCard = "";
+        this.cost = createResourceArray(constructionCost);
+        this.produced = createResourceArray(resourcesProduced);
     }
 
     // Card has prerequisite cards
@@ -52,6 +55,8 @@ public class Wonder7Card extends Card {
         this.constructionCost = constructionCost;
         this.resourcesProduced = resourcesProduced;
         this.prerequisiteCard = prerequisiteCard;
+        this.cost = createResourceArray(constructionCost);
+        this.produced = createResourceArray(resourcesProduced);
     }
 
     // A free card (no construction cost)
@@ -62,25 +67,28 @@ public class Wonder7Card extends Card {
         this.constructionCost = new HashMap<>(); // Card costs nothing
         this.resourcesProduced = resourcesProduced;
         this.prerequisiteCard = "";
+        this.cost = createResourceArray(constructionCost);
+        this.produced = createResourceArray(resourcesProduced);
     }
 
-    protected Wonder7Card(String name, Type type,
-                          Map<Wonders7Constants.Resource, Long> constructionCost,
-                          Map<Wonders7Constants.Resource, Long> resourcesProduced, String prerequisiteCard, int componentID) {
-        super(name, componentID);
-        this.cardName = name;
-        this.type = type;
-        this.constructionCost = constructionCost;
-        this.resourcesProduced = resourcesProduced;
-        this.prerequisiteCard = prerequisiteCard;
+    // Copy constructor
+    protected Wonder7Card(Wonder7Card card) {
+        super(card.cardName, card.componentID);
+        this.cardName = card.cardName;
+        this.type = card.type;
+        this.constructionCost = card.constructionCost;
+        this.resourcesProduced = card.resourcesProduced;
+        this.prerequisiteCard = card.prerequisiteCard;
+        this.cost = card.cost;
+        this.produced = card.produced;
     }
 
     public int getNProduced(Wonders7Constants.Resource resource) {
-        return resourcesProduced.get(resource).intValue();
+        return produced[resource.ordinal()];
     }
 
     public int getNCost(Wonders7Constants.Resource resource) {
-        return constructionCost.get(resource).intValue();
+        return cost[resource.ordinal()];
     }
 
     @Override
@@ -128,46 +136,12 @@ public class Wonder7Card extends Card {
         if (isAlreadyPlayed(player, wgs))
             return false; // If player already has an identical structure (can't play another
         if (isFree(player, wgs)) return true; // If player can play for free (has prerequisite card
-
-        Wonders7GameParameters params = (Wonders7GameParameters) wgs.getGameParameters();
-
-        // Collects the resources player does not have
-        HashMap<Wonders7Constants.Resource, Long> neededResources = new HashMap<>();
-        for (Wonders7Constants.Resource resource : constructionCost.keySet()) { // Goes through every resource the player needs
-            if ((wgs.getPlayerResources(player).get(resource)) < constructionCost.get(resource)) { // If the player does not have resource count, added to needed resources
-                if (resource == Coin)
-                    return false; // If player can't afford the card (not enough coins)
-                neededResources.put(resource, constructionCost.get(resource) - wgs.getPlayerResources(player).get(resource));
-            }
-        }
-        if (neededResources.isEmpty()) return true; // If player can afford the card (no resources needed)
-
-        // Calculates the cost of resources
-        int coinCost = constructionCost.getOrDefault(Coin, 0L).intValue();
-        int resourceCost = params.nCostNeighbourResource;
-        for (Wonders7Constants.Resource resource : neededResources.keySet())
-            coinCost += (int) (resourceCost * neededResources.get(resource)); // For each unit of the resource needed
-        if (coinCost > wgs.getPlayerResources(player).get(Coin) )
-            return false; // If player can't pay the neighbours for the resources needed
-
-        HashMap<Wonders7Constants.Resource, Integer> neighbourLResources = wgs.getPlayerResources((wgs.getNPlayers() + player - 1) % wgs.getNPlayers()); // Resources available to the neighbour on left
-        HashMap<Wonders7Constants.Resource, Integer> neighbourRResources = wgs.getPlayerResources((player + 1) % wgs.getNPlayers()); // Resources available to the neighbour on right
-
-        // Calculates combined resources of neighbour and player
-        for (Wonders7Constants.Resource resource : constructionCost.keySet()) { // Goes through every resource provided by the neighbour
-            int combined = wgs.getPlayerResources(player).get(resource)
-                    + neighbourLResources.get(resource)
-                    + neighbourRResources.get(resource);
-            if (combined < constructionCost.get(resource))
-                return false; // Player can't afford card with bought resources
-        }
-
-        return true;
+        return wgs.getCoinsToBuild(player, cost) >= 0; // If player can pay for the card, and buy any resources they need
     }
 
     @Override
     public Card copy() {
-        return new Wonder7Card(cardName, type, constructionCost, resourcesProduced, prerequisiteCard, componentID);
+        return new Wonder7Card(this);
     }
 
     @Override
@@ -5,7 +5,6 @@ import games.wonders7.Wonders7GameState;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.HashMap;
 
 public class PlayerView extends JComponent {
     Wonders7GameState gs;
@@ -25,20 +24,19 @@ public class PlayerView extends JComponent {
     protected void paintComponent(Graphics g) {
         /*
             - score
-            - resources: List<HashMap<Wonder7Card.resources, Integer>> playerResources
+            - resources: int[][] playerResources
             - cards to choose from:  List<Deck<Wonder7Card>> playerHands;
             - cards played:  List<Deck<Wonder7Card>> playedCards;
             - Wonder board
          */
         int fontSize = g.getFont().getSize();
-        HashMap<Wonders7Constants.Resource, Integer> playerResources = gs.getPlayerResources(playerId);
 
         g.drawRect(pad,pad,width-pad*2, height-pad*2-borderHeight);
         int y = pad*2 + fontSize;
         g.drawString("Score: " + gs.getGameScore(playerId), pad*2, y);
-        for (Wonders7Constants.Resource res: playerResources.keySet()) {
+        for (Wonders7Constants.Resource res: Wonders7Constants.Resource.values()) {
             y += fontSize;
-            g.drawString(res.name() + ": " + playerResources.get(res), pad*2, y);
+            g.drawString(res.name() + ": " + gs.getResource(playerId, res), pad*2, y);
         }
         // cards played: TODO
         // wonder:
@@ -67,7 +67,7 @@ public class GTGameState extends AbstractGameState {
      */
     @Override
     protected GTGameState _copy(int playerId) {
-        GTGameState copy = new GTGameState(gameParameters, getNPlayers());
+        GTGameState copy = new GTGameState(gameParameters.frozenCopy(), getNPlayers());
         // TODO: deep copy all variables to the new game state.
         return copy;
     }
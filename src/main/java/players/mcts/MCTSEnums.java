@@ -41,6 +41,15 @@ public class MCTSEnums {
         // END_TURN|ROUND is triggered when the game round/turn changes
     }
 
+    public enum Parallelism {
+        None, Root, Tree
+        // Root searches nThreads independent trees, each with its own state copies, forward model and rollout policies,
+        // and sums their root statistics before the final action is selected.
+        // Tree has nThreads workers share a single tree. Selection, expansion and backup are serialised on the tree, while
+        // the state copies and rollouts (usually most of the cost) run concurrently. Virtual loss is added along each
+        // in-flight trajectory so that concurrent workers are steered down different branches.
+    }
+
     public enum OpponentTreePolicy {
         SelfOnly(true), OneTree(false),
         MultiTree(true),
@@ -43,6 +43,12 @@ public class MCTSMetrics implements IMetricsCollection {
                 records.put("MeanActionsExpanded", treeStats.meanActionsExpanded);
                 records.put("RolloutLength", mctsPlayer.root.rolloutActionsTaken / (double) visits);
                 records.put("NodeClashes", mctsPlayer.root.nodeClash);
+                // nodes added to the tree in this decision, either new or from the player's pool (with recycleTreeNodes)
+                int nodesAdded = root.treeSize - root.retainedNodes + root.prunedNodes;
+                records.put("NodesAllocated", nodesAdded - root.recycledNodes);
+                records.put("NodesRecycled", root.recycledNodes);
+                records.put("NodesRetained", root.retainedNodes);
+                records.put("NodesPruned", root.prunedNodes);
                 OptionalInt maxVisits = Arrays.stream(root.actionVisits()).max();
                 records.put("maxVisitProportion", (maxVisits.isPresent() ? maxVisits.getAsInt() : 0) / (double) visits);
                 records.put("Action", e.action.getString(e.state));
@@ -78,6 +84,10 @@ public class MCTSMetrics implements IMetricsCollection {
             cols.put("MeanActionsExpanded", Double.class);
             cols.put("RolloutLength", Double.class);
             cols.put("NodeClashes", Integer.class);
+            cols.put("NodesAllocated", Integer.class);
+            cols.put("NodesRecycled", Integer.class);
+            cols.put("NodesRetained", Integer.class); // nodes kept from the previous decision's tree
+            cols.put("NodesPruned", Integer.class); // nodes pruned to keep the tree within maxTreeNodes
             cols.put("maxVisitProportion", Double.class);
             cols.put("Action", String.class);
             cols.put("ActionsAtRoot", Integer.class);
@@ -14,7 +14,7 @@ import java.util.Random;
 
 import static players.mcts.MCTSEnums.Information.*;
 import static players.mcts.MCTSEnums.MASTType.*;
-import static players.mcts.MCTSEnums.OpponentTreePolicy.OneTree;
+import static players.mcts.MCTSEnums.OpponentTreePolicy.*;
 import static players.mcts.MCTSEnums.RolloutTermination.DEFAULT;
 import static players.mcts.MCTSEnums.SelectionPolicy.SIMPLE;
 import static players.mcts.MCTSEnums.Strategies.*;
@@ -53,6 +53,7 @@ public class MCTSParams extends PlayerParameters {
     public boolean maintainMasterState = false;
     public boolean discardStateAfterEachIteration = true;  // default will remove reference to OpenLoopState in backup(). Saves memory!
     public MCTSEnums.RolloutTermination rolloutTermination = DEFAULT;
+    public boolean recordRolloutActions = false;  // the actions in each rollout are always recorded if MAST needs them; otherwise only if this is set
     public IStateHeuristic heuristic = AbstractGameState::getHeuristicScore;
     public IActionKey MASTActionKey;
     public IStateKey MCGSStateKey;
@@ -72,6 +73,14 @@ public class MCTSParams extends PlayerParameters {
     public double backupLambda = 1.0;
     public int maxBackupThreshold = 1000000;
     public Class<?> instantiationClass;
+    // Tree parallelism takes a single lock on the root for all selection, expansion and backup; there are no striped
+    // locks or atomic node statistics. It therefore only scales while the state copies and rollouts (run outside the
+    // lock) are most of the time of an iteration; otherwise use Root parallelism.
+    public MCTSEnums.Parallelism parallelism = MCTSEnums.Parallelism.None;
+    public int nThreads = 4;  // only used if parallelism is not None
+    public int virtualLoss = 1;  // number of lost visits added along each in-flight trajectory with Tree parallelism
+    public int maxTreeNodes = 1000000;  // effectively no limit; when the tree is this big the least visited leaves are pruned
+    public boolean recycleTreeNodes = false;  // nodes of discarded trees are kept by the player and reused (see TreeNodePool)
 
     public MCTSParams() {
         addTunableParameter("K", Math.sqrt(2), Arrays.asList(0.0, 0.1, 1.0, Math.sqrt(2), 3.0, 10.0));
@@ -102,6 +111,7 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("normaliseRewards", true);
         addTunableParameter("maintainMasterState", false);
         addTunableParameter("discardStateAfterEachIteration", true);
+        addTunableParameter("recordRolloutActions", false);
         addTunableParameter("omaVisits", 30);
         addTunableParameter("paranoid", false);
         addTunableParameter("MASTActionKey", IActionKey.class);
@@ -120,6 +130,11 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("backupLambda", 1.0);
         addTunableParameter("maxBackupThreshold", 1000000);
         addTunableParameter("instantiationClass", "players.mcts.MCTSPlayer");
+        addTunableParameter("parallelism", MCTSEnums.Parallelism.None, Arrays.asList(MCTSEnums.Parallelism.values()));
+        addTunableParameter("nThreads", 4, Arrays.asList(1, 2, 4, 8));
+        addTunableParameter("virtualLoss", 1, Arrays.asList(0, 1, 3, 10));
+        addTunableParameter("maxTreeNodes", 1000000);
+        addTunableParameter("recycleTreeNodes", false);
     }
 
     @Override
@@ -152,6 +167,7 @@ public class MCTSParams extends PlayerParameters {
         maintainMasterState = (boolean) getParameterValue("maintainMasterState");
         paranoid = (boolean) getParameterValue("paranoid");
         discardStateAfterEachIteration = (boolean) getParameterValue("discardStateAfterEachIteration");
+        recordRolloutActions = (boolean) getParameterValue("recordRolloutActions");
         pUCT = (boolean) getParameterValue("pUCT");
         pUCTTemperature = (double) getParameterValue("pUCTTemperature");
         if (information == Closed_Loop)
@@ -174,6 +190,11 @@ public class MCTSParams extends PlayerParameters {
         backupPolicy = (MCTSEnums.BackupPolicy) getParameterValue("backupPolicy");
         backupLambda = (double) getParameterValue("backupLambda");
         maxBackupThreshold = (int) getParameterValue("maxBackupThreshold");
+        parallelism = (MCTSEnums.Parallelism) getParameterValue("parallelism");
+        nThreads = (int) getParameterValue("nThreads");
+        virtualLoss = (int) getParameterValue("virtualLoss");
+        maxTreeNodes = (int) getParameterValue("maxTreeNodes");
+        recycleTreeNodes = (boolean) getParameterValue("recycleTreeNodes");
         try {
             instantiationClass = Class.forName((String) getParameterValue("instantiationClass"));
         } catch (ClassNotFoundException e) {
@@ -238,6 +259,14 @@ public class MCTSParams extends PlayerParameters {
         if (!useMAST && (useMASTAsActionHeuristic || rolloutType == MCTSEnums.Strategies.MAST)) {
             throw new AssertionError("MAST data not being collected, but MAST is being used as the rollout policy or as the action heuristic. Set MAST parameter.");
         }
+        if (parallelism == MCTSEnums.Parallelism.Tree) {
+            // MultiTree and MCGS keep per-iteration search data outside the nodes, and MAST statistics are read by
+            // rollouts while being updated, so none of these can (yet) share a tree between threads
+            if (opponentTreePolicy == MultiTree || opponentTreePolicy == MCGS || opponentTreePolicy == MCGSSelfOnly)
+                throw new AssertionError("Tree parallelism is not supported with opponentTreePolicy " + opponentTreePolicy + ". Use Root parallelism.");
+            if (useMAST)
+                throw new AssertionError("Tree parallelism is not supported with MAST. Use Root parallelism.");
+        }
         if (instantiationClass == null || instantiationClass == MCTSPlayer.class)
             return new MCTSPlayer((MCTSParams) this.copy());
         else {
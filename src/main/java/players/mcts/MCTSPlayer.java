@@ -3,6 +3,7 @@ package players.mcts;
 import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.AbstractPlayer;
+import core.CoreParameters;
 import core.actions.AbstractAction;
 import core.interfaces.IActionHeuristic;
 import evaluation.listeners.IGameListener;
@@ -13,11 +14,13 @@ import utilities.Pair;
 import utilities.Utils;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import static players.PlayerConstants.BUDGET_TIME;
 import static players.mcts.MCTSEnums.OpponentTreePolicy.*;
 import static players.mcts.MCTSEnums.OpponentTreePolicy.MultiTree;
 
@@ -29,6 +32,12 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
     protected Pair<Integer, AbstractAction> lastAction;
     List<Map<Object, Pair<Integer, Double>>> MASTStats;
     protected Map<Object, Integer> oldGraphKeys = new HashMap<>();
+    // Root and Tree parallelism: one worker per thread, each with its own copy of the parameters (and hence
+    // rollout policies), forward model and random seed
+    protected List<MCTSPlayer> parallelWorkers;
+    protected ExecutorService executor;
+    // Nodes of discarded trees, for reuse in later ones (only with recycleTreeNodes); kept from one game to the next
+    TreeNodePool nodePool;
 
     public MCTSPlayer() {
         this(new MCTSParams());
@@ -61,8 +70,9 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
         if (getParameters().actionHeuristic instanceof AbstractPlayer)
             ((AbstractPlayer) getParameters().actionHeuristic).initializePlayer(state);
         MASTStats = null;
-        root = null;
+        discardTree();
         oldGraphKeys = new HashMap<>();
+        parallelWorkers = null;
         getParameters().getRolloutStrategy().initializePlayer(state);
         getParameters().getOpponentModel().initializePlayer(state);
     }
@@ -79,15 +89,22 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
             else if (getParameters().opponentTreePolicy == MCGS || getParameters().opponentTreePolicy == MCGSSelfOnly)
                 return new MCGSNode();
             else
-                return new SingleTreeNode();
+                return nodePool != null ? nodePool.get() : new SingleTreeNode();
         };
     }
 
+    // Drops the current tree, returning its nodes to the pool if we have one
+    protected void discardTree() {
+        if (nodePool != null)
+            nodePool.release(root, null);
+        root = null;
+    }
+
     @Override
     public void registerUpdatedObservation(AbstractGameState gameState) {
         super.registerUpdatedObservation(gameState);
         if (!getParameters().reuseTree) {
-            root = null;
+            discardTree();
         }
     }
 
@@ -114,6 +131,7 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
             }
         }
         mtRoot.state = state.copy();
+        mtRoot.state.setHistoryPolicy(CoreParameters.HistoryPolicy.NONE);
         // TODO: Also set decisionPlayer....as this may have changed (which it won't do with oneTree)
         return mtRoot;
     }
@@ -235,7 +253,19 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
     }
 
     protected void createRootNode(AbstractGameState gameState) {
+        MCTSParams params = getParameters();
+        // the pool can only be used when the tree is made of plain SingleTreeNodes
+        if (params.recycleTreeNodes && (params.opponentTreePolicy == OneTree || params.opponentTreePolicy == SelfOnly)) {
+            if (nodePool == null)
+                nodePool = new TreeNodePool(params.maxTreeNodes);
+        } else {
+            nodePool = null;
+        }
+        SingleTreeNode oldRoot = root;
         SingleTreeNode newRoot = newRootNode(gameState);
+        // anything in the old tree that is not below the new root can no longer be reached
+        if (nodePool != null)
+            nodePool.release(oldRoot, newRoot);
         if (newRoot == null) {
             if (getParameters().opponentTreePolicy == MultiTree)
                 root = new MultiTreeNode(this, gameState, rnd);
@@ -261,10 +291,18 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
     public AbstractAction _getAction(AbstractGameState gameState, List<AbstractAction> actions) {
         // Search for best action from the root
         long currentTimeNano = System.nanoTime();
+        long recycledBefore = nodePool == null ? 0 : nodePool.getRecycled();
         createRootNode(gameState);
         long timeTaken = System.nanoTime() - currentTimeNano;
 
-        root.mctsSearch(timeTaken / 1000000);
+        switch (getParameters().parallelism) {
+            case None -> root.mctsSearch(timeTaken / 1000000);
+            case Root -> rootParallelSearch(gameState, timeTaken / 1000000);
+            case Tree -> root.treeParallelSearch(timeTaken / 1000000, getParallelWorkers(gameState), getExecutor());
+        }
+
+        if (nodePool != null)
+            root.recycledNodes = (int) (nodePool.getRecycled() - recycledBefore);
 
         if (getParameters().actionHeuristic instanceof ITreeProcessor)
             ((ITreeProcessor) getParameters().actionHeuristic).process(root);
@@ -289,6 +327,86 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
         return lastAction.b.copy();
     }
 
+    /**
+     * Root parallelism: each worker searches its own tree from gameState, and the root statistics are then
+     * summed into our root (which is otherwise not searched) to select the action.
+     * For budgets other than BUDGET_TIME the budget is split between the workers, so that the decision as a whole
+     * uses the same number of iterations (or FM/copy calls) as a sequential search.
+     */
+    protected void rootParallelSearch(AbstractGameState gameState, long initialisationTime) {
+        List<MCTSPlayer> workers = getParallelWorkers(gameState);
+        List<Runnable> tasks = new ArrayList<>();
+        for (MCTSPlayer worker : workers) {
+            tasks.add(() -> {
+                worker.createRootNode(gameState);
+                worker.root.mctsSearch(initialisationTime);
+            });
+        }
+        runInParallel(getExecutor(), tasks);
+        root.initialiseRootMetrics();
+        for (MCTSPlayer worker : workers)
+            root.mergeRootStatistics(worker.root);
+    }
+
+    protected List<MCTSPlayer> getParallelWorkers(AbstractGameState gameState) {
+        if (parallelWorkers == null) {
+            MCTSParams params = getParameters();
+            parallelWorkers = new ArrayList<>();
+            for (int i = 0; i < params.nThreads; i++) {
+                MCTSParams workerParams = (MCTSParams) params.copy();
+                workerParams.setParameterValue("parallelism", MCTSEnums.Parallelism.None);
+                workerParams.setParameterValue("reuseTree", false);
+                workerParams.setParameterValue("randomSeed", rnd.nextInt());
+                if (params.parallelism == MCTSEnums.Parallelism.Root && params.budgetType != BUDGET_TIME)
+                    workerParams.setParameterValue("budget", (params.budget + params.nThreads - 1) / params.nThreads);
+                MCTSPlayer worker = new MCTSPlayer(workerParams, toString());
+                worker.setForwardModel(getForwardModel().copy());
+                worker.initializePlayer(gameState);
+                parallelWorkers.add(worker);
+            }
+        }
+        return parallelWorkers;
+    }
+
+    /**
+     * The threads of the executor are daemons, so that an unfinished player never keeps the JVM alive, and they end
+     * after a few seconds without a search to run. So a player that is dropped without finalizePlayer() being called
+     * (which shuts the executor down) does not keep its threads either.
+     */
+    protected ExecutorService getExecutor() {
+        if (executor == null) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(getParameters().nThreads, getParameters().nThreads,
+                    5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "MCTS-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+
+    /**
+     * Runs all the tasks on the executor, and waits for them to complete.
+     */
+    static void runInParallel(ExecutorService executor, List<Runnable> tasks) {
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable task : tasks)
+            futures.add(executor.submit(task));
+        try {
+            for (Future<?> future : futures)
+                future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for MCTS workers", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error error)
+                throw error;  // AssertionErrors from the search should look the same as they do without parallelism
+            throw new RuntimeException("Error in MCTS worker", e.getCause());
+        }
+    }
+
     @Override
     public void finalizePlayer(AbstractGameState state) {
         getParameters().getRolloutStrategy().onEvent(Event.createEvent(Event.GameEvent.GAME_OVER, state));
@@ -297,7 +415,10 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
             ((IGameListener) getParameters().heuristic).onEvent(Event.createEvent(Event.GameEvent.GAME_OVER, state));
         if (getParameters().actionHeuristic instanceof IGameListener)
             ((IGameListener) getParameters().actionHeuristic).onEvent(Event.createEvent(Event.GameEvent.GAME_OVER, state));
-
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
     }
 
     @Override
@@ -308,6 +429,15 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer {
         return retValue;
     }
 
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        // the rollout policy and opponent model have their own random number generators (and may be the same player)
+        Random seeds = new Random(seed);
+        getParameters().getRolloutStrategy().setSeed(seeds.nextLong());
+        getParameters().getOpponentModel().setSeed(seeds.nextLong());
+    }
+
     @Override
     public void setForwardModel(AbstractForwardModel model) {
         super.setForwardModel(model);
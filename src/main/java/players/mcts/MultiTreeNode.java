@@ -28,7 +28,8 @@ public class MultiTreeNode extends SingleTreeNode {
     MCTSPlayer mctsPlayer;
 
     public MultiTreeNode(MCTSPlayer player, AbstractGameState state, Random rnd) {
-        this.decisionPlayer = player.getPlayerID();
+        // the root is only created when it is our decision; and Root parallel workers have no playerID of their own
+        this.decisionPlayer = state.getCurrentPlayer();
         this.params = player.getParameters();
         this.forwardModel = player.getForwardModel();
         if (params.information == MCTSEnums.Information.Closed_Loop)
@@ -77,7 +78,8 @@ public class MultiTreeNode extends SingleTreeNode {
 
         actionsInTree = new ArrayList<>();
         currentNodeTrajectory = new ArrayList<>();
-        actionsInRollout = new ArrayList<>();
+        actionsInRollout.clear();
+        rolloutActionCount = 0;
         // Keep iterating while the state reached is not terminal and the depth of the tree is not exceeded
         do {
             if (debug)
@@ -99,11 +101,10 @@ public class MultiTreeNode extends SingleTreeNode {
                 // note that different players will enter rollout at different times, which is why
                 // we cannot have a simple rollout() method as in SingleTree search
                 AbstractPlayer agent = currentActor == decisionPlayer ? params.getRolloutStrategy() : params.getOpponentModel();
-                List<AbstractAction> availableActions = forwardModel.computeAvailableActions(currentState, mctsPlayer.getParameters().actionSpace);
-                if (availableActions.isEmpty())
+                AbstractAction chosen = rolloutAction(agent, currentState);
+                if (chosen == null)
                     throw new AssertionError("We should always have something to choose from");
 
-                AbstractAction chosen = agent.getAction(currentState, availableActions);
                 if (debug)
                     System.out.printf("Rollout action chosen for P%d - %s %n", currentActor, chosen);
 
@@ -152,7 +153,7 @@ public class MultiTreeNode extends SingleTreeNode {
                 currentLocation[p].backUp(finalValues);
             }
         }
-        rolloutActionsTaken += actionsInRollout.size();
+        rolloutActionsTaken += rolloutActionCount;
         root.updateMASTStatistics(actionsInTree, actionsInRollout, finalValues);
     }
 
@@ -181,6 +182,12 @@ public class MultiTreeNode extends SingleTreeNode {
         return roots[decisionPlayer].bestAction();
     }
 
+    @Override
+    protected void mergeRootStatistics(SingleTreeNode other) {
+        super.mergeRootStatistics(other);
+        roots[decisionPlayer].mergeRootStatistics(((MultiTreeNode) other).roots[decisionPlayer]);
+    }
+
     public SingleTreeNode getRoot(int player) {
         return roots[player];
     }
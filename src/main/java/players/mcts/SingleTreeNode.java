@@ -4,10 +4,12 @@ import core.*;
 import core.actions.AbstractAction;
 import core.actions.DoNothing;
 import core.interfaces.IActionHeuristic;
+import core.interfaces.IRolloutPolicy;
 import players.PlayerConstants;
 import utilities.*;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.function.*;
 import java.util.stream.IntStream;
 
@@ -46,8 +48,8 @@ public class SingleTreeNode {
     // (specifically when using SelfOnly trees, with START/END_TURN/ROUND rollout termination conditions
     protected int roundAtStartOfRollout, turnAtStartOfRollout, lastActorInRollout;
     List<AbstractAction> actionsFromOpenLoopState = new ArrayList<>();
-    Map<AbstractAction, Double> actionValueEstimates = new HashMap<>();
-    Map<AbstractAction, Double> actionPDFEstimates = new HashMap<>();
+    // the index (in actions[]) of each element of actionsFromOpenLoopState
+    int[] openLoopActionIndices = new int[0];
     // Depth of this node
     protected int depth;
     // the id of the player who makes the decision at this node
@@ -59,7 +61,8 @@ public class SingleTreeNode {
     double initialisationTimeTaken;
     protected double highReward = Double.NEGATIVE_INFINITY;
     protected double lowReward = Double.POSITIVE_INFINITY;
-    protected Map<AbstractAction, Double> regretMatchingAverage = new HashMap<>();
+    protected boolean hasRegretMatchingAverage;
+    protected boolean hasActionValueEstimates;
     protected int nodeClash;
     // Root node of tree
     protected SingleTreeNode root;
@@ -68,8 +71,25 @@ public class SingleTreeNode {
     // Children of this node. The value is an Array because we have to cater for the possibility that the next decision
     // could be by any player - each of which would transition to a different Node OpenLoop search. (Closed Loop will
     // only ever have one position in the array populated: and similarly if we are using a SelfOnly tree).
-    Map<AbstractAction, SingleTreeNode[]> children = new LinkedHashMap<>();
-    Map<AbstractAction, ActionStats> actionValues = new HashMap<>();
+    // Every action seen at this node is given an index (in the order first seen), and all the per-action data is held
+    // in arrays by that index. totValues and squaredTotValues are flattened as [index * nPlayers + player].
+    // Looking up the index in actionIndex is the only time an action is hashed, once per action per visit (in
+    // setActionsFromOpenLoopState), so selection and backup are just array accesses.
+    protected int nActions, nPlayers;
+    protected AbstractAction[] actions;
+    protected final Map<AbstractAction, Integer> actionIndex = new HashMap<>();
+    protected int[] actionVisitCounts, validVisitCounts;
+    protected double[] totValues, squaredTotValues;
+    protected SingleTreeNode[][] childNodes;
+    protected double[] actionValueEstimates;  // NaN until the actionHeuristic has been called for the action
+    protected double[] actionPDFEstimates;
+    protected double[] regretMatchingAverage;
+    // openLoopStamp[i] == visitStamp if actions[i] is available on the current visit
+    private int[] openLoopStamp;
+    private int visitStamp;
+    // Read-only Map views of the above, by action, for code outside the search (and tests).
+    final Map<AbstractAction, SingleTreeNode[]> children = new ChildrenView();
+    final Map<AbstractAction, ActionStats> actionValues = new ActionStatsView();
     List<Map<Object, Pair<Integer, Double>>> MASTStatistics; // a list of one Map per player. Action -> (visits, totValue)
     // ToDoubleBiFunction<AbstractAction, AbstractGameState> MASTFunction;
     // The total value of all trajectories through this node (one element per player)
@@ -77,7 +97,16 @@ public class SingleTreeNode {
     // Total value of this node
     protected List<SingleTreeNode> currentNodeTrajectory;
     protected List<Pair<Integer, AbstractAction>> actionsInTree;
-    List<Pair<Integer, AbstractAction>> actionsInRollout;
+    // The actions in the current rollout are only recorded if MAST needs them (or params.recordRolloutActions is set);
+    // otherwise we just count them. The list is reused for each iteration.
+    List<Pair<Integer, AbstractAction>> actionsInRollout = new ArrayList<>();
+    int rolloutActionCount;
+    // Number of nodes in the tree, and how many of them were kept from the last decision, pruned to stay within
+    // params.maxTreeNodes, or taken from the pool in this decision. All of these are only kept up to date on the root.
+    int treeSize = 1;
+    int retainedNodes, prunedNodes, recycledNodes;
+    // where the nodes of this tree go when they are discarded (only on the root, and only with params.recycleTreeNodes)
+    TreeNodePool nodePool;
 
     protected SingleTreeNode() {
     }
@@ -90,6 +119,7 @@ public class SingleTreeNode {
         retValue.params = player.getParameters();
         retValue.forwardModel = player.getForwardModel();
         retValue.rnd = rnd;
+        retValue.nodePool = player.nodePool;
         // only root node maintains MAST statistics
         retValue.MASTStatistics = new ArrayList<>();
         for (int i = 0; i < state.getNPlayers(); i++)
@@ -122,6 +152,8 @@ public class SingleTreeNode {
             // features from the nodes - if we are gathering Expert Iteration data or Learning an Advantage function
             root.copyCount++;
             this.state = rootState.copy();
+            // nothing reads the history of a search copy, so we do not pay to record it
+            this.state.setHistoryPolicy(CoreParameters.HistoryPolicy.NONE);
         } else {
             this.state = rootState;
         }
@@ -156,15 +188,110 @@ public class SingleTreeNode {
         highReward = template.highReward;
         lowReward = template.lowReward;
         inheritedVisits = nVisits;
+        nodePool = template.nodePool;
+        treeSize = countNodes();
+        retainedNodes = treeSize;
+        prunedNodes = 0;
+        recycledNodes = 0;
         MASTStatistics = new ArrayList<>();
         for (int i = 0; i < template.MASTStatistics.size(); i++)
             MASTStatistics.add(new HashMap<>());
     }
 
+    // The number of nodes in the subtree below (and including) this one
+    private int countNodes() {
+        int count = 1;
+        for (int i = 0; i < nActions; i++) {
+            SingleTreeNode[] childArray = childNodes[i];
+            if (childArray == null) continue;
+            for (SingleTreeNode child : childArray) {
+                if (child != null) count += child.countNodes();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Resets this node to the state of a new SingleTreeNode(), so that TreeNodePool can hand it out again, but keeps
+     * the arrays that hold the per-action data so that they need not be grown again.
+     */
+    void clear() {
+        state = null;
+        openLoopState = null;
+        params = null;
+        forwardModel = null;
+        rnd = null;
+        fmCallsCount = 0;
+        copyCount = 0;
+        paranoidPlayer = -1;
+        actionToReach = null;
+        nVisits = 0;
+        inheritedVisits = 0;
+        rolloutActionsTaken = 0;
+        roundAtStartOfRollout = 0;
+        turnAtStartOfRollout = 0;
+        lastActorInRollout = 0;
+        actionsFromOpenLoopState = new ArrayList<>();
+        depth = 0;
+        decisionPlayer = 0;
+        redeterminisationPlayer = -1;
+        round = 0;
+        turn = 0;
+        turnOwner = 0;
+        terminalNode = false;
+        timeTaken = 0.0;
+        initialisationTimeTaken = 0.0;
+        highReward = Double.NEGATIVE_INFINITY;
+        lowReward = Double.POSITIVE_INFINITY;
+        hasRegretMatchingAverage = false;
+        hasActionValueEstimates = false;
+        nodeClash = 0;
+        root = null;
+        parent = null;
+        if (nActions > 0) {
+            Arrays.fill(actions, 0, nActions, null);
+            Arrays.fill(actionVisitCounts, 0, nActions, 0);
+            Arrays.fill(validVisitCounts, 0, nActions, 0);
+            Arrays.fill(totValues, 0, nActions * nPlayers, 0.0);
+            Arrays.fill(squaredTotValues, 0, nActions * nPlayers, 0.0);
+            Arrays.fill(childNodes, 0, nActions, null);
+            Arrays.fill(actionPDFEstimates, 0, nActions, 0.0);
+            Arrays.fill(regretMatchingAverage, 0, nActions, 0.0);
+            Arrays.fill(openLoopStamp, 0, nActions, 0);
+        }
+        nActions = 0;
+        // nPlayers is kept, as the arrays are sized for it; setNPlayers() checks it when the node is used again
+        actionIndex.clear();
+        MASTStatistics = null;
+        factory = null;
+        currentNodeTrajectory = null;
+        actionsInTree = null;
+        actionsInRollout.clear();
+        rolloutActionCount = 0;
+        treeSize = 1;
+        retainedNodes = 0;
+        prunedNodes = 0;
+        recycledNodes = 0;
+        nodePool = null;
+    }
+
+    // Sets the number of players, which (with the number of actions) is the size of the totValues arrays
+    private void setNPlayers(int players) {
+        if (players != nPlayers && totValues != null) {
+            // the arrays kept by a recycled node are for a different number of players
+            actions = null;
+            actionVisitCounts = validVisitCounts = openLoopStamp = null;
+            totValues = squaredTotValues = actionValueEstimates = actionPDFEstimates = regretMatchingAverage = null;
+            childNodes = null;
+        }
+        nPlayers = players;
+    }
+
     protected void resetDepth(SingleTreeNode newRoot) {
         depth = parent == null ? 0 : parent.depth + 1;
         root = newRoot;
-        for (SingleTreeNode[] childArray : children.values()) {
+        for (int i = 0; i < nActions; i++) {
+            SingleTreeNode[] childArray = childNodes[i];
             if (childArray == null) continue;
             for (SingleTreeNode child : childArray) {
                 if (child != null) child.resetDepth(newRoot);
@@ -199,10 +326,26 @@ public class SingleTreeNode {
             actionsFromOpenLoopState = forwardModel.computeAvailableActions(actionState, params.actionSpace);
             //      System.out.printf("Setting OLS actions for P%d (%d)%n%s%n", decisionPlayer, actionState.getCurrentPlayer(),
 //                actionsFromOpenLoopState.stream().map(a -> "\t" + a.toString() + "\n").collect(joining()));
-            if (actionsFromOpenLoopState.size() != actionsFromOpenLoopState.stream().distinct().count())
-                throw new AssertionError("Duplicate actions found in action list: " +
-                        actionsFromOpenLoopState.stream().map(a -> "\t" + a.toString() + "\n").collect(joining()));
-            if ((params.actionHeuristic != IActionHeuristic.nullReturn && nVisits < actionsFromOpenLoopState.size())
+            int nAvailable = actionsFromOpenLoopState.size();
+            if (openLoopActionIndices.length != nAvailable)
+                openLoopActionIndices = new int[nAvailable];
+            if (nActions == 0)
+                setNPlayers(actionState.getNPlayers());
+            // first we find the index of each action; registering any we have not seen before
+            int firstNewAction = nActions;
+            visitStamp++;
+            for (int i = 0; i < nAvailable; i++) {
+                AbstractAction action = actionsFromOpenLoopState.get(i);
+                Integer index = actionIndex.get(action);
+                if (index == null)
+                    index = addAction(action);
+                if (openLoopStamp[index] == visitStamp)
+                    throw new AssertionError("Duplicate actions found in action list: " +
+                            actionsFromOpenLoopState.stream().map(a -> "\t" + a.toString() + "\n").collect(joining()));
+                openLoopStamp[index] = visitStamp;
+                openLoopActionIndices[i] = index;
+            }
+            if ((params.actionHeuristic != IActionHeuristic.nullReturn && nVisits < nAvailable)
                     || params.pUCT || params.progressiveBias > 0 || params.initialiseVisits > 0 || params.progressiveWideningConstant >= 1.0) {
                 // We only need to calculate actionValueEstimates if we are going to be using the data in one of these variants
                 // If not, then we can save processing time by not calculating them
@@ -212,17 +355,19 @@ public class SingleTreeNode {
                 // change over the course of the search. Setting it to 1 will update it on every visit; but possibly
                 // at a high additional computational cost.
                 if (params.actionHeuristic != IActionHeuristic.nullReturn) {
-                    if (actionValueEstimates.isEmpty() || nVisits % params.actionHeuristicRecalculationThreshold == 0) {
+                    if (!hasActionValueEstimates || nVisits % params.actionHeuristicRecalculationThreshold == 0) {
                         // in this case we initialise all action values
-                        double[] actionValues = params.actionHeuristic.evaluateAllActions(actionsFromOpenLoopState, actionState);
-                        for (int i = 0; i < actionsFromOpenLoopState.size(); i++) {
-                            actionValueEstimates.put(actionsFromOpenLoopState.get(i), actionValues[i]);
+                        double[] values = params.actionHeuristic.evaluateAllActions(actionsFromOpenLoopState, actionState);
+                        for (int i = 0; i < nAvailable; i++) {
+                            actionValueEstimates[openLoopActionIndices[i]] = values[i];
                         }
+                        hasActionValueEstimates = true;
                     } else {
                         // we just initialise the new actions
-                        for (AbstractAction action : actionsFromOpenLoopState) {
-                            if (!actionValueEstimates.containsKey(action)) {
-                                actionValueEstimates.put(action, params.actionHeuristic.evaluateAction(action, actionState, actionsFromOpenLoopState));
+                        for (int i = 0; i < nAvailable; i++) {
+                            int index = openLoopActionIndices[i];
+                            if (Double.isNaN(actionValueEstimates[index])) {
+                                actionValueEstimates[index] = params.actionHeuristic.evaluateAction(actionsFromOpenLoopState.get(i), actionState, actionsFromOpenLoopState);
                             }
                         }
                     }
@@ -237,54 +382,46 @@ public class SingleTreeNode {
                 // Generally if using pUCT we would expect FPU to also be used to give effective pruning, rather than the
                 // explicit pruning of Progressive Widening.
                 double[] pdf;
-                actionPDFEstimates = new HashMap<>();
+                double[] values = new double[nAvailable];
+                for (int i = 0; i < nAvailable; i++)
+                    values[i] = estimateFor(openLoopActionIndices[i]);
                 if (params.pUCTTemperature > 0.0) {
                     // in this case we construct a Boltzmann
-                    double[] actionValues = actionsFromOpenLoopState.stream().
-                            mapToDouble(a -> actionValueEstimates.getOrDefault(a, 0.0)).toArray();
-                    pdf = pdf(exponentiatePotentials(actionValues, params.pUCTTemperature));
-
+                    pdf = pdf(exponentiatePotentials(values, params.pUCTTemperature));
                 } else {
                     // in this case, we first set any negative values to zero, and then construct the pdf directly
-                    double[] actionValues = actionsFromOpenLoopState.stream().
-                            mapToDouble(a -> Math.max(0.0, actionValueEstimates.getOrDefault(a, 0.0))).toArray();
-                    pdf = pdf(actionValues);
+                    for (int i = 0; i < nAvailable; i++)
+                        values[i] = Math.max(0.0, values[i]);
+                    pdf = pdf(values);
                 }
-                for (int i = 0; i < actionsFromOpenLoopState.size(); i++) {
-                    actionPDFEstimates.put(actionsFromOpenLoopState.get(i), pdf[i]);
+                for (int i = 0; i < nAvailable; i++) {
+                    actionPDFEstimates[openLoopActionIndices[i]] = pdf[i];
                 }
             }
-            for (AbstractAction action : actionsFromOpenLoopState) {
-                if (!actionValues.containsKey(action)) {
-                    actionValues.put(action, new ActionStats(actionState.getNPlayers()));
-                    children.put(action.copy(), null); // mark a new node to be expanded
-                    // This *does* rely on a good equals method being implemented for Actions
-                    if (!children.containsKey(action))
-                        throw new AssertionError("We have an action that does not obey the equals/hashcode contract" + action);
-                    // Then we seed the statistics with heuristic biases (if so parameterised)
-                    // This assumes that we have had params.initialiseVisits trials of each action before we start
-                    if (params.initialiseVisits > 0) {
-                        // This also ignores Progressive widening and initialises all possible actions
-                        // As with pUCT, this won't cause any major issues, but will mean that the effective node visits
-                        // will be higher than the visits of the considered actions.
-                        ActionStats stats = actionValues.get(action);
-                        double actionEstimate = actionValueEstimates.getOrDefault(action, 0.0);
-                        if (params.normaliseRewards) {
-                            if (actionEstimate > root.highReward) root.highReward = actionEstimate;
-                            if (actionEstimate < root.lowReward) root.lowReward = actionEstimate;
-                        }
-                        int nActions = Math.max(actionValues.size(), actionsFromOpenLoopState.size());
-                        stats.nVisits = params.initialiseVisits;
-                        stats.validVisits = params.initialiseVisits * nActions;
-                        stats.totValue[decisionPlayer] = actionEstimate * params.initialiseVisits;
-                        stats.squaredTotValue[decisionPlayer] = actionEstimate * actionEstimate * params.initialiseVisits;
-                        if (params.paranoid) // default to zero for other players, unless we're paranoid
-                            for (int i = 0; i < actionState.getNPlayers(); i++)
-                                if (i != decisionPlayer)
-                                    stats.totValue[i] = -stats.totValue[decisionPlayer];
-                        if (nVisits < params.initialiseVisits * nActions) {
-                            nVisits = params.initialiseVisits * nActions;
-                        }
+            if (params.initialiseVisits > 0) {
+                // Then we seed the statistics of the new actions with heuristic biases
+                // This assumes that we have had params.initialiseVisits trials of each action before we start
+                // This also ignores Progressive widening and initialises all possible actions
+                // As with pUCT, this won't cause any major issues, but will mean that the effective node visits
+                // will be higher than the visits of the considered actions.
+                for (int index = firstNewAction; index < nActions; index++) {
+                    double actionEstimate = estimateFor(index);
+                    if (params.normaliseRewards) {
+                        if (actionEstimate > root.highReward) root.highReward = actionEstimate;
+                        if (actionEstimate < root.lowReward) root.lowReward = actionEstimate;
+                    }
+                    // (index + 1) is the number of actions known when this one was added
+                    int knownActions = Math.max(index + 1, nAvailable);
+                    actionVisitCounts[index] = params.initialiseVisits;
+                    validVisitCounts[index] = params.initialiseVisits * knownActions;
+                    totValues[index * nPlayers + decisionPlayer] = actionEstimate * params.initialiseVisits;
+                    squaredTotValues[index * nPlayers + decisionPlayer] = actionEstimate * actionEstimate * params.initialiseVisits;
+                    if (params.paranoid) // default to zero for other players, unless we're paranoid
+                        for (int i = 0; i < nPlayers; i++)
+                            if (i != decisionPlayer)
+                                totValues[index * nPlayers + i] = -totValues[index * nPlayers + decisionPlayer];
+                    if (nVisits < params.initialiseVisits * knownActions) {
+                        nVisits = params.initialiseVisits * knownActions;
                     }
                 }
             }
@@ -294,12 +431,57 @@ public class SingleTreeNode {
         }
     }
 
+    /**
+     * Gives the action a new index, with empty statistics and no children (to be expanded).
+     * This (and the actionIndex lookup) relies on a good equals/hashcode being implemented for Actions.
+     */
+    protected int addAction(AbstractAction action) {
+        if (actions == null || nActions == actions.length)
+            growActionArrays(Math.max(4, Math.max(nActions * 2, actionsFromOpenLoopState.size())));
+        AbstractAction actionCopy = action.copy();
+        int index = nActions++;
+        actions[index] = actionCopy;
+        actionIndex.put(actionCopy, index);
+        if (!actionIndex.containsKey(action))
+            throw new AssertionError("We have an action that does not obey the equals/hashcode contract" + action);
+        actionValueEstimates[index] = Double.NaN;
+        return index;
+    }
+
+    private void growActionArrays(int capacity) {
+        actions = actions == null ? new AbstractAction[capacity] : Arrays.copyOf(actions, capacity);
+        actionVisitCounts = actionVisitCounts == null ? new int[capacity] : Arrays.copyOf(actionVisitCounts, capacity);
+        validVisitCounts = validVisitCounts == null ? new int[capacity] : Arrays.copyOf(validVisitCounts, capacity);
+        totValues = totValues == null ? new double[capacity * nPlayers] : Arrays.copyOf(totValues, capacity * nPlayers);
+        squaredTotValues = squaredTotValues == null ? new double[capacity * nPlayers] : Arrays.copyOf(squaredTotValues, capacity * nPlayers);
+        childNodes = childNodes == null ? new SingleTreeNode[capacity][] : Arrays.copyOf(childNodes, capacity);
+        actionValueEstimates = actionValueEstimates == null ? new double[capacity] : Arrays.copyOf(actionValueEstimates, capacity);
+        actionPDFEstimates = actionPDFEstimates == null ? new double[capacity] : Arrays.copyOf(actionPDFEstimates, capacity);
+        regretMatchingAverage = regretMatchingAverage == null ? new double[capacity] : Arrays.copyOf(regretMatchingAverage, capacity);
+        openLoopStamp = openLoopStamp == null ? new int[capacity] : Arrays.copyOf(openLoopStamp, capacity);
+    }
+
+    /**
+     * @return the index of the action at this node, or -1 if it has never been seen here
+     */
+    protected int indexOf(AbstractAction action) {
+        Integer index = actionIndex.get(action);
+        return index == null ? -1 : index;
+    }
+
+    private double estimateFor(int index) {
+        double estimate = actionValueEstimates[index];
+        return Double.isNaN(estimate) ? 0.0 : estimate;
+    }
+
     protected void initialiseRootMetrics() {
         timeTaken = 0.0;
         initialisationTimeTaken = 0.0;
         nodeClash = 0;
         rolloutActionsTaken = 0;
-        regretMatchingAverage.clear();
+        if (regretMatchingAverage != null)
+            Arrays.fill(regretMatchingAverage, 0.0);
+        hasRegretMatchingAverage = false;
     }
 
     /**
@@ -309,9 +491,6 @@ public class SingleTreeNode {
         initialiseRootMetrics();
         initialisationTimeTaken = initialisationTime;
         // Variables for tracking time budget
-        double avgTimeTaken;
-        long remaining;
-        int remainingLimit = params.breakMS;
         ElapsedCpuTimer elapsedTimer = new ElapsedCpuTimer();
         if (params.budgetType == BUDGET_TIME) {
             elapsedTimer.setMaxTimeMillis(params.budget - initialisationTime);
@@ -349,27 +528,192 @@ public class SingleTreeNode {
             numIters++;
             //       System.out.printf("MCTS Iteration %d, timeLeft: %d\n", numIters, elapsedTimer.remainingTimeMillis());
             // Check stopping condition
-            PlayerConstants budgetType = params.budgetType;
-            if (budgetType == BUDGET_TIME) {
-                // Time budget
-                remaining = elapsedTimer.remainingTimeMillis();
-                avgTimeTaken = (double) elapsedTimer.elapsedMillis() / numIters;
-                stop = remaining <= 2 * avgTimeTaken || remaining <= remainingLimit;
-            } else if (budgetType == BUDGET_ITERATIONS) {
-                // Iteration budget
-                stop = numIters >= params.budget;
-            } else if (budgetType == BUDGET_FM_CALLS) {
-                // FM calls budget
-                stop = fmCallsCount > params.budget || numIters > params.budget;
-            } else if (budgetType == BUDGET_COPY_CALLS) {
-                stop = copyCount > params.budget || numIters > params.budget;
-            } else if (budgetType == BUDGET_FMANDCOPY_CALLS) {
-                stop = (copyCount + fmCallsCount) > params.budget || numIters > params.budget;
-            }
+            stop = budgetExhausted(numIters, numIters, elapsedTimer);
         }
         timeTaken = elapsedTimer.elapsedMillis();
     }
 
+    /**
+     * Checks the stopping condition for the search budget.
+     *
+     * @param numIters     - iterations completed on this tree
+     * @param timedIters   - iterations completed by the calling thread; with Tree parallelism each worker
+     *                     times itself against its own (thread CPU) timer
+     * @param elapsedTimer - timer for the calling thread
+     */
+    protected boolean budgetExhausted(int numIters, int timedIters, ElapsedCpuTimer elapsedTimer) {
+        return switch (params.budgetType) {
+            case BUDGET_TIME -> {
+                long remaining = elapsedTimer.remainingTimeMillis();
+                double avgTimeTaken = (double) elapsedTimer.elapsedMillis() / timedIters;
+                yield remaining <= 2 * avgTimeTaken || remaining <= params.breakMS;
+            }
+            case BUDGET_ITERATIONS -> numIters >= params.budget;
+            case BUDGET_FM_CALLS -> fmCallsCount > params.budget || numIters > params.budget;
+            case BUDGET_COPY_CALLS -> copyCount > params.budget || numIters > params.budget;
+            case BUDGET_FMANDCOPY_CALLS -> (copyCount + fmCallsCount) > params.budget || numIters > params.budget;
+        };
+    }
+
+    /**
+     * Tree parallel version of mctsSearch(). Each worker runs iterations on this (shared) tree on its own thread,
+     * using its own forward model and rollout/opponent policies for the rollout. The tree itself is only
+     * touched while holding the lock on this root node; selection, expansion and backup are therefore serialised,
+     * while the per-iteration state copy and the rollout run concurrently.
+     * <p>
+     * BUDGET_ITERATIONS (and the FM/copy call budgets) apply to the tree as a whole, so the result uses the same
+     * number of iterations as a sequential search. BUDGET_TIME applies to each worker's own thread CPU time, as
+     * it does to the single thread in mctsSearch().
+     */
+    public void treeParallelSearch(long initialisationTime, List<MCTSPlayer> workers, ExecutorService executor) {
+        initialiseRootMetrics();
+        initialisationTimeTaken = initialisationTime;
+        if (params.information == MCTSEnums.Information.Information_Set && redeterminisationPlayer == -1)
+            redeterminisationPlayer = decisionPlayer;
+        long startTime = System.nanoTime();
+        int[] iterations = new int[1];  // iterations started on the tree, guarded by this
+        List<Runnable> tasks = new ArrayList<>();
+        for (MCTSPlayer worker : workers)
+            tasks.add(() -> treeParallelWorker(worker, initialisationTime, iterations));
+        MCTSPlayer.runInParallel(executor, tasks);
+        timeTaken = (System.nanoTime() - startTime) / 1e6;
+    }
+
+    private void treeParallelWorker(MCTSPlayer worker, long initialisationTime, int[] iterations) {
+        ElapsedCpuTimer elapsedTimer = new ElapsedCpuTimer();
+        if (params.budgetType == BUDGET_TIME) {
+            elapsedTimer.setMaxTimeMillis(params.budget - initialisationTime);
+        }
+        int workerIters = 0;
+        boolean stop = false;
+        while (!stop) {
+            // copy outside the lock; the root state is never modified during search
+            AbstractGameState iterationState = switch (params.information) {
+                case Closed_Loop -> state;
+                case Open_Loop -> state.copy();
+                case Information_Set -> state.copy(redeterminisationPlayer);
+            };
+
+            SingleTreeNode selected;
+            List<SingleTreeNode> trajectory;
+            List<Pair<Integer, AbstractAction>> treeActions;
+            List<List<AbstractAction>> availableActions = new ArrayList<>();
+            List<int[]> availableIndices = new ArrayList<>();
+            double lossValue;
+            int virtualLoss;
+            SingleTreeNode rolloutNode;
+            synchronized (this) {
+                if (params.budgetType == BUDGET_ITERATIONS && iterations[0] >= params.budget)
+                    break;
+                iterations[0]++;
+                // the loss is the worst reward seen so far; until we have seen one there is nothing to lose against
+                // (and the reward normalisation would have no range)
+                boolean rewardSeen = !Double.isInfinite(lowReward);
+                lossValue = rewardSeen ? lowReward : 0.0;
+                virtualLoss = rewardSeen ? params.virtualLoss : 0;
+                if (iterationState != state)
+                    copyCount++;
+                setActionsFromOpenLoopState(iterationState);
+                actionsInTree = new ArrayList<>();
+                currentNodeTrajectory = new ArrayList<>();
+                selected = treePolicy();
+                trajectory = currentNodeTrajectory;
+                treeActions = actionsInTree;
+                // We hold on to the actions each node offered on this visit (backup needs these, and they will be
+                // overwritten by other workers), and add virtual loss to each action taken
+                for (int i = 0; i < trajectory.size(); i++) {
+                    SingleTreeNode node = trajectory.get(i);
+                    availableActions.add(node.actionsFromOpenLoopState);
+                    availableIndices.add(node.openLoopActionIndices.clone());
+                    node.addVirtualLoss(treeActions.get(i).b, virtualLoss, lossValue);
+                }
+                rolloutNode = detachedRolloutNode(worker, selected);
+            }
+
+            int lastActorInTree = treeActions.isEmpty() ? decisionPlayer : treeActions.get(treeActions.size() - 1).a;
+            double[] delta = rolloutNode.rollout(lastActorInTree);
+
+            synchronized (this) {
+                for (int i = 0; i < trajectory.size(); i++) {
+                    SingleTreeNode node = trajectory.get(i);
+                    node.actionsFromOpenLoopState = availableActions.get(i);
+                    node.openLoopActionIndices = availableIndices.get(i);
+                    node.addVirtualLoss(treeActions.get(i).b, -virtualLoss, lossValue);
+                }
+                actionsInTree = treeActions;
+                currentNodeTrajectory = trajectory;
+                actionsInRollout = rolloutNode.actionsInRollout;
+                fmCallsCount += rolloutNode.fmCallsCount;
+                copyCount += rolloutNode.copyCount;
+                rolloutActionsTaken += rolloutNode.rolloutActionCount;
+                selected.backUp(delta);
+                updateMASTStatistics(actionsInTree, actionsInRollout, delta);
+                workerIters++;
+                stop = budgetExhausted(iterations[0], workerIters, elapsedTimer);
+            }
+        }
+    }
+
+    /**
+     * A node outside the tree that runs a rollout from the state reached by selected, but with the forward
+     * model and policies of the worker, and with its own rollout bookkeeping. Only used by Tree parallelism.
+     */
+    private SingleTreeNode detachedRolloutNode(MCTSPlayer worker, SingleTreeNode selected) {
+        SingleTreeNode retValue = new SingleTreeNode();
+        retValue.root = retValue;
+        retValue.params = worker.getParameters();
+        retValue.forwardModel = worker.getForwardModel();
+        retValue.rnd = worker.getRnd();
+        // rollout() uses the decision player at the root to choose between the rollout and opponent policies
+        retValue.decisionPlayer = decisionPlayer;
+        retValue.depth = selected.depth;
+        retValue.state = selected.state;
+        retValue.openLoopState = selected.openLoopState;
+        return retValue;
+    }
+
+    /**
+     * Adds the root statistics of another tree, searched independently from the same state, to this one.
+     * This is how Root parallelism combines its trees; only the root is merged, and not the subtrees below it.
+     */
+    protected void mergeRootStatistics(SingleTreeNode other) {
+        nVisits += other.nVisits;
+        fmCallsCount += other.fmCallsCount;
+        copyCount += other.copyCount;
+        rolloutActionsTaken += other.rolloutActionsTaken;
+        timeTaken = Math.max(timeTaken, other.timeTaken);
+        highReward = Math.max(highReward, other.highReward);
+        lowReward = Math.min(lowReward, other.lowReward);
+        if (nActions == 0)
+            setNPlayers(other.nPlayers);
+        for (int i = 0; i < other.nActions; i++) {
+            int index = indexOf(other.actions[i]);
+            if (index == -1) // possible with Information_Set, if a redeterminisation gave different options
+                index = addAction(other.actions[i]);
+            actionVisitCounts[index] += other.actionVisitCounts[i];
+            validVisitCounts[index] += other.validVisitCounts[i];
+            for (int p = 0; p < nPlayers; p++) {
+                totValues[index * nPlayers + p] += other.totValues[i * nPlayers + p];
+                squaredTotValues[index * nPlayers + p] += other.squaredTotValues[i * nPlayers + p];
+            }
+            if (other.hasRegretMatchingAverage)
+                regretMatchingAverage[index] += other.regretMatchingAverage[i];
+        }
+        hasRegretMatchingAverage |= other.hasRegretMatchingAverage;
+    }
+
+    /**
+     * Virtual loss: records (or, with a negative count, removes) 'visits' pending visits of the action that each
+     * scored 'value' for the decision player. This makes the action look worse to other workers searching the same
+     * tree until the real result is backed up.
+     */
+    protected void addVirtualLoss(AbstractAction action, int visits, double value) {
+        int index = indexOf(action);
+        totValues[index * nPlayers + decisionPlayer] += visits * value;
+        actionVisitCounts[index] += visits;
+        validVisitCounts[index] += visits;
+    }
+
     /**
      * oneSearchIteration() implements the strategy for tree search (plus expansion, rollouts, backup and so on)
      * Its result is purely stored in the tree generated from root
@@ -377,7 +721,8 @@ public class SingleTreeNode {
     protected void oneSearchIteration() {
         actionsInTree = new ArrayList<>();
         currentNodeTrajectory = new ArrayList<>();
-        actionsInRollout = new ArrayList<>();
+        actionsInRollout.clear();
+        rolloutActionCount = 0;
 
         SingleTreeNode selected = treePolicy();
         if (selected == this && openLoopState.isNotTerminalForPlayer(decisionPlayer) && nVisits > 3 && !(this instanceof MCGSNode))
@@ -390,7 +735,7 @@ public class SingleTreeNode {
         int lastActorInTree = actionsInTree.isEmpty() ? decisionPlayer : actionsInTree.get(actionsInTree.size() - 1).a;
         double[] delta = selected.rollout(lastActorInTree);
         // Back up the value of the rollout through the tree
-        rolloutActionsTaken += actionsInRollout.size();
+        rolloutActionsTaken += rolloutActionCount;
 
         selected.backUp(delta);
         updateMASTStatistics(actionsInTree, actionsInRollout, delta);
@@ -416,49 +761,35 @@ public class SingleTreeNode {
         }
     }
 
-    /**
-     * Uses plain java loop instead of streams for performance
-     * (this is called often enough it can make a measurable difference)
-     */
     public int actionVisits(AbstractAction action) {
-        ActionStats stats = actionValues.get(action);
-        return stats == null ? 0 : stats.nVisits;
+        int index = indexOf(action);
+        return index == -1 ? 0 : actionVisitCounts[index];
     }
 
-    private int validVisitsFor(AbstractAction action) {
+    private int validVisitsFor(int index) {
         if (params.information == Closed_Loop)
             return nVisits;
-        ActionStats stats = actionValues.get(action);
-        return stats == null ? 1 : stats.validVisits;
+        return validVisitCounts[index];
     }
 
-    /**
-     * Uses plain java loop instead of streams for performance
-     * (this is called often enough it can make a measurable difference)
-     */
     public double actionTotValue(AbstractAction action, int playerId) {
-        ActionStats stats = actionValues.get(action);
-        return stats == null ? 0.0 : stats.totValue[playerId];
+        int index = indexOf(action);
+        return index == -1 ? 0.0 : totValues[index * nPlayers + playerId];
     }
 
     public double nodeValue(int playerId) {
         if (nVisits == 0) return 0.0;
-        return actionValues.values().stream().mapToDouble(s -> s.totValue[playerId]).sum() / nVisits;
-    }
-
-    private double actionSquaredValue(AbstractAction action, int playerId) {
-        ActionStats stats = actionValues.get(action);
-        return stats == null ? 0.0 : stats.squaredTotValue[playerId];
+        double total = 0.0;
+        for (int i = 0; i < nActions; i++)
+            total += totValues[i * nPlayers + playerId];
+        return total / nVisits;
     }
 
     /**
      * Uses only by TreeStatistics and bestAction() after mctsSearch()
-     * For this reason not converted to old-style java loop as there would be no performance gain
      */
     int[] actionVisits() {
-        return actionValues.values().stream()
-                .mapToInt(a -> a.nVisits)
-                .toArray();
+        return nActions == 0 ? new int[0] : Arrays.copyOf(actionVisitCounts, nActions);
     }
 
     /**
@@ -499,6 +830,8 @@ public class SingleTreeNode {
             SingleTreeNode nextNode = cur.nextNodeInTree(chosen);
             // if and only if we do not find a new node, then we need to expand and create a new node
             if (nextNode == null) {
+                if (treeSize >= params.maxTreeNodes && !(this instanceof MCGSNode))
+                    pruneTree(params.maxTreeNodes - Math.max(1, params.maxTreeNodes / 10));
                 return cur.expandNode(chosen, cur.openLoopState);
             }
             cur = nextNode;
@@ -507,42 +840,113 @@ public class SingleTreeNode {
     }
 
     protected List<AbstractAction> actionsToConsider(List<AbstractAction> allAvailable) {
-        if (!allAvailable.isEmpty() && params.progressiveWideningConstant >= 1.0) {
+        int[] indices = new int[allAvailable.size()];
+        for (int i = 0; i < indices.length; i++)
+            indices[i] = indexOf(allAvailable.get(i));
+        int[] positions = positionsToConsider(indices);
+        List<AbstractAction> retValue = new ArrayList<>(positions.length);
+        for (int position : positions)
+            retValue.add(allAvailable.get(position));
+        return retValue;
+    }
+
+    /**
+     * The actions to consider, after any Progressive Widening, from a list of available actions.
+     *
+     * @param indices - the index (in actions[]) of each available action, or -1 if it is not (yet) known at this node
+     * @return the positions in the list of the actions to consider
+     */
+    protected int[] positionsToConsider(int[] indices) {
+        if (indices.length > 0 && params.progressiveWideningConstant >= 1.0) {
             int actionsToConsider = (int) Math.floor(params.progressiveWideningConstant * Math.pow(nVisits + 1, params.progressiveWideningExponent));
-            actionsToConsider = Math.min(actionsToConsider, allAvailable.size());
+            actionsToConsider = Math.min(actionsToConsider, indices.length);
             // takes account of the expanded actions
-            if (actionsToConsider <= 0) return new ArrayList<>();
+            if (actionsToConsider <= 0) return new int[0];
             // sort in advantage order (descending)
             // It is perfectly possible that a previously expanded action falls out of the considered list
             // depending on the advantage heuristic used.
             // However, we do break ties in favour of already expanded actions
-            List<AbstractAction> sortedActions = new ArrayList<>(allAvailable);
-            sortedActions.sort(Comparator.comparingDouble(a -> -actionValueEstimates.getOrDefault(a, 0.0) -
-                    actionValues.getOrDefault(a, new ActionStats(1)).nVisits * 1e-6));
-            return new ArrayList<>(sortedActions.subList(0, actionsToConsider));
+            Integer[] sortedPositions = new Integer[indices.length];
+            for (int i = 0; i < indices.length; i++)
+                sortedPositions[i] = i;
+            Arrays.sort(sortedPositions, Comparator.comparingDouble(i -> indices[i] == -1 ? 0.0 :
+                    -estimateFor(indices[i]) - actionVisitCounts[indices[i]] * 1e-6));
+            int[] retValue = new int[actionsToConsider];
+            for (int i = 0; i < actionsToConsider; i++)
+                retValue[i] = sortedPositions[i];
+            return retValue;
         }
-        return new ArrayList<>(allAvailable);
+        int[] retValue = new int[indices.length];
+        for (int i = 0; i < retValue.length; i++)
+            retValue[i] = i;
+        return retValue;
     }
 
-
     protected SingleTreeNode expandNode(AbstractAction actionCopy, AbstractGameState nextState) {
         // then instantiate a new node
         int nextPlayer = params.opponentTreePolicy.selfOnlyTree ? decisionPlayer : nextState.getCurrentPlayer();
         SingleTreeNode tn = createChildNode(actionCopy, nextState);
         // It is possible that we are expanding a node because a different player is the next to act
-        SingleTreeNode[] newNodeArray = children.get(actionCopy);
-        if (newNodeArray == null)
-            newNodeArray = new SingleTreeNode[nextState.getNPlayers()];
-        newNodeArray[nextPlayer] = tn; // we store this by id of the player who will take their turn next
-        children.put(actionCopy, newNodeArray);
+        int index = indexOf(actionCopy);
+        if (index == -1)
+            throw new AssertionError("Expanding an action that has not been seen at this node: " + actionCopy);
+        if (childNodes[index] == null)
+            childNodes[index] = new SingleTreeNode[nextState.getNPlayers()];
+        childNodes[index][nextPlayer] = tn; // we store this by id of the player who will take their turn next
         return tn;
     }
 
     protected SingleTreeNode createChildNode(AbstractAction actionCopy, AbstractGameState nextState) {
         // then instantiate a new node
+        root.treeSize++;
         return SingleTreeNode.createChildNode(this, actionCopy, nextState, factory);
     }
 
+    /**
+     * Prunes the least visited leaves from the tree until it has no more than targetSize nodes. The nodes on the
+     * current trajectory are never pruned. The statistics of the actions that led to them are kept on their parents,
+     * so a pruned action is simply expanded again the next time it is chosen.
+     * Caution - this is only called on the root node.
+     */
+    protected void pruneTree(int targetSize) {
+        while (treeSize > targetSize) {
+            List<SingleTreeNode> leaves = new ArrayList<>();
+            List<SingleTreeNode> toVisit = new ArrayList<>();
+            toVisit.add(this);
+            for (int i = 0; i < toVisit.size(); i++) {
+                SingleTreeNode node = toVisit.get(i);
+                boolean leaf = true;
+                for (int a = 0; a < node.nActions; a++) {
+                    SingleTreeNode[] childArray = node.childNodes[a];
+                    if (childArray == null) continue;
+                    for (SingleTreeNode child : childArray) {
+                        if (child != null) {
+                            toVisit.add(child);
+                            leaf = false;
+                        }
+                    }
+                }
+                if (leaf && node != this && !currentNodeTrajectory.contains(node))
+                    leaves.add(node);
+            }
+            if (leaves.isEmpty()) return;
+            leaves.sort(Comparator.comparingInt(n -> n.nVisits));
+            int toPrune = Math.min(leaves.size(), treeSize - targetSize);
+            for (int i = 0; i < toPrune; i++) {
+                SingleTreeNode leaf = leaves.get(i);
+                SingleTreeNode[] siblings = leaf.parent.childNodes[leaf.parent.indexOf(leaf.actionToReach)];
+                for (int p = 0; p < siblings.length; p++) {
+                    if (siblings[p] == leaf) siblings[p] = null;
+                }
+                treeSize--;
+                prunedNodes++;
+                // with Tree parallelism another worker may still be backing up through the leaf
+                if (nodePool != null && params.parallelism != MCTSEnums.Parallelism.Tree)
+                    nodePool.release(leaf, null);
+            }
+        }
+    }
+
     /**
      * Advance the current game state with the given action, count the FM call and compute the next available actions.
      * <p>
@@ -556,7 +960,7 @@ public class SingleTreeNode {
         // we execute a copy(), because this can change the action, so we then don't find the node later!
         if (inRollout) {
             lastActorInRollout = gs.getCurrentPlayer();
-            root.actionsInRollout.add(new Pair<>(lastActorInRollout, act));
+            recordRolloutAction(lastActorInRollout, act);
         } else {
             root.actionsInTree.add(new Pair<>(gs.getCurrentPlayer(), act));
         }
@@ -579,20 +983,38 @@ public class SingleTreeNode {
         AbstractAction action = null;
         while (gs.getCurrentPlayer() != id && gs.isNotTerminalForPlayer(id) && !(inRollout && finishRollout(gs))) {
             //       AbstractGameState preGS = gs.copy();
-            AbstractPlayer oppModel = params.getOpponentModel();
-            List<AbstractAction> availableActions = forwardModel.computeAvailableActions(gs, params.actionSpace);
-            if (availableActions.isEmpty())
-                throw new AssertionError("Should always have at least one action possible..." + (action != null ? " Last action: " + action : ""));
-            action = oppModel.getAction(gs, availableActions);
+            AbstractAction previous = action;
+            action = rolloutAction(params.getOpponentModel(), gs);
+            if (action == null)
+                throw new AssertionError("Should always have at least one action possible..." + (previous != null ? " Last action: " + previous : ""));
             if (inRollout) {
-                root.actionsInRollout.add(new Pair<>(gs.getCurrentPlayer(), action));
                 lastActorInRollout = gs.getCurrentPlayer();
+                recordRolloutAction(lastActorInRollout, action);
             }
             forwardModel.next(gs, action);
             root.fmCallsCount++;
         }
     }
 
+    /**
+     * The agent's choice of action in the state, outside the tree. An agent that is an IRolloutPolicy may be able to
+     * choose without computing every available action.
+     *
+     * @return - the action, or null if there are none available
+     */
+    protected AbstractAction rolloutAction(AbstractPlayer agent, AbstractGameState gs) {
+        if (agent instanceof IRolloutPolicy policy)
+            return policy.sampleAction(gs, forwardModel, params.actionSpace);
+        List<AbstractAction> availableActions = forwardModel.computeAvailableActions(gs, params.actionSpace);
+        return availableActions.isEmpty() ? null : agent.getAction(gs, availableActions);
+    }
+
+    protected void recordRolloutAction(int player, AbstractAction action) {
+        root.rolloutActionCount++;
+        if (params.useMAST || params.recordRolloutActions)
+            root.actionsInRollout.add(new Pair<>(player, action));
+    }
+
     /**
      * Apply relevant policy to choose a child.
      *
@@ -602,48 +1024,42 @@ public class SingleTreeNode {
         if (params.opponentTreePolicy == SelfOnly && parent != null && openLoopState != null && openLoopState.getCurrentPlayer() != decisionPlayer)
             throw new AssertionError("An error has occurred. SelfOnly should only call uct when we are moving.");
 
-        // actionsToConsider takes care of any Progressive Widening in play, so we only consider the
+        // positionsToConsider takes care of any Progressive Widening in play, so we only consider the
         // widened subset
-        List<AbstractAction> availableActions = actionsToConsider(actionsFromOpenLoopState);
-        if (availableActions.isEmpty())
+        int[] available = positionsToConsider(openLoopActionIndices);
+        if (available.length == 0)
             throw new AssertionError("We need to have at least one option");
 
-        AbstractAction actionChosen;
-        if (availableActions.size() == 1) {
-            actionChosen = availableActions.get(0);
+        int chosen;
+        if (available.length == 1) {
+            chosen = available[0];
         } else {
-            // first we shuffle to break ties
-            Collections.shuffle(availableActions, rnd);
+            // first we shuffle to break ties (in the same way as Collections.shuffle)
+            for (int i = available.length; i > 1; i--) {
+                int j = rnd.nextInt(i);
+                int tmp = available[i - 1];
+                available[i - 1] = available[j];
+                available[j] = tmp;
+            }
             // then get the actionValues
-            double[] actionValues = actionValues(availableActions);
+            double[] actionValues = new double[available.length];
+            for (int i = 0; i < available.length; i++)
+                actionValues[i] = actionValue(openLoopActionIndices[available[i]]);
             // then pick the best one
-            actionChosen = switch (params.treePolicy) {
-                case Uniform -> availableActions.get(rnd.nextInt(availableActions.size()));
-                case Greedy -> {
+            chosen = switch (params.treePolicy) {
+                case Uniform -> available[rnd.nextInt(available.length)];
+                case Greedy, UCB, AlphaGo, UCB_Tuned -> {
                     // check exploration first
-                    if (explore && rnd.nextDouble() < params.exploreEpsilon) {
-                        yield availableActions.get(rnd.nextInt(availableActions.size()));
+                    if (params.treePolicy == Greedy && explore && rnd.nextDouble() < params.exploreEpsilon) {
+                        yield available[rnd.nextInt(available.length)];
                     }
-                    AbstractAction bestAction = null;
+                    // These take the max
+                    int bestAction = -1;
                     double bestValue = -Double.MAX_VALUE;
-                    for (int i = 0; i < availableActions.size(); i++) {
+                    for (int i = 0; i < available.length; i++) {
                         if (actionValues[i] > bestValue) {
                             bestValue = actionValues[i];
-                            bestAction = availableActions.get(i);
-                        }
-                    }
-                    yield bestAction;
-                }
-                case UCB, AlphaGo, UCB_Tuned -> {
-                    // These take the max
-                    // Find child with highest UCB value
-                    AbstractAction bestAction = null;
-                    double bestValue = -Double.MAX_VALUE;
-                    for (AbstractAction availableAction : availableActions) {
-                        double uctValue = ucbValue(availableAction);
-                        if (uctValue > bestValue) {
-                            bestValue = uctValue;
-                            bestAction = availableAction;
+                            bestAction = available[i];
                         }
                     }
                     yield bestAction;
@@ -651,21 +1067,20 @@ public class SingleTreeNode {
                 case RegretMatching, EXP3 -> {
                     // check exploration first
                     if (explore && rnd.nextDouble() < params.exploreEpsilon) {
-                        yield availableActions.get(rnd.nextInt(availableActions.size()));
+                        yield available[rnd.nextInt(available.length)];
                     }
                     double[] pdf = pdf(actionValues);
                     long nonZeroActions = Arrays.stream(actionValues).filter(v -> v > 0.0).count();
                     if (nonZeroActions == 0) {
                         // if we have no non-zero values, then we just pick one at random
-                        yield availableActions.get(rnd.nextInt(availableActions.size()));
+                        yield available[rnd.nextInt(available.length)];
                     }
-                    yield availableActions.get(sampleFrom(pdf, rnd.nextDouble()));
+                    yield available[sampleFrom(pdf, rnd.nextDouble())];
                 }
-                default -> throw new AssertionError("Unknown treePolicy: " + params.treePolicy);
             };
         }
 
-        return actionChosen;
+        return actionsFromOpenLoopState.get(chosen);
     }
 
 
@@ -679,8 +1094,9 @@ public class SingleTreeNode {
         // We check to see if we have finished. This is true if the gameState is terminal; or if
         // this is a selfOnly tree and it is terminal for the root decision player
 
-        SingleTreeNode[] nodeArray = children.get(actionChosen);
-        if (nodeArray == null) return null;
+        int index = indexOf(actionChosen);
+        if (index == -1 || childNodes[index] == null) return null;
+        SingleTreeNode[] nodeArray = childNodes[index];
         if (params.information == Closed_Loop) {
             // in this case we have determinism...there should just be a single child node in the array...so we get that
             return Arrays.stream(nodeArray).filter(Objects::nonNull).findFirst().orElse(null);
@@ -704,33 +1120,36 @@ public class SingleTreeNode {
     protected double[] actionValues(List<AbstractAction> actionsToConsider) {
         double[] retValue = new double[actionsToConsider.size()];
         for (int i = 0; i < actionsToConsider.size(); i++) {
-            AbstractAction action = actionsToConsider.get(i);
-            retValue[i] = switch (params.treePolicy) {
-                case Uniform -> 1.0;
-                case Greedy -> getFullValue(action);
-                case UCB, AlphaGo, UCB_Tuned -> ucbValue(action);
-                case RegretMatching -> rmValue(action);
-                case EXP3 -> exp3Value(action);
-            };
+            retValue[i] = actionValue(knownIndexOf(actionsToConsider.get(i)));
         }
         return retValue;
     }
 
-    private double getFullValue(AbstractAction action) {
-        double value = getActionValue(action);
-        int actionVisits = actionVisits(action);
+    private double actionValue(int index) {
+        return switch (params.treePolicy) {
+            case Uniform -> 1.0;
+            case Greedy -> getFullValue(index);
+            case UCB, AlphaGo, UCB_Tuned -> ucbValue(index);
+            case RegretMatching -> rmValue(index);
+            case EXP3 -> exp3Value(index);
+        };
+    }
+
+    private double getFullValue(int index) {
+        double value = getActionValue(index);
+        int actionVisits = actionVisitCounts[index];
         if (params.normaliseRewards && actionVisits > 0) {
             value = normalise(value, root.lowReward, root.highReward);
         }
         if (params.progressiveBias > 0)
-            value += getBiasValue(action);
+            value += getBiasValue(index);
         // apply OMA
-        value = getOMAValue(action, value);
+        value = getOMAValue(index, value);
         return value;
     }
 
-    private double getOMAValue(AbstractAction action, double childValue) {
-        int actionVisits = actionVisits(action);
+    private double getOMAValue(int index, double childValue) {
+        int actionVisits = actionVisitCounts[index];
         double retValue = childValue;
         // consider OMA term
         if (params.omaVisits > 0 && (params.opponentTreePolicy == OMA_All || params.opponentTreePolicy == OMA)) {
@@ -755,7 +1174,7 @@ public class SingleTreeNode {
                         throw new AssertionError("We have somehow failed to find the OMA node for this action");
                     }
                 } else {
-                    OMATreeNode.OMAStats stats = tmp.get(action);
+                    OMATreeNode.OMAStats stats = tmp.get(actions[index]);
                     if (stats != null && stats.OMAVisits > 0) {
                         double omaValue = stats.OMATotValue / stats.OMAVisits;
                         retValue = (1.0 - beta) * childValue + beta * omaValue;
@@ -766,15 +1185,15 @@ public class SingleTreeNode {
         return retValue;
     }
 
-    private double ucbValue(AbstractAction action) {
+    private double ucbValue(int index) {
 
         // Find 'UCB' value - this is the base to which we then add exploration
-        double childValue = getFullValue(action);
-        int actionVisits = actionVisits(action);
+        double childValue = getFullValue(index);
+        int actionVisits = actionVisitCounts[index];
 
         // Now for the exploration term
         // default to standard UCB
-        int effectiveTotalVisits = validVisitsFor(action);
+        int effectiveTotalVisits = validVisitsFor(index);
         // use first play urgency as replacement for exploration term if action not previously taken
         // we add in the second term based on the AlphaGo selection rule, so that the exploration term is monotonically increasing with N
         // this will come into play for small values of FPU and acts as soft-pruning rather than the harder form if FPU is a fixed constant
@@ -784,13 +1203,13 @@ public class SingleTreeNode {
                 case UCB_Tuned -> {
                     double range = root.highReward - root.lowReward;
                     if (range < 1e-6) range = 1e-6;
-                    double meanSq = actionSquaredValue(action, decisionPlayer) / actionVisits;
+                    double meanSq = squaredTotValues[index * nPlayers + decisionPlayer] / actionVisits;
                     double standardVar = 0.25;
                     if (params.normaliseRewards) {
                         // we also need to standardise the sum of squares to calculate the variance
                         meanSq = (meanSq
                                 + root.lowReward * root.lowReward
-                                - 2 * root.lowReward * actionTotValue(action, decisionPlayer) / actionVisits
+                                - 2 * root.lowReward * totValues[index * nPlayers + decisionPlayer] / actionVisits
                         ) / (range * range);
                     } else {
                         // we need to modify the standard variance as it is not on a 0..1 basis (which is where 0.25 comes from)
@@ -807,7 +1226,7 @@ public class SingleTreeNode {
         if (params.pUCT) {
             // in this case we multiply the exploration term by the pUCT factor (the probability that the action would be taken by
             // our actionHeuristic). These were calculated in setActionsFromOpenLoopState
-            explorationTerm *= actionPDFEstimates.get(action);
+            explorationTerm *= actionPDFEstimates[index];
         }
 
         // Paranoid/SelfOnly control determines childValue here
@@ -823,8 +1242,12 @@ public class SingleTreeNode {
     }
 
     public double exp3Value(AbstractAction action) {
-        double actionValue = getActionValue(action);
-        int actionVisits = actionVisits(action);
+        return exp3Value(knownIndexOf(action));
+    }
+
+    private double exp3Value(int index) {
+        double actionValue = getActionValue(index);
+        int actionVisits = actionVisitCounts[index];
         // we then normalise to [0, 1], or we subtract the mean action value to get an advantage (and reduce risk of
         // NaN or Infinities when we exponentiate)
         if (actionVisits > 0) {
@@ -834,11 +1257,11 @@ public class SingleTreeNode {
                 actionValue = actionValue - nodeValue(decisionPlayer);
         }
         if (params.progressiveBias > 0)
-            actionValue += getBiasValue(action);
+            actionValue += getBiasValue(index);
         double retValue = Math.exp(actionValue / params.exp3Boltzmann);
 
         if (Double.isNaN(retValue) || Double.isInfinite(retValue)) {
-            System.out.printf("We have a non-number %s in EXP3 (from %.0f) somewhere from %s %n", retValue, actionValue, action);
+            System.out.printf("We have a non-number %s in EXP3 (from %.0f) somewhere from %s %n", retValue, actionValue, actions[index]);
             retValue = 1e6;  // to avoid numeric issues later
         }
         // We add FPU after exponentiation for safety (as it likely a large number)
@@ -849,15 +1272,19 @@ public class SingleTreeNode {
     }
 
     public double rmValue(AbstractAction action) {
-        double actionValue = getActionValue(action);
+        return rmValue(knownIndexOf(action));
+    }
+
+    private double rmValue(int index) {
+        double actionValue = getActionValue(index);
         if (params.progressiveBias > 0)
-            actionValue += getBiasValue(action);
+            actionValue += getBiasValue(index);
         double nodeValue = nodeValue(decisionPlayer);
         // potential value is our estimate of our accumulated reward if we had always taken this action
         double potentialValue = actionValue * nVisits;
         double regret = potentialValue - nodeValue * nVisits;
         // We add FPU after all the exponentiation for safety
-        int actionVisits = actionVisits(action);
+        int actionVisits = actionVisitCounts[index];
         if (actionVisits == 0) {
             regret += params.firstPlayUrgency;
         }
@@ -865,15 +1292,14 @@ public class SingleTreeNode {
     }
 
 
-    private double getActionValue(AbstractAction action) {
-        int actionVisits = actionVisits(action);
+    private double getActionValue(int index) {
+        int actionVisits = actionVisitCounts[index];
         // if we are at 'expansion' phase, then we break ties by expansion policy (which is the same actionHeuristic as progressive bias)
-        return actionVisits > 0 ? actionTotValue(action, decisionPlayer) / actionVisits : 0.0;
+        return actionVisits > 0 ? totValues[index * nPlayers + decisionPlayer] / actionVisits : 0.0;
     }
 
-    private double getBiasValue(AbstractAction action) {
-        int actionVisits = actionVisits(action);
-        return params.progressiveBias * actionValueEstimates.getOrDefault(action, 0.0) / (actionVisits + 1);
+    private double getBiasValue(int index) {
+        return params.progressiveBias * estimateFor(index) / (actionVisitCounts[index] + 1);
     }
 
     /**
@@ -900,12 +1326,12 @@ public class SingleTreeNode {
 
             AbstractAction next = null;
             while (!finishRollout(rolloutState)) {
-                List<AbstractAction> availableActions = forwardModel.computeAvailableActions(rolloutState, params.actionSpace);
-                if (availableActions.isEmpty()) {
-                    throw new AssertionError("No actions available in rollout!" + (next != null ? " Last action: " + next : ""));
-                }
                 AbstractPlayer agent = rolloutState.getCurrentPlayer() == root.decisionPlayer ? params.getRolloutStrategy() : params.getOpponentModel();
-                next = agent.getAction(rolloutState, availableActions);
+                AbstractAction previous = next;
+                next = rolloutAction(agent, rolloutState);
+                if (next == null) {
+                    throw new AssertionError("No actions available in rollout!" + (previous != null ? " Last action: " + previous : ""));
+                }
                 lastActorInRollout = rolloutState.getCurrentPlayer();
                 advanceState(rolloutState, next, true);
             }
@@ -932,7 +1358,7 @@ public class SingleTreeNode {
             return true;
         int currentActor = rollerState.getTurnOwner();
         int maxRollout = params.rolloutLengthPerPlayer ? params.rolloutLength * rollerState.getNPlayers() : params.rolloutLength;
-        if (root.actionsInRollout.size() >= maxRollout) {
+        if (root.rolloutActionCount >= maxRollout) {
             return switch (params.rolloutTermination) {
                 case DEFAULT -> true;
                 case END_ACTION -> lastActorInRollout == root.decisionPlayer && currentActor != root.decisionPlayer;
@@ -966,7 +1392,8 @@ public class SingleTreeNode {
     protected void normaliseRewardsAfterIteration(double[] result) {
         // after each iteration we update the min and max rewards seen, to be used in future iterations.
         // These are only stored on the root
-        if (params.normaliseRewards || params.treePolicy == UCB_Tuned) {
+        // Tree parallelism also needs the lowest reward as the value of its virtual loss
+        if (params.normaliseRewards || params.treePolicy == UCB_Tuned || params.parallelism == MCTSEnums.Parallelism.Tree) {
             DoubleSummaryStatistics stats = Arrays.stream(result).summaryStatistics();
             if (root.lowReward > stats.getMin())
                 root.lowReward = stats.getMin();
@@ -1017,41 +1444,54 @@ public class SingleTreeNode {
         nVisits++;
         // Here we look at actionsFromOpenLoopState to see which ones were valid
         // when we passed through, and keep track of valid visits
-        List<AbstractAction> actionsToConsider = actionsToConsider(actionsFromOpenLoopState);
+        int[] actionsToConsider = positionsToConsider(openLoopActionIndices);
+        int taken = indexOf(actionTaken);
 
         // then we update the statistics for the action taken
-        if (!actionsToConsider.contains(actionTaken)) {
+        boolean takenConsidered = false;
+        for (int position : actionsToConsider) {
+            if (openLoopActionIndices[position] == taken) {
+                takenConsidered = true;
+                break;
+            }
+        }
+        if (!takenConsidered) {
             if (params.opponentTreePolicy != MCGS && params.opponentTreePolicy != MCGSSelfOnly)
                 throw new AssertionError("We have somehow failed to find the action taken in the list of valid actions");
 
             // If MCGS, then this is possible if we have looped in the graph, so that OpenLoopState refers
             // to a different state than the one for which the action was taken. This is awkward.
             // In the absence of any good information, we just increment the valid visits of all actions
-            for (ActionStats stats : actionValues.values()) {
-                stats.validVisits++;
+            for (int i = 0; i < nActions; i++) {
+                validVisitCounts[i]++;
             }
         } else {
-            for (AbstractAction action : actionsToConsider) {
-                if (!actionValues.containsKey(action))
-                    actionValues.put(action, new ActionStats(result.length));
-                actionValues.get(action).validVisits++;
+            for (int position : actionsToConsider) {
+                validVisitCounts[openLoopActionIndices[position]]++;
             }
         }
-        ActionStats stats = actionValues.get(actionTaken);
-        if (stats == null)
+        if (taken == -1)
             throw new AssertionError("We have somehow failed to find the action taken in the list of actions");
-        if (stats.validVisits == 0)
+        if (validVisitCounts[taken] == 0)
             throw new AssertionError("We have somehow failed to find the action taken in the list of valid actions");
 
-        stats.update(result);
+        int offset = taken * nPlayers;
+        for (int i = 0; i < result.length; i++) {
+            totValues[offset + i] += result[i];
+            squaredTotValues[offset + i] += result[i] * result[i];
+        }
+        actionVisitCounts[taken]++;
 
-        if (params.treePolicy == RegretMatching && nVisits >= actionsToConsider.size() && nVisits % Math.max(actionsToConsider.size(), 10) == 0) {
+        if (params.treePolicy == RegretMatching && nVisits >= actionsToConsider.length && nVisits % Math.max(actionsToConsider.length, 10) == 0) {
             // we update the average policy each time we have had the opportunity to take each action once (or every 10 visits, if that is greater)
-            double[] av = actionValues(actionsToConsider);
+            double[] av = new double[actionsToConsider.length];
+            for (int i = 0; i < actionsToConsider.length; i++)
+                av[i] = actionValue(openLoopActionIndices[actionsToConsider[i]]);
             double[] pdf = pdf(av);
-            for (int i = 0; i < actionsToConsider.size(); i++) {
-                regretMatchingAverage.merge(actionsToConsider.get(i), pdf[i], Double::sum);
+            for (int i = 0; i < actionsToConsider.length; i++) {
+                regretMatchingAverage[openLoopActionIndices[actionsToConsider[i]]] += pdf[i];
             }
+            hasRegretMatchingAverage = true;
         }
 
         if (params.backupPolicy == MCTSEnums.BackupPolicy.MonteCarlo)
@@ -1059,10 +1499,10 @@ public class SingleTreeNode {
 
         // otherwise we do some more complex backup
         double resultToPropagateUpwards[] = result.clone();
-        AbstractAction bestAction = bestAction(actionsToConsider);
-        double[] maxValue = actionValues.get(bestAction).totValue.clone();
+        int bestAction = bestActionIndex(actionsToConsider);
+        double[] maxValue = new double[result.length];
         for (int i = 0; i < maxValue.length; i++) {
-            maxValue[i] /= actionValues.get(bestAction).nVisits;
+            maxValue[i] = totValues[bestAction * nPlayers + i] / actionVisitCounts[bestAction];
         }
         return switch (params.backupPolicy) {
             case MonteCarlo:
@@ -1070,7 +1510,7 @@ public class SingleTreeNode {
             case Lambda:
                 // SARSA-style on-policy update. We weight the action average by 1 - lambda
                 for (int i = 0; i < result.length; i++) {
-                    resultToPropagateUpwards[i] = params.backupLambda * result[i] + (1.0 - params.backupLambda) * stats.totValue[i] / stats.nVisits;
+                    resultToPropagateUpwards[i] = params.backupLambda * result[i] + (1.0 - params.backupLambda) * totValues[offset + i] / actionVisitCounts[taken];
                 }
                 yield resultToPropagateUpwards;
             case MaxLambda:
@@ -1083,12 +1523,7 @@ public class SingleTreeNode {
                 if (nVisits > params.maxBackupThreshold) {
                     // in this case we mix in a max backup
                     // *if* we took an action other than the one with the current best estimate
-                    if (bestAction == null) {
-                        // this can happen for low maxBackupCounts with no actions available
-                        // we default to ignoring Max functionality
-                        bestAction = actionTaken;
-                    }
-                    if (!bestAction.equals(actionTaken)) {
+                    if (bestAction != taken) {
                         double maxWeight = (nVisits - params.maxBackupThreshold) / (double) nVisits;
                         // we mix for all players, based on the counterfactual decision of the acting player
                         for (int i = 0; i < result.length; i++) {
@@ -1107,9 +1542,9 @@ public class SingleTreeNode {
         AbstractAction bestAction = null;
         double maxValue = -Double.MAX_VALUE;
         for (AbstractAction action : actionsToConsider) {
-            ActionStats temp = actionValues.get(action);
-            double value = temp.nVisits == 0 ? -Double.MAX_VALUE :
-                    temp.totValue[decisionPlayer] / temp.nVisits;
+            int index = knownIndexOf(action);
+            int visits = actionVisitCounts[index];
+            double value = visits == 0 ? -Double.MAX_VALUE : totValues[index * nPlayers + decisionPlayer] / visits;
             if (value > maxValue) {
                 maxValue = value;
                 bestAction = action;
@@ -1120,6 +1555,31 @@ public class SingleTreeNode {
         return bestAction;
     }
 
+    // as bestAction(List), for positions in actionsFromOpenLoopState; returns the index of the action
+    private int bestActionIndex(int[] positions) {
+        int bestAction = -1;
+        double maxValue = -Double.MAX_VALUE;
+        for (int position : positions) {
+            int index = openLoopActionIndices[position];
+            int visits = actionVisitCounts[index];
+            double value = visits == 0 ? -Double.MAX_VALUE : totValues[index * nPlayers + decisionPlayer] / visits;
+            if (value > maxValue) {
+                maxValue = value;
+                bestAction = index;
+            }
+        }
+        if (bestAction == -1)
+            return openLoopActionIndices[positions[rnd.nextInt(positions.length)]];
+        return bestAction;
+    }
+
+    private int knownIndexOf(AbstractAction action) {
+        int index = indexOf(action);
+        if (index == -1)
+            throw new AssertionError("Action has not been seen at this node: " + action);
+        return index;
+    }
+
 
     protected void MASTBackup(List<Pair<Integer, AbstractAction>> rolloutActions, double[] delta) {
         for (Pair<Integer, AbstractAction> pair : rolloutActions) {
@@ -1146,14 +1606,17 @@ public class SingleTreeNode {
         MCTSEnums.SelectionPolicy policy = params.selectionPolicy;
         // check to see if all nodes have the same number of visits
         // if they do, then we use average score instead
-        if (params.selectionPolicy == ROBUST &&
-                Arrays.stream(actionVisits()).boxed().collect(toSet()).size() == 1) {
-            policy = SIMPLE;
+        if (params.selectionPolicy == ROBUST && nActions > 0) {
+            boolean allSame = true;
+            for (int i = 1; i < nActions && allSame; i++)
+                allSame = actionVisitCounts[i] == actionVisitCounts[0];
+            if (allSame)
+                policy = SIMPLE;
         }
         if (params.treePolicy == EXP3) {
             // EXP3 uses the tree policy (without exploration)
             bestAction = treePolicyAction(false);
-        } else if (params.treePolicy == RegretMatching && !regretMatchingAverage.isEmpty()) {
+        } else if (params.treePolicy == RegretMatching && hasRegretMatchingAverage) {
             // RM uses a special policy as the average of all previous root policies
             bestAction = regretMatchingAverage();
         } else {
@@ -1169,23 +1632,21 @@ public class SingleTreeNode {
                 availableActions = actionsToConsider(forwardModel.computeAvailableActions(state, params.actionSpace));
             }
             for (AbstractAction action : availableActions) {
-                if (!actionValues.containsKey(action)) {
+                int index = indexOf(action);
+                if (index == -1) {
                     throw new AssertionError("Hashcode / equals contract issue for " + action);
                 }
-                if (actionValues.get(action) != null) {
-                    ActionStats stats = actionValues.get(action);
-                    double childValue = stats.nVisits; // if ROBUST
-                    if (policy == SIMPLE)
-                        childValue = stats.totValue[decisionPlayer] / (stats.nVisits + params.noiseEpsilon);
-
-                    // Apply small noise to break ties randomly
-                    childValue = noise(childValue, params.noiseEpsilon, rnd.nextDouble());
-
-                    // Save best value
-                    if (childValue > bestValue) {
-                        bestValue = childValue;
-                        bestAction = action;
-                    }
+                double childValue = actionVisitCounts[index]; // if ROBUST
+                if (policy == SIMPLE)
+                    childValue = totValues[index * nPlayers + decisionPlayer] / (actionVisitCounts[index] + params.noiseEpsilon);
+
+                // Apply small noise to break ties randomly
+                childValue = noise(childValue, params.noiseEpsilon, rnd.nextDouble());
+
+                // Save best value
+                if (childValue > bestValue) {
+                    bestValue = childValue;
+                    bestAction = action;
                 }
             }
         }
@@ -1193,7 +1654,9 @@ public class SingleTreeNode {
         if (bestAction == null) {
             if (nVisits < 2) {
 //                System.out.println("Only one visit to root node - insufficient information - hopefully due to JVM warming up");
-                bestAction = actionValues.keySet().stream().findFirst().orElseThrow(() -> new AssertionError("No children"));
+                if (nActions == 0)
+                    throw new AssertionError("No children");
+                bestAction = actions[0];
             } else
                 throw new AssertionError("Unexpected - no selection made.");
         }
@@ -1202,19 +1665,12 @@ public class SingleTreeNode {
     }
 
     protected AbstractAction regretMatchingAverage() {
-        double[] potentials = new double[regretMatchingAverage.size()];
-        int count = 0;
-        for (AbstractAction action : regretMatchingAverage.keySet()) {
-            if (actionsFromOpenLoopState.contains(action)) {
-                potentials[count] = regretMatchingAverage.get(action);
-            } else {
-                potentials[count] = 0.0;
-            }
-            count++;
-        }
+        // only the actions available on the current visit have any potential
+        double[] potentials = new double[nActions];
+        for (int index : openLoopActionIndices)
+            potentials[index] = regretMatchingAverage[index];
         double[] pdf = pdf(potentials);
-        int index = sampleFrom(pdf, rnd.nextDouble());
-        return regretMatchingAverage.keySet().stream().skip(index).findFirst().orElseThrow(() -> new AssertionError("No action found"));
+        return actions[sampleFrom(pdf, rnd.nextDouble())];
     }
 
     public int getVisits() {
@@ -1315,22 +1771,20 @@ public class SingleTreeNode {
         retValue.append(String.format("%d total visits, value %s, with %d children, %d actions, depth %d, FMCalls %d: \n",
                 nVisits, valueString, children.size(), actionValues.size(), depth, fmCallsCount));
         // sort all actions by visit count
-        List<AbstractAction> sortedActions = actionValues.keySet().stream()
-                .filter(Objects::nonNull)
-                .sorted(Comparator.comparingInt(a -> -actionVisits(a)))
+        List<Integer> sortedActions = IntStream.range(0, nActions).boxed()
+                .sorted(Comparator.comparingInt(i -> -actionVisitCounts[i]))
                 .toList();
 
-        for (AbstractAction action : sortedActions) {
-            String actionName = action.toString();
-            int actionVisits = actionVisits(action);
-            int effectiveVisits = validVisitsFor(action);
+        for (int index : sortedActions) {
+            String actionName = actions[index].toString();
+            int actionVisits = actionVisitCounts[index];
+            int effectiveVisits = validVisitsFor(index);
             if (actionName.length() > 50)
                 actionName = actionName.substring(0, 50);
-            valueString = String.format("%.2f", actionTotValue(action, decisionPlayer) / actionVisits);
+            valueString = String.format("%.2f", totValues[index * nPlayers + decisionPlayer] / actionVisits);
             if (params.opponentTreePolicy == OneTree) {
-                int players = state == null ? children.get(action).length : state.getNPlayers();
-                valueString = IntStream.range(0, players)
-                        .mapToObj(p -> String.format("%.2f", actionTotValue(action, p) / actionVisits))
+                valueString = IntStream.range(0, nPlayers)
+                        .mapToObj(p -> String.format("%.2f", totValues[index * nPlayers + p] / actionVisits))
                         .collect(joining(", "));
             }
             retValue.append(String.format("\t%-50s  visits: %d (%d)\tvalue %s\n", actionName, actionVisits, effectiveVisits, valueString));
@@ -1341,4 +1795,99 @@ public class SingleTreeNode {
         return retValue.toString();
     }
 
+
+    /**
+     * Read-only view of the children of this node, by action (in the order the actions were first seen).
+     */
+    private class ChildrenView extends AbstractMap<AbstractAction, SingleTreeNode[]> {
+        @Override
+        public SingleTreeNode[] get(Object key) {
+            Integer index = actionIndex.get(key);
+            return index == null ? null : childNodes[index];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return actionIndex.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return nActions;
+        }
+
+        @Override
+        public Set<Entry<AbstractAction, SingleTreeNode[]>> entrySet() {
+            return new IndexedEntrySet<>(i -> childNodes[i]);
+        }
+    }
+
+    /**
+     * Read-only view of the statistics of each action at this node. Each ActionStats returned is a snapshot, and
+     * changes to it are not written back to the node.
+     */
+    private class ActionStatsView extends AbstractMap<AbstractAction, ActionStats> {
+        @Override
+        public ActionStats get(Object key) {
+            Integer index = actionIndex.get(key);
+            return index == null ? null : statsFor(index);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return actionIndex.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return nActions;
+        }
+
+        @Override
+        public Set<Entry<AbstractAction, ActionStats>> entrySet() {
+            return new IndexedEntrySet<>(SingleTreeNode.this::statsFor);
+        }
+    }
+
+    private class IndexedEntrySet<V> extends AbstractSet<Map.Entry<AbstractAction, V>> {
+        final IntFunction<V> valueAt;
+
+        IndexedEntrySet(IntFunction<V> valueAt) {
+            this.valueAt = valueAt;
+        }
+
+        @Override
+        public Iterator<Map.Entry<AbstractAction, V>> iterator() {
+            return new Iterator<>() {
+                int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < nActions;
+                }
+
+                @Override
+                public Map.Entry<AbstractAction, V> next() {
+                    if (next >= nActions)
+                        throw new NoSuchElementException();
+                    int index = next++;
+                    return new AbstractMap.SimpleImmutableEntry<>(actions[index], valueAt.apply(index));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return nActions;
+        }
+    }
+
+    private ActionStats statsFor(int index) {
+        ActionStats retValue = new ActionStats(nPlayers);
+        System.arraycopy(totValues, index * nPlayers, retValue.totValue, 0, nPlayers);
+        System.arraycopy(squaredTotValues, index * nPlayers, retValue.squaredTotValue, 0, nPlayers);
+        retValue.nVisits = actionVisitCounts[index];
+        retValue.validVisits = validVisitCounts[index];
+        return retValue;
+    }
 }
@@ -0,0 +1,101 @@
+package players.mcts;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The nodes of search trees that an MCTSPlayer has finished with, kept to be used again in later trees (in this
+ * decision, later decisions, or later games) rather than left to the garbage collector. This is only used with
+ * params.recycleTreeNodes, and only for plain SingleTreeNodes (so not with MCGS, OMA or MultiTree).
+ * <p>
+ * Nodes are released as whole subtrees once nothing can reach them any more: the old tree when a new root is made,
+ * less any part of it kept by reuseTree, and the leaves pruned to keep the tree within params.maxTreeNodes.
+ * Nodes from the pool are cleared, so they look like new ones, but keep the arrays they have already grown.
+ * <p>
+ * This is not thread-safe; with Tree parallelism the tree (and hence the pool) is only changed under the root's lock.
+ */
+public class TreeNodePool {
+
+    private final ArrayDeque<SingleTreeNode> free = new ArrayDeque<>();
+    private final int maxFree;
+    private long allocated, recycled, released;
+
+    /**
+     * @param maxFree - the most nodes to hold on to; any more that are released are left to the garbage collector
+     */
+    public TreeNodePool(int maxFree) {
+        this.maxFree = maxFree;
+    }
+
+    /**
+     * @return a cleared node from the pool, or a new one if it is empty
+     */
+    public SingleTreeNode get() {
+        SingleTreeNode node = free.pollLast();
+        if (node == null) {
+            allocated++;
+            return new SingleTreeNode();
+        }
+        recycled++;
+        return node;
+    }
+
+    /**
+     * Returns the node and all nodes below it to the pool, except for keep and the nodes below that.
+     * Nothing else may still use the released nodes.
+     *
+     * @param subtreeRoot - the top of the subtree to release (may be null)
+     * @param keep        - a node in the subtree to keep, with its own subtree (may be null)
+     */
+    public void release(SingleTreeNode subtreeRoot, SingleTreeNode keep) {
+        if (subtreeRoot == null || subtreeRoot == keep) return;
+        List<SingleTreeNode> toRelease = new ArrayList<>();
+        toRelease.add(subtreeRoot);
+        for (int i = 0; i < toRelease.size(); i++) {
+            SingleTreeNode node = toRelease.get(i);
+            for (int a = 0; a < node.nActions; a++) {
+                SingleTreeNode[] children = node.childNodes[a];
+                if (children == null) continue;
+                for (SingleTreeNode child : children)
+                    if (child != null && child != keep) toRelease.add(child);
+            }
+        }
+        for (SingleTreeNode node : toRelease) {
+            released++;
+            // only plain nodes can be handed out again as a SingleTreeNode
+            if (free.size() < maxFree && node.getClass() == SingleTreeNode.class) {
+                node.clear();
+                free.addLast(node);
+            }
+        }
+    }
+
+    /**
+     * @return the number of nodes made new by the pool, because none were free to reuse
+     */
+    public long getAllocated() {
+        return allocated;
+    }
+
+    /**
+     * @return the number of nodes handed out again after being released
+     */
+    public long getRecycled() {
+        return recycled;
+    }
+
+    /**
+     * @return the number of nodes released, whether kept for reuse or not
+     */
+    public long getReleased() {
+        return released;
+    }
+
+    /**
+     * @return the number of nodes held for reuse
+     */
+    public int size() {
+        return free.size();
+    }
+}
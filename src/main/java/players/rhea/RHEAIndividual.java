@@ -3,6 +3,7 @@ package players.rhea;
 import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.AbstractPlayer;
+import core.CoreParameters;
 import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
 import utilities.Pair;
@@ -36,6 +37,7 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
 
         // Rollout with random actions and assign fitness value
         gameStates[0] = gs.copy();
+        gameStates[0].setHistoryPolicy(CoreParameters.HistoryPolicy.NONE);
         rollout(fm, 0, playerID, true);
     }
 
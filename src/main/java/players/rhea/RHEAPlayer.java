@@ -2,6 +2,7 @@ package players.rhea;
 
 import core.AbstractGameState;
 import core.AbstractPlayer;
+import core.CoreParameters;
 import core.actions.AbstractAction;
 import players.IAnyTimePlayer;
 import players.PlayerConstants;
@@ -74,6 +75,7 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
                 System.arraycopy(genome.actions, 1, genome.actions, 0, genome.actions.length - 1);
                 // we shift all actions along, and then rollout with repair
                 genome.gameStates[0] = stateObs.copy();
+                genome.gameStates[0].setHistoryPolicy(CoreParameters.HistoryPolicy.NONE);
                 Pair<Integer, Integer> calls = genome.rollout(getForwardModel(), 0, getPlayerID(), true);
                 fmCalls += calls.a;
                 copyCalls += calls.b;
@@ -128,7 +130,8 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         RHEAParams newParams = (RHEAParams) parameters.copy();
         newParams.setRandomSeed(rnd.nextInt());
         RHEAPlayer retValue = new RHEAPlayer(newParams);
-        retValue.setForwardModel(getForwardModel().copy());
+        if (getForwardModel() != null)
+            retValue.setForwardModel(getForwardModel().copy());
         return retValue;
     }
 
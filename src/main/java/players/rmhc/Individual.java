@@ -1,6 +1,7 @@
 package players.rmhc;
 import core.AbstractForwardModel;
 import core.AbstractGameState;
+import core.CoreParameters;
 import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
 
@@ -25,6 +26,7 @@ public class Individual implements Comparable {
         actions = new AbstractAction[L];
         gameStates = new AbstractGameState[L+1];
         gameStates[0] = gs.copy();
+        gameStates[0].setHistoryPolicy(CoreParameters.HistoryPolicy.NONE);
         this.heuristic = heuristic;
 
         // Rollout with random actions and assign fitness value
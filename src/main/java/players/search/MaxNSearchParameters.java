@@ -1,6 +1,7 @@
 package players.search;
 
 import core.interfaces.IStateHeuristic;
+import core.interfaces.IStateKey;
 import players.PlayerConstants;
 import players.PlayerParameters;
 import players.heuristics.GameDefaultHeuristic;
@@ -15,12 +16,20 @@ public class MaxNSearchParameters extends PlayerParameters {
     protected SearchUnit searchUnit = SearchUnit.ACTION;
     protected IStateHeuristic heuristic;
     protected boolean paranoid = false;
+    protected boolean iterativeDeepening = true;
+    protected boolean alphaBeta = true;
+    protected IStateKey stateKey;
+    protected int transpositionTableSize = 1 << 16;
 
     public MaxNSearchParameters() {
         this.addTunableParameter("searchDepth", 1);
         this.addTunableParameter("searchUnit", SearchUnit.ACTION);
         this.addTunableParameter("heuristic", IStateHeuristic.class);
         this.addTunableParameter("paranoid", false);
+        this.addTunableParameter("iterativeDeepening", true);
+        this.addTunableParameter("alphaBeta", true);
+        this.addTunableParameter("stateKey", IStateKey.class);
+        this.addTunableParameter("transpositionTableSize", 1 << 16);
     }
 
     @Override
@@ -30,6 +39,10 @@ public class MaxNSearchParameters extends PlayerParameters {
         searchUnit = (SearchUnit) getParameterValue("searchUnit");
         heuristic = (IStateHeuristic) getParameterValue("heuristic");
         paranoid = (boolean) getParameterValue("paranoid");
+        iterativeDeepening = (boolean) getParameterValue("iterativeDeepening");
+        alphaBeta = (boolean) getParameterValue("alphaBeta");
+        stateKey = (IStateKey) getParameterValue("stateKey");
+        transpositionTableSize = (int) getParameterValue("transpositionTableSize");
         if (heuristic == null) {
             heuristic = new GameDefaultHeuristic();
         }
@@ -3,6 +3,7 @@ package players.search;
 import core.*;
 import core.actions.AbstractAction;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -27,12 +28,38 @@ public class MaxNSearchPlayer extends AbstractPlayer {
      * - MACRO_ACTION: D is decremented at each decision node where the acting player changes
      * - TURN: D is decremented at each decision node where the turn number changes
      *
-     * Additionally, the BUDGET can be specified as a cutoff for the search. If this much time passes
-     * without the search finishing, the best action found so far is returned (likely to be pretty random).
+     * <p></p>
+     * The BUDGET is a time limit for the search. The search is done with iterative deepening: first to depth 1, then 2,
+     * and so on up to searchDepth (so this is the maximum depth), each iteration trying first the best action found
+     * by the one before. If time runs out part-way through an iteration, we return the best action found by it so far
+     * (which will be at least as good as the best action of the previous iteration, as that was tried first). A search
+     * that reaches the end of the game on every branch before searchDepth stops early. To search as deeply as time
+     * allows, set searchDepth to a large number.
+     * - iterativeDeepening: if false, we search once straight to searchDepth (and time may run out before the search
+     * has looked at all the actions)
+     * <p></p>
+     * If the search is paranoid, or there are only two players, then alphaBeta pruning is used (if alphaBeta is true).
+     * The search is then a minimax search on the heuristic value to the player at the root, with the other player(s)
+     * minimising this. For two players this gives the same result as MaxN if the heuristic is symmetric, and for
+     * paranoid search it always does.
+     * <p></p>
+     * If a stateKey is provided, then a transposition table of the results of the search from each state is kept
+     * (of at most transpositionTableSize entries). This is used to avoid searching the same state twice (for example
+     * when it can be reached by different orders of the same actions), and to order the actions in the next
+     * iteration of iterative deepening. The key should include the current player. The table is kept over the whole
+     * game, and cleared at the start of each game.
      */
 
 
     private long startTime;
+    private boolean outOfTime;
+    // true if the search since this was last reset has cut off some line of play before the end of the game
+    private boolean depthLimitReached;
+    // true if we use alpha-beta pruning on the value of the state to us (paranoid, or 2-player search)
+    private boolean minimax;
+    private AbstractGameState rootState;
+    private TranspositionTable table;
+
     public MaxNSearchPlayer(MaxNSearchParameters parameters) {
         super(parameters, "MinMaxSearch");
     }
@@ -42,6 +69,13 @@ public class MaxNSearchPlayer extends AbstractPlayer {
         return (MaxNSearchParameters) this.parameters;
     }
 
+    @Override
+    public void initializePlayer(AbstractGameState gameState) {
+        // the values in the table are from our perspective, and the keys may not be unique across games
+        if (table != null)
+            table.clear();
+    }
+
     @Override
     public AbstractAction _getAction(AbstractGameState gs, List<AbstractAction> actions) {
         // For each action we copy the state and recursively call the expand method
@@ -49,51 +83,102 @@ public class MaxNSearchPlayer extends AbstractPlayer {
         // - ACTION: always
         // - MACRO_ACTION: only when the currentPlayer() has changed as a result of applying the action
         // - TURN: only when turn number has changed as a result of applying the action
+        MaxNSearchParameters params = getParameters();
         startTime = System.currentTimeMillis();
-        return expand(gs, actions, getParameters().searchDepth).action;
+        outOfTime = false;
+        rootState = gs;
+        minimax = params.alphaBeta && (params.paranoid || gs.getNPlayers() == 2);
+        if (params.stateKey == null || params.transpositionTableSize <= 0)
+            table = null;
+        else if (table == null || table.capacity() < params.transpositionTableSize)
+            table = new TranspositionTable(params.transpositionTableSize);
+
+        // we shuffle the actions so that ties are broken at random
+        // after each iteration the best action is then moved to the front
+        List<AbstractAction> rootActions = new ArrayList<>(actions);
+        Collections.shuffle(rootActions, getRnd());
+        AbstractAction bestAction = rootActions.get(0);
+        int firstDepth = params.iterativeDeepening ? 1 : params.searchDepth;
+        for (int depth = firstDepth; depth <= params.searchDepth; depth++) {
+            depthLimitReached = false;
+            SearchResult result = expand(gs, rootActions, depth, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+            if (result.action != null) {
+                bestAction = result.action;
+                rootActions.remove(bestAction);
+                rootActions.add(0, bestAction);
+            }
+            if (outOfTime || !depthLimitReached)
+                break;
+        }
+        return bestAction;
     }
 
     /**
      * This returns a Pair.
      * The first element is the best action to take, based on the recursive search.
      * The second element is the value of the state on the assumption this best action is taken.
+     * <p>
+     * alpha and beta are the usual bounds on the value to us, and are only used if minimax is true.
+     * If we run out of time, then the action is the best found so far (or null if none), and the value is not to be used.
      */
-    protected SearchResult expand(AbstractGameState state, List<AbstractAction> actions, int searchDepth) {
+    protected SearchResult expand(AbstractGameState state, List<AbstractAction> actions, int searchDepth, double alpha, double beta) {
         MaxNSearchParameters params = getParameters();
-        if (System.currentTimeMillis() - startTime > params.budget) {
+        if (outOfTime || System.currentTimeMillis() - startTime > params.budget) {
             // out of time - return null action and a vector of zeros
+            outOfTime = true;
             return new SearchResult(null, new double[state.getNPlayers()]);
         }
         // if we have reached the end of the search, or the state is terminal, we evaluate the state
         if (searchDepth == 0 || !state.isNotTerminal()) {
-            // when valuing a state, we need to record the full vector of values for each player
-            // as all of these need to be back-propagated up so that the relevant one can be used for decision-making
-            // if paranoid and this action belongs to another player, we assume they try to minimise our score
-            double[] values = new double[state.getNPlayers()];
-            if (params.paranoid) {
-                double value = params.heuristic.evaluateState(state, getPlayerID());
-                for (int i = 0; i < state.getNPlayers(); i++) {
-                    values[i] = i == getPlayerID() ? value : -value;
+            if (state.isNotTerminal())
+                depthLimitReached = true;
+            return new SearchResult(null, evaluate(state));
+        }
+
+        int me = getPlayerID();
+        double alphaOriginal = alpha;
+        double betaOriginal = beta;
+        Object key = null;
+        if (table != null) {
+            key = params.stateKey.getKey(state);
+            TranspositionTable.Entry entry = table.get(key);
+            if (entry != null) {
+                if (entry.depth() >= searchDepth && state != rootState) {
+                    if (entry.depth() < Integer.MAX_VALUE)
+                        depthLimitReached = true;
+                    if (entry.bound() == TranspositionTable.Bound.EXACT)
+                        return new SearchResult(entry.bestAction(), entry.value());
+                    if (entry.bound() == TranspositionTable.Bound.LOWER)
+                        alpha = Math.max(alpha, entry.value()[me]);
+                    else
+                        beta = Math.min(beta, entry.value()[me]);
+                    if (alpha >= beta)
+                        return new SearchResult(entry.bestAction(), entry.value());
                 }
-            } else {
-                for (int i = 0; i < state.getNPlayers(); i++) {
-                    values[i] = params.heuristic.evaluateState(state, i);
+                // otherwise we try the best action from the last search first
+                // (on a copy, as the forward model may have returned a list that cannot be changed)
+                int index = actions.indexOf(entry.bestAction());
+                if (index > 0) {
+                    actions = new ArrayList<>(actions);
+                    actions.add(0, actions.remove(index));
                 }
             }
-            return new SearchResult(null, values);
         }
 
         // otherwise we recurse to find the best action and value
-        double bestValue = Double.NEGATIVE_INFINITY;
+        // we track whether this subtree is cut short by the depth limit separately, for the transposition table
+        boolean depthLimitedBefore = depthLimitReached;
+        depthLimitReached = false;
+        int actor = state.getCurrentPlayer();
+        // in MaxN each player maximises their own value; in minimax the others minimise ours
+        boolean maximising = !minimax || actor == me;
+        double bestValue = maximising ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
         double[] bestValues = new double[state.getNPlayers()];
         AbstractAction bestAction = null;
-        // we shuffle the actions so that ties are broken at random
-        Collections.shuffle(actions, getRnd());
         for (AbstractAction action : actions) {
             AbstractGameState stateCopy = state.copy();
+            stateCopy.setHistoryPolicy(CoreParameters.HistoryPolicy.NONE);
             getForwardModel().next(stateCopy, action);
-            // if we are at the bottom, then save a bit of time by not calculating the valid actions (which we'll never try)
-            List<AbstractAction> nextActions = searchDepth > 0 ? getForwardModel().computeAvailableActions(stateCopy) : List.of();
 
             int newDepth = switch (params.searchUnit) {
                 case ACTION -> searchDepth - 1;
@@ -101,28 +186,80 @@ public class MaxNSearchPlayer extends AbstractPlayer {
                         state.getCurrentPlayer() != stateCopy.getCurrentPlayer() ? searchDepth - 1 : searchDepth;
                 case TURN -> state.getTurnCounter() != stateCopy.getTurnCounter() ? searchDepth - 1 : searchDepth;
             };
+            // if we are at the bottom, then save a bit of time by not calculating the valid actions (which we'll never try)
+            List<AbstractAction> nextActions = List.of();
+            if (newDepth > 0 && stateCopy.isNotTerminal()) {
+                nextActions = getForwardModel().computeAvailableActions(stateCopy);
+                // we shuffle the actions so that ties are broken at random
+                Collections.shuffle(nextActions, getRnd());
+            }
 
             // recurse - we are here just interested in the value of stateCopy, and hence of taking action
             // We are not interested in the best action from stateCopy
-            SearchResult result = expand(stateCopy, nextActions, newDepth);
+            SearchResult result = expand(stateCopy, nextActions, newDepth, alpha, beta);
+            if (outOfTime)
+                break;
 
             // we make the decision based on the actor at state, not the actor at stateCopy
-            if (result.value[state.getCurrentPlayer()]  > bestValue) {
+            double value = result.value[minimax ? me : actor];
+            if (maximising ? value > bestValue : value < bestValue) {
                 bestAction = action;
                 bestValues = result.value;
-                bestValue = bestValues[state.getCurrentPlayer()];
+                bestValue = value;
             }
+            if (minimax) {
+                if (maximising)
+                    alpha = Math.max(alpha, bestValue);
+                else
+                    beta = Math.min(beta, bestValue);
+                if (alpha >= beta)
+                    break;
+            }
+        }
+        boolean depthLimitedHere = depthLimitReached;
+        depthLimitReached = depthLimitedBefore || depthLimitedHere;
+        if (outOfTime) {
+            return new SearchResult(bestAction, bestValues);
         }
         if (bestAction == null) {
             throw new AssertionError("No best action found");
         }
+        if (table != null) {
+            TranspositionTable.Bound bound = TranspositionTable.Bound.EXACT;
+            if (minimax && bestValue <= alphaOriginal)
+                bound = TranspositionTable.Bound.UPPER;
+            else if (minimax && bestValue >= betaOriginal)
+                bound = TranspositionTable.Bound.LOWER;
+            // a search that was never cut off by the depth limit is good for any depth
+            table.put(key, depthLimitedHere ? searchDepth : Integer.MAX_VALUE, bestValues, bound, bestAction.copy());
+        }
         return new SearchResult(bestAction, bestValues);
     }
 
+    protected double[] evaluate(AbstractGameState state) {
+        // when valuing a state, we need to record the full vector of values for each player
+        // as all of these need to be back-propagated up so that the relevant one can be used for decision-making
+        // if paranoid and this action belongs to another player, we assume they try to minimise our score
+        MaxNSearchParameters params = getParameters();
+        double[] values = new double[state.getNPlayers()];
+        if (params.paranoid) {
+            double value = params.heuristic.evaluateState(state, getPlayerID());
+            for (int i = 0; i < state.getNPlayers(); i++) {
+                values[i] = i == getPlayerID() ? value : -value;
+            }
+        } else {
+            for (int i = 0; i < state.getNPlayers(); i++) {
+                values[i] = params.heuristic.evaluateState(state, i);
+            }
+        }
+        return values;
+    }
+
     @Override
     public MaxNSearchPlayer copy() {
         MaxNSearchPlayer retValue = new MaxNSearchPlayer((MaxNSearchParameters) getParameters().shallowCopy());
-        retValue.setForwardModel(getForwardModel().copy());
+        if (getForwardModel() != null)
+            retValue.setForwardModel(getForwardModel().copy());
         return retValue;
     }
 
@@ -0,0 +1,69 @@
+package players.search;
+
+import core.actions.AbstractAction;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size transposition table for MaxNSearchPlayer, from a state key (see IStateKey) to the result of the
+ * last search from that state.
+ * <p>
+ * This is a simple hash table with one entry per slot; a new entry replaces the current one in its slot unless that
+ * is for the same state and was searched to a greater depth. As the key itself is stored, a clash in the slot
+ * can never return the result for a different state.
+ */
+class TranspositionTable {
+
+    /**
+     * What the stored value is to the player at the root of the search. Without pruning all values are EXACT;
+     * with alpha-beta pruning a search that fails low gives only an UPPER bound, and one that fails high a LOWER bound.
+     */
+    enum Bound {
+        EXACT, LOWER, UPPER
+    }
+
+    record Entry(Object key, int depth, double[] value, Bound bound, AbstractAction bestAction) {
+    }
+
+    private final Entry[] entries;
+    private final int mask;
+
+    /**
+     * @param size the number of entries; this is rounded up to a power of two.
+     */
+    TranspositionTable(int size) {
+        int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        entries = new Entry[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(Object key) {
+        int h = key.hashCode();
+        // spread the higher bits, as in HashMap, as the slot only uses the lower ones
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @return the entry for the state with this key, or null if there is none.
+     */
+    Entry get(Object key) {
+        Entry entry = entries[slot(key)];
+        return entry != null && entry.key().equals(key) ? entry : null;
+    }
+
+    void put(Object key, int depth, double[] value, Bound bound, AbstractAction bestAction) {
+        int slot = slot(key);
+        Entry current = entries[slot];
+        if (current != null && current.depth() > depth && current.key().equals(key))
+            return;
+        entries[slot] = new Entry(key, depth, value, bound, bestAction);
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    void clear() {
+        Arrays.fill(entries, null);
+    }
+}
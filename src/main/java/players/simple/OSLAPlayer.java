@@ -2,6 +2,7 @@ package players.simple;
 
 import core.AbstractGameState;
 import core.AbstractPlayer;
+import core.CoreParameters;
 import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
 
@@ -44,6 +45,7 @@ public class OSLAPlayer extends AbstractPlayer {
         for (int actionIndex = 0; actionIndex < actions.size(); actionIndex++) {
             AbstractAction action = actions.get(actionIndex);
             AbstractGameState gsCopy = gs.copy();
+            gsCopy.setHistoryPolicy(CoreParameters.HistoryPolicy.NONE);
             getForwardModel().next(gsCopy, action);
 
             if (heuristic != null) {
@@ -66,7 +68,8 @@ public class OSLAPlayer extends AbstractPlayer {
     @Override
     public OSLAPlayer copy() {
         OSLAPlayer retValue = new OSLAPlayer(heuristic, new Random(rnd.nextInt()));
-        retValue.setForwardModel(getForwardModel().copy());
+        if (getForwardModel() != null)
+            retValue.setForwardModel(getForwardModel().copy());
         return retValue;
     }
 
@@ -1,13 +1,16 @@
 package players.simple;
 
+import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+import core.interfaces.IRolloutPolicy;
 
 import java.util.List;
 import java.util.Random;
 
-public class RandomPlayer extends AbstractPlayer {
+public class RandomPlayer extends AbstractPlayer implements IRolloutPolicy {
 
     /**
      * Random generator for this agent.
@@ -28,6 +31,18 @@ public class RandomPlayer extends AbstractPlayer {
         return actions.get(randomAction);
     }
 
+    /**
+     * As a rollout policy, we can usually choose an action without computing all of them. Subclasses, or any
+     * decorators, may depend on seeing all the actions, so in these cases we do so.
+     */
+    @Override
+    public AbstractAction sampleAction(AbstractGameState state, AbstractForwardModel forwardModel, ActionSpace actionSpace) {
+        if (getClass() == RandomPlayer.class && decorators.isEmpty())
+            return forwardModel.sampleAvailableAction(state, actionSpace, rnd);
+        List<AbstractAction> actions = forwardModel.computeAvailableActions(state, actionSpace);
+        return actions.isEmpty() ? null : getAction(state, actions);
+    }
+
     @Override
     public String toString() {
         return "Random";
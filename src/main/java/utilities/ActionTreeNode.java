@@ -3,8 +3,8 @@ package utilities;
 import core.actions.AbstractAction;
 import org.json.simple.JSONObject;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.*;
 
 public class ActionTreeNode {
 
@@ -15,6 +15,12 @@ public class ActionTreeNode {
     int SubNodes;
     ActionTreeNode parent;
 
+    // The shape of the tree only changes when a child is added below a node, so the nodes under it in breadth first
+    // order, its leaves and the first of its nodes with each name are kept until then (see structureChanged())
+    List<ActionTreeNode> nodeOrder;
+    List<ActionTreeNode> leafNodes;
+    Map<String, ActionTreeNode> nodesByName;
+
     // Constructors
     public ActionTreeNode() {
         this.children = new ArrayList<ActionTreeNode>();
@@ -41,9 +47,23 @@ public class ActionTreeNode {
     // Methods for Flattening
 
     public int[] getActionMask() {
-        List<Integer> vals = this.flattenValues();
-        vals.remove(0);
-        return vals.stream().mapToInt(i -> i).toArray();
+        List<ActionTreeNode> nodes = getNodeOrder();
+        int[] mask = new int[nodes.size() - 1];
+        for (int i = 1; i < nodes.size(); i++) {
+            mask[i - 1] = nodes.get(i).value;
+        }
+        return mask;
+    }
+
+    /**
+     * Writes the values of the leaf nodes (the action mask) into the buffer, as ints from its current position, which
+     * is moved on past them. This is the same as getLeafNodes() mapped to getValue(), but without making a new array.
+     * @param buffer - buffer to write to, with at least 4 * getLeafNodes().size() bytes remaining
+     */
+    public void writeLeafMask(ByteBuffer buffer) {
+        for (ActionTreeNode leaf : getLeafNodes()) {
+            buffer.putInt(leaf.value);
+        }
     }
 
     public List<String> getActionMaskNames() {
@@ -54,20 +74,40 @@ public class ActionTreeNode {
 
     // Searches the tree breadth first for all leaf nodes and returns them
     public List<ActionTreeNode> getLeafNodes(){
-        List<ActionTreeNode> nodes = new ArrayList<ActionTreeNode>();
-        List<ActionTreeNode> leafNodes = new ArrayList<ActionTreeNode>();
-        nodes.add(this);
-        while(nodes.size() > 0){
-            ActionTreeNode node = nodes.remove(0);
-            if(node.children.size() == 0){
-                leafNodes.add(node);
-            } else {
-                nodes.addAll(node.children);
+        if (leafNodes == null) {
+            List<ActionTreeNode> leaves = new ArrayList<ActionTreeNode>();
+            for (ActionTreeNode node : getNodeOrder()) {
+                if (node.children.size() == 0) {
+                    leaves.add(node);
+                }
             }
+            leafNodes = Collections.unmodifiableList(leaves);
         }
         return leafNodes;
     }
 
+    // This node and all nodes below it, breadth first
+    private List<ActionTreeNode> getNodeOrder() {
+        if (nodeOrder == null) {
+            List<ActionTreeNode> nodes = new ArrayList<ActionTreeNode>();
+            nodes.add(this);
+            for (int i = 0; i < nodes.size(); i++) {
+                nodes.addAll(nodes.get(i).children);
+            }
+            nodeOrder = nodes;
+        }
+        return nodeOrder;
+    }
+
+    // Called when a child is added to this node, as that changes the shape of the tree under it and all its parents
+    private void structureChanged() {
+        for (ActionTreeNode node = this; node != null; node = node.parent) {
+            node.nodeOrder = null;
+            node.leafNodes = null;
+            node.nodesByName = null;
+        }
+    }
+
     public List<ActionTreeNode> flattenTree(){
         List<ActionTreeNode> nodes = new ArrayList<ActionTreeNode>();
         List<ActionTreeNode> nodes1 = new ArrayList<ActionTreeNode>();
@@ -95,25 +135,17 @@ public class ActionTreeNode {
 
     public List<Integer> flattenValues(){
         List<Integer> values = new ArrayList<Integer>();
-        List<ActionTreeNode> nodes = new ArrayList<ActionTreeNode>();
-        nodes.add(this);
-        while(nodes.size() > 0){
-            ActionTreeNode node = nodes.remove(0);
+        for (ActionTreeNode node : getNodeOrder()) {
             values.add(node.value);
-            nodes.addAll(node.children);
         }
         return values;
     }
 
     // Reset all the nodes in the tree, keeps structure only sets value and action to 0/null
     public void resetTree(){
-        List<ActionTreeNode> nodes = new ArrayList<ActionTreeNode>();
-        nodes.add(this);
-        while(nodes.size() > 0){
-            ActionTreeNode node = nodes.remove(0);
+        for (ActionTreeNode node : getNodeOrder()) {
             node.value = 0;
             node.action = null;
-            nodes.addAll(node.children);
         }
     }
 
@@ -122,19 +154,18 @@ public class ActionTreeNode {
     }
     // sets the value of the node to 1 if it is found
     public ActionTreeNode findChildrenByName(String name, boolean setAvailable){
-        List<ActionTreeNode> nodes = new ArrayList<ActionTreeNode>();
-        nodes.add(this);
-        while(nodes.size() > 0){
-            ActionTreeNode node = nodes.remove(0);
-            nodes.addAll(node.children);
-            if (node.name.equals(name)){
-                if(setAvailable){
-                    node.value = 1;
-                }
-                return node;
+        if (nodesByName == null) {
+            // the first node with each name, breadth first
+            nodesByName = new HashMap<>();
+            for (ActionTreeNode node : getNodeOrder()) {
+                nodesByName.putIfAbsent(node.name, node);
             }
         }
-        return null;
+        ActionTreeNode node = nodesByName.get(name);
+        if (node != null && setAvailable) {
+            node.value = 1;
+        }
+        return node;
     }
 
     public String toJsonString() {
@@ -157,6 +188,7 @@ public class ActionTreeNode {
     // Add Child Functions
     public ActionTreeNode addChild(){
         ActionTreeNode child = new ActionTreeNode();
+        structureChanged();
         this.children.add(child);
         child.parent = this;
         child.updateSubNodes();
@@ -165,6 +197,7 @@ public class ActionTreeNode {
 
     public ActionTreeNode addChild(int value){
         ActionTreeNode child = new ActionTreeNode(value);
+        structureChanged();
         this.children.add(child);
         child.parent = this;
         child.updateSubNodes();
@@ -173,6 +206,7 @@ public class ActionTreeNode {
 
     public ActionTreeNode addChild(int value, String name){
         ActionTreeNode child = new ActionTreeNode(value, name);
+        structureChanged();
         this.children.add(child);
         child.parent = this;
         child.updateSubNodes();
@@ -228,6 +262,7 @@ public class ActionTreeNode {
     }
     public void setName(String name) {
         this.name = name;
+        structureChanged();
     }
     public List<ActionTreeNode> getChildren() {
         return children;
@@ -12,16 +12,28 @@ public class ElapsedCpuTimer {
 
     protected static final boolean OS_WIN = System.getProperty("os.name").contains("Windows");
 
-    // allows for easy reporting of elapsed time
-    protected ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    // allows for easy reporting of elapsed time (looked up only by the default constructor, as copies share it)
+    protected ThreadMXBean bean;
     protected long oldTime;
     protected long maxTime;
     protected int nIters;
 
     public ElapsedCpuTimer() {
+        bean = ManagementFactory.getThreadMXBean();
         reset();
     }
 
+    /**
+     * Copy constructor. Unlike the default constructor this does not read the clock, which is relatively
+     * expensive (and timers are copied with every game state).
+     */
+    protected ElapsedCpuTimer(ElapsedCpuTimer other) {
+        this.bean = other.bean;
+        this.oldTime = other.oldTime;
+        this.maxTime = other.maxTime;
+        this.nIters = other.nIters;
+    }
+
     public void reset() {
         oldTime = getTime();
         nIters = 0;
@@ -85,12 +97,7 @@ public class ElapsedCpuTimer {
 
     public ElapsedCpuTimer copy()
     {
-        ElapsedCpuTimer newCpuTimer = new ElapsedCpuTimer();
-        newCpuTimer.maxTime = this.maxTime;
-        newCpuTimer.oldTime = this.oldTime;
-        newCpuTimer.bean = this.bean;
-        newCpuTimer.nIters = this.nIters;
-        return newCpuTimer;
+        return new ElapsedCpuTimer(this);
     }
 
     @Override
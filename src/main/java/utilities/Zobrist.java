@@ -0,0 +1,35 @@
+package utilities;
+
+/**
+ * Helpers for the incremental (Zobrist) hashing of game states.
+ * <p>
+ * A Zobrist hash is the XOR of a random 64-bit key for each (position, value) pair in the state, so that when the
+ * value at one position changes the hash can be updated by XOR-ing out the old key and XOR-ing in the new one.
+ * Rather than holding tables of random keys, we generate the key for each pair when needed by mixing the two
+ * numbers with the SplitMix64 finaliser, which is cheap and gives the same keys in every run.
+ */
+public final class Zobrist {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private Zobrist() {
+    }
+
+    /**
+     * @return a well-mixed 64-bit value from z (the SplitMix64 finaliser)
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @param position - the position (or slot, or feature) in the state
+     * @param value    - the value at that position
+     * @return the key for this value at this position
+     */
+    public static long key(long position, long value) {
+        return mix(mix(value) + position * GOLDEN_GAMMA);
+    }
+}
@@ -1,6 +1,8 @@
 package core;
 
+import games.GameType;
 import games.puertorico.PuertoRicoParameters;
+import games.tictactoe.TicTacToeGameParameters;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -16,4 +18,46 @@ public class ParameterCopy {
         assertNotEquals(params.getRandomSeed(), paramsCopy.getRandomSeed());
         assertEquals(params.hashCode(), paramsCopy.hashCode());
     }
+
+    @Test
+    public void frozenCopyIsMadeOnceUntilTheParametersChange() {
+        TicTacToeGameParameters params = new TicTacToeGameParameters();
+        AbstractParameters frozen = params.frozenCopy();
+        assertTrue(frozen.isFrozen());
+        assertFalse(params.isFrozen());
+        assertEquals(params, frozen);
+        assertSame(frozen, params.frozenCopy());
+        assertSame(frozen, frozen.frozenCopy());
+
+        params.setParameterValue("gridSize", 5);
+        AbstractParameters changed = params.frozenCopy();
+        assertNotSame(frozen, changed);
+        assertEquals(5, ((TicTacToeGameParameters) changed).gridSize);
+        assertNotEquals(5, ((TicTacToeGameParameters) frozen).gridSize);
+        // a copy of frozen parameters can be changed again
+        assertFalse(frozen.copy().isFrozen());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void frozenParametersCannotBeChanged() {
+        TicTacToeGameParameters frozen = (TicTacToeGameParameters) new TicTacToeGameParameters().frozenCopy();
+        frozen.setParameterValue("gridSize", 5);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void frozenSeedCannotBeChanged() {
+        new TicTacToeGameParameters().frozenCopy().setRandomSeed(1234);
+    }
+
+    @Test
+    public void gameStateCopiesShareFrozenParameters() {
+        Game game = GameType.TicTacToe.createGameInstance(2, 1234);
+        AbstractGameState state = game.getGameState();
+        AbstractGameState copy = state.copy();
+        assertTrue(copy.getGameParameters().isFrozen());
+        assertFalse(state.getGameParameters().isFrozen());
+        assertEquals(state.getGameParameters(), copy.getGameParameters());
+        assertSame(copy.getGameParameters(), state.copy(1).getGameParameters());
+        assertSame(copy.getGameParameters(), copy.copy().getGameParameters());
+    }
 }
@@ -0,0 +1,56 @@
+package core;
+
+import games.GameType;
+import org.junit.Test;
+import players.python.PythonAgent;
+import players.simple.RandomPlayer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static core.PyTAG.*;
+import static org.junit.Assert.*;
+
+public class PyTAGSharedBufferTest {
+
+    private static void checkBuffer(PyTAG env, ByteBuffer buffer) throws Exception {
+        assertEquals(env.getPlayerID(), buffer.getInt(SHARED_PLAYER));
+        assertEquals(env.isDone() ? 1 : 0, buffer.getInt(SHARED_DONE));
+        assertEquals(env.getTick(), buffer.getInt(SHARED_TICK));
+        assertEquals(env.getReward(), buffer.getDouble(SHARED_REWARD), 0.0);
+
+        int obsSize = buffer.getInt(SHARED_OBS_SIZE);
+        double[] obs = env.getObservationVector();
+        assertEquals(obs.length, obsSize);
+        for (int i = 0; i < obsSize; i++)
+            assertEquals(obs[i], buffer.getDouble(SHARED_OBS + 8 * i), 0.0);
+
+        int[] mask = env.getActionMask();
+        assertEquals(mask.length, buffer.getInt(SHARED_MASK_SIZE));
+        for (int i = 0; i < mask.length; i++)
+            assertEquals(mask[i], buffer.getInt(SHARED_OBS + 8 * obsSize + 4 * i));
+    }
+
+    @Test
+    public void bufferHoldsWhatTheGettersReturn() throws Exception {
+        Random rnd = new Random(7);
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(new PythonAgent());
+        players.add(new RandomPlayer(new Random(8)));
+        PyTAG env = new PyTAG(GameType.TicTacToe, null, players, 7, true);
+        env.reset();
+        ByteBuffer buffer = env.openSharedBuffer();
+        assertEquals(env.getSharedBufferSize(), buffer.capacity());
+
+        for (int episode = 0; episode < 20; episode++) {
+            checkBuffer(env, buffer);
+            while (!env.isDone()) {
+                env.stepShared(env.sampleRNDAction(env.getActionMask(), rnd));
+                checkBuffer(env, buffer);
+            }
+            env.reset();
+        }
+    }
+}
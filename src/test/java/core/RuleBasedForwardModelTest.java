@@ -0,0 +1,86 @@
+package core;
+
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class RuleBasedForwardModelTest {
+
+    // A copy of the state with its own random numbers, so that playing it does not change those of the original
+    private static AbstractGameState copy(AbstractGameState state, long seed) {
+        AbstractGameState copy = state.copy();
+        copy.rnd = new Random(seed);
+        return copy;
+    }
+
+    /**
+     * Plays a random game from the given state, returning the actions available at each step. If explore is set,
+     * before each step some random actions are played on a copy of the state, with the same forward model or a copy
+     * of it. If copyEachStep is set, each step is played with a new copy of the forward model.
+     */
+    private static List<String> play(AbstractForwardModel fm, AbstractGameState start, boolean explore, boolean copyModel,
+                                     boolean copyEachStep) {
+        AbstractGameState state = copy(start, 1);
+        Random rnd = new Random(2);
+        Random exploreRnd = new Random(3);
+        List<String> history = new ArrayList<>();
+        for (int step = 0; step < 400 && state.isNotTerminal(); step++) {
+            if (explore) {
+                AbstractForwardModel searchModel = copyModel ? fm.copy() : fm;
+                AbstractGameState copy = copy(state, step);
+                for (int i = 0; i < 10 && copy.isNotTerminal(); i++) {
+                    List<AbstractAction> actions = searchModel.computeAvailableActions(copy);
+                    searchModel.next(copy, actions.get(exploreRnd.nextInt(actions.size())));
+                }
+            }
+            AbstractForwardModel stepModel = copyEachStep ? fm.copy() : fm;
+            // in a fixed order, as that of computeAvailableActions can depend on the order of a HashSet
+            List<AbstractAction> actions = new ArrayList<>(stepModel.computeAvailableActions(state));
+            actions.sort(Comparator.comparing(AbstractAction::toString));
+            history.add(actions.toString());
+            stepModel.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+        return history;
+    }
+
+    @Test
+    public void searchOnCopiesDoesNotChangeTheGame() {
+        Game game = GameType.Pandemic.createGameInstance(2, 11);
+        AbstractForwardModel fm = game.getForwardModel();
+        List<String> expected = play(fm, game.getGameState(), false, false, false);
+        assertTrue(expected.size() > 20);
+        assertEquals(expected, play(fm, game.getGameState(), true, false, false));
+        assertEquals(expected, play(fm, game.getGameState(), true, true, false));
+    }
+
+    @Test
+    public void copiesOfTheModelContinueFromWhereTheStateIs() {
+        Game game = GameType.Pandemic.createGameInstance(2, 12);
+        AbstractForwardModel fm = game.getForwardModel();
+        assertEquals(play(fm, game.getGameState(), false, false, false),
+                play(fm, game.getGameState(), false, false, true));
+    }
+
+    @Test
+    public void copiesOfTheStateKeepTheirPlaceInTheRules() {
+        Game game = GameType.Pandemic.createGameInstance(2, 13);
+        AbstractForwardModel fm = game.getForwardModel();
+        AbstractGameStateWithTurnOrder state = (AbstractGameStateWithTurnOrder) game.getGameState();
+        Random rnd = new Random(13);
+        int nAwayFromRoot = 0;
+        for (int step = 0; step < 400 && state.isNotTerminal(); step++) {
+            if (state.getNextRule() != 0) nAwayFromRoot++;
+            AbstractGameStateWithTurnOrder copy = (AbstractGameStateWithTurnOrder) state.copy();
+            assertEquals(state.getNextRule(), copy.getNextRule());
+            assertEquals(state.getLastRule(), copy.getLastRule());
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            fm.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+        // the game was not always at the start of the turn, so the place in the rules mattered
+        assertTrue(nAwayFromRoot > 0);
+    }
+}
@@ -0,0 +1,49 @@
+package core;
+
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class SampleAvailableActionTest {
+
+    /**
+     * At each state of a random game, every action sampled should be one of the available actions, and (with
+     * enough samples) every available action should be sampled.
+     */
+    private void checkSamples(GameType gameType, int nPlayers) {
+        Game game = gameType.createGameInstance(nPlayers, 39);
+        AbstractForwardModel fm = game.getForwardModel();
+        AbstractGameState state = game.getGameState();
+        Random rnd = new Random(39);
+        for (int move = 0; move < 200 && state.isNotTerminal(); move++) {
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            Set<AbstractAction> sampled = new HashSet<>();
+            for (int i = 0; i < 50 * actions.size(); i++) {
+                AbstractAction action = fm.sampleAvailableAction(state, null, rnd);
+                assertTrue(action + " is not available", actions.contains(action));
+                sampled.add(action);
+            }
+            assertEquals(new HashSet<>(actions), sampled);
+            fm.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+    }
+
+    @Test
+    public void dominion() {
+        checkSamples(GameType.Dominion, 3);
+    }
+
+    @Test
+    public void sushiGo() {
+        checkSamples(GameType.SushiGo, 3);
+    }
+
+    @Test
+    public void defaultImplementation() {
+        checkSamples(GameType.Connect4, 2);
+    }
+}
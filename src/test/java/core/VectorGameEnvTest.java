@@ -0,0 +1,78 @@
+package core;
+
+import games.GameType;
+import org.junit.Test;
+import players.python.PythonAgent;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VectorGameEnvTest {
+
+    private static VectorGameEnv env(int nThreads) throws Exception {
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(new PythonAgent());
+        players.add(new RandomPlayer(new Random(3)));
+        return new VectorGameEnv(GameType.TicTacToe, null, players, 6, nThreads, 5, true);
+    }
+
+    // Picks a legal action in each environment, and records everything the environments returned
+    private static int[] chooseActions(VectorGameEnv env, Random rnd, List<String> history) {
+        int n = env.getNumEnvs(), maskSize = env.getActionSpace();
+        int[] masks = env.getActionMasks();
+        int[] actions = new int[n];
+        for (int i = 0; i < n; i++) {
+            List<Integer> legal = new ArrayList<>();
+            for (int a = 0; a < maskSize; a++)
+                if (masks[i * maskSize + a] == 1) legal.add(a);
+            assertFalse(legal.isEmpty());
+            actions[i] = legal.get(rnd.nextInt(legal.size()));
+        }
+        history.add(Arrays.toString(env.getObservations()) + Arrays.toString(masks) + Arrays.toString(env.getRewards())
+                + Arrays.toString(env.getDones()) + Arrays.toString(env.getPlayerIDs()));
+        return actions;
+    }
+
+    @Test
+    public void stacksTheResultsOfEachEnvironment() throws Exception {
+        try (VectorGameEnv env = env(3)) {
+            Random rnd = new Random(7);
+            int obsSize = env.getObservationSpace(), maskSize = env.getActionSpace();
+            List<String> history = new ArrayList<>();
+            for (int step = 0; step < 100; step++) {
+                for (int i = 0; i < env.getNumEnvs(); i++) {
+                    PyTAG pyTAG = env.getEnv(i);
+                    assertFalse(pyTAG.isDone());
+                    assertEquals(pyTAG.getPlayerID(), env.getPlayerIDs()[i]);
+                    assertArrayEquals(pyTAG.getObservationVector(),
+                            Arrays.copyOfRange(env.getObservations(), i * obsSize, (i + 1) * obsSize), 0.0);
+                    assertArrayEquals(pyTAG.getActionMask(),
+                            Arrays.copyOfRange(env.getActionMasks(), i * maskSize, (i + 1) * maskSize));
+                }
+                env.step(chooseActions(env, rnd, history));
+            }
+            // the games were played to the end, and started again
+            assertTrue(Arrays.stream(env.getEpisodes()).allMatch(e -> e > 5));
+        }
+    }
+
+    @Test
+    public void threadsDoNotChangeTheResults() throws Exception {
+        List<List<String>> histories = new ArrayList<>();
+        for (int nThreads : new int[]{1, 4}) {
+            try (VectorGameEnv env = env(nThreads)) {
+                Random rnd = new Random(8);
+                List<String> history = new ArrayList<>();
+                for (int step = 0; step < 100; step++)
+                    env.step(chooseActions(env, rnd, history));
+                histories.add(history);
+            }
+        }
+        assertEquals(histories.get(0), histories.get(1));
+    }
+}
@@ -0,0 +1,102 @@
+package core.components;
+
+import core.CoreConstants;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CopyOnWriteTest {
+
+    private Deck<Card> deck(boolean copyOnWrite) {
+        Deck<Card> deck = new Deck<>("Test", -1, CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+        for (int i = 0; i < 5; i++)
+            deck.add(new Card("Card " + i));
+        deck.setCopyOnWrite(copyOnWrite);
+        return deck;
+    }
+
+    @Test
+    public void copyOnWriteDeckSharesComponents() {
+        Deck<Card> deck = deck(true);
+        Deck<Card> copy = deck.copy();
+        assertTrue(copy.isCopyOnWrite());
+        assertSame(deck.get(0), copy.get(0));
+        assertEquals(deck, copy);
+
+        Card drawn = copy.draw();
+        copy.add(new Card("New"), 2);
+        assertEquals(5, deck.getSize());
+        assertSame(drawn, deck.get(0));
+        assertEquals(5, copy.getSize());
+        assertEquals("New", copy.get(2).getComponentName());
+
+        deck.clear();
+        assertEquals(5, copy.getSize());
+    }
+
+    @Test
+    public void defaultDeckCopiesComponents() {
+        Deck<Card> deck = deck(false);
+        Deck<Card> copy = deck.copy();
+        assertFalse(copy.isCopyOnWrite());
+        assertNotSame(deck.get(0), copy.get(0));
+        assertEquals(deck.get(0).getComponentID(), copy.get(0).getComponentID());
+    }
+
+    @Test
+    public void partialObservableDeckVisibilityIsNotShared() {
+        PartialObservableDeck<Card> deck = new PartialObservableDeck<>("Test", -1, new boolean[]{true, false});
+        deck.add(new Card("A"));
+        deck.add(new Card("B"), new boolean[]{false, true});
+        deck.setCopyOnWrite(true);
+        PartialObservableDeck<Card> copy = deck.copy();
+        copy.setVisibilityOfComponent(0, 0, true);
+        assertTrue(copy.getVisibilityForPlayer(0, 0));
+        assertFalse(deck.getVisibilityForPlayer(0, 0));
+        assertTrue(deck.getVisibilityForPlayer(0, 1));
+        assertTrue(deck.getVisibilityForPlayer(1, 0));
+    }
+
+    @Test
+    public void gridBoardCopiesAreIndependent() {
+        GridBoard<Token> board = new GridBoard<>(3, 2, new Token("."));
+        Token x = new Token("X");
+        GridBoard<Token> copy = board.copy();
+        GridBoard<Token> copyOfCopy = copy.copy();
+        copy.setElement(1, 1, x);
+        assertEquals(".", board.getElement(1, 1).getTokenType());
+        assertSame(x, copy.getElement(1, 1));
+        assertEquals(".", copyOfCopy.getElement(1, 1).getTokenType());
+
+        board.getGridValues()[0][2] = x;
+        assertEquals(".", copy.getElement(2, 0).getTokenType());
+        assertEquals(".", copyOfCopy.getElement(2, 0).getTokenType());
+        assertSame(x, board.getElement(2, 0));
+    }
+
+    @Test
+    public void copyOnWriteGraphBoardCopiesNodesWhenUsed() {
+        GraphBoard board = new GraphBoard("Test");
+        BoardNode a = new BoardNode(2, "A");
+        BoardNode b = new BoardNode(2, "B");
+        board.addBoardNode(a);
+        board.addBoardNode(b);
+        board.addConnection(a, b);
+        board.setCopyOnWrite(true);
+
+        GraphBoard copy = board.copy();
+        assertEquals(board, copy);
+        BoardNode aCopy = copy.getNodeByID(a.getComponentID());
+        assertNotSame(a, aCopy);
+        aCopy.setOwnerId(1);
+        assertEquals(-1, a.getOwnerId());
+        assertEquals(List.of(copy.getNodeByID(b.getComponentID())), List.copyOf(aCopy.getNeighbours()));
+
+        // the original copies its nodes too, the first time it uses them after being copied
+        GraphBoard secondCopy = board.copy();
+        board.getNodeByID(b.getComponentID()).setOwnerId(0);
+        assertEquals(-1, secondCopy.getNodeByID(b.getComponentID()).getOwnerId());
+    }
+}
@@ -0,0 +1,84 @@
+package core.components;
+
+import core.properties.PropertyInt;
+import core.properties.PropertyString;
+import org.junit.Test;
+
+import static core.CoreConstants.nameHash;
+import static org.junit.Assert.*;
+
+public class GraphBoardPropertyIndexTest {
+
+    private static BoardNode node(String name) {
+        BoardNode node = new BoardNode(4, name);
+        node.setProperty(new PropertyString("name", name));
+        node.setProperty(new PropertyInt("size", name.length()));
+        return node;
+    }
+
+    private static GraphBoard board(String... names) {
+        GraphBoard board = new GraphBoard("Test");
+        for (String name : names)
+            board.addBoardNode(node(name));
+        return board;
+    }
+
+    @Test
+    public void findsNodesByStringProperty() {
+        GraphBoard board = board("Atlanta", "Paris", "Tokyo");
+        for (BoardNode node : board.getBoardNodes()) {
+            String name = node.getComponentName();
+            assertSame(node, board.getNodeByStringProperty(nameHash, name));
+            assertSame(node, board.getNodeByProperty(nameHash, new PropertyString(name)));
+        }
+        assertNull(board.getNodeByStringProperty(nameHash, "Lima"));
+        assertNull(board.getNodeByStringProperty(nameHash, null));
+        // other types of property are still found
+        assertEquals("Atlanta", board.getNodeByProperty(new PropertyInt("size", 0).getHashKey(), new PropertyInt("", 7)).getComponentName());
+    }
+
+    @Test
+    public void followsChangesToTheNodes() {
+        GraphBoard board = board("Atlanta", "Paris");
+        BoardNode paris = board.getNodeByStringProperty(nameHash, "Paris");
+
+        paris.setProperty(new PropertyString("name", "Madrid"));
+        assertNull(board.getNodeByStringProperty(nameHash, "Paris"));
+        assertSame(paris, board.getNodeByStringProperty(nameHash, "Madrid"));
+
+        // a value not found is not searched for again until nodes are added or removed
+        assertNull(board.getNodeByStringProperty(nameHash, "Tokyo"));
+        BoardNode tokyo = node("Tokyo");
+        board.addBoardNode(tokyo);
+        assertSame(tokyo, board.getNodeByStringProperty(nameHash, "Tokyo"));
+
+        board.removeBoardNode(paris);
+        assertNull(board.getNodeByStringProperty(nameHash, "Madrid"));
+    }
+
+    @Test
+    public void copiesFindTheirOwnNodes() {
+        for (boolean copyOnWrite : new boolean[]{false, true}) {
+            GraphBoard board = board("Atlanta", "Paris", "Tokyo");
+            board.setCopyOnWrite(copyOnWrite);
+            BoardNode paris = board.getNodeByStringProperty(nameHash, "Paris");
+            GraphBoard copy = board.copy();
+            BoardNode parisCopy = copy.getNodeByStringProperty(nameHash, "Paris");
+            assertNotSame(paris, parisCopy);
+            assertEquals(paris.getComponentID(), parisCopy.getComponentID());
+            // with copy on write the original also takes its own copy of the nodes once they are used
+            paris = board.getNodeByStringProperty(nameHash, "Paris");
+            assertNotSame(paris, parisCopy);
+            assertEquals(parisCopy.getComponentID(), paris.getComponentID());
+
+            // a change in the copy is not seen by the original
+            copy.removeBoardNode(parisCopy);
+            BoardNode madrid = node("Madrid");
+            copy.addBoardNode(madrid);
+            assertNull(copy.getNodeByStringProperty(nameHash, "Paris"));
+            assertSame(madrid, copy.getNodeByStringProperty(nameHash, "Madrid"));
+            assertNull(board.getNodeByStringProperty(nameHash, "Madrid"));
+            assertSame(paris, board.getNodeByStringProperty(nameHash, "Paris"));
+        }
+    }
+}
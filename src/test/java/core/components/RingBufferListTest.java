@@ -0,0 +1,143 @@
+package core.components;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+import static org.junit.Assert.*;
+
+public class RingBufferListTest {
+
+    // we apply the same random operations to an ArrayList, and check the two always agree
+    @Test
+    public void matchesArrayListUnderRandomOperations() {
+        Random rnd = new Random(47);
+        RingBufferList<Integer> ring = new RingBufferList<>();
+        List<Integer> expected = new ArrayList<>();
+        List<Long> expectedFlags = new ArrayList<>();
+        for (int step = 0; step < 20000; step++) {
+            int size = expected.size();
+            switch (rnd.nextInt(8)) {
+                case 0, 1 -> {
+                    ring.add(0, step);
+                    ring.setFlags(0, step);
+                    expected.add(0, step);
+                    expectedFlags.add(0, (long) step);
+                }
+                case 2 -> {
+                    ring.add(step);
+                    ring.setFlags(size, step);
+                    expected.add(step);
+                    expectedFlags.add((long) step);
+                }
+                case 3 -> {
+                    int index = rnd.nextInt(size + 1);
+                    ring.add(index, step);
+                    ring.setFlags(index, step);
+                    expected.add(index, step);
+                    expectedFlags.add(index, (long) step);
+                }
+                case 4, 5 -> {
+                    if (size > 0) {
+                        int index = rnd.nextBoolean() ? 0 : rnd.nextInt(size);
+                        assertEquals(expected.remove(index), ring.remove(index));
+                        expectedFlags.remove(index);
+                    }
+                }
+                case 6 -> {
+                    int index = rnd.nextInt(size + 1);
+                    List<Integer> toAdd = List.of(-step, -step - 1, -step - 2);
+                    ring.addAll(index, toAdd);
+                    expected.addAll(index, toAdd);
+                    expectedFlags.addAll(index, List.of(0L, 0L, 0L));
+                }
+                case 7 -> {
+                    if (size > 0) {
+                        int index = rnd.nextInt(size);
+                        assertEquals(expected.set(index, step), ring.set(index, step));
+                    }
+                }
+            }
+            if (step % 5000 == 4999) {
+                ring.clear();
+                expected.clear();
+                expectedFlags.clear();
+            }
+            assertEquals(expected, ring);
+            for (int i = 0; i < expected.size(); i++)
+                assertEquals((long) expectedFlags.get(i), ring.getFlags(i));
+        }
+    }
+
+    @Test
+    public void shallowCopyIsIndependent() {
+        RingBufferList<String> ring = new RingBufferList<>();
+        ring.add(0, "b");
+        ring.add(0, "a");
+        ring.add("c");
+        ring.setFlags(1, 3L);
+        RingBufferList<String> copy = ring.shallowCopy();
+        copy.remove(0);
+        copy.setFlags(0, 5L);
+        assertEquals(List.of("a", "b", "c"), ring);
+        assertEquals(3L, ring.getFlags(1));
+        assertEquals(List.of("b", "c"), copy);
+        assertEquals(5L, copy.getFlags(0));
+    }
+
+    @Test
+    public void sharedCopyIsIndependentAfterChanges() {
+        RingBufferList<String> ring = new RingBufferList<>(List.of("a", "b", "c"));
+        ring.setFlags(2, 7L);
+        RingBufferList<String> copy = ring.sharedCopy();
+        RingBufferList<String> secondCopy = copy.sharedCopy();
+        copy.remove(0);
+        copy.setFlags(1, 1L);
+        ring.add(0, "z");
+        secondCopy.clear();
+        assertEquals(List.of("z", "a", "b", "c"), ring);
+        assertEquals(7L, ring.getFlags(3));
+        assertEquals(List.of("b", "c"), copy);
+        assertEquals(1L, copy.getFlags(1));
+        assertTrue(secondCopy.isEmpty());
+    }
+
+    @Test
+    public void addAllOfItself() {
+        RingBufferList<Integer> ring = new RingBufferList<>(List.of(1, 2, 3));
+        ring.addAll(1, ring);
+        assertEquals(List.of(1, 1, 2, 3, 2, 3), ring);
+    }
+
+    @Test
+    public void shuffleMatchesCollectionsShuffle() {
+        ToLongFunction<Integer> key = i -> 1000L * i;
+        RingBufferList<Integer> ring = new RingBufferList<>(key);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            // add at both ends, so that the elements wrap around the end of the array
+            ring.add(i % 2 == 0 ? 0 : ring.size(), i);
+            expected.add(i % 2 == 0 ? 0 : expected.size(), i);
+        }
+        long hash = ring.contentHash();
+        ring.shuffle(0, ring.size(), new Random(5));
+        Collections.shuffle(expected, new Random(5));
+        assertEquals(expected, ring);
+        ring.shuffle(3, 11, new Random(6));
+        Collections.shuffle(expected.subList(3, 11), new Random(6));
+        assertEquals(expected, ring);
+        assertEquals(hash, ring.contentHash());
+
+        // with the same key function, addAll() just adds the content hash of the other list
+        RingBufferList<Integer> other = new RingBufferList<>(key);
+        other.addAll(ring);
+        other.addAll(0, ring);
+        assertEquals(2 * hash, other.contentHash());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfRange() {
+        new RingBufferList<>(List.of(1, 2)).get(2);
+    }
+}
@@ -0,0 +1,80 @@
+package core.components;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.CoreConstants;
+import core.Game;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ZobristHashTest {
+
+    @Test
+    public void gridBoardHashIsKeptUpToDate() {
+        Random rnd = new Random(11);
+        Token[] tokens = {new Token("x"), new Token("o"), null};
+        GridBoard<Token> board = new GridBoard<>(5, 4);
+        for (int step = 0; step < 1000; step++) {
+            board.setElement(rnd.nextInt(5), rnd.nextInt(4), tokens[rnd.nextInt(3)]);
+            if (step % 100 == 0)
+                board = board.copy();
+            // the hash of a new board is worked out from scratch
+            GridBoard<Token> fresh = board.emptyCopy();
+            for (int y = 0; y < 4; y++)
+                for (int x = 0; x < 5; x++)
+                    fresh.setElement(x, y, board.getElement(x, y));
+            assertEquals(fresh.getZobristHash(), board.getZobristHash());
+        }
+    }
+
+    @Test
+    public void deckHashDependsOnContentsNotOrder() {
+        Deck<Card> deck = new Deck<>("Test", CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+        for (String name : List.of("a", "b", "b", "c"))
+            deck.add(new Card(name));
+        long hash = deck.getZobristHash();
+        deck.shuffle(new Random(3));
+        assertEquals(hash, deck.getZobristHash());
+
+        Card removed = deck.draw();
+        assertNotEquals(hash, deck.getZobristHash());
+        deck.addToBottom(removed);
+        assertEquals(hash, deck.getZobristHash());
+
+        // two copies of the same card must not cancel out
+        Deck<Card> other = deck.copy();
+        other.getComponents().removeIf(c -> c.getComponentName().equals("b"));
+        assertNotEquals(other.getZobristHash(), deck.getZobristHash());
+        other.clear();
+        other.add(new ArrayList<>(deck.getComponents()));
+        assertEquals(deck.getZobristHash(), other.getZobristHash());
+    }
+
+    // the hashes include the IDs of the components, so we start every sequence of moves from the same state
+    private final Game connect4 = GameType.Connect4.createGameInstance(2, 42);
+
+    @Test
+    public void connect4TranspositionsHaveTheSameHash() {
+        assertEquals(hashAfter(0, 1, 2, 3), hashAfter(2, 1, 0, 3));
+        assertEquals(hashAfter(0, 1, 2, 3), hashAfter(2, 3, 0, 1));
+        assertNotEquals(hashAfter(0, 1, 2, 3), hashAfter(1, 0, 2, 3));
+        assertNotEquals(hashAfter(0, 1, 2), hashAfter(0, 1, 2, 3));
+    }
+
+    private long hashAfter(int... columns) {
+        AbstractGameState state = connect4.getGameState().copy();
+        AbstractForwardModel fm = connect4.getForwardModel();
+        for (int column : columns) {
+            // while no column is full, the available actions are one per column, in order
+            fm.next(state, fm.computeAvailableActions(state).get(column));
+        }
+        assertEquals(state.getZobristHash(), state.copy().getZobristHash());
+        return state.getZobristHash();
+    }
+}
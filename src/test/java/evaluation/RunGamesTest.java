@@ -5,6 +5,7 @@ import evaluation.tournaments.AbstractTournament;
 import evaluation.tournaments.RoundRobinTournament;
 import games.GameType;
 import org.junit.*;
+import players.simple.OSLAPlayer;
 import players.simple.RandomPlayer;
 
 import java.io.File;
@@ -132,4 +133,32 @@ public class RunGamesTest {
         assertEquals(66, tournament.getNGamesPlayed()[3], 15);
     }
 
+    private RoundRobinTournament runWithThreads(List<AbstractPlayer> players, int nThreads) {
+        config.put(RunArg.mode, "exhaustive");
+        config.put(RunArg.matchups, 48);
+        config.put(RunArg.seed, 42L);
+        config.put(RunArg.nThreads, nThreads);
+        // a fully observable game, as the copies of the state given to players of other games are redeterminised
+        // with generators that are not seeded
+        RoundRobinTournament t = new RoundRobinTournament(players, GameType.CantStop, 3, null, config);
+        t.run();
+        return t;
+    }
+
+    @Test
+    public void parallelGamesGiveTheSameResultsAsSequentialOnes() {
+        List<AbstractPlayer> sequentialAgents = List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2)),
+                new OSLAPlayer(new Random(3)), new OSLAPlayer(new Random(4)));
+        List<AbstractPlayer> parallelAgents = List.of(new RandomPlayer(new Random(5)), new RandomPlayer(new Random(6)),
+                new OSLAPlayer(new Random(7)), new OSLAPlayer(new Random(8)));
+        RoundRobinTournament sequential = runWithThreads(sequentialAgents, 1);
+        RoundRobinTournament parallel = runWithThreads(parallelAgents, 3);
+
+        assertArrayEquals(sequential.getNGamesPlayed(), parallel.getNGamesPlayed());
+        for (int i = 0; i < sequentialAgents.size(); i++) {
+            assertEquals(sequential.getWinRate(i), parallel.getWinRate(i), 0.0);
+            assertEquals(sequential.getOrdinalRank(i), parallel.getOrdinalRank(i), 0.0);
+        }
+    }
+
 }
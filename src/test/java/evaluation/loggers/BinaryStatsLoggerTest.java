@@ -0,0 +1,159 @@
+package evaluation.loggers;
+
+import core.interfaces.IStatisticLogger;
+import org.junit.After;
+import org.junit.Test;
+import players.learners.AbstractLearner;
+import utilities.Pair;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class BinaryStatsLoggerTest {
+
+    private final List<File> files = new ArrayList<>();
+
+    private String tempFile(String extension) throws IOException {
+        File file = Files.createTempFile("BinaryStatsLoggerTest", extension).toFile();
+        files.add(file);
+        return file.getPath();
+    }
+
+    @After
+    public void deleteFiles() {
+        for (File file : files)
+            file.delete();
+    }
+
+    // in the layout that FeatureListener writes, with values that survive the text format unchanged
+    private static Map<String, Object> row(int i) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("GameID", (double) (i / 50));
+        data.put("Player", (double) (i % 3));
+        data.put("Round", (double) (i % 50) / 10);
+        data.put("Turn", (double) (i % 50));
+        data.put("CurrentScore", (double) (i % 7));
+        Map<String, Double> features = new LinkedHashMap<>();
+        features.put("FeatureA", (i % 11) * 0.5);
+        features.put("FeatureB", (double) (i % 5));
+        data.put("Features", features);
+        data.put("PlayerCount", 3);
+        data.put("TotalRounds", 5.0);
+        data.put("ActionScore", (double) (i % 2));
+        data.put("Win", i % 3 == 0 ? 1.0 : 0.0);
+        data.put("Ordinal", (double) (i % 3 + 1));
+        data.put("FinalScore", 20.0);
+        return data;
+    }
+
+    @Test
+    public void readsBackWhatWasWritten() throws IOException {
+        String file = tempFile(BinaryStatsLogger.EXTENSION);
+        int nRows = BinaryStatsLogger.BLOCK_ROWS + 100;
+        BinaryStatsLogger logger = new BinaryStatsLogger(file, false);
+        for (int i = 0; i < nRows; i++) {
+            Map<String, Object> data = row(i);
+            if (i == 10)
+                data.remove("CurrentScore");
+            logger.record(data);
+            if (i == 20)
+                logger.processDataAndNotFinish();
+        }
+        logger.processDataAndFinish();
+
+        assertTrue(BinaryStatsLogger.isBinaryFile(file));
+        Pair<String[], List<double[]>> contents = BinaryStatsLogger.readRows(file);
+        assertArrayEquals(new String[]{"GameID", "Player", "Round", "Turn", "CurrentScore", "FeatureA", "FeatureB",
+                "PlayerCount", "TotalRounds", "ActionScore", "Win", "Ordinal", "FinalScore"}, contents.a);
+        assertEquals(nRows, contents.b.size());
+        for (int i = 0; i < nRows; i++) {
+            double[] values = contents.b.get(i);
+            assertEquals(i % 50, values[3], 0.0);
+            assertEquals((i % 11) * 0.5, values[5], 0.0);
+            assertEquals(3.0, values[7], 0.0);
+            if (i == 10)
+                assertTrue(Double.isNaN(values[4]));
+            else
+                assertEquals(i % 7, values[4], 0.0);
+        }
+    }
+
+    @Test
+    public void appendsToAnExistingFile() throws IOException {
+        String file = tempFile(BinaryStatsLogger.EXTENSION);
+        for (int part = 0; part < 2; part++) {
+            BinaryStatsLogger logger = new BinaryStatsLogger(file, true);
+            for (int i = 0; i < 10; i++)
+                logger.record(row(part * 10 + i));
+            logger.processDataAndFinish();
+        }
+        List<double[]> rows = BinaryStatsLogger.readRows(file).b;
+        assertEquals(20, rows.size());
+        for (int i = 0; i < 20; i++)
+            assertEquals(i % 50, rows.get(i)[3], 0.0);
+    }
+
+    @Test
+    public void learnerLoadsTheSameDataFromTextOrBinary() throws IOException {
+        String textFile = tempFile(".data");
+        String binaryFile = tempFile(BinaryStatsLogger.EXTENSION);
+        IStatisticLogger text = IStatisticLogger.createFileLogger(textFile, false);
+        IStatisticLogger binary = IStatisticLogger.createFileLogger(binaryFile, false);
+        assertTrue(text instanceof FileStatsLogger);
+        assertTrue(binary instanceof BinaryStatsLogger);
+        for (int i = 0; i < 200; i++) {
+            text.record(row(i));
+            binary.record(row(i));
+        }
+        text.processDataAndFinish();
+        binary.processDataAndFinish();
+        assertFalse(BinaryStatsLogger.isBinaryFile(textFile));
+
+        DataLoader fromText = new DataLoader();
+        fromText.loadData(textFile);
+        DataLoader fromBinary = new DataLoader();
+        fromBinary.loadData(binaryFile);
+        assertArrayEquals(fromText.header(), fromBinary.header());
+        assertEquals(fromText.data().length, fromBinary.data().length);
+        for (int i = 0; i < fromText.data().length; i++) {
+            assertArrayEquals(fromText.data()[i], fromBinary.data()[i], 0.0);
+            assertArrayEquals(fromText.target()[i], fromBinary.target()[i], 0.0);
+        }
+    }
+
+    static class DataLoader extends AbstractLearner {
+        @Override
+        public void loadData(String... files) {
+            super.loadData(files);
+        }
+
+        String[] header() {
+            return header;
+        }
+
+        double[][] data() {
+            return dataArray;
+        }
+
+        double[][] target() {
+            return target;
+        }
+
+        @Override
+        public void learnFrom(String... files) {
+        }
+
+        @Override
+        public void writeToFile(String prefix) {
+        }
+
+        @Override
+        public String name() {
+            return "DataLoader";
+        }
+    }
+}
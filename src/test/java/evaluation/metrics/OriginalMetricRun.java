@@ -0,0 +1,44 @@
+package evaluation.metrics;
+
+import evaluation.listeners.MetricsGameListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The way AbstractMetric.run() used to record data, one cell at a time straight into the data logger, before rows
+ * were snapshot and added in batches. Tests compare the new path against this, rather than against itself.
+ */
+public class OriginalMetricRun {
+
+    public static void run(AbstractMetric metric, MetricsGameListener listener, Event e) {
+        // Ask for custom records from the metric and record these too
+        Map<String, Object> records = new HashMap<>();
+
+        // Fill in the map with column names and null values for the custom columns we need data for
+        for (String name : metric.getColumnNames()) {
+            records.put(name, null);
+        }
+
+        // Run the metric and fill in the map with recorded data
+        boolean record = metric._run(listener, e, records);
+
+        if (record) {
+            // Record default column data first, custom data for each default column
+            IDataLogger dataLogger = metric.getDataLogger();
+            dataLogger.addData("GameID", String.valueOf(e.state.getGameID()));
+            dataLogger.addData("GameName", e.state.getGameType().name());
+            dataLogger.addData("PlayerCount", String.valueOf(e.state.getNPlayers()));
+            dataLogger.addData("GameSeed", String.valueOf(e.state.getGameParameters().getRandomSeed()));
+            dataLogger.addData("Tick", e.state.getGameTick());
+            dataLogger.addData("Turn", e.state.getTurnCounter());
+            dataLogger.addData("Round", e.state.getRoundCounter());
+            dataLogger.addData("Event", e.type.name());
+
+            // Add the recorded data to the table
+            for (Map.Entry<String, Object> entry : records.entrySet()) {
+                dataLogger.addData(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package evaluation.metrics.tablessaw;
+
+import core.AbstractPlayer;
+import core.Game;
+import evaluation.listeners.MetricsGameListener;
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.Event;
+import evaluation.metrics.GameMetrics;
+import evaluation.metrics.IDataLogger;
+import evaluation.metrics.OriginalMetricRun;
+import games.GameType;
+import games.sushigo.metrics.SushiGoMetrics;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsPipelineTest {
+
+    // runs each metric straight away on the game thread, and records its data as AbstractMetric.run() used to
+    static class SynchronousListener extends MetricsGameListener {
+        SynchronousListener(AbstractMetric[] metrics) {
+            super(IDataLogger.ReportDestination.ToConsole, metrics);
+        }
+
+        @Override
+        public void onEvent(Event event) {
+            if (!eventsOfInterest.contains(event.type))
+                return;
+            for (AbstractMetric metric : metrics.values()) {
+                if (metric.listens(event.type))
+                    OriginalMetricRun.run(metric, this, event);
+                if (event.type == Event.GameEvent.GAME_OVER)
+                    metric.notifyGameOver();
+            }
+        }
+    }
+
+    private static AbstractMetric[] allMetrics() {
+        List<AbstractMetric> metrics = new ArrayList<>(List.of(new GameMetrics().getAllMetrics()));
+        metrics.addAll(List.of(new SushiGoMetrics().getAllMetrics()));
+        return metrics.toArray(new AbstractMetric[0]);
+    }
+
+    @Test
+    public void recordsTheSameDataAsSynchronousMetrics() {
+        AbstractMetric[] asyncMetrics = allMetrics();
+        AbstractMetric[] syncMetrics = allMetrics();
+        MetricsGameListener async = new MetricsGameListener(IDataLogger.ReportDestination.ToConsole, asyncMetrics);
+        MetricsGameListener sync = new SynchronousListener(syncMetrics);
+
+        Game game = GameType.SushiGo.createGameInstance(3, 31);
+        game.addListener(async);
+        game.addListener(sync);
+        List<AbstractPlayer> players = List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2)), new RandomPlayer(new Random(3)));
+        Set<String> playerNames = players.stream().map(AbstractPlayer::toString).collect(Collectors.toSet());
+        async.init(game, 3, playerNames);
+        sync.init(game, 3, playerNames);
+        for (int i = 0; i < 3; i++) {
+            game.reset(players, 31 + i);
+            game.run();
+
+            // all the data is in the tables at the end of each game
+            int rows = 0;
+            for (int m = 0; m < asyncMetrics.length; m++) {
+                String name = asyncMetrics[m].getName();
+                DataTableSaw expected = (DataTableSaw) syncMetrics[m].getDataLogger();
+                DataTableSaw actual = (DataTableSaw) asyncMetrics[m].getDataLogger();
+                assertEquals(name, expected.data().rowCount(), actual.data().rowCount());
+                assertEquals(name, expected.data().printAll(), actual.data().printAll());
+                rows += actual.data().rowCount();
+            }
+            assertTrue(rows > 0);
+        }
+    }
+}
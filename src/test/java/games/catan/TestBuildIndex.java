@@ -0,0 +1,117 @@
+package games.catan;
+
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.catan.actions.build.BuildCity;
+import games.catan.actions.build.BuildRoad;
+import games.catan.actions.build.BuildSettlement;
+import games.catan.components.Building;
+import games.catan.components.CatanTile;
+import core.components.Edge;
+import org.junit.Test;
+
+import java.util.*;
+
+import static games.catan.CatanConstants.HEX_SIDES;
+import static org.junit.Assert.*;
+
+public class TestBuildIndex {
+
+    // The places to build found by going over the whole board, as CatanActionFactory used to
+    private static List<List<Integer>> scanRoads(CatanGameState gs, int player) {
+        List<List<Integer>> roads = new ArrayList<>();
+        Set<Integer> roadsAdded = new HashSet<>();
+        CatanTile[][] board = gs.getBoard();
+        for (int x = 0; x < board.length; x++) {
+            for (int y = 0; y < board[x].length; y++) {
+                CatanTile tile = board[x][y];
+                for (int i = 0; i < HEX_SIDES; i++) {
+                    Edge edge = gs.getRoad(gs.getBuilding(tile, i), tile, i);
+                    if (edge == null || !roadsAdded.add(edge.getComponentID())) continue;
+                    if (!(tile.getTileType() == CatanTile.TileType.SEA || tile.getTileType() == CatanTile.TileType.DESERT)
+                            && gs.checkRoadPlacement(i, tile, player))
+                        roads.add(List.of(x, y, i));
+                }
+            }
+        }
+        return roads;
+    }
+
+    private static List<List<Integer>> scanSettlements(CatanGameState gs, int player, boolean city) {
+        List<List<Integer>> settlements = new ArrayList<>();
+        Set<Integer> settlementsAdded = new HashSet<>();
+        CatanTile[][] board = gs.getBoard();
+        for (int x = 0; x < board.length; x++) {
+            for (int y = 0; y < board[x].length; y++) {
+                CatanTile tile = board[x][y];
+                for (int i = 0; i < HEX_SIDES; i++) {
+                    Building settlement = gs.getBuilding(tile, i);
+                    if (!settlementsAdded.add(settlement.getComponentID())) continue;
+                    if (city) {
+                        if (settlement.getOwnerId() == player && settlement.getBuildingType() == Building.Type.Settlement)
+                            settlements.add(List.of(x, y, i));
+                    } else if (!(tile.getTileType() == CatanTile.TileType.SEA || tile.getTileType() == CatanTile.TileType.DESERT)
+                            && gs.checkSettlementPlacement(settlement, player)) {
+                        settlements.add(List.of(x, y, i));
+                    }
+                }
+            }
+        }
+        return settlements;
+    }
+
+    private static List<List<Integer>> locations(CatanBuildIndex index, BitSet places, boolean roads) {
+        List<List<Integer>> locations = new ArrayList<>();
+        for (int i = places.nextSetBit(0); i >= 0; i = places.nextSetBit(i + 1)) {
+            int[] location = roads ? index.getRoadLocation(i) : index.getVertexLocation(i);
+            locations.add(List.of(location[0], location[1], location[2]));
+        }
+        return locations;
+    }
+
+    private static void checkIndex(CatanGameState gs) {
+        CatanBuildIndex index = gs.getBuildIndex();
+        for (int p = 0; p < gs.getNPlayers(); p++) {
+            assertEquals(scanRoads(gs, p), locations(index, index.getLegalRoads(p), true));
+            assertEquals(scanSettlements(gs, p, true), locations(index, index.getSettlements(p), false));
+            if (gs.getGamePhase() != CatanGameState.CatanGamePhase.Setup)
+                assertEquals(scanSettlements(gs, p, false), locations(index, index.getLegalSettlements(p), false));
+        }
+        // and the actions come out in the same order as the scan
+        List<AbstractAction> expected = new ArrayList<>();
+        for (List<Integer> road : scanRoads(gs, gs.getCurrentPlayer()))
+            expected.add(new BuildRoad(road.get(0), road.get(1), road.get(2), gs.getCurrentPlayer(), true));
+        assertEquals(expected, CatanActionFactory.getBuyRoadActions(gs, gs.getCurrentPlayer(), true));
+    }
+
+    @Test
+    public void indexMatchesScanOfBoard() {
+        int nBuilt = 0;
+        for (int seed = 0; seed < 5; seed++) {
+            Game game = GameType.Catan.createGameInstance(3, seed);
+            CatanGameState gs = (CatanGameState) game.getGameState();
+            CatanForwardModel fm = (CatanForwardModel) game.getForwardModel();
+            Random rnd = new Random(seed);
+            for (int step = 0; step < 2000 && gs.isNotTerminal(); step++) {
+                List<AbstractAction> actions = fm.computeAvailableActions(gs);
+                // build whenever possible, so that the board fills up
+                List<AbstractAction> builds = new ArrayList<>();
+                for (AbstractAction action : actions) {
+                    if (action instanceof BuildRoad || action instanceof BuildSettlement || action instanceof BuildCity)
+                        builds.add(action);
+                }
+                AbstractAction action = builds.isEmpty() ? actions.get(rnd.nextInt(actions.size())) : builds.get(rnd.nextInt(builds.size()));
+                if (!builds.isEmpty()) nBuilt++;
+                fm.next(gs, action);
+                checkIndex(gs);
+                if (step % 50 == 0) {
+                    AbstractGameState copy = gs.copy(gs.getCurrentPlayer());
+                    checkIndex((CatanGameState) copy);
+                }
+            }
+        }
+        assertTrue(nBuilt > 50);
+    }
+}
@@ -2,7 +2,10 @@ package games.chinesecheckers;
 
 import core.Game;
 import games.GameType;
+import games.chinesecheckers.actions.MovePeg;
+import games.chinesecheckers.components.CCNode;
 import games.chinesecheckers.components.Peg;
+import games.chinesecheckers.components.StarBoard;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -152,4 +155,47 @@ public class StarboardTests {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void copiesAreIndependent() {
+        StarBoard board = state.getStarBoard();
+        StarBoard copy = board.copy();
+        StarBoard original = board.copy();
+        assertEquals(board, copy);
+        assertEquals(board.getZobristHash(), copy.getZobristHash());
+
+        fm.next(state, new MovePeg(6, 14));
+        assertNotEquals(board, copy);
+        assertTrue(copy.isOccupied(6));
+        assertFalse(copy.isOccupied(14));
+        assertEquals(Peg.Colour.purple, board.getPegColour(14));
+        assertNotEquals(board.getZobristHash(), copy.getZobristHash());
+
+        // making the same move on the copy gives the same board, and hash
+        copy.movePeg(6, 14);
+        assertEquals(board, copy);
+        assertEquals(board.getZobristHash(), copy.getZobristHash());
+
+        // and moving the peg back gives the board, and hash, from before the move
+        board.movePeg(14, 6);
+        assertEquals(original, board);
+        assertEquals(original.getZobristHash(), board.getZobristHash());
+    }
+
+    @Test
+    public void boardNodesFollowTheBoard() {
+        StarBoard board = state.getStarBoard();
+        CCNode node = board.getBoardNodes().get(15);
+        assertFalse(node.isNodeOccupied());
+        assertEquals(6, node.getNeighbours().size());
+        assertTrue(node.getNeighbours().contains(board.getBoardNodes().get(6)));
+
+        fm.next(state, new MovePeg(6, 15));
+        assertTrue(node.isNodeOccupied());
+        assertEquals(Peg.Colour.purple, node.getOccupiedPeg().getColour());
+        assertFalse(board.getBoardNodes().get(6).isNodeOccupied());
+        // a copy makes its own nodes
+        assertEquals(Peg.Colour.purple, board.copy().getBoardNodes().get(15).getOccupiedPeg().getColour());
+        assertNotSame(node, board.copy().getBoardNodes().get(15));
+    }
+}
@@ -1,11 +1,11 @@
 package games.dominion;
 
+import core.components.Card;
 import games.dominion.cards.CardType;
 import games.dominion.cards.DominionCard;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.*;
 
 public class TestEquality {
 
@@ -18,4 +18,27 @@ public class TestEquality {
         assertNotSame(moat1, moat2);
 
     }
+
+    @Test
+    public void zobristKeysDependOnlyOnCardType() {
+        for (CardType type : new CardType[]{CardType.COPPER, CardType.PROVINCE, CardType.MOAT, CardType.GARDENS}) {
+            assertEquals(new Card(type.name()).getZobristKey(), DominionCard.create(type).getZobristKey());
+            assertEquals(DominionCard.create(type).getZobristKey(), DominionCard.create(type).getZobristKey());
+        }
+    }
+
+    @Test
+    public void copiesHaveTheirOwnSupply() {
+        DominionGameState state = new DominionGameState(new DominionParameters(), 2);
+        new DominionForwardModel().setup(state);
+        DominionGameState copy = (DominionGameState) state.copy(0);
+        assertEquals(state.getCardsIncludedInGame(), copy.getCardsIncludedInGame());
+        assertEquals(state.cardsToBuy(), copy.cardsToBuy());
+
+        int provinces = state.cardsOfType(CardType.PROVINCE, -1, DominionConstants.DeckType.SUPPLY);
+        assertTrue(copy.removeCardFromTable(CardType.PROVINCE));
+        assertEquals(provinces, state.cardsOfType(CardType.PROVINCE, -1, DominionConstants.DeckType.SUPPLY));
+        assertEquals(provinces - 1, copy.cardsOfType(CardType.PROVINCE, -1, DominionConstants.DeckType.SUPPLY));
+        assertNotEquals(state, copy);
+    }
 }
@@ -14,14 +14,17 @@ import games.dominion.cards.DominionCard;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static games.dominion.cards.CardType.*;
 import static java.util.stream.Collectors.counting;
 import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.*;
 
 public class TestPartialObservabilityCopy {
@@ -245,4 +248,95 @@ public class TestPartialObservabilityCopy {
 
     }
 
+    private void addKnownCardsToHandsAndDrawPiles() {
+        // a few cards in each hand and draw pile are seen by some (but not all) of the other players
+        for (int p = 0; p < 4; p++) {
+            state.addCard(CardType.SILVER, p, DeckType.DRAW);
+            state.addCard(CardType.VILLAGE, p, DeckType.DRAW);
+            PartialObservableDeck<DominionCard> drawDeck = (PartialObservableDeck<DominionCard>) state.getDeck(DeckType.DRAW, p);
+            drawDeck.setVisibilityOfComponent(0, new boolean[]{true, true, true, true});
+            drawDeck.setVisibilityOfComponent(1, new boolean[]{p == 0, p == 1, true, p == 3});
+            PartialObservableDeck<DominionCard> hand = (PartialObservableDeck<DominionCard>) state.getDeck(DeckType.HAND, p);
+            hand.setVisibilityOfComponent(2, new boolean[]{true, p == 1, false, p == 3});
+        }
+    }
+
+    private List<CardType> cardTypes(Deck<DominionCard> deck) {
+        return deck.getComponents().stream().map(DominionCard::cardType).collect(toList());
+    }
+
+    private List<boolean[]> visibilities(PartialObservableDeck<DominionCard> deck) {
+        return IntStream.range(0, deck.getSize()).mapToObj(deck::getVisibilityOfComponent).collect(toList());
+    }
+
+    @Test
+    public void redeterminisationKeepsEveryVisibleCardAndVisibility() {
+        addKnownCardsToHandsAndDrawPiles();
+        for (int observer = 0; observer < 4; observer++) {
+            for (int i = 0; i < 10; i++) {
+                DominionGameState copy = (DominionGameState) state.copy(observer);
+                for (int p = 0; p < 4; p++) {
+                    for (DeckType deckType : new DeckType[]{DeckType.HAND, DeckType.DRAW}) {
+                        PartialObservableDeck<DominionCard> original = (PartialObservableDeck<DominionCard>) state.getDeck(deckType, p);
+                        PartialObservableDeck<DominionCard> copied = (PartialObservableDeck<DominionCard>) copy.getDeck(deckType, p);
+                        assertEquals(original.getSize(), copied.getSize());
+                        for (int j = 0; j < original.getSize(); j++) {
+                            assertArrayEquals(original.getVisibilityOfComponent(j), copied.getVisibilityOfComponent(j));
+                            if (original.getVisibilityForPlayer(j, observer))
+                                assertEquals(original.peek(j).cardType(), copied.peek(j).cardType());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void redeterminisationKeepsTheCardsInEachHandAndDrawPile() {
+        addKnownCardsToHandsAndDrawPiles();
+        for (int observer = 0; observer < 4; observer++) {
+            for (int i = 0; i < 10; i++) {
+                DominionGameState copy = (DominionGameState) state.copy(observer);
+                for (int p = 0; p < 4; p++) {
+                    Map<CardType, Long> before = Stream.concat(cardTypes(state.getDeck(DeckType.HAND, p)).stream(),
+                            cardTypes(state.getDeck(DeckType.DRAW, p)).stream()).collect(groupingBy(c -> c, counting()));
+                    Map<CardType, Long> after = Stream.concat(cardTypes(copy.getDeck(DeckType.HAND, p)).stream(),
+                            cardTypes(copy.getDeck(DeckType.DRAW, p)).stream()).collect(groupingBy(c -> c, counting()));
+                    assertEquals(before, after);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void redeterminisationLeavesTheOriginalDecksUnchanged() {
+        addKnownCardsToHandsAndDrawPiles();
+        for (int observer = 0; observer < 4; observer++) {
+            List<List<CardType>> typesBefore = new ArrayList<>();
+            List<List<boolean[]>> visibilityBefore = new ArrayList<>();
+            for (int p = 0; p < 4; p++) {
+                for (DeckType deckType : new DeckType[]{DeckType.HAND, DeckType.DRAW}) {
+                    PartialObservableDeck<DominionCard> deck = (PartialObservableDeck<DominionCard>) state.getDeck(deckType, p);
+                    typesBefore.add(cardTypes(deck));
+                    visibilityBefore.add(visibilities(deck));
+                }
+            }
+
+            for (int i = 0; i < 10; i++)
+                state.copy(observer);
+
+            int k = 0;
+            for (int p = 0; p < 4; p++) {
+                for (DeckType deckType : new DeckType[]{DeckType.HAND, DeckType.DRAW}) {
+                    PartialObservableDeck<DominionCard> deck = (PartialObservableDeck<DominionCard>) state.getDeck(deckType, p);
+                    assertEquals(typesBefore.get(k), cardTypes(deck));
+                    List<boolean[]> visibility = visibilities(deck);
+                    for (int j = 0; j < visibility.size(); j++)
+                        assertArrayEquals(visibilityBefore.get(k).get(j), visibility.get(j));
+                    k++;
+                }
+            }
+        }
+    }
+
 }
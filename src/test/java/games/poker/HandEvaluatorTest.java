@@ -0,0 +1,146 @@
+package games.poker;
+
+import core.CoreConstants;
+import core.components.Deck;
+import core.components.FrenchCard;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static games.poker.PokerGameState.PokerHand.*;
+import static org.junit.Assert.*;
+
+public class HandEvaluatorTest {
+
+    /**
+     * @param hand - cards such as "Ah Td 2c", with the number (2-9, T, J, Q, K, A) then the suite
+     */
+    private static long cards(String hand) {
+        Deck<FrenchCard> deck = new Deck<>("Hand", CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+        for (String c : hand.split(" ")) {
+            FrenchCard.Suite suite = FrenchCard.Suite.values()["dhcs".indexOf(c.charAt(1))];
+            int number = "23456789TJQKA".indexOf(c.charAt(0)) + 2;
+            switch (c.charAt(0)) {
+                case 'J':
+                    deck.add(new FrenchCard(FrenchCard.FrenchCardType.Jack, suite));
+                    break;
+                case 'Q':
+                    deck.add(new FrenchCard(FrenchCard.FrenchCardType.Queen, suite));
+                    break;
+                case 'K':
+                    deck.add(new FrenchCard(FrenchCard.FrenchCardType.King, suite));
+                    break;
+                case 'A':
+                    deck.add(new FrenchCard(FrenchCard.FrenchCardType.Ace, suite));
+                    break;
+                default:
+                    deck.add(new FrenchCard(FrenchCard.FrenchCardType.Number, suite, number));
+            }
+        }
+        long cards = HandEvaluator.cards(deck);
+        assertEquals(deck.getSize(), Long.bitCount(cards));
+        return cards;
+    }
+
+    private static int rank(String hand) {
+        return HandEvaluator.evaluate(cards(hand));
+    }
+
+    @Test
+    public void handsAreRecognised() {
+        assertEquals(RoyalFlush, PokerGameState.PokerHand.of(rank("Ah Kh Qh Jh Th 2c 3d")));
+        assertEquals(StraightFlush, PokerGameState.PokerHand.of(rank("9s 8s 7s 6s 5s As Kd")));
+        assertEquals(StraightFlush, PokerGameState.PokerHand.of(rank("5c 4c 3c 2c Ac")));
+        assertEquals(FourOfAKind, PokerGameState.PokerHand.of(rank("7s 7h 7d 7c Kd 2h 3h")));
+        assertEquals(FullHouse, PokerGameState.PokerHand.of(rank("7s 7h 7d Kc Kd 2h 3h")));
+        assertEquals(FullHouse, PokerGameState.PokerHand.of(rank("7s 7h 7d Kc Kd Ks 3h")));
+        assertEquals(Flush, PokerGameState.PokerHand.of(rank("As Js 8s 4s 2s Kd Qd")));
+        assertEquals(Straight, PokerGameState.PokerHand.of(rank("Td 9s 8h 7c 6d 2s 2h")));
+        assertEquals(Straight, PokerGameState.PokerHand.of(rank("5d 4s 3h 2c Ad Ks Qh")));
+        assertEquals(ThreeOfAKind, PokerGameState.PokerHand.of(rank("9d 9s 9h Kc 6d 2s 3h")));
+        assertEquals(TwoPair, PokerGameState.PokerHand.of(rank("9d 9s 6h 6c Kd 2s 3h")));
+        assertEquals(OnePair, PokerGameState.PokerHand.of(rank("9d 9s 6h 4c Kd 2s 3h")));
+        assertEquals(HighCard, PokerGameState.PokerHand.of(rank("9d Js 6h 4c Kd 2s 3h")));
+    }
+
+    @Test
+    public void handsAreOrdered() {
+        // categories
+        assertTrue(rank("As Ks Qs Js Ts") > rank("Ks Qs Js Ts 9s"));
+        assertTrue(rank("5s 4s 3s 2s As") > rank("Ad Ac Ah As Ks"));
+        assertTrue(rank("2d 2c 2h 2s 3s") > rank("Ad Ac Ah Ks Kc"));
+        assertTrue(rank("2d 2c 2h 3s 3c") > rank("As Ks Qs Js 9s"));
+        assertTrue(rank("7s 5s 4s 3s 2s") > rank("Ad Kc Qh Js Ts"));
+        assertTrue(rank("5d 4c 3h 2s Ad") > rank("Ad Ac Ah Ks Qc"));
+        assertTrue(rank("2d 2c 2h 3s 4c") > rank("Ad Ac Kh Ks Qc"));
+        assertTrue(rank("2d 2c 3h 3s 4c") > rank("Ad Ac Kh Qs Jc"));
+        assertTrue(rank("2d 2c 3h 4s 5c") > rank("Ad Kc Qh Js 9c"));
+
+        // within a category
+        assertTrue(rank("6d 5c 4h 3s 2d") > rank("5d 4c 3h 2s Ad"));
+        assertTrue(rank("Ad Ac Ah As 3s") > rank("Ad Ac Ah As 2s"));
+        assertTrue(rank("3d 3c 3h 2s 2c") > rank("2d 2c 2h As Ac"));
+        assertTrue(rank("Ad Ac Ah 3s 3c") > rank("Ad Ac Ah 2s 2c"));
+        assertTrue(rank("As Ks Qs Js 9s") > rank("As Ks Qs Js 8s"));
+        assertTrue(rank("Ad Ac Kh Ks 3c") > rank("Ad Ac Qh Qs Kc"));
+        assertTrue(rank("Ad Ac Kh Ks 3c") > rank("Ad Ac Kh Ks 2c"));
+        assertTrue(rank("Ad Ac 5h 4s 3c") > rank("Ad Ac 5h 4s 2c"));
+        assertTrue(rank("Ad Jc 9h 4s 3c") > rank("Ad Jc 9h 4s 2c"));
+
+        // the same hand in different suites ties, and cards beyond the best five do not count
+        assertEquals(rank("Ad Ac Kh Ks 3c"), rank("Ah As Kc Kd 3s"));
+        assertEquals(rank("Ad Ac Kh Ks Qc 2d 3h"), rank("Ah As Kc Kd Qc 4d 5h"));
+        // with three pairs, the third pair can give the kicker
+        assertEquals(rank("Ad Ac Kh Ks Qc"), rank("Ad Ac Kh Ks Qc Qd 3h"));
+        // with two three of a kinds, the lower gives the pair
+        assertEquals(rank("Ad Ac Ah Ks Kc"), rank("Ad Ac Ah Ks Kc Kd 3h"));
+    }
+
+    @Test
+    public void bestOfSevenIsBestOfEachFive() {
+        Random rnd = new Random(42);
+        int[] deck = new int[52];
+        for (int i = 0; i < 52; i++)
+            deck[i] = (i / 13) * 16 + i % 13;
+        for (int n = 0; n < 5000; n++) {
+            long[] hand = new long[7];
+            long all = 0;
+            for (int i = 0; i < 7; i++) {
+                int pick = i + rnd.nextInt(52 - i);
+                int card = deck[pick];
+                deck[pick] = deck[i];
+                deck[i] = card;
+                hand[i] = 1L << card;
+                all |= hand[i];
+            }
+            int best = -1;
+            // leave out each pair of cards in turn
+            for (int i = 0; i < 7; i++)
+                for (int j = i + 1; j < 7; j++)
+                    best = Math.max(best, HandEvaluator.evaluate(all & ~hand[i] & ~hand[j]));
+            assertEquals(best, HandEvaluator.evaluate(all));
+        }
+    }
+
+    @Test
+    public void equityIsEstimated() {
+        Random rnd = new Random(43);
+        // pocket Aces win about 85% of the time against one random hand
+        double equity = HandEvaluator.estimateEquity(cards("Ad Ac"), 0L, 5, 1, 2, 0L, 4000, rnd);
+        assertEquals(0.85, equity, 0.03);
+        // and less against more opponents
+        assertTrue(HandEvaluator.estimateEquity(cards("Ad Ac"), 0L, 5, 4, 2, 0L, 4000, rnd) < equity - 0.2);
+        // a royal flush on the board is shared
+        assertEquals(0.5, HandEvaluator.estimateEquity(cards("2d 3c"), cards("As Ks Qs Js Ts"), 5, 1, 2, 0L, 100, rnd), 1e-9);
+        // the nuts always win
+        assertEquals(1.0, HandEvaluator.estimateEquity(cards("Ah Kh"), cards("Qh Jh Th 2c"), 5, 3, 2, 0L, 100, rnd), 1e-9);
+    }
+
+    @Test
+    public void equityOfAGame() {
+        PokerGameState state = new PokerGameState(new PokerGameParameters(), 4);
+        new PokerForwardModel().setup(state);
+        double equity = HandEvaluator.estimateEquity(state, 0, 500, new Random(44));
+        assertTrue(equity > 0.0 && equity < 1.0);
+    }
+}
@@ -0,0 +1,52 @@
+package games.terraformingmars;
+
+import core.Game;
+import core.actions.AbstractAction;
+import core.components.Counter;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestCounterLookup {
+
+    private static void checkCounters(TMGameState gs) {
+        List<Counter> counters = new ArrayList<>(gs.getGlobalParameters().values());
+        for (int i = 0; i < gs.getNPlayers(); i++) {
+            counters.addAll(gs.getPlayerResources()[i].values());
+            counters.addAll(gs.getPlayerProduction()[i].values());
+        }
+        gs.getAllComponents();
+        for (Counter c : counters) {
+            assertSame(c, gs.getCounterById(c.getComponentID()));
+            assertSame(gs.getComponentById(c.getComponentID()), gs.getCounterById(c.getComponentID()));
+        }
+        assertNull(gs.getCounterById(gs.getBoard().getComponentID()));
+    }
+
+    @Test
+    public void countersAreFoundInEachState() {
+        Game game = GameType.TerraformingMars.createGameInstance(3, 23);
+        TMGameState gs = (TMGameState) game.getGameState();
+        TMForwardModel fm = (TMForwardModel) game.getForwardModel();
+        Random rnd = new Random(23);
+        checkCounters(gs);
+        for (int step = 0; step < 300 && gs.isNotTerminal(); step++) {
+            List<AbstractAction> actions = fm.computeAvailableActions(gs);
+            if (actions.isEmpty()) break;
+            fm.next(gs, actions.get(rnd.nextInt(actions.size())));
+            if (step % 20 == 0) {
+                checkCounters(gs);
+                checkCounters((TMGameState) gs.copy());
+            }
+        }
+
+        // setting up again creates new counters in the same state
+        fm.setup(gs);
+        checkCounters(gs);
+    }
+}
@@ -0,0 +1,32 @@
+package games.terraformingmars;
+
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestRandomPlay {
+
+    @Test
+    public void listedActionsCanAlwaysBePlayed() {
+        // TMAction.execute() throws an AssertionError for any listed action that cannot be played
+        for (int seed = 0; seed < 20; seed++) {
+            Game game = GameType.TerraformingMars.createGameInstance(3, seed);
+            TMGameState gs = (TMGameState) game.getGameState();
+            TMForwardModel fm = (TMForwardModel) game.getForwardModel();
+            Random rnd = new Random(seed);
+            int step = 0;
+            for (; step < 3000 && gs.isNotTerminal(); step++) {
+                List<AbstractAction> actions = fm.computeAvailableActions(gs);
+                assertFalse("seed " + seed + " step " + step + " " + gs.getGamePhase() + " " + gs.getActionsInProgress(), actions.isEmpty());
+                fm.next(gs, actions.get(rnd.nextInt(actions.size())));
+            }
+            assertTrue(step > 0);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package games.wonders7;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.wonders7.cards.Wonder7Card;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static games.wonders7.Wonders7Constants.Resource.*;
+import static org.junit.Assert.*;
+
+public class CoinsToBuildTest {
+
+    // The coins to build, worked out directly from the resource counts
+    private static int expectedCoins(Wonders7GameState wgs, int player, Wonder7Card card) {
+        int nPlayers = wgs.getNPlayers();
+        int left = (nPlayers + player - 1) % nPlayers, right = (player + 1) % nPlayers;
+        if (wgs.getResource(player, Coin) < card.getNCost(Coin)) return -1;
+        int coins = card.getNCost(Coin);
+        for (Wonders7Constants.Resource resource : Wonders7Constants.Resource.values()) {
+            int cost = card.getNCost(resource);
+            if (resource == Coin || cost == 0) continue;
+            int own = wgs.getResource(player, resource);
+            if (own + wgs.getResource(left, resource) + wgs.getResource(right, resource) < cost) return -1;
+            coins += Math.max(0, cost - own) * ((Wonders7GameParameters) wgs.getGameParameters()).nCostNeighbourResource;
+        }
+        return coins <= wgs.getResource(player, Coin) ? coins : -1;
+    }
+
+    @Test
+    public void coinsToBuildMatchResources() {
+        Random rnd = new Random(11);
+        int affordable = 0, unaffordable = 0;
+        for (int g = 0; g < 10; g++) {
+            Game game = GameType.Wonders7.createGameInstance(3 + g % 3, g);
+            Wonders7GameState wgs = (Wonders7GameState) game.getGameState();
+            AbstractForwardModel fm = game.getForwardModel();
+            while (wgs.isNotTerminal()) {
+                // ask twice, so the second answer comes from the memo
+                for (int repeat = 0; repeat < 2; repeat++) {
+                    for (int p = 0; p < wgs.getNPlayers(); p++) {
+                        for (Wonder7Card card : wgs.getPlayerHand(p).getComponents()) {
+                            int coins = expectedCoins(wgs, p, card);
+                            assertEquals(coins, wgs.getCoinsToBuild(p, card.cost));
+                            if (coins < 0) unaffordable++;
+                            else affordable++;
+                        }
+                    }
+                }
+                List<AbstractAction> actions = fm.computeAvailableActions(wgs);
+                fm.next(wgs, actions.get(rnd.nextInt(actions.size())));
+            }
+        }
+        assertTrue(affordable > 0 && unaffordable > 0);
+    }
+
+    @Test
+    public void memoIsClearedWhenNeighbourResourcesChange() {
+        Game game = GameType.Wonders7.createGameInstance(4, 12);
+        Wonders7GameState wgs = (Wonders7GameState) game.getGameState();
+        int[] cost = new int[Wonders7Constants.Resource.values().length];
+        cost[Papyrus.ordinal()] = 4;
+        for (int p = 0; p < 4; p++)
+            wgs.setResource(p, Papyrus, 0);
+        wgs.setResource(0, Coin, 10);
+        assertEquals(-1, wgs.getCoinsToBuild(0, cost));
+
+        // player 2 is not a neighbour of player 0
+        wgs.addResource(2, Papyrus, 4);
+        assertEquals(-1, wgs.getCoinsToBuild(0, cost));
+        // but player 1 is
+        wgs.addResource(1, Papyrus, 4);
+        assertEquals(8, wgs.getCoinsToBuild(0, cost));
+        // and the memo is not shared with copies
+        Wonders7GameState copy = (Wonders7GameState) wgs.copy();
+        copy.setResource(0, Coin, 7);
+        assertEquals(-1, copy.getCoinsToBuild(0, cost));
+        assertEquals(8, wgs.getCoinsToBuild(0, cost));
+        // having the resources itself, the player pays nothing
+        wgs.addResource(0, Papyrus, 4);
+        assertEquals(0, wgs.getCoinsToBuild(0, cost));
+    }
+}
@@ -0,0 +1,143 @@
+package players.mcts;
+
+import core.*;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.dominion.DominionForwardModel;
+import games.dominion.DominionGameState;
+import games.dominion.DominionParameters;
+import org.junit.*;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ParallelMCTSTests {
+
+    TestMCTSPlayer mctsPlayer;
+    MCTSParams params;
+
+    @Before
+    public void setup() {
+        // set via setParameterValue, as the parallel workers are built from a copy of the parameters
+        params = new MCTSParams();
+        params.setRandomSeed(9332);
+        params.setParameterValue("opponentTreePolicy", MCTSEnums.OpponentTreePolicy.OneTree);
+        params.setParameterValue("information", MCTSEnums.Information.Information_Set);
+        params.setParameterValue("maxTreeDepth", 50);
+        params.setParameterValue("rolloutLength", 10);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_ITERATIONS);
+        params.setParameterValue("budget", 200);
+        params.setParameterValue("K", 1.0);
+        params.setParameterValue("nThreads", 4);
+    }
+
+    public Game createGame(MCTSParams params) {
+        mctsPlayer = new TestMCTSPlayer(params, null);
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(mctsPlayer);
+        players.add(new RandomPlayer(new Random(3023)));
+        players.add(new RandomPlayer(new Random(244)));
+        DominionParameters dp = new DominionParameters();
+        dp.setRandomSeed(330245);
+        return new Game(GameType.Dominion, players, new DominionForwardModel(), new DominionGameState(dp, players.size()));
+    }
+
+    @Test
+    public void rootParallelInformationSet() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Root);
+        runGame(createGame(params), 4, false);
+    }
+
+    @Test
+    public void rootParallelOpenLoop() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Root);
+        params.setParameterValue("information", MCTSEnums.Information.Open_Loop);
+        runGame(createGame(params), 4, false);
+    }
+
+    @Test
+    public void rootParallelMultiTree() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Root);
+        params.setParameterValue("opponentTreePolicy", MCTSEnums.OpponentTreePolicy.MultiTree);
+        Game game = createGame(params);
+        mctsPlayer.rolloutTest = false;
+        runGame(game, 4, false);
+    }
+
+    @Test
+    public void treeParallelInformationSet() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Tree);
+        runGame(createGame(params), 4, true);
+    }
+
+    @Test
+    public void treeParallelOpenLoop() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Tree);
+        params.setParameterValue("information", MCTSEnums.Information.Open_Loop);
+        runGame(createGame(params), 4, true);
+    }
+
+    @Test
+    public void treeParallelSelfOnly() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Tree);
+        params.setParameterValue("opponentTreePolicy", MCTSEnums.OpponentTreePolicy.SelfOnly);
+        runGame(createGame(params), 4, true);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void treeParallelNotSupportedWithMultiTree() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Tree);
+        params.setParameterValue("opponentTreePolicy", MCTSEnums.OpponentTreePolicy.MultiTree);
+        params.instantiate();
+    }
+
+    @Test
+    public void treeParallelWithTimeBudget() {
+        params.setParameterValue("parallelism", MCTSEnums.Parallelism.Tree);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_TIME);
+        params.setParameterValue("budget", 50);
+        Game game = createGame(params);
+        AbstractGameState state = game.getGameState();
+        mctsPlayer._getAction(state, game.getForwardModel().computeAvailableActions(state));
+        // four workers should between them manage more than a handful of iterations
+        assertTrue(mctsPlayer.getRoot(0).getVisits() > 10);
+        checkVisitCounts(mctsPlayer.getRoot(0));
+    }
+
+    private void runGame(Game game, int moves, boolean wholeTree) {
+        int counter = 0;
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        do {
+            AbstractAction actionChosen = game.getPlayers().get(state.getCurrentPlayer())
+                    ._getAction(state, forwardModel.computeAvailableActions(state));
+
+            if (state.getCurrentPlayer() == 0) {
+                // The iteration budget is for the decision as a whole, not for each thread
+                SingleTreeNode root = mctsPlayer.getRoot(0);
+                assertEquals(200, root.getVisits());
+                int childVisits = root.actionValues.values().stream().mapToInt(s -> s.nVisits).sum();
+                assertEquals(200, childVisits);
+                if (wholeTree)
+                    checkVisitCounts(root);
+                counter++;
+            }
+            forwardModel.next(state, actionChosen);
+        } while (counter < moves);
+    }
+
+    // once the search is over, all virtual losses must have been removed
+    private void checkVisitCounts(SingleTreeNode root) {
+        for (SingleTreeNode node : root.allNodesInTree()) {
+            int actionVisits = node.actionValues.values().stream().mapToInt(s -> s.nVisits).sum();
+            assertEquals(node.getVisits(), actionVisits);
+            for (ActionStats stats : node.actionValues.values()) {
+                for (int p = 0; p < stats.totValue.length; p++)
+                    assertTrue(stats.nVisits > 0 || Math.abs(stats.totValue[p]) < 1e-9);
+            }
+        }
+    }
+}
@@ -41,6 +41,7 @@ public class RolloutTerminationTests {
         params.budget = 200;
         params.selectionPolicy = MCTSEnums.SelectionPolicy.SIMPLE;
         params.discardStateAfterEachIteration = false;
+        params.recordRolloutActions = true;  // STNRollout and MTNRollout check the actions taken
         params.K = 1.0;
     }
 
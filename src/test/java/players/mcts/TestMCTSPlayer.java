@@ -50,9 +50,11 @@ public class TestMCTSPlayer extends MCTSPlayer {
 
     @Override
     protected void createRootNode(AbstractGameState gameState) {
-        if (rolloutTest && getParameters().opponentTreePolicy == MultiTree)
+        if (rolloutTest && getParameters().opponentTreePolicy == MultiTree) {
+            // MTNRollout checks the actions taken in each rollout
+            getParameters().recordRolloutActions = true;
             root = new MTNRollout(this, gameState, rnd);
-        else
+        } else
             super.createRootNode(gameState);
     }
 
@@ -0,0 +1,114 @@
+package players.mcts;
+
+import core.*;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TreeNodePoolTests {
+
+    private static MCTSParams params(boolean reuseTree, boolean recycle, int maxTreeNodes) {
+        MCTSParams params = new MCTSParams();
+        params.setParameterValue("randomSeed", 303);
+        params.setParameterValue("information", MCTSEnums.Information.Open_Loop);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_ITERATIONS);
+        params.setParameterValue("budget", 300);
+        params.setParameterValue("reuseTree", reuseTree);
+        params.setParameterValue("recycleTreeNodes", recycle);
+        params.setParameterValue("maxTreeNodes", maxTreeNodes);
+        return params;
+    }
+
+    private static int countNodes(SingleTreeNode node) {
+        int count = 1;
+        for (SingleTreeNode[] children : node.children.values())
+            if (children != null)
+                for (SingleTreeNode child : children)
+                    if (child != null) count += countNodes(child);
+        return count;
+    }
+
+    /**
+     * Plays two games of Connect4 against a random player, checking the tree after each decision.
+     *
+     * @return the actions played
+     */
+    private static List<String> play(MCTSPlayer player) {
+        List<String> actions = new ArrayList<>();
+        List<AbstractPlayer> players = Arrays.asList(player, new RandomPlayer(new Random(304)));
+        Game game = GameType.Connect4.createGameInstance(2, 305);
+        for (int g = 0; g < 2; g++) {
+            game.reset(players);
+            AbstractGameState state = game.getGameState();
+            AbstractForwardModel fm = game.getForwardModel();
+            while (state.isNotTerminal()) {
+                int p = state.getCurrentPlayer();
+                AbstractAction action = players.get(p).getAction(state, fm.computeAvailableActions(state));
+                if (p == 0) {
+                    SingleTreeNode root = player.root;
+                    assertEquals(countNodes(root), root.treeSize);
+                    assertTrue(root.treeSize <= player.getParameters().maxTreeNodes);
+                }
+                actions.add(action.getString(state));  // without the component IDs, which differ between games
+                fm.next(state, action);
+            }
+        }
+        return actions;
+    }
+
+    @Test
+    public void recyclingDoesNotChangeTheSearch() {
+        for (boolean reuseTree : new boolean[]{false, true}) {
+            for (int maxTreeNodes : new int[]{1000000, 60}) {
+                MCTSPlayer recycling = new MCTSPlayer(params(reuseTree, true, maxTreeNodes));
+                assertEquals(play(new MCTSPlayer(params(reuseTree, false, maxTreeNodes))), play(recycling));
+                assertTrue(recycling.nodePool.getRecycled() > 0);
+                // nodes are only made new when the pool runs out, which it does not once the trees are full size
+                assertTrue(recycling.nodePool.getAllocated() < recycling.nodePool.getRecycled());
+            }
+        }
+    }
+
+    @Test
+    public void treeIsPrunedToMaxTreeNodes() {
+        MCTSPlayer player = new MCTSPlayer(params(true, true, 40));
+        Game game = GameType.Connect4.createGameInstance(2, 306);
+        game.reset(Arrays.asList(player, new RandomPlayer(new Random(307))));
+        AbstractGameState state = game.getGameState();
+        player.getAction(state, game.getForwardModel().computeAvailableActions(state));
+        SingleTreeNode root = player.root;
+        assertTrue(root.prunedNodes > 0);
+        assertTrue(root.treeSize <= 40);
+        assertEquals(countNodes(root), root.treeSize);
+        // the iterations through pruned nodes are still counted at the root
+        assertEquals(300, root.getVisits());
+    }
+
+    @Test
+    public void releasedNodesAreCleared() {
+        TreeNodePool pool = new TreeNodePool(100);
+        MCTSPlayer player = new MCTSPlayer(params(false, true, 1000000));
+        Game game = GameType.Connect4.createGameInstance(2, 308);
+        game.reset(Arrays.asList(player, new RandomPlayer(new Random(309))));
+        AbstractGameState state = game.getGameState();
+        player.getAction(state, game.getForwardModel().computeAvailableActions(state));
+        SingleTreeNode root = player.root;
+        int size = root.treeSize;
+
+        pool.release(root, null);
+        assertEquals(Math.min(100, size), pool.size());
+        SingleTreeNode node = pool.get();
+        assertEquals(0, node.getVisits());
+        assertEquals(0, node.nActions);
+        assertTrue(node.children.isEmpty());
+        assertNull(node.parent);
+        assertNull(node.state);
+        assertEquals(1, pool.getRecycled());
+    }
+}
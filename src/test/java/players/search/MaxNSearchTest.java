@@ -0,0 +1,112 @@
+package players.search;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.CoreConstants;
+import core.Game;
+import core.actions.AbstractAction;
+import evaluation.features.ZobristStateKey;
+import games.GameType;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class MaxNSearchTest {
+
+    // records the value of the root state found by the (last iteration of the) search
+    static class RootValuePlayer extends MaxNSearchPlayer {
+        AbstractGameState root;
+        double rootValue;
+
+        RootValuePlayer(MaxNSearchParameters parameters) {
+            super(parameters);
+        }
+
+        @Override
+        public AbstractAction _getAction(AbstractGameState gs, List<AbstractAction> actions) {
+            root = gs;
+            return super._getAction(gs, actions);
+        }
+
+        @Override
+        protected SearchResult expand(AbstractGameState state, List<AbstractAction> actions, int searchDepth, double alpha, double beta) {
+            SearchResult result = super.expand(state, actions, searchDepth, alpha, beta);
+            if (state == root)
+                rootValue = result.value()[getPlayerID()];
+            return result;
+        }
+    }
+
+    private MaxNSearchParameters parameters(int depth, boolean alphaBeta, boolean iterativeDeepening, boolean useTable) {
+        MaxNSearchParameters params = new MaxNSearchParameters();
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_TIME);
+        params.setParameterValue("budget", 60000);
+        params.setParameterValue("searchDepth", depth);
+        params.setParameterValue("paranoid", true);
+        params.setParameterValue("alphaBeta", alphaBeta);
+        params.setParameterValue("iterativeDeepening", iterativeDeepening);
+        if (useTable)
+            params.setParameterValue("stateKey", new ZobristStateKey());
+        params.setRandomSeed(42);
+        return params;
+    }
+
+    @Test
+    public void alphaBetaGivesTheSameValueAsFullSearch() {
+        RootValuePlayer plain = new RootValuePlayer(parameters(4, false, false, false));
+        RootValuePlayer pruned = new RootValuePlayer(parameters(4, true, true, false));
+        Game game = GameType.Connect4.createGameInstance(2, 53);
+        game.reset(List.of(new RandomPlayer(), new RandomPlayer()));
+        AbstractGameState state = game.getGameState();
+        plain.setForwardModel(game.getForwardModel());
+        pruned.setForwardModel(game.getForwardModel());
+        Random rnd = new Random(53);
+        for (int move = 0; move < 12 && state.isNotTerminal(); move++) {
+            List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(state);
+            plain._getAction(state, actions);
+            pruned._getAction(state, actions);
+            assertEquals(plain.rootValue, pruned.rootValue, 1e-9);
+            game.getForwardModel().next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+    }
+
+    @Test
+    public void fullDepthSearchDrawsTicTacToe() {
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(new MaxNSearchPlayer(parameters(9, true, true, true)));
+        players.add(new MaxNSearchPlayer(parameters(9, true, true, true)));
+        Game game = GameType.TicTacToe.createGameInstance(2, 11);
+        game.reset(players);
+        game.run();
+        assertEquals(CoreConstants.GameResult.DRAW_GAME, game.getGameState().getPlayerResults()[0]);
+        assertEquals(CoreConstants.GameResult.DRAW_GAME, game.getGameState().getPlayerResults()[1]);
+    }
+
+    @Test
+    public void tableCopesWithActionListsThatCannotBeChanged() {
+        // some forward models return fixed-size lists (such as from Arrays.asList())
+        MaxNSearchPlayer player = new MaxNSearchPlayer(parameters(4, true, true, true)) {
+            @Override
+            protected SearchResult expand(AbstractGameState state, List<AbstractAction> actions, int searchDepth, double alpha, double beta) {
+                return super.expand(state, Collections.unmodifiableList(actions), searchDepth, alpha, beta);
+            }
+        };
+        Game game = GameType.Connect4.createGameInstance(2, 54);
+        game.reset(List.of(new RandomPlayer(), new RandomPlayer()));
+        AbstractGameState state = game.getGameState();
+        player.setForwardModel(game.getForwardModel());
+        Random rnd = new Random(54);
+        for (int move = 0; move < 6 && state.isNotTerminal(); move++) {
+            List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(state);
+            player._getAction(state, actions);
+            game.getForwardModel().next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+    }
+}